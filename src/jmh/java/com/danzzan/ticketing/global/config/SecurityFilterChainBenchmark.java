@@ -0,0 +1,98 @@
+package com.danzzan.ticketing.global.config;
+
+import com.danzzan.ticketing.global.jwt.JwtAuthenticationFilter;
+import com.danzzan.ticketing.global.jwt.JwtTokenProvider;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// FilterChainProxy 한 요청분의 보안 filter 비용 비교 (컨트롤러 실행 제외)
+//   fastPath=false: 변경 전과 같이 모든 요청이 기본 chain을 거친다.
+//   fastPath=true : 티켓팅 고빈도 GET은 경량 chain을 거친다.
+//   eventList: 공개 이벤트 목록 (토큰 없음) / queueStatus: 인증된 대기열 상태 polling (검증 캐시 적중)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecurityFilterChainBenchmark {
+
+    @Param({"false", "true"})
+    public boolean fastPath;
+
+    private AnnotationConfigWebApplicationContext context;
+    private FilterChainProxy filterChainProxy;
+    private String bearerToken;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "jwt.secret", "benchmark-secret-key-benchmark-secret-key-0123456789",
+                "jwt.access-token-expiration", String.valueOf(TimeUnit.HOURS.toMillis(1)),
+                "jwt.refresh-token-expiration", String.valueOf(TimeUnit.DAYS.toMillis(14)),
+                "ticket.security.fast-path.enabled", String.valueOf(fastPath)
+        )));
+        context.register(WebMvc.class, CorsConfig.class, JwtTokenProvider.class, JwtAuthenticationFilter.class,
+                SecurityConfig.class);
+        context.refresh();
+
+        filterChainProxy = context.getBean(FilterChainProxy.class);
+        bearerToken = "Bearer " + context.getBean(JwtTokenProvider.class)
+                .createAccessToken(32221902L, "32221902", "ROLE_USER");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse eventList() throws ServletException, IOException {
+        return filter(request("/tickets/events", null));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse queueStatus() throws ServletException, IOException {
+        return filter(request("/tickets/1/queue/status", bearerToken));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChainProxy.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String uri, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServletPath(uri);
+        request.addHeader("Origin", "http://localhost:3000");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    @EnableWebMvc
+    static class WebMvc {
+    }
+}
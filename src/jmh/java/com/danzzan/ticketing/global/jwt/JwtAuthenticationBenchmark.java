@@ -0,0 +1,90 @@
+package com.danzzan.ticketing.global.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.DirectFieldAccessor;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// JwtAuthenticationFilter 한 요청분의 토큰 처리 비용 비교
+//   legacyThreeParses: 변경 전 경로 (validateToken/getUserId/getRole, 매번 parser 생성 + 서명 검증 3회)
+//   singlePass: parser 재사용 + 1회 검증 (캐시 없음)
+//   singlePassCached: 같은 토큰 반복 (polling) — 검증 캐시 적중
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private SecretKey key;
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider cachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncachedProvider = provider(0);
+        cachedProvider = provider(100_000);
+        token = cachedProvider.createAccessToken(32221902L, "32221902", "ROLE_USER");
+    }
+
+    @Benchmark
+    public void legacyThreeParses(Blackhole blackhole) {
+        if (legacyValidate(token)) {
+            blackhole.consume(Long.parseLong(legacyClaims(token).getSubject()));
+            blackhole.consume(legacyClaims(token).get("role", String.class));
+        }
+    }
+
+    @Benchmark
+    public JwtPrincipal singlePass() {
+        return uncachedProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal singlePassCached() {
+        return cachedProvider.authenticate(token);
+    }
+
+    private boolean legacyValidate(String value) {
+        try {
+            legacyClaims(value);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Claims legacyClaims(String value) {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(value)
+                .getPayload();
+    }
+
+    private JwtTokenProvider provider(int cacheEntries) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        DirectFieldAccessor fields = new DirectFieldAccessor(provider);
+        fields.setPropertyValue("secret", SECRET);
+        fields.setPropertyValue("accessTokenExpiration", TimeUnit.HOURS.toMillis(1));
+        fields.setPropertyValue("refreshTokenExpiration", TimeUnit.DAYS.toMillis(14));
+        fields.setPropertyValue("verifiedCacheMaxEntries", cacheEntries);
+        provider.init();
+        return provider;
+    }
+}
@@ -3,6 +3,8 @@ package com.danzzan.ticketing.domain.event.controller;
 import com.danzzan.ticketing.global.model.ApiResponse;
 import com.danzzan.ticketing.domain.event.dto.EventListResponseDTO;
 import com.danzzan.ticketing.domain.event.dto.EventStatsResponseDTO;
+import com.danzzan.ticketing.domain.event.dto.EventStatusResponseDTO;
+import com.danzzan.ticketing.domain.event.dto.EventStatusUpdateRequestDTO;
 import com.danzzan.ticketing.domain.event.service.AdminEventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,12 +13,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -125,4 +130,46 @@ public class AdminEventController {
     public ApiResponse<EventStatsResponseDTO> getEventStats(@NotNull @PathVariable Long eventId) {
         return ApiResponse.success(adminEventService.getEventStats(eventId));
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/events/{eventId}/status")
+    @Operation(
+            summary = "티켓팅 상태 변경",
+            description = "공연의 티켓팅 상태(READY/OPEN/CLOSED)를 변경하고 대기열 claim이 쓰는 Redis 이벤트 메타에 반영합니다."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "상태 변경 성공",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(
+                                    name = "success",
+                                    value = """
+                                            {
+                                              "success": true,
+                                              "data": {
+                                                "eventId": 2,
+                                                "ticketingStatus": "OPEN",
+                                                "ticketingStartTime": "2026-05-13T10:00"
+                                              },
+                                              "error": null
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "요청 형식 오류"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "해당 공연(eventId)이 존재하지 않음")
+    })
+    public ApiResponse<EventStatusResponseDTO> changeStatus(
+            @NotNull @PathVariable Long eventId,
+            @Valid @RequestBody EventStatusUpdateRequestDTO request
+    ) {
+        return ApiResponse.success(adminEventService.changeStatus(eventId, request.getTicketingStatus()));
+    }
 }
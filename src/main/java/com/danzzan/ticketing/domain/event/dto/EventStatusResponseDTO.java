@@ -0,0 +1,22 @@
+package com.danzzan.ticketing.domain.event.dto;
+
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "공연 티켓팅 상태")
+public class EventStatusResponseDTO {
+    @Schema(description = "공연 ID (festival_events.id)", example = "2")
+    private Long eventId;
+    @Schema(description = "티켓팅 상태", example = "OPEN")
+    private TicketingStatus ticketingStatus;
+    @Schema(description = "티켓팅 시작 시각", example = "2026-05-13T10:00:00")
+    private String ticketingStartTime;
+}
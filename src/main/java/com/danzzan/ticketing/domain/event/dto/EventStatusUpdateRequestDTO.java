@@ -0,0 +1,21 @@
+package com.danzzan.ticketing.domain.event.dto;
+
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "공연 티켓팅 상태 변경 요청")
+public class EventStatusUpdateRequestDTO {
+
+    @NotNull(message = "ticketingStatus는 필수입니다.")
+    @Schema(description = "변경할 티켓팅 상태", example = "OPEN")
+    private TicketingStatus ticketingStatus;
+}
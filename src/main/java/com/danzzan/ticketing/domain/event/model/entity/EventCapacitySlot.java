@@ -0,0 +1,50 @@
+package com.danzzan.ticketing.domain.event.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 인기 이벤트의 DB 예매 경합을 나누기 위해 잔여 좌석을 K개 행으로 쪼갠 slot
+// 전체 잔여 = 모든 slot의 (capacity - sold_count) 합
+@Entity
+@Table(name = "event_capacity_slots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_slot", columnNames = {"event_id", "slot_no"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EventCapacitySlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private FestivalEvent event;
+
+    @Column(name = "slot_no", nullable = false)
+    private Integer slotNo;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(name = "sold_count", nullable = false)
+    private Integer soldCount;
+
+    // slot 생성 시점에 이미 팔린 좌석 수. 순번은 이 값 다음부터 매긴다.
+    @Column(name = "order_offset", nullable = false)
+    private Integer orderOffset;
+
+    @Builder
+    public EventCapacitySlot(FestivalEvent event, Integer slotNo, Integer capacity, Integer soldCount,
+                             Integer orderOffset) {
+        this.event = event;
+        this.slotNo = slotNo;
+        this.capacity = capacity;
+        this.soldCount = soldCount != null ? soldCount : 0;
+        this.orderOffset = orderOffset != null ? orderOffset : 0;
+    }
+
+    public boolean hasRemaining() {
+        return soldCount < capacity;
+    }
+}
@@ -32,6 +32,11 @@ public class FestivalEvent {
     @Column(name = "total_capacity", nullable = false)
     private Integer totalCapacity;
 
+    // DB 예매 경로에서 확정된 좌석 수. repository의 UPDATE 문으로만 변경하고 엔티티에서는 변경하지 않는다.
+    // 관리자 수정 등 엔티티 flush가 읽어 둔 (오래된) 값을 다시 쓰지 않도록 UPDATE 대상에서 뺀다.
+    @Column(name = "sold_count", nullable = false, updatable = false)
+    private Integer soldCount;
+
     @Builder
     public FestivalEvent(String title, LocalDate eventDate, LocalDateTime ticketingStartTime,
                          TicketingStatus ticketingStatus, Integer totalCapacity) {
@@ -40,6 +45,7 @@ public class FestivalEvent {
         this.ticketingStartTime = ticketingStartTime;
         this.ticketingStatus = ticketingStatus != null ? ticketingStatus : TicketingStatus.READY;
         this.totalCapacity = totalCapacity;
+        this.soldCount = 0;
     }
 
     public void changeStatus(TicketingStatus status) {
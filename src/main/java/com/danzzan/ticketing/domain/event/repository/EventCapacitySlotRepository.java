@@ -0,0 +1,30 @@
+package com.danzzan.ticketing.domain.event.repository;
+
+import com.danzzan.ticketing.domain.event.model.entity.EventCapacitySlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface EventCapacitySlotRepository extends JpaRepository<EventCapacitySlot, Long> {
+
+    List<EventCapacitySlot> findAllByEventIdOrderBySlotNo(Long eventId);
+
+    // 여러 노드가 동시에 처음 예매해도 uk_event_slot으로 한 번만 생성된다.
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO event_capacity_slots (event_id, slot_no, capacity, sold_count, order_offset) "
+            + "VALUES (:eventId, :slotNo, :capacity, 0, :orderOffset)", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId, @Param("slotNo") int slotNo,
+                       @Param("capacity") int capacity, @Param("orderOffset") int orderOffset);
+
+    // festival_events.sold_count와 같은 방식으로 slot 하나만 잠근다.
+    @Modifying
+    @Query(value = "UPDATE event_capacity_slots SET sold_count = LAST_INSERT_ID(sold_count + 1) "
+            + "WHERE event_id = :eventId AND slot_no = :slotNo AND sold_count < capacity", nativeQuery = true)
+    int incrementSoldCountIfAvailable(@Param("eventId") Long eventId, @Param("slotNo") int slotNo);
+
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastIncrementedSoldCount();
+}
@@ -2,10 +2,12 @@ package com.danzzan.ticketing.domain.event.repository;
 
 import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
 import jakarta.persistence.LockModeType;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,4 +16,28 @@ public interface FestivalEventRepository extends JpaRepository<FestivalEvent, Lo
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select e from FestivalEvent e where e.id = :eventId")
     Optional<FestivalEvent> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    // 단일 writer가 batch 단위로 확정한 좌석 수를 반영한다 (findByIdForUpdate로 잠근 트랜잭션 안에서만 호출).
+    // sold_count는 엔티티에서 updatable = false라 native UPDATE로만 쓴다.
+    @Modifying
+    @Query(value = "UPDATE festival_events SET sold_count = :soldCount WHERE id = :eventId", nativeQuery = true)
+    int updateSoldCount(@Param("eventId") Long eventId, @Param("soldCount") int soldCount);
+
+    // 잔여석이 있을 때만 sold_count를 1 올린다 (행 잠금은 이 UPDATE부터 커밋까지만 유지).
+    // 올린 값을 LAST_INSERT_ID(expr)로 connection에 남겨 같은 문장의 결과를 순번으로 사용한다.
+    @Modifying
+    @Query(value = "UPDATE festival_events SET sold_count = LAST_INSERT_ID(sold_count + 1) "
+            + "WHERE id = :eventId AND sold_count < total_capacity", nativeQuery = true)
+    int incrementSoldCountIfAvailable(@Param("eventId") Long eventId);
+
+    // Redis 장애로 DB 경로에 넘길 때 이미 팔린 좌석 수 이상으로만 올린다 (여러 노드가 호출해도 안전).
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE festival_events SET sold_count = GREATEST(sold_count, :soldCount) WHERE id = :eventId",
+            nativeQuery = true)
+    int raiseSoldCount(@Param("eventId") Long eventId, @Param("soldCount") int soldCount);
+
+    // 직전 incrementSoldCountIfAvailable이 성공한 경우에만 의미가 있다 (connection 단위 값, 행 접근 없음).
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastIncrementedSoldCount();
 }
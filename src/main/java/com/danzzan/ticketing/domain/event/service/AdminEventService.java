@@ -2,8 +2,11 @@ package com.danzzan.ticketing.domain.event.service;
 
 import com.danzzan.ticketing.domain.event.dto.EventListResponseDTO;
 import com.danzzan.ticketing.domain.event.dto.EventStatsResponseDTO;
+import com.danzzan.ticketing.domain.event.dto.EventStatusResponseDTO;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
 
 public interface AdminEventService {
     EventListResponseDTO listEvents();
     EventStatsResponseDTO getEventStats(Long eventId);
+    EventStatusResponseDTO changeStatus(Long eventId, TicketingStatus status);
 }
@@ -2,12 +2,16 @@ package com.danzzan.ticketing.domain.event.service;
 
 import com.danzzan.ticketing.domain.event.dto.EventListResponseDTO;
 import com.danzzan.ticketing.domain.event.dto.EventStatsResponseDTO;
+import com.danzzan.ticketing.domain.event.dto.EventStatusResponseDTO;
 import com.danzzan.ticketing.domain.event.dto.EventSummaryDTO;
 import com.danzzan.ticketing.domain.event.exception.EventNotFoundException;
 import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
 import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
 import com.danzzan.ticketing.domain.ticket.model.entity.TicketStatus;
 import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventListSnapshot;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventMetaSync;
 import java.time.LocalDate;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -24,6 +28,8 @@ public class AdminEventServiceImpl implements AdminEventService {
 
     private final FestivalEventRepository festivalEventRepository;
     private final UserTicketRepository userTicketRepository;
+    private final TicketEventMetaSync ticketEventMetaSync;
+    private final TicketEventListSnapshot ticketEventListSnapshot;
 
     @Override
     public EventListResponseDTO listEvents() {
@@ -75,6 +81,24 @@ public class AdminEventServiceImpl implements AdminEventService {
                 .build();
     }
 
+    @Override
+    @Transactional
+    public EventStatusResponseDTO changeStatus(Long eventId, TicketingStatus status) {
+        FestivalEvent event = festivalEventRepository.findById(eventId)
+                .orElseThrow(EventNotFoundException::new);
+
+        event.changeStatus(status);
+        // 대기열 claim은 Redis 메타로 오픈 여부를 판정하므로 커밋 후 바로 반영한다.
+        // 이벤트 목록 snapshot도 커밋 후에 무효화해야 다시 만들 때 바뀐 상태를 읽는다.
+        ticketEventMetaSync.syncAfterCommit(event, ticketEventListSnapshot::invalidate);
+
+        return EventStatusResponseDTO.builder()
+                .eventId(event.getId())
+                .ticketingStatus(event.getTicketingStatus())
+                .ticketingStartTime(event.getTicketingStartTime().toString())
+                .build();
+    }
+
     private Map<LocalDate, Integer> buildDayIndex(List<FestivalEvent> events) {
         Map<LocalDate, Integer> indexByDate = new LinkedHashMap<>();
         int idx = 1;
@@ -5,9 +5,13 @@ import com.danzzan.ticketing.domain.ticket.dto.AdminTicketInitRequestDTO;
 import com.danzzan.ticketing.domain.ticket.dto.AdminTicketInitResponseDTO;
 import com.danzzan.ticketing.domain.ticket.dto.IssueTicketRequestDTO;
 import com.danzzan.ticketing.domain.ticket.dto.IssueTicketResponseDTO;
+import com.danzzan.ticketing.domain.ticket.dto.TicketReconcileResponseDTO;
 import com.danzzan.ticketing.domain.ticket.dto.TicketSearchResponseDTO;
+import com.danzzan.ticketing.domain.ticket.dto.TicketStatusCacheStatsResponseDTO;
 import com.danzzan.ticketing.domain.ticket.service.AdminTicketService;
 import com.danzzan.ticketing.domain.ticket.service.TicketInitService;
+import com.danzzan.ticketing.domain.ticket.service.TicketReconcileService;
+import com.danzzan.ticketing.domain.ticket.service.TicketStatusService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -40,6 +44,8 @@ public class AdminTicketController {
 
     private final AdminTicketService adminTicketService;
     private final TicketInitService ticketInitService;
+    private final TicketStatusService ticketStatusService;
+    private final TicketReconcileService ticketReconcileService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/ticket/init")
@@ -58,6 +64,38 @@ public class AdminTicketController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/ticket/status-cache")
+    @Operation(
+            summary = "종료 상태 캐시 통계",
+            description = "현재 노드의 SUCCESS/SOLD_OUT/ALREADY near-cache 적중/미적중 수를 조회합니다."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ApiResponse<TicketStatusCacheStatsResponseDTO> getStatusCacheStats() {
+        return ApiResponse.success(ticketStatusService.getCacheStats());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/events/{eventId}/tickets/reconcile")
+    @Operation(
+            summary = "Redis/DB 티켓 대사",
+            description = "Redis claim 표시, claim outbox, user_tickets, stock을 비교합니다. "
+                    + "repair=true면 누락된 티켓 적재, Redis claim 표시, stock drift를 보정합니다."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "대사 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음 또는 대사 중 재초기화"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "공연이 존재하지 않음")
+    })
+    public ApiResponse<TicketReconcileResponseDTO> reconcileTickets(
+            @NotNull @PathVariable Long eventId,
+            @RequestParam(defaultValue = "false") boolean repair
+    ) {
+        return ApiResponse.success(ticketReconcileService.reconcile(eventId, repair));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/events/{eventId}/tickets/search")
     @Operation(
@@ -10,16 +10,28 @@ import com.danzzan.ticketing.domain.ticket.dto.TicketStatusResponseDTO;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 import com.danzzan.ticketing.domain.ticket.service.AdmissionService;
 import com.danzzan.ticketing.domain.ticket.service.ClaimService;
+import com.danzzan.ticketing.domain.ticket.service.QueueStatusStreamService;
+import com.danzzan.ticketing.domain.ticket.service.TicketReserveWriterService;
 import com.danzzan.ticketing.domain.ticket.service.TicketService;
 import com.danzzan.ticketing.domain.ticket.service.TicketStatusService;
+import com.danzzan.ticketing.domain.ticket.service.model.AdmissionResult;
 import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventListSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Set;
 
@@ -43,12 +55,39 @@ public class TicketController {
     private final AdmissionService admissionService;
     private final ClaimService claimService;
     private final TicketStatusService ticketStatusService;
-
-    @GetMapping("/events")
-    @Operation(summary = "이벤트 목록 조회", description = "티켓팅 가능한 공연 목록을 조회합니다. 로그인 불필요.")
-    public ResponseEntity<ResponseTicketEventListDto> getTicketingEvents() {
-        ResponseTicketEventListDto response = ticketService.getTicketingEvents();
-        return ResponseEntity.ok(response);
+    private final QueueStatusStreamService queueStatusStreamService;
+    private final TicketEventListSnapshot ticketEventListSnapshot;
+    private final TicketReserveWriterService ticketReserveWriterService;
+
+    @GetMapping(value = "/events", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "이벤트 목록 조회", description = "티켓팅 가능한 공연 목록을 조회합니다. 로그인 불필요. "
+            + "응답의 ETag를 If-None-Match로 보내면 변경이 없을 때 304를 반환합니다.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "조회 성공",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ResponseTicketEventListDto.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음")
+    })
+    public ResponseEntity<byte[]> getTicketingEvents(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 미리 직렬화해 둔 snapshot을 그대로 내려보낸다 (요청마다 DTO 생성/직렬화 없음).
+        TicketEventListSnapshot.Snapshot snapshot = ticketEventListSnapshot.current();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 
     @PostMapping("/{eventId}/reserve")
@@ -57,7 +96,10 @@ public class TicketController {
             @PathVariable Long eventId,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        ResponseReserveTicketDto response = ticketService.reserveTicket(userId, eventId);
+        // single-writer 엔진은 요청 스레드에서 트랜잭션을 열지 않고 이벤트별 writer의 결과를 기다린다.
+        ResponseReserveTicketDto response = ticketReserveWriterService.isEnabled()
+                ? ticketReserveWriterService.reserve(userId, eventId)
+                : ticketService.reserveTicket(userId, eventId);
         return ResponseEntity.ok(response);
     }
 
@@ -91,6 +133,19 @@ public class TicketController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/{eventId}/queue/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "대기열 상태 스트림(SSE)",
+            description = "인증 사용자 기준으로 대기 순번 변화와 입장(ADMITTED)을 status 이벤트로 push 합니다. WAITING이 아니면 현재 상태 1건을 보내고 종료합니다."
+    )
+    public SseEmitter streamQueueStatus(
+            @PathVariable Long eventId,
+            Authentication authentication
+    ) {
+        Long userId = (Long) authentication.getPrincipal();
+        return queueStatusStreamService.subscribe(String.valueOf(eventId), String.valueOf(userId));
+    }
+
     @PostMapping("/request")
     @Operation(
             summary = "티켓 요청(v1, deprecated)",
@@ -118,15 +173,22 @@ public class TicketController {
     }
 
     private TicketRequestResponseDTO enterQueueAndClaim(String eventId, String userId) {
-        TicketRequestStatus admissionStatus = admissionService.admit(eventId, userId);
-        if (admissionStatus != TicketRequestStatus.ADMITTED) {
+        AdmissionResult admissionResult = admissionService.admit(eventId, userId);
+        if (admissionResult.status() != TicketRequestStatus.ADMITTED) {
             return TicketRequestResponseDTO.builder()
-                    .status(admissionStatus)
+                    .status(admissionResult.status())
                     .remaining(null)
+                    .rank(admissionResult.rank())
                     .build();
         }
 
-        ClaimResult claimResult = claimService.claim(eventId, userId);
+        // 오픈 전/마감 거절(예외)이어도 입장 슬롯은 반납한다.
+        ClaimResult claimResult;
+        try {
+            claimResult = claimService.claim(eventId, userId);
+        } finally {
+            admissionService.release(eventId, userId);
+        }
         if (!CLAIM_TERMINAL_STATUSES.contains(claimResult.status())) {
             throw new IllegalStateException("claim status must be one of SUCCESS, SOLD_OUT, ALREADY");
         }
@@ -134,13 +196,16 @@ public class TicketController {
         return TicketRequestResponseDTO.builder()
                 .status(claimResult.status())
                 .remaining(claimResult.remaining())
+                .queueNumber(claimResult.order())
                 .build();
     }
 
     private TicketStatusResponseDTO ticketStatus(String eventId, String userId) {
         TicketRequestStatus status = ticketStatusService.getStatus(eventId, userId);
+        Long rank = status == TicketRequestStatus.WAITING ? admissionService.getRank(eventId, userId) : null;
         return TicketStatusResponseDTO.builder()
                 .status(status)
+                .rank(rank)
                 .build();
     }
 
@@ -18,4 +18,7 @@ public class AdminTicketInitResponseDTO {
 
     @Schema(description = "초기 재고 수량", example = "2000")
     private Long stock;
+
+    @Schema(description = "이번 초기화로 시작된 key generation (이전 generation key는 백그라운드에서 정리)", example = "3")
+    private Long generation;
 }
@@ -0,0 +1,71 @@
+package com.danzzan.ticketing.domain.ticket.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Redis claim / user_tickets / stock 대사 결과")
+public class TicketReconcileResponseDTO {
+
+    @Schema(description = "공연 ID", example = "2")
+    private Long eventId;
+
+    @Schema(description = "대사한 key generation", example = "3")
+    private Long generation;
+
+    @Schema(description = "차이를 보정했는지 여부 (false면 보고만 함)", example = "false")
+    private Boolean repair;
+
+    @Schema(description = "Redis에 claim 표시된 사용자 수", example = "5000")
+    private Integer redisClaimedCount;
+
+    @Schema(description = "user_tickets에 적재된 티켓 수", example = "4998")
+    private Integer persistedCount;
+
+    @Schema(description = "claim outbox(stream)에 남아 아직 적재 대기 중인 사용자 수", example = "2")
+    private Integer pendingOutboxCount;
+
+    @Schema(description = "Redis에는 claim이 있으나 DB/outbox 어디에도 없는 사용자 수", example = "0")
+    private Integer missingInDbCount;
+
+    @Schema(description = "DB 티켓은 있으나 Redis에 claim 표시가 없는 사용자 수", example = "0")
+    private Integer missingInRedisCount;
+
+    @Schema(description = "missingInDb 사용자 ID 일부 (최대 ticket.reconcile.sample-size)")
+    private List<Long> missingInDbSample;
+
+    @Schema(description = "missingInRedis 사용자 ID 일부 (최대 ticket.reconcile.sample-size)")
+    private List<Long> missingInRedisSample;
+
+    @Schema(description = "현재 Redis stock (key 없으면 null)", example = "0")
+    private Long redisStock;
+
+    @Schema(description = "stock lease 모드에서 노드들이 가져가 아직 팔지 않은 재고 수", example = "0")
+    private Long leasedStock;
+
+    @Schema(description = "total_capacity - (Redis ∪ DB 확정 사용자 수) - leasedStock", example = "0")
+    private Long expectedStock;
+
+    @Schema(description = "redisStock - expectedStock (key 없으면 null)", example = "0")
+    private Long stockDrift;
+
+    @Schema(description = "보정으로 user_tickets 적재를 시도한 수", example = "0")
+    private Integer repairedMissingInDb;
+
+    @Schema(description = "보정으로 Redis에 claim 표시한 수", example = "0")
+    private Integer repairedMissingInRedis;
+
+    @Schema(description = "stock을 expectedStock으로 맞췄는지 여부 (대사 중 stock/leasedStock이 바뀌었으면 false)", example = "false")
+    private Boolean stockRepaired;
+
+    @Schema(description = "소요 시간(ms)", example = "840")
+    private Long elapsedMs;
+}
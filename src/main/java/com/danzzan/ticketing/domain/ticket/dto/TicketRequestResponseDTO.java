@@ -19,4 +19,10 @@ public class TicketRequestResponseDTO {
 
     @Schema(description = "남은 재고(선택)", example = "42", nullable = true)
     private Long remaining;
+
+    @Schema(description = "배정된 예매 순번(SUCCESS일 때만)", example = "958", nullable = true)
+    private Long queueNumber;
+
+    @Schema(description = "대기 순번(WAITING일 때만, 1부터 시작)", example = "1532", nullable = true)
+    private Long rank;
 }
@@ -0,0 +1,30 @@
+package com.danzzan.ticketing.domain.ticket.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "종료 상태 near-cache 통계(현재 노드 기준)")
+public class TicketStatusCacheStatsResponseDTO {
+
+    @Schema(description = "캐시 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "캐시 적중 수(Redis GET 절감 수)", example = "182340")
+    private long hits;
+
+    @Schema(description = "캐시 미적중 수", example = "51022")
+    private long misses;
+
+    @Schema(description = "적중률(0~1)", example = "0.78")
+    private double hitRatio;
+
+    @Schema(description = "현재 캐시 항목 수", example = "50000")
+    private int size;
+}
@@ -16,4 +16,7 @@ public class TicketStatusResponseDTO {
 
     @Schema(description = "현재 상태", example = "WAITING")
     private TicketRequestStatus status;
+
+    @Schema(description = "대기 순번(WAITING일 때만, 1부터 시작)", example = "1532", nullable = true)
+    private Long rank;
 }
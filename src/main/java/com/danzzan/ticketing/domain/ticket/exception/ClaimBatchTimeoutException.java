@@ -0,0 +1,16 @@
+package com.danzzan.ticketing.domain.ticket.exception;
+
+import lombok.Getter;
+
+// claim batch 결과를 제한 시간 안에 받지 못했고 status 조회로도 결과를 확정하지 못한 경우.
+// dispatched=false면 Redis로 보내기 전에 취소했으므로 claim이 적용되지 않았다.
+// dispatched=true면 batch가 늦게라도 적용될 수 있다 (다시 요청하면 ALREADY/status 조회로 확인된다).
+@Getter
+public class ClaimBatchTimeoutException extends ClaimOverloadedException {
+    private final boolean dispatched;
+
+    public ClaimBatchTimeoutException(boolean dispatched, long retryAfterSeconds) {
+        super("예매 처리가 지연되고 있습니다. 잠시 후 예매 상태를 확인해주세요.", retryAfterSeconds);
+        this.dispatched = dispatched;
+    }
+}
@@ -0,0 +1,10 @@
+package com.danzzan.ticketing.domain.ticket.exception;
+
+// Redis 장애 중 DB 예매 경로로 넘길 수 없는 경우 (이미 팔린 수를 확인할 수 없거나 capacity slot 모드).
+// 정원을 넘길 위험이 있으므로 우회하지 않고 503 + Retry-After로 거절한다.
+public class ClaimFailoverRefusedException extends ClaimOverloadedException {
+
+    public ClaimFailoverRefusedException(long retryAfterSeconds) {
+        super("예매 시스템 점검 중입니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+}
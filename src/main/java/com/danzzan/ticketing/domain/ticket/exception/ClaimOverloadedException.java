@@ -0,0 +1,17 @@
+package com.danzzan.ticketing.domain.ticket.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ClaimOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ClaimOverloadedException(long retryAfterSeconds) {
+        this("예매 요청이 많아 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+
+    protected ClaimOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
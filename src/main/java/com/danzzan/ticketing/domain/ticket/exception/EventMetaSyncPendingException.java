@@ -0,0 +1,15 @@
+package com.danzzan.ticketing.domain.ticket.exception;
+
+import lombok.Getter;
+
+// 관리자 상태 변경은 DB에 커밋됐지만 Redis 메타(ticket:{eventId}:meta) 반영에 실패한 경우.
+// 메타는 TicketEventMetaSync가 주기적으로 다시 반영하므로 요청을 다시 보낼 필요는 없다.
+@Getter
+public class EventMetaSyncPendingException extends RuntimeException {
+    private final String eventId;
+
+    public EventMetaSyncPendingException(String eventId, Throwable cause) {
+        super("상태는 변경되었지만 예매 서버 반영이 지연되고 있습니다. 자동으로 다시 반영합니다.", cause);
+        this.eventId = eventId;
+    }
+}
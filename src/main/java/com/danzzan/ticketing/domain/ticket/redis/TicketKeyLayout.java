@@ -0,0 +1,85 @@
+package com.danzzan.ticketing.domain.ticket.redis;
+
+import java.nio.charset.StandardCharsets;
+
+// 이벤트별 user/status key 배치 방식.
+// STRING: 사용자마다 ticket:{eventId}:user:{userId}, ticket:{eventId}:status:{userId} string key
+// HASH: ticket:{eventId}:users:{bucket}, ticket:{eventId}:statuses:{bucket} hash의 field(userId)
+// BITMAP: 숫자 userId는 ticket:{eventId}:users:bits의 bit(offset = userId), ticket:{eventId}:statuses:bits의 3bit 코드.
+//         숫자가 아닌(레거시 문자열) userId나 범위를 벗어난 userId는 STRING layout key를 그대로 쓴다.
+// 이벤트의 layout은 init 때 layoutKey marker로 고정되고, Lua script는 marker를 보고 같은 layout으로 읽고 쓴다.
+public enum TicketKeyLayout {
+    STRING,
+    HASH,
+    BITMAP;
+
+    private static final String HASH_MARKER_PREFIX = "HASH:";
+    private static final String BITMAP_MARKER = "BITMAP";
+    private static final long HASH_MODULUS = 2147483647L;
+
+    // BITMAP layout bit offset 상한 (ticket_layout.lua의 TICKET_BITMAP_MAX_OFFSET). bitmap 2MB, status 6MB가 최대다.
+    public static final long BITMAP_MAX_OFFSET = 16_777_215L;
+    // status 코드 폭 (TicketRequestStatus ordinal, 0 = NONE)
+    public static final int STATUS_CODE_BITS = 3;
+
+    public static String hashMarker(int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive");
+        }
+        return HASH_MARKER_PREFIX + buckets;
+    }
+
+    public static String bitmapMarker() {
+        return BITMAP_MARKER;
+    }
+
+    public static TicketKeyLayout of(String marker) {
+        if (BITMAP_MARKER.equals(marker)) {
+            return BITMAP;
+        }
+        return bucketsOf(marker) > 0 ? HASH : STRING;
+    }
+
+    // marker가 없거나 해석할 수 없으면 STRING layout(0)으로 본다. (ticket_layout.lua의 ticket_hash_buckets와 동일)
+    public static int bucketsOf(String marker) {
+        if (marker == null || !marker.startsWith(HASH_MARKER_PREFIX)) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(marker.substring(HASH_MARKER_PREFIX.length())));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // ticket_layout.lua의 ticket_bucket_key와 같은 bucket을 계산한다.
+    public static int bucketOf(String member, int buckets) {
+        long h = 0L;
+        for (byte b : member.getBytes(StandardCharsets.UTF_8)) {
+            h = (h * 31 + (b & 0xff)) % HASH_MODULUS;
+        }
+        return (int) (h % buckets);
+    }
+
+    // ticket_layout.lua의 ticket_bitmap_offset과 같은 규칙: 앞자리 0 없는 10진수이고 상한 이하이면 offset, 아니면 -1
+    public static long bitmapOffsetOf(String member) {
+        if (member == null || member.isEmpty() || member.length() > 8) {
+            return -1L;
+        }
+        if (member.length() > 1 && member.charAt(0) == '0') {
+            return -1L;
+        }
+        for (int i = 0; i < member.length(); i++) {
+            char c = member.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+        }
+        long offset = Long.parseLong(member);
+        return offset <= BITMAP_MAX_OFFSET ? offset : -1L;
+    }
+
+    public static int statusCode(TicketRequestStatus status) {
+        return status.ordinal();
+    }
+}
@@ -0,0 +1,65 @@
+package com.danzzan.ticketing.domain.ticket.redis;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Redis Cluster에서 단일 노드 전제로 동작하지 않는 명령(SCAN, 여러 stream XREADGROUP)을 나눠 실행하는 도움 함수.
+// 단일 노드(standalone)에서는 기존과 같은 명령 한 번으로 동작한다.
+public final class TicketRedisCluster {
+
+    private TicketRedisCluster() {
+    }
+
+    public static boolean isCluster(StringRedisTemplate redisTemplate) {
+        return redisTemplate.getRequiredConnectionFactory() instanceof LettuceConnectionFactory factory
+                && factory.isClusterAware();
+    }
+
+    // cluster의 SCAN은 노드마다 따로 돌아야 한다. 이벤트 key는 모두 같은 slot이므로
+    // routingKey(같은 이벤트의 아무 key)의 slot을 가진 master 한 곳만 훑는다.
+    public static void scan(StringRedisTemplate redisTemplate, String routingKey, ScanOptions options,
+                            Consumer<String> consumer) {
+        if (!isCluster(redisTemplate)) {
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    consumer.accept(cursor.next());
+                }
+            }
+            return;
+        }
+
+        RedisConnectionFactory connectionFactory = redisTemplate.getRequiredConnectionFactory();
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            RedisClusterNode node = connection.clusterGetNodeForKey(routingKey.getBytes(StandardCharsets.UTF_8));
+            try (Cursor<byte[]> cursor = connection.scan(node, options)) {
+                while (cursor.hasNext()) {
+                    consumer.accept(new String(cursor.next(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    // 한 명령에 같이 보낼 수 있는 key 묶음. cluster면 slot별로 나누고, 아니면 전체를 한 묶음으로 둔다.
+    public static List<List<String>> groupBySlot(StringRedisTemplate redisTemplate, Collection<String> keys) {
+        if (!isCluster(redisTemplate)) {
+            return keys.isEmpty() ? List.of() : List.of(List.copyOf(keys));
+        }
+        Map<Integer, List<String>> keysBySlot = keys.stream()
+                .collect(Collectors.groupingBy(SlotHash::getSlot, LinkedHashMap::new, Collectors.toList()));
+        return List.copyOf(keysBySlot.values());
+    }
+}
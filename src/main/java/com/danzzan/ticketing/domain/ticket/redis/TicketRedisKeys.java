@@ -3,29 +3,186 @@ package com.danzzan.ticketing.domain.ticket.redis;
 public final class TicketRedisKeys {
 
     private static final String PREFIX = "ticket";
+    private static final String EVENT_REGISTRY_KEY = PREFIX + ":events";
+    private static final String ADMISSION_LEASE_KEY = PREFIX + ":admission:lease";
+    private static final String ADMISSION_CLAIM_LATENCY_KEY = PREFIX + ":admission:claim-latency";
+    private static final String GENERATION_SWEEP_LEASE_KEY = PREFIX + ":generation-sweep:lease";
+    private static final String STATUS_CACHE_INVALIDATION_CHANNEL = PREFIX + ":status-cache:invalidate";
+    private static final String SOLD_OUT_CHANNEL = PREFIX + ":sold-out";
+    private static final String STOCK_LEASE_DRAIN_CHANNEL = PREFIX + ":stock-lease:drain";
     private static final String COLON_ESCAPE = "%3A";
+    private static final String QUEUE_EVENTS_SUFFIX = ":queue-events";
+    private static final String BITMAP_SUFFIX = "bits";
 
     private TicketRedisKeys() {
     }
 
     public static String stockKey(String eventId) {
-        return PREFIX + ":" + keyPart(eventId, "eventId") + ":stock";
+        return eventPrefix(eventId) + "stock";
     }
 
-    public static String userKey(String eventId, String userId) {
-        return PREFIX + ":" + keyPart(eventId, "eventId") + ":user:" + keyPart(userId, "userId");
+    public static String orderKey(String eventId, long generation) {
+        return namespace(eventId, generation) + "order";
     }
 
-    public static String statusKey(String eventId, String userId) {
-        return PREFIX + ":" + keyPart(eventId, "eventId") + ":status:" + keyPart(userId, "userId");
+    public static String userKey(String eventId, long generation, String userId) {
+        return userKeyPrefix(eventId, generation) + keyPart(userId, "userId");
     }
 
-    public static String queueKey(String eventId) {
-        return PREFIX + ":" + keyPart(eventId, "eventId") + ":queue";
+    public static String statusKey(String eventId, long generation, String userId) {
+        return namespace(eventId, generation) + "status:" + keyPart(userId, "userId");
     }
 
-    public static String gateKey(String eventId) {
-        return PREFIX + ":" + keyPart(eventId, "eventId") + ":gate";
+    // STRING layout user key를 SCAN 할 때 쓰는 prefix (prefix + member = userKey)
+    public static String userKeyPrefix(String eventId, long generation) {
+        return namespace(eventId, generation) + "user:";
+    }
+
+    // HASH layout: ticket:{eventId}:users:{bucket} / ticket:{eventId}:statuses:{bucket} (field = queueMember(userId))
+    public static String userHashPrefix(String eventId, long generation) {
+        return namespace(eventId, generation) + "users:";
+    }
+
+    public static String statusHashPrefix(String eventId, long generation) {
+        return namespace(eventId, generation) + "statuses:";
+    }
+
+    // BITMAP layout: 숫자 userId의 claim bitmap / 3bit status 코드 (Lua는 hashPrefix .. "bits"로 같은 key를 조립한다)
+    public static String userBitmapKey(String eventId, long generation) {
+        return userHashPrefix(eventId, generation) + BITMAP_SUFFIX;
+    }
+
+    public static String statusBitfieldKey(String eventId, long generation) {
+        return statusHashPrefix(eventId, generation) + BITMAP_SUFFIX;
+    }
+
+    // 이벤트의 user/status layout marker (없으면 STRING, "HASH:<buckets>"이면 HASH)
+    public static String layoutKey(String eventId, long generation) {
+        return namespace(eventId, generation) + "layout";
+    }
+
+    public static String queueKey(String eventId, long generation) {
+        return namespace(eventId, generation) + "queue";
+    }
+
+    public static String gateKey(String eventId, long generation) {
+        return namespace(eventId, generation) + "gate";
+    }
+
+    // stock lease 모드에서 노드들이 stock에서 가져가 아직 팔지 않은 단위 수 (INT, stock + leased + 판매 수 = 정원)
+    public static String leasedStockKey(String eventId, long generation) {
+        return namespace(eventId, generation) + "leased";
+    }
+
+    // stock lease 모드에서 노드별로 들고 있는 미사용 단위 (HASH nodeId -> units, 합계 = leased)
+    public static String leaseOwnersKey(String eventId, long generation) {
+        return namespace(eventId, generation) + "lease-owners";
+    }
+
+    // prefix + nodeId = lease를 가진 노드의 heartbeat (STRING, TTL이 지나면 그 노드의 lease를 회수한다)
+    public static String leaseHeartbeatPrefix(String eventId) {
+        return eventPrefix(eventId) + "lease-alive:";
+    }
+
+    public static String leaseHeartbeatKey(String eventId, String nodeId) {
+        return leaseHeartbeatPrefix(eventId) + nodeId;
+    }
+
+    public static String queueSeqKey(String eventId, long generation) {
+        return namespace(eventId, generation) + "queue-seq";
+    }
+
+    // 이벤트의 현재 generation (INT, init마다 +1). 없으면 0
+    public static String generationKey(String eventId) {
+        return eventPrefix(eventId) + "gen";
+    }
+
+    // 이벤트 오픈 상태 mirror (HASH status=READY|OPEN|CLOSED, openAt=티켓팅 시작 epoch millis). generation과 무관하게 유지한다.
+    public static String eventMetaKey(String eventId) {
+        return eventPrefix(eventId) + "meta";
+    }
+
+    // init으로 밀려난 generation 목록 (ZSET, member=generation, score=retired epoch millis)
+    public static String retiredGenerationsKey(String eventId) {
+        return eventPrefix(eventId) + "gen-retired";
+    }
+
+    // event_init.lua가 새 generation의 layout key를 조립할 때 쓰는 prefix (prefix + generation + ":layout")
+    public static String generationNamespacePrefix(String eventId) {
+        return eventPrefix(eventId) + "g";
+    }
+
+    // 이벤트의 모든 key와 일치하는 SCAN/KEYS pattern (Redis glob에서 {}는 일반 문자)
+    public static String eventKeyPattern(String eventId) {
+        return eventPrefix(eventId) + "*";
+    }
+
+    // 승격 후 대기열 선두 순번(seq)을 알리는 pub/sub 채널 (key가 아니므로 hash tag 없이 둔다)
+    public static String queueEventsChannel(String eventId) {
+        return PREFIX + ":" + keyPart(eventId, "eventId") + QUEUE_EVENTS_SUFFIX;
+    }
+
+    public static String queueEventsChannelPattern() {
+        return PREFIX + ":*" + QUEUE_EVENTS_SUFFIX;
+    }
+
+    // queue/gate ZSET member는 statusKey 마지막 segment와 같게 둔다 (Lua에서 prefix + member로 statusKey 조립)
+    public static String statusKeyPrefix(String eventId, long generation) {
+        return namespace(eventId, generation) + "status:";
+    }
+
+    public static String queueMember(String userId) {
+        return keyPart(userId, "userId");
+    }
+
+    public static String claimStreamKey(String eventId) {
+        return eventPrefix(eventId) + "claims";
+    }
+
+    public static String eventRegistryKey() {
+        return EVENT_REGISTRY_KEY;
+    }
+
+    public static String admissionLeaseKey() {
+        return ADMISSION_LEASE_KEY;
+    }
+
+    public static String admissionClaimLatencyKey() {
+        return ADMISSION_CLAIM_LATENCY_KEY;
+    }
+
+    public static String generationSweepLeaseKey() {
+        return GENERATION_SWEEP_LEASE_KEY;
+    }
+
+    // init 시 eventId를 publish 해 모든 노드의 종료 상태 near-cache와 generation cache를 비운다.
+    public static String statusCacheInvalidationChannel() {
+        return STATUS_CACHE_INVALIDATION_CHANNEL;
+    }
+
+    // 매진을 본 노드가 "{generation}:{eventId}"를 publish 해 다른 노드도 claim을 Redis 없이 SOLD_OUT으로 끝내게 한다.
+    public static String soldOutChannel() {
+        return SOLD_OUT_CHANNEL;
+    }
+
+    // stock이 바닥난 것을 본 노드가 "{generation}:{eventId}"를 publish 해 모든 노드가 남은 lease를 stock으로 돌려놓게 한다.
+    public static String stockLeaseDrainChannel() {
+        return STOCK_LEASE_DRAIN_CHANNEL;
+    }
+
+    // 이벤트의 key는 모두 ticket:{eventId}: 로 시작한다. {eventId}가 Redis Cluster hash tag라서
+    // 한 이벤트의 key는 같은 slot에 놓이고(multi-key Lua script가 CROSSSLOT 없이 동작), 이벤트끼리는 여러 shard로 나뉜다.
+    private static String eventPrefix(String eventId) {
+        return PREFIX + ":{" + keyPart(eventId, "eventId") + "}:";
+    }
+
+    // user/status/order/queue/gate/layout은 generation namespace 아래에 둔다.
+    // generation 0은 generation 도입 전 key 이름(ticket:{eventId}:...)을 그대로 쓴다.
+    private static String namespace(String eventId, long generation) {
+        if (generation == 0L) {
+            return eventPrefix(eventId);
+        }
+        return eventPrefix(eventId) + "g" + generation + ":";
     }
 
     private static String keyPart(String raw, String fieldName) {
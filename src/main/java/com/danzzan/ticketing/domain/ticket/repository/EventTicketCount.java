@@ -0,0 +1,7 @@
+package com.danzzan.ticketing.domain.ticket.repository;
+
+// 이벤트별 발급 티켓 수 (GROUP BY event_id 결과 projection)
+public interface EventTicketCount {
+    Long getEventId();
+    long getTicketCount();
+}
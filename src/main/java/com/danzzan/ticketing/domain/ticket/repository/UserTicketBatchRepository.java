@@ -0,0 +1,46 @@
+package com.danzzan.ticketing.domain.ticket.repository;
+
+import com.danzzan.ticketing.domain.ticket.model.entity.TicketStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimedTicket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Redis claim 결과를 user_tickets에 JDBC batch로 적재하는 저장소
+// uk_user_event 중복은 무시하므로 같은 claim을 여러 번 적재해도 결과가 같다 (at-least-once 재시도 전제)
+@Repository
+@RequiredArgsConstructor
+public class UserTicketBatchRepository {
+
+    // users/festival_events와 JOIN해 존재하지 않는 id는 FK 오류 대신 0건으로 건너뛴다.
+    private static final String INSERT_CLAIMED_TICKET_SQL = """
+            INSERT INTO user_tickets (user_id, event_id, status, ticketing_order, ticketing_at)
+            SELECT u.id, e.id, ?, ?, ?
+            FROM festival_events e
+            JOIN users u ON u.id = ?
+            WHERE e.id = ?
+            ON DUPLICATE KEY UPDATE user_tickets.id = user_tickets.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public int[][] insertIgnoringDuplicates(List<ClaimedTicket> tickets) {
+        return jdbcTemplate.batchUpdate(
+                INSERT_CLAIMED_TICKET_SQL,
+                tickets,
+                tickets.size(),
+                (ps, ticket) -> {
+                    ps.setString(1, TicketStatus.CONFIRMED.name());
+                    ps.setInt(2, ticket.ticketingOrder());
+                    ps.setTimestamp(3, Timestamp.valueOf(ticket.claimedAt()));
+                    ps.setLong(4, ticket.userId());
+                    ps.setLong(5, ticket.eventId());
+                }
+        );
+    }
+}
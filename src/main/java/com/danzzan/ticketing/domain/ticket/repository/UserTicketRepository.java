@@ -2,14 +2,24 @@ package com.danzzan.ticketing.domain.ticket.repository;
 
 import com.danzzan.ticketing.domain.ticket.model.entity.TicketStatus;
 import com.danzzan.ticketing.domain.ticket.model.entity.UserTicket;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserTicketRepository extends JpaRepository<UserTicket, Long> {
     Optional<UserTicket> findByEventIdAndUser_StudentId(Long eventId, String studentId);
     Optional<UserTicket> findByIdAndEventId(Long ticketId, Long eventId);
     long countByEventId(Long eventId);
+    @Query("select t.event.id as eventId, count(t) as ticketCount from UserTicket t "
+            + "where t.event.id in :eventIds group by t.event.id")
+    List<EventTicketCount> countGroupByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+    @Query("select t.user.id from UserTicket t where t.event.id = :eventId")
+    List<Long> findUserIdsByEventId(@Param("eventId") Long eventId);
+    @Query("select coalesce(max(t.ticketingOrder), 0) from UserTicket t where t.event.id = :eventId")
+    int findMaxTicketingOrderByEventId(@Param("eventId") Long eventId);
     long countByEventIdAndStatus(Long eventId, TicketStatus status);
     boolean existsByUserIdAndEventId(Long userId, Long eventId);
     List<UserTicket> findAllByUserIdOrderByTicketingAtDesc(Long userId);
@@ -0,0 +1,219 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.support.AdmissionRateController;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.ClusterClaimLatency;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisLeaseManager;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 대기열 앞에서부터 tick마다 N명씩 gate로 승격한다.
+// gate 인원은 gate-capacity로 제한되므로 오픈 순간 트래픽과 무관하게 claim 동시성이 일정하게 유지된다.
+// N은 이벤트별 AdmissionRateController가 클러스터 claim 지연(EWMA)과 남은 재고로 조절하고, 재고가 0이면 승격을 멈춘다.
+// 남은 재고에는 노드들이 lease로 들고 있는 미사용 단위도 포함한다 (stock key가 0이어도 팔 수 있는 재고).
+// 남은 재고가 0이면 대기 중인 사용자를 tick마다 settle-batch-size명씩 SOLD_OUT으로 확정하고 구독자에게 알린다.
+// 승격은 Redis lease를 가진 노드 한 곳에서만 수행한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdmissionGateServiceImpl implements AdmissionGateService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    @Qualifier("admissionPromoteScript")
+    private final RedisScript<Long> admissionPromoteScript;
+    @Qualifier("admissionSettleSoldOutScript")
+    private final RedisScript<Long> admissionSettleSoldOutScript;
+    private final RedisLeaseManager redisLeaseManager;
+    private final ClusterClaimLatency clusterClaimLatency;
+    private final TicketGenerationCache ticketGenerationCache;
+    private final ClaimStockLeases claimStockLeases;
+
+    @Value("${ticket.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.admission.admit-per-second:200}")
+    private int admitPerSecond;
+
+    @Value("${ticket.admission.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${ticket.admission.gate-capacity:500}")
+    private int gateCapacity;
+
+    @Value("${ticket.admission.gate-ttl-ms:60000}")
+    private long gateTtlMs;
+
+    @Value("${ticket.admission.max-per-tick:200}")
+    private int maxPerTick;
+
+    @Value("${ticket.admission.target-claim-latency-ms:20}")
+    private long targetClaimLatencyMs;
+
+    @Value("${ticket.admission.lease-ttl-ms:3000}")
+    private long leaseTtlMs;
+
+    // 매진 후 tick 한 번에 SOLD_OUT으로 정리하는 대기 인원 상한
+    @Value("${ticket.admission.settle-batch-size:1000}")
+    private int settleBatchSize;
+
+    private final Map<String, AdmissionRateController> rateControllers = new ConcurrentHashMap<>();
+    private volatile boolean leader;
+
+    @Scheduled(fixedDelayString = "${ticket.admission.tick-ms:100}")
+    public void promoteRegisteredEvents() {
+        if (!enabled) {
+            return;
+        }
+        boolean acquired = redisLeaseManager.tryAcquire(TicketRedisKeys.admissionLeaseKey(), leaseTtlMs);
+        if (acquired != leader) {
+            log.info("admission gate lease {} owner={}", acquired ? "acquired" : "lost", redisLeaseManager.ownerId());
+            leader = acquired;
+        }
+        if (!acquired) {
+            return;
+        }
+
+        Set<String> eventIds = stringRedisTemplate.opsForSet().members(TicketRedisKeys.eventRegistryKey());
+        if (eventIds == null || eventIds.isEmpty()) {
+            return;
+        }
+
+        long claimLatencyNanos = clusterClaimLatency.latencyNanos();
+        for (String eventId : eventIds) {
+            try {
+                promoteAdaptively(eventId, claimLatencyNanos);
+            } catch (RuntimeException e) {
+                log.warn("admission promote failed eventId={}", eventId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leader) {
+            redisLeaseManager.release(TicketRedisKeys.admissionLeaseKey());
+            leader = false;
+        }
+    }
+
+    private void promoteAdaptively(String eventId, long claimLatencyNanos) {
+        long remainingStock = readRemainingStock(eventId);
+        if (claimStockLeases.isEnabled()) {
+            remainingStock = Math.max(0L, remainingStock)
+                    + claimStockLeases.outstandingUnits(eventId, ticketGenerationCache.current(eventId));
+        }
+        if (remainingStock <= 0) {
+            settleSoldOut(eventId);
+            return;
+        }
+
+        AdmissionRateController controller = rateControllers.computeIfAbsent(eventId, key -> newRateController());
+        int count = controller.next(claimLatencyNanos, remainingStock);
+        if (count > 0) {
+            promote(eventId, count);
+        }
+    }
+
+    // 더 입장시켜도 살 수 없으므로 대기열을 비우며 SOLD_OUT을 확정한다 (이미 claim 한 사용자는 ALREADY).
+    int settleSoldOut(String eventId) {
+        long generation = ticketGenerationCache.current(eventId);
+        Long settled = stringRedisTemplate.execute(
+                admissionSettleSoldOutScript,
+                List.of(
+                        TicketRedisKeys.queueKey(eventId, generation),
+                        TicketRedisKeys.layoutKey(eventId, generation),
+                        TicketRedisKeys.generationKey(eventId)
+                ),
+                String.valueOf(settleBatchSize),
+                String.valueOf(generation),
+                TicketRequestStatus.SOLD_OUT.name(),
+                TicketRequestStatus.ALREADY.name(),
+                TicketRedisKeys.userKeyPrefix(eventId, generation),
+                TicketRedisKeys.statusKeyPrefix(eventId, generation),
+                TicketRedisKeys.userHashPrefix(eventId, generation),
+                TicketRedisKeys.statusHashPrefix(eventId, generation),
+                TicketRedisKeys.queueEventsChannel(eventId)
+        );
+        if (settled != null && settled < 0) {
+            ticketGenerationCache.refresh(eventId);
+            return 0;
+        }
+        int count = settled == null ? 0 : settled.intValue();
+        if (count > 0) {
+            log.info("admission queue settled as sold out eventId={} count={}", eventId, count);
+        }
+        return count;
+    }
+
+    private long readRemainingStock(String eventId) {
+        String stock = stringRedisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId));
+        if (stock == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(stock);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private AdmissionRateController newRateController() {
+        int initialPerTick = (int) Math.max(1L, admitPerSecond * tickMs / 1000L);
+        return new AdmissionRateController(
+                initialPerTick,
+                1,
+                Math.max(initialPerTick, maxPerTick),
+                TimeUnit.MILLISECONDS.toNanos(targetClaimLatencyMs)
+        );
+    }
+
+    @Override
+    public int promote(String eventId, int maxCount) {
+        long generation = ticketGenerationCache.current(eventId);
+        Long promoted = stringRedisTemplate.execute(
+                admissionPromoteScript,
+                List.of(
+                        TicketRedisKeys.queueKey(eventId, generation),
+                        TicketRedisKeys.gateKey(eventId, generation),
+                        TicketRedisKeys.queueSeqKey(eventId, generation),
+                        TicketRedisKeys.layoutKey(eventId, generation),
+                        TicketRedisKeys.generationKey(eventId)
+                ),
+                String.valueOf(maxCount),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(gateTtlMs),
+                String.valueOf(gateCapacity),
+                TicketRedisKeys.statusKeyPrefix(eventId, generation),
+                TicketRequestStatus.ADMITTED.name(),
+                TicketRedisKeys.queueEventsChannel(eventId),
+                TicketRedisKeys.statusHashPrefix(eventId, generation),
+                String.valueOf(generation)
+        );
+        if (promoted != null && promoted < 0) {
+            // init으로 generation이 바뀐 경우: 다음 tick에 새 generation 대기열을 승격한다.
+            ticketGenerationCache.refresh(eventId);
+            return 0;
+        }
+        int count = promoted == null ? 0 : promoted.intValue();
+        if (count > 0) {
+            log.debug("admission promoted eventId={} count={}", eventId, count);
+        }
+        return count;
+    }
+}
@@ -1,8 +1,12 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
-import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.AdmissionResult;
 
 public interface AdmissionService {
 
-    TicketRequestStatus admit(String eventId, String userId);
+    AdmissionResult admit(String eventId, String userId);
+
+    Long getRank(String eventId, String userId);
+
+    void release(String eventId, String userId);
 }
@@ -1,13 +1,148 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.AdmissionResult;
+import com.danzzan.ticketing.domain.ticket.service.support.AdmissionLuaProtocol;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+// 이벤트별 대기열(queue ZSET) → 입장(gate ZSET) 구조의 대기실.
+// 대기열 승격은 AdmissionGateService가 일정 속도로 수행하고, 여기서는 진입/순번 조회/입장 반납만 담당한다.
 @Service
+@RequiredArgsConstructor
 public class AdmissionServiceImpl implements AdmissionService {
 
+    private static final int MAX_GENERATION_ATTEMPTS = 2;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    @Qualifier("admissionEnterScript")
+    private final RedisScript<List> admissionEnterScript;
+    private final TicketGenerationCache ticketGenerationCache;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    @Value("${ticket.admission.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public AdmissionResult admit(String eventId, String userId) {
+        // Redis 장애 중에는 대기열 없이 통과시키고 claim의 DB 우회 경로가 정원을 지킨다.
+        if (!enabled || redisCircuitBreaker.isOpen()) {
+            return AdmissionResult.admitted();
+        }
+
+        try {
+            return enter(eventId, userId);
+        } catch (DataAccessException e) {
+            if (!redisCircuitBreaker.isEnabled()) {
+                throw e;
+            }
+            redisCircuitBreaker.onFailure();
+            return AdmissionResult.admitted();
+        }
+    }
+
+    private AdmissionResult enter(String eventId, String userId) {
+        long generation = ticketGenerationCache.current(eventId);
+        for (int attempt = 1; ; attempt++) {
+            List<?> rawResult = executeEnterScript(eventId, generation, userId);
+            if (!AdmissionLuaProtocol.isStaleGeneration(rawResult)) {
+                return mapLuaResult(rawResult);
+            }
+            if (attempt >= MAX_GENERATION_ATTEMPTS) {
+                throw new IllegalStateException("event generation changed during admission: " + eventId);
+            }
+            generation = ticketGenerationCache.refresh(eventId);
+        }
+    }
+
     @Override
-    public TicketRequestStatus admit(String eventId, String userId) {
-        return TicketRequestStatus.ADMITTED;
+    public Long getRank(String eventId, String userId) {
+        if (!enabled) {
+            return null;
+        }
+        long generation = ticketGenerationCache.current(eventId);
+        Long rank = stringRedisTemplate.opsForZSet()
+                .rank(TicketRedisKeys.queueKey(eventId, generation), TicketRedisKeys.queueMember(userId));
+        return rank == null ? null : rank + 1;
+    }
+
+    @Override
+    public void release(String eventId, String userId) {
+        if (!enabled || redisCircuitBreaker.isOpen()) {
+            return;
+        }
+        try {
+            long generation = ticketGenerationCache.current(eventId);
+            stringRedisTemplate.opsForZSet()
+                    .remove(TicketRedisKeys.gateKey(eventId, generation), TicketRedisKeys.queueMember(userId));
+        } catch (DataAccessException e) {
+            if (!redisCircuitBreaker.isEnabled()) {
+                throw e;
+            }
+            // gate 항목은 TTL/승격 주기에서 정리되므로 반납 실패는 claim 결과에 영향을 주지 않는다.
+            redisCircuitBreaker.onFailure();
+        }
+    }
+
+    private List<?> executeEnterScript(String eventId, long generation, String userId) {
+        return stringRedisTemplate.execute(
+                admissionEnterScript,
+                List.of(
+                        TicketRedisKeys.queueKey(eventId, generation),
+                        TicketRedisKeys.gateKey(eventId, generation),
+                        TicketRedisKeys.queueSeqKey(eventId, generation),
+                        TicketRedisKeys.statusKey(eventId, generation, userId),
+                        TicketRedisKeys.userKey(eventId, generation, userId),
+                        TicketRedisKeys.layoutKey(eventId, generation),
+                        TicketRedisKeys.generationKey(eventId),
+                        TicketRedisKeys.stockKey(eventId),
+                        TicketRedisKeys.leasedStockKey(eventId, generation)
+                ),
+                TicketRedisKeys.queueMember(userId),
+                String.valueOf(System.currentTimeMillis()),
+                TicketRequestStatus.WAITING.name(),
+                AdmissionLuaProtocol.CODE_WAITING_ARG,
+                AdmissionLuaProtocol.CODE_ADMITTED_ARG,
+                TicketRedisKeys.userHashPrefix(eventId, generation),
+                TicketRedisKeys.statusHashPrefix(eventId, generation),
+                String.valueOf(generation),
+                AdmissionLuaProtocol.CODE_STALE_GENERATION_ARG,
+                AdmissionLuaProtocol.CODE_SOLD_OUT_ARG,
+                TicketRequestStatus.SOLD_OUT.name()
+        );
+    }
+
+    private AdmissionResult mapLuaResult(List<?> rawResult) {
+        if (rawResult == null || rawResult.size() < AdmissionLuaProtocol.RESULT_SIZE) {
+            throw new IllegalStateException("admission lua result must contain [code, rank]");
+        }
+
+        long code = asLong(rawResult.get(AdmissionLuaProtocol.CODE_INDEX), "code");
+        long rank = asLong(rawResult.get(AdmissionLuaProtocol.RANK_INDEX), "rank");
+        TicketRequestStatus status = AdmissionLuaProtocol.resolveStatus(code);
+        if (status == TicketRequestStatus.WAITING) {
+            return AdmissionResult.waiting(rank);
+        }
+        if (status == TicketRequestStatus.SOLD_OUT) {
+            return AdmissionResult.soldOut();
+        }
+        return AdmissionResult.admitted();
+    }
+
+    private long asLong(Object value, String fieldName) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        throw new IllegalStateException(fieldName + " must be number-like");
     }
 }
@@ -0,0 +1,17 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.model.FailoverClaims;
+
+import java.util.Map;
+
+public interface ClaimFailoverService {
+
+    // Redis claim 결과로 본 최신 잔여 수량 (우회 시작 시 DB sold_count 하한 계산에 사용)
+    void recordRemaining(String eventId, long remaining);
+
+    ClaimResult claim(String eventId, String userId);
+
+    // 우회 기간 동안 DB로 확정된 claim을 꺼내고 비운다. key = eventId
+    Map<String, FailoverClaims> drainFailoverClaims();
+}
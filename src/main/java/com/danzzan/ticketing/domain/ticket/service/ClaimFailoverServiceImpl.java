@@ -0,0 +1,179 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.event.exception.EventNotFoundException;
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.dto.ResponseReserveTicketDto;
+import com.danzzan.ticketing.domain.ticket.exception.AlreadyReservedException;
+import com.danzzan.ticketing.domain.ticket.exception.ClaimFailoverRefusedException;
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.model.FailoverClaims;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.ReserveSeatAllocator;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Redis circuit breaker가 열린 동안 claim을 DB 예매 경로(TicketService.reserveTicket)로 처리한다.
+// 우회 기간(breaker가 OPEN 될 때마다)마다 이벤트별 첫 우회 요청에서 sold_count를 Redis에서 이미 팔린 수 이상으로 올려(handoff) 정원을 넘기지 않는다.
+//   하한 = total_capacity - stock - leased (Redis를 읽을 수 있으면, 노드와 무관한 값)
+//   Redis를 읽지 못하면 max(user_tickets 적재 건수, total_capacity - 이 노드가 마지막으로 본 Redis 잔여)
+//   둘 다 읽지 못하면 우회하지 않고 거절한다.
+// 여러 노드가 동시에 handoff 해도 GREATEST로만 올리므로 가장 많이 본 노드 기준이 된다.
+// capacity slot 모드(event_capacity_slots)에서는 sold_count 하한이 좌석 확보에 반영되지 않으므로 우회하지 않는다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimFailoverServiceImpl implements ClaimFailoverService {
+
+    private final TicketService ticketService;
+    private final FestivalEventRepository festivalEventRepository;
+    private final UserTicketRepository userTicketRepository;
+    private final ReserveSeatAllocator reserveSeatAllocator;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TicketGenerationCache ticketGenerationCache;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    @Value("${ticket.claim.failover.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    private final Map<String, Long> lastRemainingByEvent = new ConcurrentHashMap<>();
+    // handoff를 마친 이벤트의 total_capacity와 그때의 breaker openCount (breaker가 다시 열리면 handoff를 다시 한다)
+    private final Map<String, HandOff> handOffs = new ConcurrentHashMap<>();
+    // 이벤트별 handoff를 한 번만 하기 위한 lock. DB/Redis I/O는 map 연산 밖에서 이 lock으로만 직렬화한다.
+    private final Map<String, Object> handOffLocks = new ConcurrentHashMap<>();
+    private final Map<String, Queue<String>> failoverClaims = new ConcurrentHashMap<>();
+    private final Map<String, Long> highestFailoverOrders = new ConcurrentHashMap<>();
+
+    private record HandOff(long openCount, int capacity) {
+    }
+
+    @Override
+    public void recordRemaining(String eventId, long remaining) {
+        lastRemainingByEvent.put(eventId, remaining);
+    }
+
+    @Override
+    public ClaimResult claim(String eventId, String userId) {
+        Long dbEventId = parseId(eventId);
+        Long dbUserId = parseId(userId);
+        if (dbEventId == null || dbUserId == null) {
+            throw new IllegalStateException("redis is unavailable and claim cannot use db path: eventId=" + eventId);
+        }
+
+        if (reserveSeatAllocator.usesCapacitySlots()) {
+            log.error("claim failover refused in capacity slot mode eventId={}", eventId);
+            throw new ClaimFailoverRefusedException(retryAfterSeconds);
+        }
+        int capacity = handedOffCapacity(eventId, dbEventId);
+        try {
+            ResponseReserveTicketDto reserved = ticketService.reserveTicket(dbUserId, dbEventId);
+            int order = reserved.getQueueNumber();
+            highestFailoverOrders.merge(eventId, (long) order, Math::max);
+            failoverClaims.computeIfAbsent(eventId, key -> new ConcurrentLinkedQueue<>()).add(userId);
+            return ClaimResult.success(Math.max(0, capacity - order), order);
+        } catch (AlreadyReservedException e) {
+            return ClaimResult.already();
+        } catch (EventSoldOutException e) {
+            return ClaimResult.soldOut();
+        }
+    }
+
+    @Override
+    public Map<String, FailoverClaims> drainFailoverClaims() {
+        handOffs.clear();
+        Map<String, FailoverClaims> drained = new HashMap<>();
+        for (String eventId : List.copyOf(failoverClaims.keySet())) {
+            Queue<String> userIds = failoverClaims.remove(eventId);
+            Long highestOrder = highestFailoverOrders.remove(eventId);
+            if (userIds != null && !userIds.isEmpty()) {
+                drained.put(eventId, new FailoverClaims(List.copyOf(userIds), highestOrder == null ? 0L : highestOrder));
+            }
+        }
+        return drained;
+    }
+
+    // 이전 우회 기간 뒤 Redis에서 더 팔렸을 수 있으므로 breaker가 새로 열렸으면 handoff를 다시 한다.
+    private int handedOffCapacity(String eventId, Long dbEventId) {
+        long openCount = redisCircuitBreaker.openCount();
+        HandOff handOff = handOffs.get(eventId);
+        if (handOff != null && handOff.openCount() == openCount) {
+            return handOff.capacity();
+        }
+        synchronized (handOffLocks.computeIfAbsent(eventId, key -> new Object())) {
+            handOff = handOffs.get(eventId);
+            if (handOff == null || handOff.openCount() != openCount) {
+                handOff = new HandOff(openCount, handOff(eventId, dbEventId));
+                handOffs.put(eventId, handOff);
+            }
+            return handOff.capacity();
+        }
+    }
+
+    private int handOff(String eventId, Long dbEventId) {
+        FestivalEvent event = festivalEventRepository.findById(dbEventId)
+                .orElseThrow(EventNotFoundException::new);
+        int capacity = event.getTotalCapacity();
+        Long soldInRedis = readRedisSoldCount(eventId, capacity);
+        long sold = soldInRedis != null ? soldInRedis : readLastResortSoldCount(eventId, dbEventId, capacity);
+        int floor = (int) Math.min(capacity, Math.max(0L, sold));
+
+        festivalEventRepository.raiseSoldCount(dbEventId, floor);
+        log.warn("claim failover to db eventId={} soldCountFloor={} fromRedis={}", eventId, floor, soldInRedis != null);
+        return capacity;
+    }
+
+    // stock + leased + 판매 수 = 정원 (reconcile이 유지하는 불변식). breaker가 열렸어도 읽기는 될 수 있으므로 먼저 시도한다.
+    private Long readRedisSoldCount(String eventId, int capacity) {
+        try {
+            String stock = stringRedisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId));
+            if (stock == null) {
+                return null;
+            }
+            long generation = ticketGenerationCache.current(eventId);
+            String leased = stringRedisTemplate.opsForValue().get(TicketRedisKeys.leasedStockKey(eventId, generation));
+            long outstanding = leased == null ? 0L : Math.max(0L, Long.parseLong(leased));
+            return capacity - Math.max(0L, Long.parseLong(stock)) - outstanding;
+        } catch (RuntimeException e) {
+            log.warn("claim failover could not read redis stock eventId={}", eventId, e);
+            return null;
+        }
+    }
+
+    // write-behind가 밀려 있으면 user_tickets는 실제 판매 수보다 적을 수 있으므로 이 노드가 본 Redis 잔여와 함께 쓴다.
+    private long readLastResortSoldCount(String eventId, Long dbEventId, int capacity) {
+        long persisted;
+        try {
+            persisted = userTicketRepository.countByEventId(dbEventId);
+        } catch (RuntimeException e) {
+            log.error("claim failover refused, sold count is unreadable eventId={}", eventId, e);
+            throw new ClaimFailoverRefusedException(retryAfterSeconds);
+        }
+        Long lastRemaining = lastRemainingByEvent.get(eventId);
+        long soldSeen = lastRemaining == null ? 0L : capacity - lastRemaining;
+        log.warn("claim failover uses db sold count eventId={} persisted={} lastRedisRemaining={}",
+                eventId, persisted, lastRemaining);
+        return Math.max(persisted, soldSeen);
+    }
+
+    private Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimOutboxEntry;
+
+import java.util.List;
+
+public interface ClaimOutboxService {
+
+    void registerEvent(String eventId);
+
+    List<ClaimOutboxEntry> readBatch(int count);
+
+    void acknowledge(List<ClaimOutboxEntry> entries);
+}
@@ -0,0 +1,232 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisCluster;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimOutboxEntry;
+import com.danzzan.ticketing.domain.ticket.service.support.InstanceNames;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// claim_v2.lua가 적재한 이벤트별 claim stream을 consumer group으로 읽는다.
+// 처리 완료 후에만 XACK 하므로 JVM이 죽어도 PEL에 남은 entry가 재시작/다른 노드에서 다시 처리된다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimOutboxServiceImpl implements ClaimOutboxService {
+
+    static final String CONSUMER_GROUP = "ticket-persist";
+
+    private static final String BUSYGROUP_ERROR = "BUSYGROUP";
+    private static final String NOGROUP_ERROR = "NOGROUP";
+    private static final ReadOffset OWN_PENDING = ReadOffset.from("0");
+
+    private final StringRedisTemplate redisTemplate;
+
+    // 비워 두면 인스턴스마다 다른 이름(host-pid-random)을 만든다. 같은 이름의 노드는 같은 PEL을 나눠 읽게 된다.
+    @Value("${ticket.claim-outbox.consumer-name:}")
+    private String consumerName;
+
+    @Value("${ticket.claim-outbox.registry-refresh-ms:5000}")
+    private long registryRefreshMs;
+
+    @Value("${ticket.claim-outbox.reclaim-idle-ms:30000}")
+    private long reclaimIdleMs;
+
+    private final Set<String> groupReadyStreams = ConcurrentHashMap.newKeySet();
+    private volatile long registryRefreshedAt;
+    private volatile long reclaimCheckedAt;
+
+    @PostConstruct
+    public void resolveConsumerName() {
+        if (consumerName == null || consumerName.isBlank()) {
+            consumerName = InstanceNames.generate();
+        }
+        log.info("claim outbox consumer name={}", consumerName);
+    }
+
+    @Override
+    public void registerEvent(String eventId) {
+        String streamKey = TicketRedisKeys.claimStreamKey(eventId);
+        redisTemplate.opsForSet().add(TicketRedisKeys.eventRegistryKey(), eventId);
+        ensureGroup(streamKey);
+    }
+
+    @Override
+    public List<ClaimOutboxEntry> readBatch(int count) {
+        refreshRegistryIfStale();
+        if (groupReadyStreams.isEmpty()) {
+            return List.of();
+        }
+
+        // 1) 이 consumer의 미확인(PEL) entry 재처리 → 2) 유휴 consumer entry 회수 → 3) 신규 entry
+        List<ClaimOutboxEntry> pending = read(count, OWN_PENDING);
+        if (!pending.isEmpty()) {
+            return pending;
+        }
+        if (reclaimIdleEntries(count)) {
+            return read(count, OWN_PENDING);
+        }
+        return read(count, ReadOffset.lastConsumed());
+    }
+
+    @Override
+    public void acknowledge(List<ClaimOutboxEntry> entries) {
+        Map<String, List<String>> idsByStream = new LinkedHashMap<>();
+        for (ClaimOutboxEntry entry : entries) {
+            idsByStream.computeIfAbsent(entry.streamKey(), key -> new ArrayList<>()).add(entry.entryId());
+        }
+
+        idsByStream.forEach((streamKey, ids) -> {
+            String[] recordIds = ids.toArray(String[]::new);
+            redisTemplate.opsForStream().acknowledge(streamKey, CONSUMER_GROUP, recordIds);
+            redisTemplate.opsForStream().delete(streamKey, recordIds);
+        });
+    }
+
+    // Redis Cluster에서는 XREADGROUP 한 번에 다른 slot의 stream을 함께 읽을 수 없으므로 slot별로 나눠 읽는다.
+    private List<ClaimOutboxEntry> read(int count, ReadOffset offset) {
+        List<ClaimOutboxEntry> entries = new ArrayList<>();
+        for (List<String> streamKeys : TicketRedisCluster.groupBySlot(redisTemplate, groupReadyStreams)) {
+            entries.addAll(read(count - entries.size(), offset, streamKeys));
+            if (entries.size() >= count) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ClaimOutboxEntry> read(int count, ReadOffset offset, List<String> streamKeys) {
+        StreamOffset<String>[] offsets = streamKeys.stream()
+                .map(streamKey -> StreamOffset.create(streamKey, offset))
+                .toArray(StreamOffset[]::new);
+
+        List<MapRecord<String, Object, Object>> records;
+        try {
+            records = redisTemplate.opsForStream().read(
+                    Consumer.from(CONSUMER_GROUP, consumerName),
+                    StreamReadOptions.empty().count(count),
+                    offsets
+            );
+        } catch (RedisSystemException e) {
+            if (!hasErrorCode(e, NOGROUP_ERROR)) {
+                throw e;
+            }
+            // stream이 외부에서 삭제된 경우: 다음 호출에서 registry 기준으로 group을 다시 만든다.
+            groupReadyStreams.clear();
+            registryRefreshedAt = 0L;
+            return List.of();
+        }
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+
+        List<ClaimOutboxEntry> entries = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            // PEL 재조회 시 이미 삭제된 entry는 value 없이 id만 내려온다.
+            if (record.getValue().isEmpty()) {
+                redisTemplate.opsForStream().acknowledge(record.getStream(), CONSUMER_GROUP, record.getId());
+                continue;
+            }
+            entries.add(toEntry(record));
+        }
+        return entries;
+    }
+
+    private boolean reclaimIdleEntries(int count) {
+        long now = System.currentTimeMillis();
+        if (now - reclaimCheckedAt < reclaimIdleMs) {
+            return false;
+        }
+        reclaimCheckedAt = now;
+
+        Duration minIdle = Duration.ofMillis(reclaimIdleMs);
+        boolean reclaimed = false;
+        for (String streamKey : groupReadyStreams) {
+            PendingMessages pendingMessages = redisTemplate.opsForStream()
+                    .pending(streamKey, CONSUMER_GROUP, Range.unbounded(), count);
+            RecordId[] idleIds = pendingMessages.stream()
+                    .filter(message -> !consumerName.equals(message.getConsumerName()))
+                    .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                    .map(PendingMessage::getId)
+                    .toArray(RecordId[]::new);
+            if (idleIds.length == 0) {
+                continue;
+            }
+            redisTemplate.opsForStream().claim(streamKey, CONSUMER_GROUP, consumerName, minIdle, idleIds);
+            log.info("claim outbox reclaimed idle entries stream={} count={}", streamKey, idleIds.length);
+            reclaimed = true;
+        }
+        return reclaimed;
+    }
+
+    private void refreshRegistryIfStale() {
+        long now = System.currentTimeMillis();
+        if (now - registryRefreshedAt < registryRefreshMs) {
+            return;
+        }
+        registryRefreshedAt = now;
+
+        Set<String> eventIds = redisTemplate.opsForSet().members(TicketRedisKeys.eventRegistryKey());
+        if (eventIds == null) {
+            return;
+        }
+        for (String eventId : eventIds) {
+            String streamKey = TicketRedisKeys.claimStreamKey(eventId);
+            if (!groupReadyStreams.contains(streamKey)) {
+                ensureGroup(streamKey);
+            }
+        }
+    }
+
+    private void ensureGroup(String streamKey) {
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), CONSUMER_GROUP);
+        } catch (RedisSystemException e) {
+            if (!hasErrorCode(e, BUSYGROUP_ERROR)) {
+                throw e;
+            }
+        }
+        groupReadyStreams.add(streamKey);
+    }
+
+    private boolean hasErrorCode(RedisSystemException e, String errorCode) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(errorCode);
+    }
+
+    private ClaimOutboxEntry toEntry(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> value = record.getValue();
+        return new ClaimOutboxEntry(
+                record.getStream(),
+                record.getId().getValue(),
+                String.valueOf(value.get("eventId")),
+                String.valueOf(value.get("userId")),
+                Long.parseLong(String.valueOf(value.get("remaining"))),
+                Long.parseLong(String.valueOf(value.get("order"))),
+                record.getId().getTimestamp()
+        );
+    }
+}
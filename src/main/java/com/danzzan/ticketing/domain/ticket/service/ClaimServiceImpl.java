@@ -1,63 +1,359 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
+import com.danzzan.ticketing.domain.ticket.exception.ClaimBatchTimeoutException;
+import com.danzzan.ticketing.domain.ticket.exception.ClaimOverloadedException;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.model.FailoverClaims;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
 import com.danzzan.ticketing.domain.ticket.service.support.ClaimLuaProtocol;
 import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ClaimServiceImpl implements ClaimService {
 
+    // init 직후 한 번 generation을 다시 읽고 재시도하면 충분하다.
+    private static final int MAX_GENERATION_ATTEMPTS = 2;
+    private static final String LEASED_UNIT = "1";
+    private static final String NO_LEASED_UNIT = "0";
+    private static final int REPLAY_BATCH_SIZE = 500;
+    private static final int REPLAY_FIXED_ARG_COUNT = 8;
+    private static final int REPLAY_MARKED_INDEX = 0;
+    private static final int REPLAY_SHORTFALL_INDEX = 1;
+
     private final StringRedisTemplate stringRedisTemplate;
     @Qualifier("claimV2Script")
     private final RedisScript<List> claimV2Script;
     private final ClaimOutcomeMetrics claimOutcomeMetrics;
+    private final ClaimBatcher claimBatcher;
+    private final TicketGenerationCache ticketGenerationCache;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final ClaimFailoverService claimFailoverService;
+    private final ClaimStockLeases claimStockLeases;
+    private final SoldOutShortCircuit soldOutShortCircuit;
+    @Qualifier("claimFailoverReplayScript")
+    private final RedisScript<List> claimFailoverReplayScript;
+
+    // 미저장 claim outbox entry 상한 (0이면 제한 없음). 넘으면 stream을 자르지 않고 새 SUCCESS를 503으로 미룬다.
+    @Value("${ticket.claim-outbox.stream-max-len:100000}")
+    private long claimStreamMaxLen;
+
+    @Value("${ticket.claim-outbox.backlog-retry-after-seconds:2}")
+    private long outboxBacklogRetryAfterSeconds;
+
+    @Value("${ticket.redis.circuit-breaker.retry-after-seconds:1}")
+    private long breakerClosedRetryAfterSeconds;
+
+    @PostConstruct
+    public void registerFailoverReplay() {
+        redisCircuitBreaker.onClose(this::replayFailoverClaims);
+    }
 
     @Override
     public ClaimResult claim(String eventId, String userId) {
-        String userKey = TicketRedisKeys.userKey(eventId, userId);
+        // Redis circuit이 열려 있으면 DB 예매 경로로 우회한다.
+        if (redisCircuitBreaker.shouldBypass()) {
+            return recordOutcome(eventId, userId, claimFailoverService.claim(eventId, userId));
+        }
+
+        // 이 노드가 매진으로 알고 있는 generation이면 Redis 없이 SOLD_OUT으로 끝낸다 (status는 나중에 모아서 쓴다).
+        // stock lease 모드에서 이 노드에 lease가 남아 있으면 그 재고는 팔아야 하므로 건너뛰지 않는다.
+        long observedGeneration = 0L;
+        if (soldOutShortCircuit.isEnabled()) {
+            observedGeneration = ticketGenerationCache.current(eventId);
+            if (soldOutShortCircuit.isSoldOut(eventId, observedGeneration)
+                    && claimStockLeases.localRemaining(eventId) == 0L) {
+                // 이미 이긴 사용자는 claim_v2.lua와 같이 ALREADY로 답한다.
+                if (soldOutShortCircuit.isKnownWinner(eventId, observedGeneration, userId)) {
+                    return recordOutcome(eventId, userId, ClaimResult.already());
+                }
+                soldOutShortCircuit.recordSoldOut(eventId, observedGeneration, userId);
+                return recordOutcome(eventId, userId, ClaimResult.soldOut());
+            }
+        }
+
+        // stock lease 모드에서는 재고를 노드 로컬 lease에서 확보한다.
+        // batch 모드에서는 동시 요청을 모아 claim_v2_batch.lua 한 번으로 처리한다.
+        long startedAt = System.nanoTime();
+        List<?> rawResult;
+        try {
+            if (claimStockLeases.isEnabled()) {
+                rawResult = executeLeasedClaim(eventId, userId);
+            } else if (claimBatcher.isEnabled()) {
+                rawResult = claimBatcher.claim(eventId, userId);
+            } else {
+                rawResult = executeClaimScript(eventId, userId);
+            }
+        } catch (ClaimBatchTimeoutException e) {
+            // batch 결과를 제한 시간 안에 받지 못한 것은 Redis 지연이므로 breaker 실패로 센다.
+            // 이미 보낸 claim이 늦게 적용되면 Redis와 DB 양쪽에서 1석씩 빠질 수 있지만(덜 팔림) 정원을 넘지는 않는다.
+            return failOver(eventId, userId, e);
+        } catch (ClaimOverloadedException e) {
+            // lane queue가 가득 찬 것은 이 노드의 과부하이므로 breaker와 무관하게 503으로 돌려준다.
+            throw e;
+        } catch (RuntimeException e) {
+            return failOver(eventId, userId, e);
+        }
+        long latency = System.nanoTime() - startedAt;
+        claimOutcomeMetrics.recordLatency(latency);
+        redisCircuitBreaker.onSuccess(latency);
+
+        ClaimResult result = mapLuaResult(eventId, userId, rawResult);
+        boolean leasesOutstanding = hasOutstandingLeases(rawResult);
+        if (result.status() == TicketRequestStatus.SUCCESS) {
+            claimFailoverService.recordRemaining(eventId, result.remaining());
+        } else if (result.status() == TicketRequestStatus.SOLD_OUT && !leasesOutstanding) {
+            claimFailoverService.recordRemaining(eventId, 0L);
+        }
+        if (soldOutShortCircuit.isEnabled() && (result.status() == TicketRequestStatus.SUCCESS
+                || result.status() == TicketRequestStatus.ALREADY)) {
+            soldOutShortCircuit.recordWinner(eventId, observedGeneration, userId);
+        }
+        if (soldOutShortCircuit.isEnabled() && !leasesOutstanding && isSoldOutSignal(result)) {
+            // claim 전에 읽은 generation으로 표시한다. 그 사이 init이 있었다면 이전 generation만 매진으로 남아 새 회차에는 영향이 없다.
+            soldOutShortCircuit.markSoldOutEverywhere(eventId, observedGeneration);
+        }
+        return result;
+    }
+
+    private ClaimResult failOver(String eventId, String userId, RuntimeException cause) {
+        if (!redisCircuitBreaker.isEnabled()) {
+            throw cause;
+        }
+        redisCircuitBreaker.onFailure();
+        if (!redisCircuitBreaker.isOpen()) {
+            // breaker가 아직 CLOSED면 일시적인 실패로 보고 DB로 우회하지 않는다.
+            // 우회는 OPEN 될 때의 handoff와 CLOSED로 돌아올 때의 replay로 묶인 기간 안에서만 한다.
+            log.warn("claim_v2 redis call failed while breaker is closed eventId={} userId={}", eventId, userId, cause);
+            throw new ClaimOverloadedException(breakerClosedRetryAfterSeconds);
+        }
+        log.warn("claim_v2 redis call failed, falling back to db eventId={} userId={}", eventId, userId, cause);
+        return recordOutcome(eventId, userId, claimFailoverService.claim(eventId, userId));
+    }
+
+    // stock lease 모드의 SOLD_OUT은 다른 노드가 아직 들고 있는 lease 수를 remaining으로 돌려준다.
+    // 0보다 크면 그 노드들이 drain으로 반납하면 다시 팔 수 있으므로 매진으로 확정하지 않는다.
+    private boolean hasOutstandingLeases(List<?> rawResult) {
+        long code = asLong(rawResult.get(ClaimLuaProtocol.CODE_INDEX), "code");
+        if (code != ClaimLuaProtocol.CODE_SOLD_OUT) {
+            return false;
+        }
+        Long outstanding = asNullableLong(rawResult.get(ClaimLuaProtocol.REMAINING_INDEX), "remaining");
+        return outstanding != null && outstanding > 0L;
+    }
+
+    // 마지막 1장을 가져간 SUCCESS(remaining 0)나 SOLD_OUT이면 이후 claim은 모두 SOLD_OUT이다.
+    private boolean isSoldOutSignal(ClaimResult result) {
+        if (result.status() == TicketRequestStatus.SOLD_OUT) {
+            return true;
+        }
+        return result.status() == TicketRequestStatus.SUCCESS && result.remaining() == 0L;
+    }
+
+    // 우회 기간 동안 DB로 확정된 사용자를 Redis에 claim 한 것으로 표시하고 새로 표시한 수만큼 stock을 줄인다.
+    // DB가 order를 부여하고 저장까지 했으므로 outbox에 다시 적재하지 않고, order는 DB가 준 번호를 다시 주지 않도록 올리기만 한다.
+    // 이미 Redis에 표시된 사용자(타임아웃 뒤 늦게 적용된 claim 등)는 건너뛰므로 stock을 두 번 줄이지 않는다.
+    private void replayFailoverClaims() {
+        Map<String, FailoverClaims> failoverClaims = claimFailoverService.drainFailoverClaims();
+        failoverClaims.forEach((eventId, claims) -> {
+            List<String> userIds = claims.userIds();
+            long marked = 0;
+            long shortfall = 0;
+            for (int from = 0; from < userIds.size(); from += REPLAY_BATCH_SIZE) {
+                List<String> chunk = userIds.subList(from, Math.min(from + REPLAY_BATCH_SIZE, userIds.size()));
+                try {
+                    List<?> result = executeReplayScript(eventId, chunk, claims.highestOrder());
+                    marked += asLong(result.get(REPLAY_MARKED_INDEX), "marked");
+                    shortfall += asLong(result.get(REPLAY_SHORTFALL_INDEX), "shortfall");
+                } catch (RuntimeException e) {
+                    log.error("claim failover replay failed eventId={} users={}", eventId, chunk.size(), e);
+                }
+            }
+            if (shortfall > 0) {
+                // Redis 재고보다 DB 확정이 많았다는 뜻이므로 재고 재초기화(reconcile)가 필요하다.
+                log.error("claim failover replay exceeded redis stock eventId={} shortfall={}", eventId, shortfall);
+            }
+            log.info("claim failover replayed eventId={} users={} marked={}", eventId, userIds.size(), marked);
+        });
+    }
+
+    private List<?> executeReplayScript(String eventId, List<String> userIds, long highestOrder) {
+        long generation = ticketGenerationCache.current(eventId);
+        for (int attempt = 1; ; attempt++) {
+            Object[] args = new Object[REPLAY_FIXED_ARG_COUNT + userIds.size()];
+            args[0] = String.valueOf(generation);
+            args[1] = TicketRequestStatus.SUCCESS.name();
+            args[2] = ClaimLuaProtocol.USER_CLAIMED_VALUE;
+            args[3] = TicketRedisKeys.userKeyPrefix(eventId, generation);
+            args[4] = TicketRedisKeys.statusKeyPrefix(eventId, generation);
+            args[5] = TicketRedisKeys.userHashPrefix(eventId, generation);
+            args[6] = TicketRedisKeys.statusHashPrefix(eventId, generation);
+            args[7] = String.valueOf(highestOrder);
+            for (int i = 0; i < userIds.size(); i++) {
+                args[REPLAY_FIXED_ARG_COUNT + i] = TicketRedisKeys.queueMember(userIds.get(i));
+            }
+            List<?> result = stringRedisTemplate.execute(
+                    claimFailoverReplayScript,
+                    List.of(
+                            TicketRedisKeys.layoutKey(eventId, generation),
+                            TicketRedisKeys.generationKey(eventId),
+                            TicketRedisKeys.stockKey(eventId),
+                            TicketRedisKeys.orderKey(eventId, generation)
+                    ),
+                    args
+            );
+            if (result == null || result.size() <= REPLAY_SHORTFALL_INDEX) {
+                throw new IllegalStateException("claim failover replay lua must return [marked, shortfall]");
+            }
+            if (asLong(result.get(REPLAY_MARKED_INDEX), "marked") >= 0) {
+                return result;
+            }
+            if (attempt >= MAX_GENERATION_ATTEMPTS) {
+                throw new IllegalStateException("event generation changed during failover replay: " + eventId);
+            }
+            generation = ticketGenerationCache.refresh(eventId);
+        }
+    }
+
+    private List<?> executeClaimScript(String eventId, String userId) {
+        long generation = ticketGenerationCache.current(eventId);
+        for (int attempt = 1; ; attempt++) {
+            List<?> rawResult = executeClaimScript(eventId, generation, userId);
+            if (!ClaimLuaProtocol.isStaleGeneration(rawResult)) {
+                return rawResult;
+            }
+            if (attempt >= MAX_GENERATION_ATTEMPTS) {
+                throw new IllegalStateException("event generation changed during claim: " + eventId);
+            }
+            generation = ticketGenerationCache.refresh(eventId);
+        }
+    }
+
+    private List<?> executeLeasedClaim(String eventId, String userId) {
+        long generation = ticketGenerationCache.current(eventId);
+        for (int attempt = 1; ; attempt++) {
+            ClaimStockLeases.Acquire acquired = claimStockLeases.acquire(eventId, generation);
+            if (acquired != ClaimStockLeases.Acquire.STALE_GENERATION) {
+                String leasedUnit = acquired == ClaimStockLeases.Acquire.ACQUIRED ? LEASED_UNIT : NO_LEASED_UNIT;
+                List<?> rawResult = executeClaimScript(eventId, generation, userId, leasedUnit);
+                if (!ClaimLuaProtocol.isStaleGeneration(rawResult)) {
+                    return settleLeasedUnit(eventId, generation, acquired, rawResult);
+                }
+            }
+            if (attempt >= MAX_GENERATION_ATTEMPTS) {
+                throw new IllegalStateException("event generation changed during claim: " + eventId);
+            }
+            generation = ticketGenerationCache.refresh(eventId);
+        }
+    }
+
+    // 확보한 1개를 쓰지 않았으면(ALREADY, 오픈 전/마감 거절) 로컬 lease로 되돌린다.
+    // SUCCESS의 remaining은 claim_v2.lua가 stock과 모든 노드의 미사용 lease(leased key)를 합쳐 돌려준다.
+    // script 호출이 예외로 끝나면 실제 claim 여부를 알 수 없으므로 확보한 1개는 되돌리지 않는다.
+    private List<?> settleLeasedUnit(String eventId, long generation, ClaimStockLeases.Acquire acquired,
+                                     List<?> rawResult) {
+        if (rawResult == null || rawResult.size() < ClaimLuaProtocol.RESULT_SIZE) {
+            return rawResult;
+        }
+        long code = asLong(rawResult.get(ClaimLuaProtocol.CODE_INDEX), "code");
+        if (code != ClaimLuaProtocol.CODE_SUCCESS && acquired == ClaimStockLeases.Acquire.ACQUIRED) {
+            claimStockLeases.release(eventId, generation);
+        }
+        return rawResult;
+    }
+
+    private List<?> executeClaimScript(String eventId, long generation, String userId) {
+        return executeClaimScript(eventId, generation, userId, null);
+    }
+
+    // leasedUnit이 null이면 claim_v2.lua가 stock을 직접 DECR 한다 (ARGV[19..20], KEYS[9..10] 생략).
+    private List<?> executeClaimScript(String eventId, long generation, String userId, String leasedUnit) {
+        String userKey = TicketRedisKeys.userKey(eventId, generation, userId);
         String stockKey = TicketRedisKeys.stockKey(eventId);
-        String statusKey = TicketRedisKeys.statusKey(eventId, userId);
+        String statusKey = TicketRedisKeys.statusKey(eventId, generation, userId);
+        String claimStreamKey = TicketRedisKeys.claimStreamKey(eventId);
+        String orderKey = TicketRedisKeys.orderKey(eventId, generation);
+        String layoutKey = TicketRedisKeys.layoutKey(eventId, generation);
+        String generationKey = TicketRedisKeys.generationKey(eventId);
+        String eventMetaKey = TicketRedisKeys.eventMetaKey(eventId);
 
-        List<?> rawResult = stringRedisTemplate.execute(
-                claimV2Script,
-                List.of(userKey, stockKey, statusKey),
+        List<Object> args = new ArrayList<>(List.of(
                 TicketRequestStatus.ALREADY.name(),
                 TicketRequestStatus.SOLD_OUT.name(),
                 TicketRequestStatus.SUCCESS.name(),
                 ClaimLuaProtocol.USER_CLAIMED_VALUE,
                 ClaimLuaProtocol.CODE_ALREADY_ARG,
                 ClaimLuaProtocol.CODE_SOLD_OUT_ARG,
-                ClaimLuaProtocol.CODE_SUCCESS_ARG
-        );
-        return mapLuaResult(eventId, userId, rawResult);
+                ClaimLuaProtocol.CODE_SUCCESS_ARG,
+                eventId,
+                userId,
+                TicketRedisKeys.queueMember(userId),
+                TicketRedisKeys.userHashPrefix(eventId, generation),
+                TicketRedisKeys.statusHashPrefix(eventId, generation),
+                String.valueOf(generation),
+                ClaimLuaProtocol.CODE_STALE_GENERATION_ARG,
+                ClaimLuaProtocol.CODE_EVENT_NOT_OPEN_ARG,
+                ClaimLuaProtocol.CODE_EVENT_CLOSED_ARG,
+                String.valueOf(claimStreamMaxLen),
+                ClaimLuaProtocol.CODE_OUTBOX_BACKLOG_ARG
+        ));
+        List<String> keys = new ArrayList<>(List.of(
+                userKey, stockKey, statusKey, claimStreamKey, orderKey, layoutKey, generationKey, eventMetaKey));
+        if (leasedUnit != null) {
+            args.add(leasedUnit);
+            args.add(claimStockLeases.nodeId());
+            keys.add(TicketRedisKeys.leasedStockKey(eventId, generation));
+            keys.add(TicketRedisKeys.leaseOwnersKey(eventId, generation));
+        }
+
+        return stringRedisTemplate.execute(claimV2Script, keys, args.toArray());
     }
 
     private ClaimResult mapLuaResult(String eventId, String userId, List<?> rawResult) {
         if (rawResult == null || rawResult.size() < ClaimLuaProtocol.RESULT_SIZE) {
-            throw new IllegalStateException("claim lua result must contain [code, remaining]");
+            throw new IllegalStateException("claim lua result must contain [code, remaining, order]");
         }
 
         long code = asLong(rawResult.get(ClaimLuaProtocol.CODE_INDEX), "code");
         Long remaining = asNullableLong(rawResult.get(ClaimLuaProtocol.REMAINING_INDEX), "remaining");
+        Long order = asNullableLong(rawResult.get(ClaimLuaProtocol.ORDER_INDEX), "order");
+        // 오픈 전/마감 거절은 status를 남기지 않으므로 outcome 집계 없이 DB 예매 경로와 같은 예외로 끝낸다.
+        ClaimLuaProtocol.throwIfEventRejected(code);
+        // write-behind가 밀려 outbox가 상한에 닿았다. 저장되지 않은 claim을 더 만들지 않도록 재시도를 요청한다.
+        if (code == ClaimLuaProtocol.CODE_OUTBOX_BACKLOG) {
+            log.error("claim outbox backlog reached limit eventId={} userId={} maxLen={}",
+                    eventId, userId, claimStreamMaxLen);
+            throw new ClaimOverloadedException(outboxBacklogRetryAfterSeconds);
+        }
         TicketRequestStatus status = ClaimLuaProtocol.resolveStatus(code);
 
         if (status == TicketRequestStatus.SUCCESS) {
             if (remaining == null) {
                 throw new IllegalStateException("claim lua success code requires remaining value");
             }
-            return recordOutcome(eventId, userId, ClaimResult.success(remaining));
+            if (order == null) {
+                throw new IllegalStateException("claim lua success code requires order value");
+            }
+            return recordOutcome(eventId, userId, ClaimResult.success(remaining, order));
         }
 
         if (status == TicketRequestStatus.SOLD_OUT) {
@@ -74,11 +370,12 @@ public class ClaimServiceImpl implements ClaimService {
     private ClaimResult recordOutcome(String eventId, String userId, ClaimResult result) {
         long count = claimOutcomeMetrics.increment(result.status());
         log.info(
-                "claim_v2 outcome eventId={} userId={} status={} remaining={} total={}",
+                "claim_v2 outcome eventId={} userId={} status={} remaining={} order={} total={}",
                 eventId,
                 userId,
                 result.status(),
                 result.remaining(),
+                result.order(),
                 count
         );
         return result;
@@ -0,0 +1,8 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface QueueStatusStreamService {
+
+    SseEmitter subscribe(String eventId, String userId);
+}
@@ -0,0 +1,283 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.dto.TicketStatusResponseDTO;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 대기열 상태를 polling 대신 SSE로 push 한다.
+// 노드당 Redis 구독(queue-events 패턴) 하나만 두고, 승격 알림(대기열 선두 seq)을 받으면
+// 연결된 사용자별 순번을 메모리에서 계산해 보낸다. 연결은 servlet async로 유지되므로 연결당 스레드가 없다.
+// 실제 emitter.send는 느린 클라이언트가 구독 listener를 붙잡지 않도록 작은 sender pool에서 한다.
+// 연결마다 보낼 payload는 최신 하나만 남기므로(마지막 상태는 덮어쓰이지 않음) 대기 작업은 연결 수를 넘지 않는다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueStatusStreamServiceImpl implements QueueStatusStreamService, MessageListener {
+
+    private static final String STATUS_EVENT = "status";
+    private static final long UNKNOWN_SEQ = -1L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TicketStatusService ticketStatusService;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final TicketGenerationCache ticketGenerationCache;
+
+    @Value("${ticket.queue-stream.timeout-ms:600000}")
+    private long timeoutMs;
+
+    @Value("${ticket.queue-stream.rank-update-interval-ms:1000}")
+    private long rankUpdateIntervalMs;
+
+    @Value("${ticket.queue-stream.sender-threads:2}")
+    private int senderThreads;
+
+    private ScheduledThreadPoolExecutor sender;
+
+    // channel -> (userId -> subscriber)
+    private final Map<String, Map<String, QueueSubscriber>> subscribersByChannel = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void listenQueueEvents() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        sender = new ScheduledThreadPoolExecutor(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "queue-stream-sender-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender.setRemoveOnCancelPolicy(true);
+        redisMessageListenerContainer.addMessageListener(
+                this,
+                new PatternTopic(TicketRedisKeys.queueEventsChannelPattern())
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sender != null) {
+            sender.shutdownNow();
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(String eventId, String userId) {
+        String channel = TicketRedisKeys.queueEventsChannel(eventId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        QueueSubscriber subscriber = new QueueSubscriber(emitter);
+
+        // 초기 상태 조회 전에 먼저 등록해야 그 사이의 승격 알림을 놓치지 않는다.
+        QueueSubscriber previous = subscribersOf(channel).put(userId, subscriber);
+        if (previous != null) {
+            previous.emitter().complete();
+        }
+        emitter.onCompletion(() -> unregister(channel, userId, subscriber));
+        emitter.onTimeout(() -> unregister(channel, userId, subscriber));
+        emitter.onError(e -> unregister(channel, userId, subscriber));
+
+        TicketRequestStatus status = ticketStatusService.getStatus(eventId, userId);
+        if (status != TicketRequestStatus.WAITING) {
+            finish(channel, userId, subscriber, status);
+            return emitter;
+        }
+
+        String queueKey = TicketRedisKeys.queueKey(eventId, ticketGenerationCache.current(eventId));
+        String member = TicketRedisKeys.queueMember(userId);
+        Double score = stringRedisTemplate.opsForZSet().score(queueKey, member);
+        Long rank = stringRedisTemplate.opsForZSet().rank(queueKey, member);
+        if (score == null || rank == null) {
+            // 조회 사이에 승격된 경우
+            finish(channel, userId, subscriber, ticketStatusService.getStatus(eventId, userId));
+            return emitter;
+        }
+
+        subscriber.seq = score.longValue();
+        sendRank(channel, userId, subscriber, rank + 1, 0L);
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        Map<String, QueueSubscriber> subscribers = subscribersByChannel.get(channel);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (TicketRequestStatus.SOLD_OUT.name().equals(body)) {
+            // 매진으로 대기열이 정리됐다. 아직 대기 중인 구독자는 모두 SOLD_OUT으로 끝낸다.
+            subscribers.forEach((userId, subscriber) -> {
+                if (subscriber.seq != UNKNOWN_SEQ) {
+                    finish(channel, userId, subscriber, TicketRequestStatus.SOLD_OUT);
+                }
+            });
+            return;
+        }
+
+        long headSeq;
+        try {
+            headSeq = (long) Double.parseDouble(body);
+        } catch (NumberFormatException e) {
+            log.warn("queue event ignored channel={} reason=invalid head seq", channel);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        subscribers.forEach((userId, subscriber) -> {
+            long seq = subscriber.seq;
+            if (seq == UNKNOWN_SEQ) {
+                return;
+            }
+            if (seq < headSeq) {
+                finish(channel, userId, subscriber, TicketRequestStatus.ADMITTED);
+                return;
+            }
+            long rank = seq - headSeq + 1;
+            if (rank == subscriber.lastSentRank && subscriber.pending.get() == null) {
+                return;
+            }
+            // 간격 안에 들어온 변경은 버리지 않고 간격이 끝나는 시점에 최신 순번으로 한 번 보낸다.
+            long delayMs = Math.max(0L, subscriber.lastSentAt + rankUpdateIntervalMs - now);
+            sendRank(channel, userId, subscriber, rank, delayMs);
+        });
+    }
+
+    int subscriberCount() {
+        return subscribersByChannel.values().stream().mapToInt(Map::size).sum();
+    }
+
+    long lastSentRank(String eventId, String userId) {
+        QueueSubscriber subscriber = subscribersOf(TicketRedisKeys.queueEventsChannel(eventId)).get(userId);
+        return subscriber == null ? -1L : subscriber.lastSentRank;
+    }
+
+    private void sendRank(String channel, String userId, QueueSubscriber subscriber, long rank, long delayMs) {
+        TicketStatusResponseDTO payload = TicketStatusResponseDTO.builder()
+                .status(TicketRequestStatus.WAITING)
+                .rank(rank)
+                .build();
+        offer(channel, userId, subscriber, payload, delayMs);
+    }
+
+    private void finish(String channel, String userId, QueueSubscriber subscriber, TicketRequestStatus status) {
+        TicketStatusResponseDTO payload = TicketStatusResponseDTO.builder()
+                .status(status)
+                .build();
+        // 더 이상 알림 대상이 아니므로 먼저 해제하고, 마지막 상태는 throttle 없이 바로 보낸다.
+        unregister(channel, userId, subscriber);
+        offer(channel, userId, subscriber, payload, 0L);
+    }
+
+    private void offer(String channel, String userId, QueueSubscriber subscriber,
+                       TicketStatusResponseDTO payload, long delayMs) {
+        TicketStatusResponseDTO next = subscriber.pending.accumulateAndGet(payload,
+                (current, candidate) -> isFinal(current) ? current : candidate);
+        boolean finalPayload = isFinal(next);
+        // 순번 갱신은 연결당 예약 하나로 합치고, 마지막 상태는 지연 예약이 있어도 즉시 한 번 더 예약한다.
+        if (!finalPayload && !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Runnable drain = () -> {
+            if (!finalPayload) {
+                subscriber.scheduled.set(false);
+            }
+            drain(channel, userId, subscriber);
+        };
+        if (sender == null || sender.isShutdown()) {
+            drain.run();
+            return;
+        }
+        sender.schedule(drain, finalPayload ? 0L : delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void drain(String channel, String userId, QueueSubscriber subscriber) {
+        // 같은 연결로의 전송은 순서를 지키도록 직렬화한다. 잡은 시점의 최신 payload만 보낸다.
+        synchronized (subscriber) {
+            TicketStatusResponseDTO payload = subscriber.pending.getAndSet(null);
+            if (payload == null || subscriber.closed) {
+                return;
+            }
+            if (!send(channel, userId, subscriber, payload)) {
+                subscriber.closed = true;
+                return;
+            }
+            if (isFinal(payload)) {
+                subscriber.closed = true;
+                subscriber.emitter().complete();
+                return;
+            }
+            subscriber.lastSentRank = payload.getRank();
+            subscriber.lastSentAt = System.currentTimeMillis();
+        }
+    }
+
+    private boolean send(String channel, String userId, QueueSubscriber subscriber, TicketStatusResponseDTO payload) {
+        try {
+            subscriber.emitter().send(SseEmitter.event()
+                    .name(STATUS_EVENT)
+                    .data(payload, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 끊긴 연결: 다음 알림부터 대상에서 제외한다.
+            unregister(channel, userId, subscriber);
+            return false;
+        }
+    }
+
+    private static boolean isFinal(TicketStatusResponseDTO payload) {
+        return payload != null && payload.getStatus() != TicketRequestStatus.WAITING;
+    }
+
+    private Map<String, QueueSubscriber> subscribersOf(String channel) {
+        return subscribersByChannel.computeIfAbsent(channel, key -> new ConcurrentHashMap<>());
+    }
+
+    private void unregister(String channel, String userId, QueueSubscriber subscriber) {
+        Map<String, QueueSubscriber> subscribers = subscribersByChannel.get(channel);
+        if (subscribers != null) {
+            subscribers.remove(userId, subscriber);
+        }
+    }
+
+    private static final class QueueSubscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<TicketStatusResponseDTO> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile long seq = UNKNOWN_SEQ;
+        private volatile long lastSentRank = -1L;
+        private volatile long lastSentAt;
+
+        private QueueSubscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private SseEmitter emitter() {
+            return emitter;
+        }
+    }
+}
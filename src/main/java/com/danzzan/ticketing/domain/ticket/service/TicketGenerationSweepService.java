@@ -0,0 +1,6 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+public interface TicketGenerationSweepService {
+
+    int sweep(String eventId);
+}
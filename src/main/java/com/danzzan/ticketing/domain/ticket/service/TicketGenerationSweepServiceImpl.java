@@ -0,0 +1,170 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisCluster;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisLeaseManager;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// init으로 밀려난 generation의 key를 유예 시간(grace-ms) 후 정리한다.
+// HASH layout은 bucket key를 바로 UNLINK 하고, STRING layout만 해당 generation prefix로 SCAN 한다.
+// 정리는 Redis lease를 가진 노드 한 곳에서만 수행한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketGenerationSweepServiceImpl implements TicketGenerationSweepService {
+
+    private static final long SCAN_COUNT = 500L;
+    private static final int UNLINK_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisLeaseManager redisLeaseManager;
+
+    @Value("${ticket.generation-sweep.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ticket.generation-sweep.grace-ms:30000}")
+    private long graceMs;
+
+    @Value("${ticket.generation-sweep.lease-ttl-ms:60000}")
+    private long leaseTtlMs;
+
+    private volatile boolean leader;
+
+    @Scheduled(fixedDelayString = "${ticket.generation-sweep.interval-ms:30000}")
+    public void sweepRegisteredEvents() {
+        if (!enabled) {
+            return;
+        }
+        leader = redisLeaseManager.tryAcquire(TicketRedisKeys.generationSweepLeaseKey(), leaseTtlMs);
+        if (!leader) {
+            return;
+        }
+
+        Set<String> eventIds = redisTemplate.opsForSet().members(TicketRedisKeys.eventRegistryKey());
+        if (eventIds == null) {
+            return;
+        }
+        for (String eventId : eventIds) {
+            try {
+                sweep(eventId);
+            } catch (RuntimeException e) {
+                log.warn("generation sweep failed eventId={}", eventId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leader) {
+            redisLeaseManager.release(TicketRedisKeys.generationSweepLeaseKey());
+            leader = false;
+        }
+    }
+
+    @Override
+    public int sweep(String eventId) {
+        String retiredKey = TicketRedisKeys.retiredGenerationsKey(eventId);
+        Set<String> retired = redisTemplate.opsForZSet()
+                .rangeByScore(retiredKey, 0, System.currentTimeMillis() - graceMs);
+        if (retired == null || retired.isEmpty()) {
+            return 0;
+        }
+
+        long current = currentGeneration(eventId);
+        int swept = 0;
+        for (String member : retired) {
+            long generation = Long.parseLong(member);
+            if (generation < current) {
+                sweepGeneration(eventId, generation);
+                swept++;
+            }
+            redisTemplate.opsForZSet().remove(retiredKey, member);
+        }
+        log.info("generation sweep eventId={} swept={}", eventId, swept);
+        return swept;
+    }
+
+    private void sweepGeneration(String eventId, long generation) {
+        String layoutKey = TicketRedisKeys.layoutKey(eventId, generation);
+        String marker = redisTemplate.opsForValue().get(layoutKey);
+        TicketKeyLayout layout = TicketKeyLayout.of(marker);
+        if (layout == TicketKeyLayout.HASH) {
+            unlinkHashBuckets(eventId, generation, TicketKeyLayout.bucketsOf(marker));
+        } else {
+            if (layout == TicketKeyLayout.BITMAP) {
+                redisTemplate.unlink(List.of(
+                        TicketRedisKeys.userBitmapKey(eventId, generation),
+                        TicketRedisKeys.statusBitfieldKey(eventId, generation)
+                ));
+            }
+            // BITMAP layout도 문자열 userId는 string key로 남아 있다.
+            unlinkByPattern(eventId, TicketRedisKeys.userKey(eventId, generation, "*"));
+            unlinkByPattern(eventId, TicketRedisKeys.statusKey(eventId, generation, "*"));
+        }
+        redisTemplate.unlink(List.of(
+                TicketRedisKeys.orderKey(eventId, generation),
+                TicketRedisKeys.queueKey(eventId, generation),
+                TicketRedisKeys.queueSeqKey(eventId, generation),
+                TicketRedisKeys.gateKey(eventId, generation),
+                TicketRedisKeys.leasedStockKey(eventId, generation),
+                TicketRedisKeys.leaseOwnersKey(eventId, generation),
+                layoutKey
+        ));
+    }
+
+    private long currentGeneration(String eventId) {
+        String generation = redisTemplate.opsForValue().get(TicketRedisKeys.generationKey(eventId));
+        return generation == null ? 0L : Long.parseLong(generation);
+    }
+
+    private void unlinkHashBuckets(String eventId, long generation, int buckets) {
+        String userHashPrefix = TicketRedisKeys.userHashPrefix(eventId, generation);
+        String statusHashPrefix = TicketRedisKeys.statusHashPrefix(eventId, generation);
+
+        List<String> batch = new ArrayList<>(UNLINK_BATCH_SIZE);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            batch.add(userHashPrefix + bucket);
+            batch.add(statusHashPrefix + bucket);
+            if (batch.size() >= UNLINK_BATCH_SIZE) {
+                unlinkBatch(batch);
+            }
+        }
+        unlinkBatch(batch);
+    }
+
+    private void unlinkByPattern(String eventId, String pattern) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(pattern)
+                .count(SCAN_COUNT)
+                .build();
+
+        List<String> batch = new ArrayList<>(UNLINK_BATCH_SIZE);
+        TicketRedisCluster.scan(redisTemplate, TicketRedisKeys.generationKey(eventId), options, key -> {
+            batch.add(key);
+            if (batch.size() >= UNLINK_BATCH_SIZE) {
+                unlinkBatch(batch);
+            }
+        });
+        unlinkBatch(batch);
+    }
+
+    private void unlinkBatch(List<String> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        redisTemplate.unlink(batch);
+        batch.clear();
+    }
+}
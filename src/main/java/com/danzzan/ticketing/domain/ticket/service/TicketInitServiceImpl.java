@@ -1,71 +1,90 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
 import com.danzzan.ticketing.domain.ticket.dto.AdminTicketInitResponseDTO;
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TerminalStatusCache;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventListSnapshot;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventMetaSync;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
+// init은 이벤트 generation을 올려 빈 key namespace로 전환한다 (이전 회차 key 정리 없이 O(1)).
+// 이전 generation key는 TicketGenerationSweepService가 백그라운드에서 정리한다.
 @Service
 @RequiredArgsConstructor
 public class TicketInitServiceImpl implements TicketInitService {
 
-    private static final String STOCK_SUFFIX = ":stock";
-    private static final long SCAN_COUNT = 500L;
-    private static final int UNLINK_BATCH_SIZE = 500;
-
     private final StringRedisTemplate redisTemplate;
+    @Qualifier("eventInitScript")
+    private final RedisScript<Long> eventInitScript;
+    private final ClaimOutboxService claimOutboxService;
+    private final TerminalStatusCache terminalStatusCache;
+    private final TicketGenerationCache ticketGenerationCache;
+    private final TicketEventListSnapshot ticketEventListSnapshot;
+    private final SoldOutShortCircuit soldOutShortCircuit;
+    private final TicketEventMetaSync ticketEventMetaSync;
+
+    // 새로 init 하는 이벤트에 적용할 user/status layout. 진행 중인 이벤트는 init 전까지 기존 layout을 유지한다.
+    @Value("${ticket.redis.key-layout:STRING}")
+    private TicketKeyLayout keyLayout;
+
+    // bucket당 field 수가 hash-max-ziplist-entries(7.x: hash-max-listpack-entries, 기본 512) 이하여야 압축 encoding이 유지된다.
+    @Value("${ticket.redis.hash-buckets:1024}")
+    private int hashBuckets;
 
     @Override
     public AdminTicketInitResponseDTO initStock(String eventId, Long stock) {
-        String stockKey = TicketRedisKeys.stockKey(eventId);
-        String eventPrefix = eventPrefixFromStockKey(stockKey);
+        String layoutMarker = layoutMarker();
+        Long generation = redisTemplate.execute(
+                eventInitScript,
+                List.of(
+                        TicketRedisKeys.generationKey(eventId),
+                        TicketRedisKeys.stockKey(eventId),
+                        TicketRedisKeys.retiredGenerationsKey(eventId)
+                ),
+                String.valueOf(stock),
+                String.valueOf(System.currentTimeMillis()),
+                layoutMarker,
+                TicketRedisKeys.generationNamespacePrefix(eventId)
+        );
+        if (generation == null) {
+            throw new IllegalStateException("event init lua must return generation");
+        }
 
-        unlinkByPattern(eventPrefix + ":user:*");
-        unlinkByPattern(eventPrefix + ":status:*");
-        redisTemplate.opsForValue().set(stockKey, String.valueOf(stock));
+        claimOutboxService.registerEvent(eventId);
+        ticketGenerationCache.update(eventId, generation);
+        // 이전 회차의 종료 상태/generation이 남지 않도록 모든 노드의 near-cache를 비운다.
+        terminalStatusCache.invalidateEverywhere(eventId);
+        // 다른 노드의 매진 표시는 같은 무효화 메시지로 지워진다.
+        soldOutShortCircuit.clear(eventId);
+        // 새 회차를 여는 시점의 DB 상태/시작 시각으로 claim script의 오픈 판정을 맞춘다.
+        ticketEventMetaSync.sync(eventId);
+        ticketEventListSnapshot.invalidate();
 
         return AdminTicketInitResponseDTO.builder()
                 .eventId(eventId)
                 .stock(stock)
+                .generation(generation)
                 .build();
     }
 
-    private String eventPrefixFromStockKey(String stockKey) {
-        if (!stockKey.endsWith(STOCK_SUFFIX)) {
-            throw new IllegalStateException("stock key must end with :stock");
+    // STRING layout은 marker를 쓰지 않는다 ("").
+    private String layoutMarker() {
+        if (keyLayout == TicketKeyLayout.HASH) {
+            return TicketKeyLayout.hashMarker(hashBuckets);
         }
-        return stockKey.substring(0, stockKey.length() - STOCK_SUFFIX.length());
-    }
-
-    private void unlinkByPattern(String pattern) {
-        ScanOptions options = ScanOptions.scanOptions()
-                .match(pattern)
-                .count(SCAN_COUNT)
-                .build();
-
-        List<String> batch = new ArrayList<>(UNLINK_BATCH_SIZE);
-        try (Cursor<String> cursor = redisTemplate.scan(options)) {
-            while (cursor.hasNext()) {
-                batch.add(cursor.next());
-                if (batch.size() >= UNLINK_BATCH_SIZE) {
-                    unlinkBatch(batch);
-                }
-            }
-            unlinkBatch(batch);
-        }
-    }
-
-    private void unlinkBatch(List<String> batch) {
-        if (batch.isEmpty()) {
-            return;
+        if (keyLayout == TicketKeyLayout.BITMAP) {
+            return TicketKeyLayout.bitmapMarker();
         }
-        redisTemplate.unlink(batch);
-        batch.clear();
+        return "";
     }
 }
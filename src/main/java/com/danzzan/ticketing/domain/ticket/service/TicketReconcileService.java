@@ -0,0 +1,9 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.dto.TicketReconcileResponseDTO;
+
+public interface TicketReconcileService {
+
+    // repair=false면 차이만 보고하고, true면 누락 적재/표시와 stock drift를 보정한다.
+    TicketReconcileResponseDTO reconcile(Long eventId, boolean repair);
+}
@@ -0,0 +1,351 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.event.exception.EventNotFoundException;
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.dto.TicketReconcileResponseDTO;
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisCluster;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketBatchRepository;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimedTicket;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimLuaProtocol;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldType;
+import org.springframework.data.redis.connection.BitFieldSubCommands.Offset;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+// 이벤트의 Redis claim 표시(user slot), claim outbox(stream), user_tickets, stock을 비교한다.
+// - missingInDb: Redis에는 claim이 있는데 user_tickets에도 outbox에도 없음 (outbox 유실)
+// - missingInRedis: user_tickets에는 있는데 Redis claim 표시가 없음 (DB 우회 예매, Redis 유실)
+// - stock drift: stock != total_capacity - |Redis ∪ DB 확정 사용자| - 노드들이 lease로 들고 있는 미사용 재고(leased)
+// HASH layout bucket 읽기와 보정 쓰기는 chunk 단위로 나눠 병렬로 처리한다.
+// 판매가 진행 중이면 결과가 계속 바뀌므로 판매 종료 후 또는 장애 복구 직후에 실행하는 것을 전제로 한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketReconcileServiceImpl implements TicketReconcileService {
+
+    private static final long SCAN_COUNT = 1_000L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    @Qualifier("stockCompareAndSetScript")
+    private final RedisScript<Long> stockCompareAndSetScript;
+    private final FestivalEventRepository festivalEventRepository;
+    private final UserTicketRepository userTicketRepository;
+    private final UserTicketBatchRepository userTicketBatchRepository;
+    private final TicketGenerationCache ticketGenerationCache;
+    private final SoldOutShortCircuit soldOutShortCircuit;
+    private final ClaimStockLeases claimStockLeases;
+
+    @Value("${ticket.reconcile.parallelism:8}")
+    private int parallelism;
+
+    // 보정 쓰기(insert/pipeline) 한 번에 담는 사용자 수
+    @Value("${ticket.reconcile.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${ticket.reconcile.sample-size:100}")
+    private int sampleSize;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "ticket-reconcile-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public TicketReconcileResponseDTO reconcile(Long eventId, boolean repair) {
+        long startedAt = System.nanoTime();
+        FestivalEvent event = festivalEventRepository.findById(eventId)
+                .orElseThrow(EventNotFoundException::new);
+        String redisEventId = String.valueOf(eventId);
+        long generation = ticketGenerationCache.refresh(redisEventId);
+        String layoutMarker =
+                stringRedisTemplate.opsForValue().get(TicketRedisKeys.layoutKey(redisEventId, generation));
+        TicketKeyLayout layout = TicketKeyLayout.of(layoutMarker);
+        int buckets = TicketKeyLayout.bucketsOf(layoutMarker);
+
+        // heartbeat가 끊긴 노드의 lease는 반납되지 않으므로 보정 시 leased를 읽기 전에 stock으로 회수한다.
+        if (repair && claimStockLeases.isEnabled()) {
+            claimStockLeases.reclaimDeadNodes(redisEventId, generation);
+        }
+        // stock/leased는 claim 표시보다 먼저 읽는다. 그 사이 claim이나 lease grab/반납이 들어오면 CAS가 실패해 덮어쓰지 않는다.
+        String leasedValue = stringRedisTemplate.opsForValue()
+                .get(TicketRedisKeys.leasedStockKey(redisEventId, generation));
+        String stockValue = stringRedisTemplate.opsForValue().get(TicketRedisKeys.stockKey(redisEventId));
+        Set<Long> redisClaimed = readRedisClaimed(redisEventId, generation, layout, buckets);
+        Set<Long> pending = readPendingOutbox(redisEventId);
+        Set<Long> persisted = new HashSet<>(userTicketRepository.findUserIdsByEventId(eventId));
+
+        List<Long> missingInDb = redisClaimed.stream()
+                .filter(userId -> !persisted.contains(userId) && !pending.contains(userId))
+                .sorted()
+                .toList();
+        List<Long> missingInRedis = persisted.stream()
+                .filter(userId -> !redisClaimed.contains(userId))
+                .sorted()
+                .toList();
+
+        long confirmedUsers = redisClaimed.size() + missingInRedis.size();
+        // lease로 나간 단위는 반납(INCRBY stock) 전까지 stock에 없으므로 기대값에서도 뺀다.
+        long leasedStock = leasedValue == null ? 0L : Math.max(0L, Long.parseLong(leasedValue));
+        long expectedStock = Math.max(0L, event.getTotalCapacity() - confirmedUsers - leasedStock);
+        Long redisStock = stockValue == null ? null : Long.parseLong(stockValue);
+        Long stockDrift = redisStock == null ? null : redisStock - expectedStock;
+
+        int repairedMissingInDb = 0;
+        int repairedMissingInRedis = 0;
+        boolean stockRepaired = false;
+        if (repair) {
+            repairedMissingInDb = persistMissing(eventId, redisEventId, generation, missingInDb);
+            repairedMissingInRedis = markClaimedInRedis(redisEventId, generation, layout, buckets, missingInRedis);
+            if (stockDrift != null && stockDrift != 0L) {
+                stockRepaired = compareAndSetStock(redisEventId, generation, stockValue, leasedValue, expectedStock);
+            }
+            if (stockRepaired && expectedStock > 0L) {
+                // 보정으로 재고가 생기면 노드들의 매진 표시를 지워 claim이 다시 Redis로 가게 한다.
+                soldOutShortCircuit.reopenEverywhere(redisEventId);
+            }
+        }
+
+        if (ticketGenerationCache.refresh(redisEventId) != generation) {
+            throw new IllegalStateException("event generation changed during reconcile: " + redisEventId);
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.info("ticket reconcile eventId={} generation={} repair={} redisClaimed={} persisted={} pending={} "
+                        + "missingInDb={} missingInRedis={} stock={} leased={} expectedStock={} elapsedMs={}",
+                eventId, generation, repair, redisClaimed.size(), persisted.size(), pending.size(),
+                missingInDb.size(), missingInRedis.size(), redisStock, leasedStock, expectedStock, elapsedMs);
+
+        return TicketReconcileResponseDTO.builder()
+                .eventId(eventId)
+                .generation(generation)
+                .repair(repair)
+                .redisClaimedCount(redisClaimed.size())
+                .persistedCount(persisted.size())
+                .pendingOutboxCount(pending.size())
+                .missingInDbCount(missingInDb.size())
+                .missingInRedisCount(missingInRedis.size())
+                .missingInDbSample(missingInDb.subList(0, Math.min(sampleSize, missingInDb.size())))
+                .missingInRedisSample(missingInRedis.subList(0, Math.min(sampleSize, missingInRedis.size())))
+                .redisStock(redisStock)
+                .leasedStock(leasedStock)
+                .expectedStock(expectedStock)
+                .stockDrift(stockDrift)
+                .repairedMissingInDb(repairedMissingInDb)
+                .repairedMissingInRedis(repairedMissingInRedis)
+                .stockRepaired(stockRepaired)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private Set<Long> readRedisClaimed(String eventId, long generation, TicketKeyLayout layout, int buckets) {
+        Set<Long> claimed = new HashSet<>();
+        if (layout != TicketKeyLayout.HASH) {
+            if (layout == TicketKeyLayout.BITMAP) {
+                readBitmapClaimed(eventId, generation, claimed);
+            }
+            // STRING layout은 사용자별 key이므로 SCAN으로 모은다. (BITMAP layout의 bitmap 밖 userId 포함)
+            String prefix = TicketRedisKeys.userKeyPrefix(eventId, generation);
+            ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_COUNT).build();
+            TicketRedisCluster.scan(stringRedisTemplate, prefix, options,
+                    key -> addUserId(claimed, key.substring(prefix.length())));
+            return claimed;
+        }
+
+        // HASH layout은 bucket을 parallelism 개 chunk로 나눠 chunk마다 HKEYS pipeline 한 번으로 읽는다.
+        String hashPrefix = TicketRedisKeys.userHashPrefix(eventId, generation);
+        List<Integer> bucketIndexes = IntStream.range(0, buckets).boxed().toList();
+        int bucketsPerChunk = Math.max(1, (buckets + parallelism - 1) / parallelism);
+        List<Object> bucketMembers = mapChunks(bucketIndexes, bucketsPerChunk, chunk ->
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    chunk.forEach(bucket -> stringConnection.hKeys(hashPrefix + bucket));
+                    return null;
+                }));
+        for (Object members : bucketMembers) {
+            if (members instanceof Collection<?> fields) {
+                fields.forEach(field -> addUserId(claimed, String.valueOf(field)));
+            }
+        }
+        return claimed;
+    }
+
+    // bitmap은 GET 한 번으로 통째로 읽는다 (userId 100k 기준 약 12KB). Redis bit offset 0은 첫 byte의 최상위 bit다.
+    private void readBitmapClaimed(String eventId, long generation, Set<Long> claimed) {
+        byte[] key = TicketRedisKeys.userBitmapKey(eventId, generation).getBytes(StandardCharsets.UTF_8);
+        byte[] bitmap = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key));
+        if (bitmap == null) {
+            return;
+        }
+        for (int index = 0; index < bitmap.length; index++) {
+            int bits = bitmap[index] & 0xff;
+            for (int bit = 0; bits != 0 && bit < Byte.SIZE; bit++) {
+                if ((bits & (0x80 >>> bit)) != 0) {
+                    claimed.add((long) index * Byte.SIZE + bit);
+                }
+            }
+        }
+    }
+
+    // outbox에 남은 entry는 아직 write-behind가 적재하지 않은 claim이다 (적재 후 XDEL).
+    private Set<Long> readPendingOutbox(String eventId) {
+        Set<Long> pending = new HashSet<>();
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .range(TicketRedisKeys.claimStreamKey(eventId), Range.unbounded());
+        if (records != null) {
+            records.forEach(record -> addUserId(pending, String.valueOf(record.getValue().get("userId"))));
+        }
+        return pending;
+    }
+
+    // 원래 order를 알 수 없으므로 DB 최대 order와 Redis order counter 뒤에 이어 붙인다.
+    private int persistMissing(Long eventId, String redisEventId, long generation, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Long counterEnd = stringRedisTemplate.opsForValue()
+                .increment(TicketRedisKeys.orderKey(redisEventId, generation), userIds.size());
+        long base = Math.max(userTicketRepository.findMaxTicketingOrderByEventId(eventId),
+                (counterEnd == null ? userIds.size() : counterEnd) - userIds.size());
+        LocalDateTime claimedAt = LocalDateTime.now();
+
+        List<ClaimedTicket> tickets = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            tickets.add(new ClaimedTicket(eventId, userIds.get(i), Math.toIntExact(base + i + 1), claimedAt));
+        }
+        mapChunks(tickets, chunkSize, chunk -> {
+            userTicketBatchRepository.insertIgnoringDuplicates(chunk);
+            return List.of();
+        });
+        return tickets.size();
+    }
+
+    private int markClaimedInRedis(String eventId, long generation, TicketKeyLayout layout, int buckets,
+                                   List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        String userHashPrefix = TicketRedisKeys.userHashPrefix(eventId, generation);
+        String statusHashPrefix = TicketRedisKeys.statusHashPrefix(eventId, generation);
+        String success = TicketRequestStatus.SUCCESS.name();
+        String userBitmapKey = TicketRedisKeys.userBitmapKey(eventId, generation);
+        String statusBitfieldKey = TicketRedisKeys.statusBitfieldKey(eventId, generation);
+        BitFieldType statusCodeType = BitFieldType.unsigned(TicketKeyLayout.STATUS_CODE_BITS);
+        long successCode = TicketKeyLayout.statusCode(TicketRequestStatus.SUCCESS);
+
+        mapChunks(userIds, chunkSize, chunk ->
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    for (Long userId : chunk) {
+                        String rawUserId = String.valueOf(userId);
+                        String member = TicketRedisKeys.queueMember(rawUserId);
+                        long offset = layout == TicketKeyLayout.BITMAP ? TicketKeyLayout.bitmapOffsetOf(member) : -1L;
+                        if (offset >= 0) {
+                            stringConnection.setBit(userBitmapKey, offset, true);
+                            stringConnection.bitfield(statusBitfieldKey, BitFieldSubCommands.create()
+                                    .set(statusCodeType).valueAt(Offset.offset(offset).multipliedByTypeLength())
+                                    .to(successCode));
+                        } else if (layout != TicketKeyLayout.HASH) {
+                            stringConnection.set(TicketRedisKeys.userKey(eventId, generation, rawUserId),
+                                    ClaimLuaProtocol.USER_CLAIMED_VALUE);
+                            stringConnection.set(TicketRedisKeys.statusKey(eventId, generation, rawUserId), success);
+                        } else {
+                            int bucket = TicketKeyLayout.bucketOf(member, buckets);
+                            stringConnection.hSet(userHashPrefix + bucket, member, ClaimLuaProtocol.USER_CLAIMED_VALUE);
+                            stringConnection.hSet(statusHashPrefix + bucket, member, success);
+                        }
+                    }
+                    return null;
+                }));
+        return userIds.size();
+    }
+
+    private boolean compareAndSetStock(String eventId, long generation, String expectedValue, String expectedLeased,
+                                       long newStock) {
+        Long replaced = stringRedisTemplate.execute(
+                stockCompareAndSetScript,
+                List.of(TicketRedisKeys.stockKey(eventId), TicketRedisKeys.leasedStockKey(eventId, generation)),
+                expectedValue == null ? "" : expectedValue,
+                String.valueOf(newStock),
+                expectedLeased == null ? "" : expectedLeased
+        );
+        return replaced != null && replaced == 1L;
+    }
+
+    private <T, R> List<R> mapChunks(List<T> items, int size, Function<List<T>, List<R>> task) {
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            List<T> chunk = items.subList(from, Math.min(items.size(), from + size));
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(chunk), executor));
+        }
+
+        List<R> results = new ArrayList<>();
+        try {
+            futures.forEach(future -> results.addAll(future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private void addUserId(Set<Long> userIds, String raw) {
+        try {
+            userIds.add(Long.parseLong(raw));
+        } catch (NumberFormatException e) {
+            // 레거시 문자열 userId는 user_tickets와 대응되지 않으므로 대사 대상이 아니다.
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.dto.ResponseReserveTicketDto;
+
+public interface TicketReserveWriterService {
+
+    boolean isEnabled();
+
+    ResponseReserveTicketDto reserve(Long userId, Long eventId);
+}
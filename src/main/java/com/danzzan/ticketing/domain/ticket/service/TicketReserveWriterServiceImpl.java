@@ -0,0 +1,320 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.event.exception.EventNotFoundException;
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.dto.ResponseReserveTicketDto;
+import com.danzzan.ticketing.domain.ticket.exception.AlreadyReservedException;
+import com.danzzan.ticketing.domain.ticket.exception.EventNotOpenException;
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
+import com.danzzan.ticketing.domain.ticket.model.entity.UserTicket;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.support.ReserveSeatAllocator;
+import com.danzzan.ticketing.domain.user.exception.UserNotFoundException;
+import com.danzzan.ticketing.domain.user.model.entity.User;
+import com.danzzan.ticketing.domain.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// DB 예매의 대안 엔진: 이벤트마다 bounded queue(ring buffer) 하나와 writer 스레드 하나를 둔다.
+// writer만 해당 이벤트의 좌석/순번을 다루므로 요청마다 행 잠금을 잡지 않고, batch마다 이벤트 행을 한 번 잠가
+// 중복 검사(메모리 set) → 순번 부여 → UserTicket insert → sold_count 반영을 한 트랜잭션으로 커밋한다.
+// 다른 노드/기존 DB 경로와 함께 써도 sold_count 행 잠금과 uk_user_event로 정원과 중복은 지켜진다.
+// writer는 festival_events.sold_count만 쓰므로 capacity slot 모드와 함께 켜면 기동 시 거절한다.
+// 중복 검사 set은 writer가 마지막으로 본 sold_count와 DB 값이 다르면(다른 경로의 예매, 장애 우회, 초기화) DB에서 다시 적재한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketReserveWriterServiceImpl implements TicketReserveWriterService {
+
+    private static final String UNIQUE_USER_EVENT = "uk_user_event";
+
+    private final FestivalEventRepository festivalEventRepository;
+    private final UserTicketRepository userTicketRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReserveSeatAllocator reserveSeatAllocator;
+
+    @Value("${ticket.reserve.single-writer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.reserve.single-writer.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${ticket.reserve.single-writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${ticket.reserve.single-writer.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private final Map<Long, EventLane> lanes = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (enabled && reserveSeatAllocator.usesCapacitySlots()) {
+            throw new IllegalStateException(
+                    "ticket.reserve.single-writer.enabled cannot be combined with ticket.reserve.capacity-slots >= 2");
+        }
+        running = enabled;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (EventLane lane : lanes.values()) {
+            lane.writer.interrupt();
+            lane.writer.join(TimeUnit.SECONDS.toMillis(5));
+
+            List<PendingReserve> remaining = new ArrayList<>();
+            lane.queue.drainTo(remaining);
+            remaining.forEach(pending -> pending.result().completeExceptionally(
+                    new IllegalStateException("reserve writer is stopped")));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return running;
+    }
+
+    @Override
+    public ResponseReserveTicketDto reserve(Long userId, Long eventId) {
+        PendingReserve pending = new PendingReserve(userId, new CompletableFuture<>());
+
+        try {
+            enqueue(eventId, pending);
+            return pending.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("reserve wait interrupted", e);
+        } catch (TimeoutException e) {
+            // 이미 커밋됐을 수 있으므로 결과는 내 티켓 조회로 확인해야 한다.
+            throw new IllegalStateException("reserve timed out after " + timeoutMs + "ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("reserve failed", e.getCause());
+        }
+    }
+
+    private void enqueue(Long eventId, PendingReserve pending) throws InterruptedException {
+        EventLane lane = lanes.computeIfAbsent(eventId, this::startLane);
+        if (!lane.queue.offer(pending, timeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("reserve queue is full for event " + eventId);
+        }
+        // 그 사이 writer가 죽어 정리된 lane이면 아직 남아 있는 요청을 꺼내 새 lane으로 다시 보낸다.
+        if (lane.dead && lane.queue.remove(pending)) {
+            EventLane replacement = lanes.computeIfAbsent(eventId, this::startLane);
+            if (!replacement.queue.offer(pending, timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("reserve queue is full for event " + eventId);
+            }
+        }
+    }
+
+    private EventLane startLane(Long eventId) {
+        EventLane lane = new EventLane(eventId, new ArrayBlockingQueue<>(queueCapacity));
+        lane.writer.setDaemon(true);
+        lane.writer.start();
+        return lane;
+    }
+
+    private void writeLoop(EventLane lane) {
+        List<PendingReserve> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                try {
+                    batch.add(lane.queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                lane.queue.drainTo(batch, batchSize - 1);
+                write(lane, batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        } catch (Error e) {
+            // write()는 RuntimeException만 요청 실패로 바꾸므로 Error는 여기까지 올라온다.
+            // 죽은 lane을 map에서 빼 다음 요청이 새 writer(중복 set도 DB에서 다시 적재)를 시작하게 한다.
+            log.error("reserve writer died eventId={}", lane.eventId, e);
+            retire(lane, batch, e);
+        }
+    }
+
+    private void retire(EventLane lane, List<PendingReserve> batch, Error cause) {
+        lane.dead = true;
+        lanes.remove(lane.eventId, lane);
+
+        IllegalStateException failure = new IllegalStateException("reserve writer failed for event " + lane.eventId, cause);
+        List<PendingReserve> abandoned = new ArrayList<>(batch);
+        lane.queue.drainTo(abandoned);
+        // 이미 결과가 전달된 요청에는 영향이 없다. 처리 중이던 batch는 롤백됐을 수 있으므로 실패로 응답한다.
+        abandoned.forEach(pending -> pending.result().completeExceptionally(failure));
+    }
+
+    // 외부 경로가 같은 유저를 먼저 넣어 batch insert가 실패하면 한 건씩 다시 처리해 해당 요청만 거절한다.
+    private void write(EventLane lane, List<PendingReserve> batch) {
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> reserveBatch(lane, batch));
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() > 1) {
+                batch.forEach(pending -> write(lane, List.of(pending)));
+                return;
+            }
+            // uk_user_event 위반만 중복 예매다. 다른 제약 위반은 원인 그대로 실패로 돌려준다.
+            if (!isDuplicateReservation(e)) {
+                log.warn("reserve failed on integrity violation eventId={} userId={}",
+                        lane.eventId, batch.get(0).userId(), e);
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            lane.reservedUserIds.add(batch.get(0).userId());
+            batch.get(0).result().completeExceptionally(
+                    new AlreadyReservedException("이미 예매 처리가 완료되었습니다. 내 티켓에서 확인해주세요."));
+            return;
+        } catch (RuntimeException e) {
+            log.warn("reserve batch failed eventId={} size={}", lane.eventId, batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+
+        // 커밋된 뒤에만 결과를 알리고 중복 set에 반영한다.
+        for (Outcome outcome : outcomes) {
+            UserTicket ticket = outcome.ticket();
+            if (ticket != null) {
+                lane.reservedUserIds.add(outcome.pending().userId());
+                outcome.pending().result().complete(new ResponseReserveTicketDto(
+                        ticket.getTicketingOrder(), TicketService.toMyTicketDto(ticket, ticket.getEvent())));
+            } else {
+                outcome.pending().result().completeExceptionally(outcome.failure());
+            }
+        }
+    }
+
+    private List<Outcome> reserveBatch(EventLane lane, List<PendingReserve> batch) {
+        FestivalEvent event = festivalEventRepository.findByIdForUpdate(lane.eventId).orElse(null);
+        RuntimeException rejected = rejectAll(event);
+        if (rejected != null) {
+            return batch.stream().map(pending -> Outcome.failed(pending, rejected)).toList();
+        }
+        // 이벤트 행을 잠근 뒤이므로 sold_count를 올린 다른 트랜잭션의 티켓은 모두 커밋되어 있다.
+        if (event.getSoldCount() != lane.knownSoldCount) {
+            lane.reservedUserIds.clear();
+            lane.reservedUserIds.addAll(userTicketRepository.findUserIdsByEventId(lane.eventId));
+        }
+
+        Map<Long, User> users = userRepository.findAllById(
+                        batch.stream().map(PendingReserve::userId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        int sold = event.getSoldCount();
+        Set<Long> batchUserIds = new HashSet<>();
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        List<UserTicket> tickets = new ArrayList<>(batch.size());
+        for (PendingReserve pending : batch) {
+            User user = users.get(pending.userId());
+            if (lane.reservedUserIds.contains(pending.userId()) || !batchUserIds.add(pending.userId())) {
+                outcomes.add(Outcome.failed(pending, new AlreadyReservedException()));
+            } else if (sold >= event.getTotalCapacity()) {
+                outcomes.add(Outcome.failed(pending, new EventSoldOutException()));
+            } else if (user == null) {
+                outcomes.add(Outcome.failed(pending, new UserNotFoundException()));
+            } else {
+                UserTicket ticket = UserTicket.builder()
+                        .user(user)
+                        .event(event)
+                        .ticketingOrder(++sold)
+                        .build();
+                tickets.add(ticket);
+                outcomes.add(Outcome.reserved(pending, ticket));
+            }
+        }
+
+        if (!tickets.isEmpty()) {
+            userTicketRepository.saveAll(tickets);
+            festivalEventRepository.updateSoldCount(lane.eventId, sold);
+        }
+        // 롤백되면 DB 값과 달라지므로 다음 batch가 set을 다시 적재한다.
+        lane.knownSoldCount = sold;
+        return outcomes;
+    }
+
+    private static boolean isDuplicateReservation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.contains(UNIQUE_USER_EVENT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RuntimeException rejectAll(FestivalEvent event) {
+        if (event == null) {
+            return new EventNotFoundException();
+        }
+        if (event.getTicketingStatus() == TicketingStatus.READY) {
+            return new EventNotOpenException();
+        }
+        if (event.getTicketingStatus() == TicketingStatus.CLOSED) {
+            return new EventSoldOutException();
+        }
+        return null;
+    }
+
+    private final class EventLane {
+        private final Long eventId;
+        private final BlockingQueue<PendingReserve> queue;
+        private final Thread writer;
+        // writer 스레드만 접근한다.
+        private final Set<Long> reservedUserIds = new HashSet<>();
+        // reservedUserIds를 적재/갱신한 시점의 sold_count (-1 = 아직 적재 전)
+        private int knownSoldCount = -1;
+        private volatile boolean dead;
+
+        EventLane(Long eventId, BlockingQueue<PendingReserve> queue) {
+            this.eventId = eventId;
+            this.queue = queue;
+            this.writer = new Thread(() -> writeLoop(this), "ticket-reserve-writer-" + eventId);
+        }
+    }
+
+    private record PendingReserve(Long userId, CompletableFuture<ResponseReserveTicketDto> result) {
+    }
+
+    private record Outcome(PendingReserve pending, UserTicket ticket, RuntimeException failure) {
+
+        static Outcome reserved(PendingReserve pending, UserTicket ticket) {
+            return new Outcome(pending, ticket, null);
+        }
+
+        static Outcome failed(PendingReserve pending, RuntimeException failure) {
+            return new Outcome(pending, null, failure);
+        }
+    }
+}
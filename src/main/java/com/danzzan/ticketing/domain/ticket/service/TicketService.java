@@ -11,6 +11,8 @@ import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
 import com.danzzan.ticketing.domain.ticket.model.entity.TicketStatus;
 import com.danzzan.ticketing.domain.ticket.model.entity.UserTicket;
 import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.support.EventRemainingReader;
+import com.danzzan.ticketing.domain.ticket.service.support.ReserveSeatAllocator;
 import com.danzzan.ticketing.domain.user.model.entity.User;
 import com.danzzan.ticketing.domain.user.repository.UserRepository;
 import com.danzzan.ticketing.domain.user.exception.UserNotFoundException;
@@ -23,6 +25,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,16 +33,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TicketService {
 
+    private static final String[] DAY_OF_WEEK_KOR = {"", "월", "화", "수", "목", "금", "토", "일"};
+    private static final DateTimeFormatter OPEN_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter ISSUED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final FestivalEventRepository eventRepository;
     private final UserTicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final EventRemainingReader eventRemainingReader;
+    private final ReserveSeatAllocator reserveSeatAllocator;
 
     // 이벤트 목록 조회 (로그인 불필요)
     public ResponseTicketEventListDto getTicketingEvents() {
         List<FestivalEvent> events = eventRepository.findAll();
+        // 잔여 수량은 전체 이벤트를 Redis MGET 또는 GROUP BY 쿼리 한 번으로 읽는다.
+        Map<Long, Integer> remainingByEvent = eventRemainingReader.remainingByEvent(events);
 
         List<ResponseTicketEventDto> items = events.stream()
-                .map(this::toTicketEventDto)
+                .map(event -> toTicketEventDto(event, remainingByEvent.getOrDefault(event.getId(), 0)))
                 .collect(Collectors.toList());
 
         return new ResponseTicketEventListDto(items);
@@ -48,9 +59,8 @@ public class TicketService {
     // 티켓 예매 (로그인 필요)
     @Transactional
     public ResponseReserveTicketDto reserveTicket(Long userId, Long eventId) {
-        // 1. 이벤트 행 잠금 조회
-        // 동일 eventId 예매 경쟁을 직렬화해 count-check/insert 레이스를 방지한다.
-        FestivalEvent event = eventRepository.findByIdForUpdate(eventId)
+        // 1. 이벤트 조회 (잠금 없음)
+        FestivalEvent event = eventRepository.findById(eventId)
                 .orElseThrow(EventNotFoundException::new);
 
         // 2. 오픈 전 체크 (FE에서도 막지만 BE 방어)
@@ -63,30 +73,28 @@ public class TicketService {
             throw new EventSoldOutException();
         }
 
-        // 4. 중복 예매 체크
+        // 4. 중복 예매 체크 (빠른 거절용, 최종 판정은 uk_user_event)
         if (ticketRepository.existsByUserIdAndEventId(userId, eventId)) {
             throw new AlreadyReservedException();
         }
 
-        // 5. 잔여석 체크
-        long currentCount = ticketRepository.countByEventId(eventId);
-        if (currentCount >= event.getTotalCapacity()) {
-            throw new EventSoldOutException();
-        }
-
-        // 6. 유저 조회
+        // 5. 유저 조회 (좌석 확보 전에 끝내 이벤트 행 잠금 구간에서 제외한다)
         User user = userRepository.findById(userId)
                 .orElseThrow(UserNotFoundException::new);
 
-        // 7. 순번 계산 + 티켓 생성
-        int order = (int) currentCount + 1;
+        // 6. 좌석 확보 + 순번 계산을 조건부 UPDATE 한 문장으로 처리한다.
+        // 같은 이벤트 예매는 이 UPDATE부터 커밋까지만 (slot 사용 시 slot 하나의) 행 잠금을 공유한다.
+        int order = reserveSeatAllocator.claim(event)
+                .orElseThrow(EventSoldOutException::new);
+
+        // 7. 티켓 생성
         UserTicket ticket = UserTicket.builder()
                 .user(user)
                 .event(event)
                 .ticketingOrder(order)
                 .build();
 
-        // 8. DB 저장 (동시 요청 시 unique 제약 위반 가능)
+        // 8. DB 저장 (동시 요청 시 unique 제약 위반 가능 → 트랜잭션 롤백으로 sold_count 증가도 취소된다)
         try {
             ticketRepository.save(ticket);
         } catch (DataIntegrityViolationException e) {
@@ -111,10 +119,7 @@ public class TicketService {
 
     // ===== 변환 메서드 =====
 
-    private ResponseTicketEventDto toTicketEventDto(FestivalEvent event) {
-        long ticketCount = ticketRepository.countByEventId(event.getId());
-        int remaining = Math.max(0, event.getTotalCapacity() - (int) ticketCount);
-
+    private ResponseTicketEventDto toTicketEventDto(FestivalEvent event, int remaining) {
         // BE status → FE status 변환
         String feStatus;
         switch (event.getTicketingStatus()) {
@@ -126,13 +131,12 @@ public class TicketService {
 
         // 날짜 포맷팅
         LocalDate date = event.getEventDate();
-        String[] dayOfWeekKor = {"", "월", "화", "수", "목", "금", "토", "일"};
         String formattedDate = String.format("%02d월 %02d일 (%s)",
                 date.getMonthValue(), date.getDayOfMonth(),
-                dayOfWeekKor[date.getDayOfWeek().getValue()]);
+                DAY_OF_WEEK_KOR[date.getDayOfWeek().getValue()]);
 
         String formattedTime = event.getTicketingStartTime()
-                .format(DateTimeFormatter.ofPattern("HH:mm")) + " 예매 오픈";
+                .format(OPEN_TIME_FORMAT) + " 예매 오픈";
 
         return ResponseTicketEventDto.builder()
                 .id(String.valueOf(event.getId()))
@@ -146,17 +150,16 @@ public class TicketService {
                 .build();
     }
 
-    private ResponseMyTicketDto toMyTicketDto(UserTicket ticket, FestivalEvent event) {
+    static ResponseMyTicketDto toMyTicketDto(UserTicket ticket, FestivalEvent event) {
         // CONFIRMED → "issued" (팔찌 미수령), ISSUED → "used" (팔찌 수령완료)
         String feStatus = ticket.getStatus() == TicketStatus.CONFIRMED ? "issued" : "used";
         boolean wristbandIssued = ticket.getStatus() == TicketStatus.ISSUED;
 
         // 날짜 포맷팅
         LocalDate date = event.getEventDate();
-        String[] dayOfWeekKor = {"", "월", "화", "수", "목", "금", "토", "일"};
         String formattedDate = String.format("%02d월 %02d일 (%s) 19:00",
                 date.getMonthValue(), date.getDayOfMonth(),
-                dayOfWeekKor[date.getDayOfWeek().getValue()]);
+                DAY_OF_WEEK_KOR[date.getDayOfWeek().getValue()]);
 
         // 몇 일차 계산 (첫 이벤트 기준)
         String eventName = event.getTitle();
@@ -166,7 +169,7 @@ public class TicketService {
                 .status(feStatus)
                 .eventName(eventName)
                 .eventDate(formattedDate)
-                .issuedAt(ticket.getTicketingAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
+                .issuedAt(ticket.getTicketingAt().format(ISSUED_AT_FORMAT))
                 .seat("단국존 순번 #" + ticket.getTicketingOrder())
                 .queueNumber(ticket.getTicketingOrder())
                 .wristbandIssued(wristbandIssued)
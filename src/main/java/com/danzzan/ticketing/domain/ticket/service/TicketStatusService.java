@@ -1,8 +1,11 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
+import com.danzzan.ticketing.domain.ticket.dto.TicketStatusCacheStatsResponseDTO;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 
 public interface TicketStatusService {
 
     TicketRequestStatus getStatus(String eventId, String userId);
+
+    TicketStatusCacheStatsResponseDTO getCacheStats();
 }
@@ -1,21 +1,71 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
+import com.danzzan.ticketing.domain.ticket.dto.TicketStatusCacheStatsResponseDTO;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.support.TerminalStatusCache;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class TicketStatusServiceImpl implements TicketStatusService {
 
     private final StringRedisTemplate redisTemplate;
+    @Qualifier("ticketStatusReadScript")
+    private final RedisScript<String> ticketStatusReadScript;
+    private final TerminalStatusCache terminalStatusCache;
+    private final TicketGenerationCache ticketGenerationCache;
 
     @Override
     public TicketRequestStatus getStatus(String eventId, String userId) {
-        String statusKey = TicketRedisKeys.statusKey(eventId, userId);
-        String statusValue = redisTemplate.opsForValue().get(statusKey);
+        if (!terminalStatusCache.isEnabled()) {
+            return readStatus(eventId, userId);
+        }
+
+        TerminalStatusCache.EventEntries entries = terminalStatusCache.entriesOf(eventId);
+        TicketRequestStatus cached = terminalStatusCache.get(entries, userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        TicketRequestStatus status = readStatus(eventId, userId);
+        terminalStatusCache.putIfTerminal(entries, userId, status);
+        return status;
+    }
+
+    @Override
+    public TicketStatusCacheStatsResponseDTO getCacheStats() {
+        long hits = terminalStatusCache.hitCount();
+        long misses = terminalStatusCache.missCount();
+        long lookups = hits + misses;
+        return TicketStatusCacheStatsResponseDTO.builder()
+                .enabled(terminalStatusCache.isEnabled())
+                .hits(hits)
+                .misses(misses)
+                .hitRatio(lookups == 0 ? 0.0 : (double) hits / lookups)
+                .size(terminalStatusCache.size())
+                .build();
+    }
+
+    private TicketRequestStatus readStatus(String eventId, String userId) {
+        // 이벤트 layout(STRING/HASH)에 맞는 위치에서 읽도록 status_read.lua로 조회한다.
+        long generation = ticketGenerationCache.current(eventId);
+        String statusValue = redisTemplate.execute(
+                ticketStatusReadScript,
+                List.of(
+                        TicketRedisKeys.layoutKey(eventId, generation),
+                        TicketRedisKeys.statusKey(eventId, generation, userId)
+                ),
+                TicketRedisKeys.statusHashPrefix(eventId, generation),
+                TicketRedisKeys.queueMember(userId)
+        );
 
         if (statusValue == null || statusValue.isBlank()) {
             return TicketRequestStatus.NONE;
@@ -0,0 +1,135 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketBatchRepository;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimOutboxEntry;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimedTicket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// claim outbox(Redis Stream)에 쌓인 SUCCESS를 별도 스레드에서 user_tickets로 batch insert 한다.
+// claim 요청 스레드는 Redis만 사용하고 DB 트랜잭션은 batch 단위로만 발생한다.
+// insert 성공 후에만 ack 하므로 실패한 batch는 PEL에 남아 다음 루프에서 다시 읽힌다 (at-least-once).
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketWriteBehindServiceImpl implements TicketWriteBehindService {
+
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000L;
+
+    private final ClaimOutboxService claimOutboxService;
+    private final UserTicketBatchRepository userTicketBatchRepository;
+
+    @Value("${ticket.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ticket.write-behind.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${ticket.write-behind.retry-backoff-ms:100}")
+    private long retryBackoffMs;
+
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "ticket-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public int flushOutbox() {
+        List<ClaimOutboxEntry> entries = claimOutboxService.readBatch(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<ClaimedTicket> tickets = new ArrayList<>(entries.size());
+        for (ClaimOutboxEntry entry : entries) {
+            ClaimedTicket ticket = toClaimedTicket(entry);
+            if (ticket != null) {
+                tickets.add(ticket);
+            }
+        }
+
+        if (!tickets.isEmpty()) {
+            userTicketBatchRepository.insertIgnoringDuplicates(tickets);
+        }
+        claimOutboxService.acknowledge(entries);
+        log.debug("write-behind flushed entries={} persisted={}", entries.size(), tickets.size());
+        return entries.size();
+    }
+
+    private void drainLoop() {
+        long backoff = retryBackoffMs;
+        while (running) {
+            try {
+                int flushed = flushOutbox();
+                backoff = retryBackoffMs;
+                if (flushed == 0) {
+                    TimeUnit.MILLISECONDS.sleep(flushIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("write-behind flush failed, retrying backoffMs={}", backoff, e);
+                if (!sleepQuietly(backoff)) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    private boolean sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private ClaimedTicket toClaimedTicket(ClaimOutboxEntry entry) {
+        Long eventId = parseId(entry.eventId());
+        Long userId = parseId(entry.userId());
+        if (eventId == null || userId == null) {
+            // 레거시 문자열 id(부하테스트 등)는 DB 엔티티와 매핑되지 않으므로 적재 없이 ack 한다.
+            return null;
+        }
+
+        LocalDateTime claimedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(entry.claimedAtEpochMillis()),
+                ZoneId.systemDefault()
+        );
+        return new ClaimedTicket(eventId, userId, Math.toIntExact(entry.order()), claimedAt);
+    }
+
+    private Long parseId(String raw) {
+        try {
+            return Long.parseLong(raw.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            return null;
+        }
+    }
+}
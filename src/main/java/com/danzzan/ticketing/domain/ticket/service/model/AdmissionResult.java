@@ -0,0 +1,35 @@
+package com.danzzan.ticketing.domain.ticket.service.model;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+
+public record AdmissionResult(
+        TicketRequestStatus status,
+        Long rank
+) {
+    public AdmissionResult {
+        if (status != TicketRequestStatus.WAITING && status != TicketRequestStatus.ADMITTED
+                && status != TicketRequestStatus.SOLD_OUT) {
+            throw new IllegalArgumentException("status must be WAITING, ADMITTED or SOLD_OUT");
+        }
+
+        if (status == TicketRequestStatus.WAITING && rank == null) {
+            throw new IllegalArgumentException("rank must not be null when status is WAITING");
+        }
+
+        if (status != TicketRequestStatus.WAITING && rank != null) {
+            throw new IllegalArgumentException("rank must be null unless status is WAITING");
+        }
+    }
+
+    public static AdmissionResult waiting(long rank) {
+        return new AdmissionResult(TicketRequestStatus.WAITING, rank);
+    }
+
+    public static AdmissionResult admitted() {
+        return new AdmissionResult(TicketRequestStatus.ADMITTED, null);
+    }
+
+    public static AdmissionResult soldOut() {
+        return new AdmissionResult(TicketRequestStatus.SOLD_OUT, null);
+    }
+}
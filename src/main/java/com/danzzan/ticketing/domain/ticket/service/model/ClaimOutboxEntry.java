@@ -0,0 +1,12 @@
+package com.danzzan.ticketing.domain.ticket.service.model;
+
+public record ClaimOutboxEntry(
+        String streamKey,
+        String entryId,
+        String eventId,
+        String userId,
+        long remaining,
+        long order,
+        long claimedAtEpochMillis
+) {
+}
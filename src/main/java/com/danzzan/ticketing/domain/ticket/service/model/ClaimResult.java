@@ -4,7 +4,8 @@ import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 
 public record ClaimResult(
         TicketRequestStatus status,
-        Long remaining
+        Long remaining,
+        Long order
 ) {
     public ClaimResult {
         if (status == null) {
@@ -15,20 +16,28 @@ public record ClaimResult(
             throw new IllegalArgumentException("remaining must not be null when status is SUCCESS");
         }
 
+        if (status == TicketRequestStatus.SUCCESS && order == null) {
+            throw new IllegalArgumentException("order must not be null when status is SUCCESS");
+        }
+
         if ((status == TicketRequestStatus.SOLD_OUT || status == TicketRequestStatus.ALREADY) && remaining != null) {
             throw new IllegalArgumentException("remaining must be null when status is SOLD_OUT or ALREADY");
         }
+
+        if ((status == TicketRequestStatus.SOLD_OUT || status == TicketRequestStatus.ALREADY) && order != null) {
+            throw new IllegalArgumentException("order must be null when status is SOLD_OUT or ALREADY");
+        }
     }
 
-    public static ClaimResult success(long remaining) {
-        return new ClaimResult(TicketRequestStatus.SUCCESS, remaining);
+    public static ClaimResult success(long remaining, long order) {
+        return new ClaimResult(TicketRequestStatus.SUCCESS, remaining, order);
     }
 
     public static ClaimResult soldOut() {
-        return new ClaimResult(TicketRequestStatus.SOLD_OUT, null);
+        return new ClaimResult(TicketRequestStatus.SOLD_OUT, null, null);
     }
 
     public static ClaimResult already() {
-        return new ClaimResult(TicketRequestStatus.ALREADY, null);
+        return new ClaimResult(TicketRequestStatus.ALREADY, null, null);
     }
 }
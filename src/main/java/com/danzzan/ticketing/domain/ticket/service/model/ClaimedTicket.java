@@ -0,0 +1,22 @@
+package com.danzzan.ticketing.domain.ticket.service.model;
+
+import java.time.LocalDateTime;
+
+public record ClaimedTicket(
+        Long eventId,
+        Long userId,
+        int ticketingOrder,
+        LocalDateTime claimedAt
+) {
+    public ClaimedTicket {
+        if (eventId == null) {
+            throw new IllegalArgumentException("eventId must not be null");
+        }
+        if (userId == null) {
+            throw new IllegalArgumentException("userId must not be null");
+        }
+        if (claimedAt == null) {
+            throw new IllegalArgumentException("claimedAt must not be null");
+        }
+    }
+}
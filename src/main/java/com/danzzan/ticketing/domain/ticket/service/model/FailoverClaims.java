@@ -0,0 +1,16 @@
+package com.danzzan.ticketing.domain.ticket.service.model;
+
+import java.util.List;
+
+// 우회 기간 동안 DB로 확정된 claim. highestOrder = 그 claim들에 DB가 부여한 가장 큰 ticketing_order
+public record FailoverClaims(
+        List<String> userIds,
+        long highestOrder
+) {
+    public FailoverClaims {
+        if (userIds == null) {
+            throw new IllegalArgumentException("userIds must not be null");
+        }
+        userIds = List.copyOf(userIds);
+    }
+}
@@ -0,0 +1,46 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+
+import java.util.List;
+
+public final class AdmissionLuaProtocol {
+
+    public static final int RESULT_SIZE = 2;
+    public static final int CODE_INDEX = 0;
+    public static final int RANK_INDEX = 1;
+
+    public static final long CODE_WAITING = 1L;
+    public static final long CODE_ADMITTED = 2L;
+    public static final long CODE_STALE_GENERATION = 3L;
+    // 남은 재고(stock + 미사용 lease)가 없어 대기열에 넣지 않았다. status는 SOLD_OUT으로 기록했다.
+    public static final long CODE_SOLD_OUT = 4L;
+
+    public static final String CODE_WAITING_ARG = String.valueOf(CODE_WAITING);
+    public static final String CODE_ADMITTED_ARG = String.valueOf(CODE_ADMITTED);
+    public static final String CODE_STALE_GENERATION_ARG = String.valueOf(CODE_STALE_GENERATION);
+    public static final String CODE_SOLD_OUT_ARG = String.valueOf(CODE_SOLD_OUT);
+
+    private AdmissionLuaProtocol() {
+    }
+
+    public static boolean isStaleGeneration(List<?> rawResult) {
+        return rawResult != null
+                && !rawResult.isEmpty()
+                && rawResult.get(CODE_INDEX) instanceof Number code
+                && code.longValue() == CODE_STALE_GENERATION;
+    }
+
+    public static TicketRequestStatus resolveStatus(long code) {
+        if (code == CODE_WAITING) {
+            return TicketRequestStatus.WAITING;
+        }
+        if (code == CODE_ADMITTED) {
+            return TicketRequestStatus.ADMITTED;
+        }
+        if (code == CODE_SOLD_OUT) {
+            return TicketRequestStatus.SOLD_OUT;
+        }
+        throw new IllegalStateException("unexpected admission lua code: " + code);
+    }
+}
@@ -0,0 +1,37 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+// 이벤트 하나의 tick당 입장 인원을 AIMD로 조절한다.
+// claim 지연이 목표 이하이면 조금씩(10%) 늘리고, 넘으면 절반으로 줄인다. 결과는 남은 재고를 넘지 않는다.
+public class AdmissionRateController {
+
+    private final int minPerTick;
+    private final int maxPerTick;
+    private final long targetLatencyNanos;
+    private int perTick;
+
+    public AdmissionRateController(int initialPerTick, int minPerTick, int maxPerTick, long targetLatencyNanos) {
+        if (minPerTick < 1 || maxPerTick < minPerTick) {
+            throw new IllegalArgumentException("require 1 <= minPerTick <= maxPerTick");
+        }
+        this.minPerTick = minPerTick;
+        this.maxPerTick = maxPerTick;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.perTick = Math.max(minPerTick, Math.min(maxPerTick, initialPerTick));
+    }
+
+    public synchronized int next(long claimLatencyNanos, long remainingStock) {
+        if (remainingStock <= 0) {
+            return 0;
+        }
+        if (claimLatencyNanos > targetLatencyNanos) {
+            perTick = Math.max(minPerTick, perTick / 2);
+        } else {
+            perTick = Math.min(maxPerTick, perTick + Math.max(1, perTick / 10));
+        }
+        return (int) Math.min(perTick, remainingStock);
+    }
+
+    public synchronized int currentPerTick() {
+        return perTick;
+    }
+}
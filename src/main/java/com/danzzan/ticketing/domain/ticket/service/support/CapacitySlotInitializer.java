@@ -0,0 +1,51 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.exception.EventNotFoundException;
+import com.danzzan.ticketing.domain.event.model.entity.EventCapacitySlot;
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.repository.EventCapacitySlotRepository;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// 이벤트의 capacity slot을 예매 트랜잭션과 분리된 트랜잭션에서 만들고 조회한다.
+// 예매 트랜잭션(REPEATABLE READ)은 첫 조회 시점의 snapshot을 쓰므로, 그 뒤 다른 트랜잭션이 커밋한 slot을 다시 읽어도 보이지 않는다.
+// 여기서는 이벤트 행을 먼저 잠가(locking read는 snapshot을 만들지 않는다) 생성자를 한 명으로 줄이고, 잠금 이후에 slot을 읽는다.
+// 호출자가 이벤트 행을 잠그기 전에 호출해야 한다 (ReserveSeatAllocator는 slot 모드에서 이벤트 행을 잠그지 않는다).
+@Component
+@RequiredArgsConstructor
+public class CapacitySlotInitializer {
+
+    private final FestivalEventRepository festivalEventRepository;
+    private final EventCapacitySlotRepository eventCapacitySlotRepository;
+
+    // slot을 처음 만들 때의 잔여 좌석(total_capacity - sold_count)을 K개로 나눈다 (앞 slot이 나머지를 1석씩 더 가진다).
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<EventCapacitySlot> ensureSlots(Long eventId, int slotCount) {
+        FestivalEvent event = festivalEventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(EventNotFoundException::new);
+        List<EventCapacitySlot> slots = eventCapacitySlotRepository.findAllByEventIdOrderBySlotNo(eventId);
+        if (!slots.isEmpty()) {
+            return slots;
+        }
+
+        int soldBefore = event.getSoldCount();
+        int remaining = Math.max(0, event.getTotalCapacity() - soldBefore);
+        int base = remaining / slotCount;
+        int extra = remaining % slotCount;
+        for (int slotNo = 0; slotNo < slotCount; slotNo++) {
+            int capacity = base + (slotNo < extra ? 1 : 0);
+            eventCapacitySlotRepository.insertIfAbsent(eventId, slotNo, capacity, soldBefore);
+        }
+
+        slots = eventCapacitySlotRepository.findAllByEventIdOrderBySlotNo(eventId);
+        if (slots.isEmpty()) {
+            throw new IllegalStateException("capacity slots were not created for event: " + eventId);
+        }
+        return slots;
+    }
+}
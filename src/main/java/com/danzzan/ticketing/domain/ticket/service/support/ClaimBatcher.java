@@ -0,0 +1,329 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.exception.ClaimBatchTimeoutException;
+import com.danzzan.ticketing.domain.ticket.exception.ClaimOverloadedException;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 동시에 들어온 claim 요청을 짧은 window 동안 모아 이벤트별로 claim_v2_batch.lua 한 번에 처리한다.
+// 요청 스레드는 자신의 결과([code, remaining, order])가 채워질 때까지 기다린다.
+// 같은 batch 안에서는 도착 순서(FIFO)대로 판정되므로 선착순 의미는 단건 claim과 같다.
+// 이벤트는 eventId hash로 dispatcher lane(bounded queue + 스레드)에 나뉘므로 한 이벤트의 폭주가 다른 lane을 막지 않는다.
+// lane queue가 가득 차면 기다리지 않고 ClaimOverloadedException(503 + Retry-After)으로 바로 거절한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimBatcher {
+
+    private static final int FIXED_ARG_COUNT = 16;
+    private static final int FIXED_KEY_COUNT = 6;
+    private static final int MAX_GENERATION_ATTEMPTS = 2;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    @Qualifier("claimV2BatchScript")
+    private final RedisScript<List> claimV2BatchScript;
+    private final TicketGenerationCache ticketGenerationCache;
+    @Qualifier("ticketStatusReadScript")
+    private final RedisScript<String> ticketStatusReadScript;
+
+    @Value("${ticket.claim.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.claim.batch.window-micros:500}")
+    private long windowMicros;
+
+    @Value("${ticket.claim.batch.max-size:128}")
+    private int maxBatchSize;
+
+    @Value("${ticket.claim.batch.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${ticket.claim.batch.dispatchers:2}")
+    private int dispatchers;
+
+    // lane 하나의 대기 claim 수 상한
+    @Value("${ticket.claim.batch.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${ticket.claim.batch.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${ticket.claim-outbox.stream-max-len:100000}")
+    private long claimStreamMaxLen;
+
+    private volatile boolean running;
+    private Lane[] lanes = new Lane[0];
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        lanes = new Lane[Math.max(1, dispatchers)];
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = new Lane(new ArrayBlockingQueue<>(queueCapacity), i);
+            lane.dispatcher.setDaemon(true);
+            lane.dispatcher.start();
+            lanes[i] = lane;
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.dispatcher.interrupt();
+            lane.dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+
+            List<PendingClaim> remaining = new ArrayList<>();
+            lane.queue.drainTo(remaining);
+            remaining.forEach(claim -> claim.result().completeExceptionally(
+                    new IllegalStateException("claim batcher is stopped")));
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    // 현재 모든 lane에서 dispatch를 기다리는 claim 수
+    public int queuedClaims() {
+        int queued = 0;
+        for (Lane lane : lanes) {
+            queued += lane.queue.size();
+        }
+        return queued;
+    }
+
+    public List<?> claim(String eventId, String userId) {
+        PendingClaim pendingClaim = new PendingClaim(eventId, userId, new CompletableFuture<>(), new AtomicInteger());
+        Lane lane = laneOf(eventId);
+        if (!lane.queue.offer(pendingClaim)) {
+            throw new ClaimOverloadedException(retryAfterSeconds);
+        }
+
+        try {
+            return pendingClaim.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pendingClaim.cancel()) {
+                lane.queue.remove(pendingClaim);
+            }
+            throw new IllegalStateException("claim batch wait interrupted", e);
+        } catch (TimeoutException e) {
+            return resolveTimedOut(lane, pendingClaim);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("claim batch failed", e.getCause());
+        }
+    }
+
+    // 아직 dispatch 전이면 취소해 Redis로 보내지 않는다 (적용되지 않았음이 확정).
+    // 이미 보낸 batch면 적용됐을 수 있으므로 status를 읽어 결과를 만든다.
+    // SUCCESS는 order를 알 수 없으므로 이미 확보했다는 뜻의 ALREADY로 답한다 (order는 내 티켓 조회로 확인).
+    private List<?> resolveTimedOut(Lane lane, PendingClaim pendingClaim) {
+        if (pendingClaim.cancel()) {
+            lane.queue.remove(pendingClaim);
+            throw new ClaimBatchTimeoutException(false, retryAfterSeconds);
+        }
+
+        TicketRequestStatus status = readStatus(pendingClaim.eventId(), pendingClaim.userId());
+        if (status == TicketRequestStatus.SUCCESS || status == TicketRequestStatus.ALREADY) {
+            return Arrays.asList(ClaimLuaProtocol.CODE_ALREADY, null, null);
+        }
+        if (status == TicketRequestStatus.SOLD_OUT) {
+            return Arrays.asList(ClaimLuaProtocol.CODE_SOLD_OUT, null, null);
+        }
+        throw new ClaimBatchTimeoutException(true, retryAfterSeconds);
+    }
+
+    private TicketRequestStatus readStatus(String eventId, String userId) {
+        try {
+            long generation = ticketGenerationCache.current(eventId);
+            String value = stringRedisTemplate.execute(
+                    ticketStatusReadScript,
+                    List.of(
+                            TicketRedisKeys.layoutKey(eventId, generation),
+                            TicketRedisKeys.statusKey(eventId, generation, userId)
+                    ),
+                    TicketRedisKeys.statusHashPrefix(eventId, generation),
+                    TicketRedisKeys.queueMember(userId)
+            );
+            return value == null ? TicketRequestStatus.NONE : TicketRequestStatus.valueOf(value);
+        } catch (RuntimeException e) {
+            log.warn("claim batch timeout status lookup failed eventId={} userId={}", eventId, userId, e);
+            return TicketRequestStatus.NONE;
+        }
+    }
+
+    private Lane laneOf(String eventId) {
+        Lane[] current = lanes;
+        return current[Math.floorMod(eventId.hashCode(), current.length)];
+    }
+
+    private void dispatchLoop(Lane lane) {
+        BlockingQueue<PendingClaim> pendingClaims = lane.queue;
+        List<PendingClaim> batch = new ArrayList<>(maxBatchSize);
+        long windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+
+        while (running) {
+            try {
+                batch.add(pendingClaims.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (pendingClaims.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long waitNanos = deadline - System.nanoTime();
+                    if (waitNanos <= 0) {
+                        break;
+                    }
+                    PendingClaim next = pendingClaims.poll(waitNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(claim -> claim.result().completeExceptionally(
+                        new IllegalStateException("claim batcher is stopped")));
+                return;
+            }
+
+            // 기다리다 취소된 claim은 보내지 않는다.
+            batch.removeIf(claim -> !claim.markDispatched());
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+            }
+            batch = new ArrayList<>(maxBatchSize);
+        }
+    }
+
+    private void dispatch(List<PendingClaim> batch) {
+        Map<String, List<PendingClaim>> claimsByEvent = new LinkedHashMap<>();
+        for (PendingClaim claim : batch) {
+            claimsByEvent.computeIfAbsent(claim.eventId(), key -> new ArrayList<>()).add(claim);
+        }
+
+        claimsByEvent.forEach((eventId, claims) -> {
+            try {
+                List<?> rawResults = execute(eventId, claims);
+                for (int i = 0; i < claims.size(); i++) {
+                    int from = i * ClaimLuaProtocol.RESULT_SIZE;
+                    claims.get(i).result().complete(rawResults.subList(from, from + ClaimLuaProtocol.RESULT_SIZE));
+                }
+            } catch (RuntimeException e) {
+                log.warn("claim batch failed eventId={} size={}", eventId, claims.size(), e);
+                claims.forEach(claim -> claim.result().completeExceptionally(e));
+            }
+        });
+    }
+
+    private List<?> execute(String eventId, List<PendingClaim> claims) {
+        long generation = ticketGenerationCache.current(eventId);
+        for (int attempt = 1; ; attempt++) {
+            List<?> rawResults = execute(eventId, generation, claims);
+            if (!ClaimLuaProtocol.isStaleGeneration(rawResults)) {
+                return rawResults;
+            }
+            if (attempt >= MAX_GENERATION_ATTEMPTS) {
+                throw new IllegalStateException("event generation changed during claim batch: " + eventId);
+            }
+            generation = ticketGenerationCache.refresh(eventId);
+        }
+    }
+
+    private List<?> execute(String eventId, long generation, List<PendingClaim> claims) {
+        List<String> keys = new ArrayList<>(FIXED_KEY_COUNT + claims.size() * 2);
+        keys.add(TicketRedisKeys.stockKey(eventId));
+        keys.add(TicketRedisKeys.claimStreamKey(eventId));
+        keys.add(TicketRedisKeys.orderKey(eventId, generation));
+        keys.add(TicketRedisKeys.layoutKey(eventId, generation));
+        keys.add(TicketRedisKeys.generationKey(eventId));
+        keys.add(TicketRedisKeys.eventMetaKey(eventId));
+
+        Object[] args = new Object[FIXED_ARG_COUNT + claims.size() * 2];
+        args[0] = TicketRequestStatus.ALREADY.name();
+        args[1] = TicketRequestStatus.SOLD_OUT.name();
+        args[2] = TicketRequestStatus.SUCCESS.name();
+        args[3] = ClaimLuaProtocol.USER_CLAIMED_VALUE;
+        args[4] = ClaimLuaProtocol.CODE_ALREADY_ARG;
+        args[5] = ClaimLuaProtocol.CODE_SOLD_OUT_ARG;
+        args[6] = ClaimLuaProtocol.CODE_SUCCESS_ARG;
+        args[7] = eventId;
+        args[8] = TicketRedisKeys.userHashPrefix(eventId, generation);
+        args[9] = TicketRedisKeys.statusHashPrefix(eventId, generation);
+        args[10] = String.valueOf(generation);
+        args[11] = ClaimLuaProtocol.CODE_STALE_GENERATION_ARG;
+        args[12] = ClaimLuaProtocol.CODE_EVENT_NOT_OPEN_ARG;
+        args[13] = ClaimLuaProtocol.CODE_EVENT_CLOSED_ARG;
+        args[14] = String.valueOf(claimStreamMaxLen);
+        args[15] = ClaimLuaProtocol.CODE_OUTBOX_BACKLOG_ARG;
+
+        for (int i = 0; i < claims.size(); i++) {
+            String userId = claims.get(i).userId();
+            keys.add(TicketRedisKeys.userKey(eventId, generation, userId));
+            keys.add(TicketRedisKeys.statusKey(eventId, generation, userId));
+            args[FIXED_ARG_COUNT + i * 2] = userId;
+            args[FIXED_ARG_COUNT + i * 2 + 1] = TicketRedisKeys.queueMember(userId);
+        }
+
+        List<?> rawResults = stringRedisTemplate.execute(claimV2BatchScript, keys, args);
+        if (rawResults == null || rawResults.size() != claims.size() * ClaimLuaProtocol.RESULT_SIZE) {
+            throw new IllegalStateException("claim batch lua result size mismatch: expected "
+                    + claims.size() * ClaimLuaProtocol.RESULT_SIZE);
+        }
+        return rawResults;
+    }
+
+    private static final int QUEUED = 0;
+    private static final int DISPATCHED = 1;
+    private static final int CANCELLED = 2;
+
+    private record PendingClaim(String eventId, String userId, CompletableFuture<List<?>> result, AtomicInteger state) {
+
+        boolean markDispatched() {
+            return state.compareAndSet(QUEUED, DISPATCHED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+    }
+
+    private final class Lane {
+        private final BlockingQueue<PendingClaim> queue;
+        private final Thread dispatcher;
+
+        private Lane(BlockingQueue<PendingClaim> queue, int index) {
+            this.queue = queue;
+            this.dispatcher = new Thread(() -> dispatchLoop(this), "ticket-claim-batcher-" + index);
+        }
+    }
+}
@@ -1,26 +1,63 @@
 package com.danzzan.ticketing.domain.ticket.service.support;
 
+import com.danzzan.ticketing.domain.ticket.exception.EventNotOpenException;
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 
+import java.util.List;
+
 public final class ClaimLuaProtocol {
 
     public static final String USER_CLAIMED_VALUE = "1";
 
-    public static final int RESULT_SIZE = 2;
+    public static final int RESULT_SIZE = 3;
     public static final int CODE_INDEX = 0;
     public static final int REMAINING_INDEX = 1;
+    public static final int ORDER_INDEX = 2;
 
     public static final long CODE_ALREADY = 1L;
     public static final long CODE_SOLD_OUT = 2L;
     public static final long CODE_SUCCESS = 3L;
+    // 호출자가 쓴 generation이 init으로 바뀐 경우. 아무것도 쓰지 않았으므로 generation을 다시 읽고 재시도한다.
+    public static final long CODE_STALE_GENERATION = 4L;
+    // 이벤트 메타(ticket:{eventId}:meta) 기준 오픈 전/마감. 아무것도 쓰지 않았다.
+    public static final long CODE_EVENT_NOT_OPEN = 5L;
+    public static final long CODE_EVENT_CLOSED = 6L;
+    // outbox stream에 미저장 entry가 ticket.claim-outbox.stream-max-len개 이상 쌓였다. 아무것도 쓰지 않았다 (503으로 재시도).
+    public static final long CODE_OUTBOX_BACKLOG = 7L;
 
     public static final String CODE_ALREADY_ARG = String.valueOf(CODE_ALREADY);
     public static final String CODE_SOLD_OUT_ARG = String.valueOf(CODE_SOLD_OUT);
     public static final String CODE_SUCCESS_ARG = String.valueOf(CODE_SUCCESS);
+    public static final String CODE_STALE_GENERATION_ARG = String.valueOf(CODE_STALE_GENERATION);
+    public static final String CODE_EVENT_NOT_OPEN_ARG = String.valueOf(CODE_EVENT_NOT_OPEN);
+    public static final String CODE_EVENT_CLOSED_ARG = String.valueOf(CODE_EVENT_CLOSED);
+    public static final String CODE_OUTBOX_BACKLOG_ARG = String.valueOf(CODE_OUTBOX_BACKLOG);
 
     private ClaimLuaProtocol() {
     }
 
+    public static boolean isStaleGeneration(List<?> rawResult) {
+        return rawResult != null
+                && !rawResult.isEmpty()
+                && rawResult.get(CODE_INDEX) instanceof Number code
+                && code.longValue() == CODE_STALE_GENERATION;
+    }
+
+    public static boolean isEventRejected(long code) {
+        return code == CODE_EVENT_NOT_OPEN || code == CODE_EVENT_CLOSED;
+    }
+
+    // reserveTicket과 같은 예외로 거절한다 (READY -> EventNotOpenException, CLOSED -> EventSoldOutException).
+    public static void throwIfEventRejected(long code) {
+        if (code == CODE_EVENT_NOT_OPEN) {
+            throw new EventNotOpenException();
+        }
+        if (code == CODE_EVENT_CLOSED) {
+            throw new EventSoldOutException();
+        }
+    }
+
     public static TicketRequestStatus resolveStatus(long code) {
         if (code == CODE_ALREADY) {
             return TicketRequestStatus.ALREADY;
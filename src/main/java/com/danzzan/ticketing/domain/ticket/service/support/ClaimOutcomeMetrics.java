@@ -5,12 +5,22 @@ import org.springframework.stereotype.Component;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class ClaimOutcomeMetrics {
 
+    // 최근 claim 지연에 더 큰 가중치를 두는 EWMA (입장 속도 조절 입력값)
+    private static final double LATENCY_EWMA_ALPHA = 0.2;
+    // claim이 없는 동안 EWMA를 이 주기마다 절반으로 줄인다 (과부하 뒤 idle이면 입장 속도가 다시 오르도록)
+    private static final long LATENCY_IDLE_HALF_LIFE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final Map<TicketRequestStatus, LongAdder> counters = new EnumMap<>(TicketRequestStatus.class);
+    private final AtomicLong latencyEwmaNanos = new AtomicLong();
+    private final LongAdder latencySamples = new LongAdder();
+    private volatile long lastLatencyAtNanos = System.nanoTime();
 
     public ClaimOutcomeMetrics() {
         counters.put(TicketRequestStatus.SUCCESS, new LongAdder());
@@ -26,4 +36,38 @@ public class ClaimOutcomeMetrics {
         counter.increment();
         return counter.sum();
     }
+
+    public void recordLatency(long nanos) {
+        recordLatency(nanos, System.nanoTime());
+    }
+
+    void recordLatency(long nanos, long nowNanos) {
+        long idleNanos = nowNanos - lastLatencyAtNanos;
+        latencyEwmaNanos.getAndUpdate(previous -> {
+            long decayed = decay(previous, idleNanos);
+            return decayed == 0L ? nanos : (long) (decayed + LATENCY_EWMA_ALPHA * (nanos - decayed));
+        });
+        lastLatencyAtNanos = nowNanos;
+        latencySamples.increment();
+    }
+
+    public long latencyEwmaNanos() {
+        return latencyEwmaNanos(System.nanoTime());
+    }
+
+    long latencyEwmaNanos(long nowNanos) {
+        return decay(latencyEwmaNanos.get(), nowNanos - lastLatencyAtNanos);
+    }
+
+    // 마지막 호출 이후 기록된 지연 표본 수 (클러스터 지연 집계의 가중치)
+    public long drainLatencySamples() {
+        return latencySamples.sumThenReset();
+    }
+
+    private static long decay(long ewmaNanos, long idleNanos) {
+        if (ewmaNanos == 0L || idleNanos <= 0L) {
+            return ewmaNanos;
+        }
+        return (long) (ewmaNanos * Math.pow(0.5, (double) idleNanos / LATENCY_IDLE_HALF_LIFE_NANOS));
+    }
 }
@@ -0,0 +1,366 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// stock lease 모드: 노드가 ticket:{eventId}:stock에서 재고를 block-size개씩 미리 가져와(DECRBY) 로컬에서 나눠 준다.
+// claim마다 stock key를 DECR 하지 않으므로 stock key 연산은 block-size분의 1로 줄어든다.
+// 중복 claim 검사/사용자 표시/order/outbox는 그대로 claim_v2.lua에서 원자적으로 처리한다.
+// 가져간 단위는 generation별 leased key에도 세므로 stock + leased + 판매 수 = 정원이 유지된다 (reconcile/admission이 사용).
+// lease는 generation에 묶인다. init으로 generation이 바뀌면 이전 lease는 반납 없이 버린다 (init이 stock을 새로 쓰므로).
+// 남은 lease는 idle-return-ms 동안 쓰이지 않거나 노드가 종료될 때 stock으로 돌려준다.
+// stock이 바닥나면 drain을 publish 해 모든 노드가 남은 lease를 바로 돌려주고, 그 generation에서는 1개씩만 가져간다.
+// 노드별 몫은 lease-owners hash에 같이 센다. heartbeat(node-ttl-ms)가 끊긴 노드는 반납하지 못하므로
+// stock이 바닥난 grab과 reconcile이 그 노드의 몫을 stock으로 회수한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimStockLeases implements MessageListener {
+
+    private static final String GENERATION_SEPARATOR = ":";
+    private static final int DRAINING_BLOCK_SIZE = 1;
+
+    public enum Acquire {
+        ACQUIRED, SOLD_OUT, STALE_GENERATION
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    @Qualifier("stockLeaseGrabScript")
+    private final RedisScript<Long> stockLeaseGrabScript;
+    @Qualifier("stockLeaseReturnScript")
+    private final RedisScript<Long> stockLeaseReturnScript;
+    @Qualifier("stockLeaseReclaimScript")
+    private final RedisScript<Long> stockLeaseReclaimScript;
+    private final SoldOutShortCircuit soldOutShortCircuit;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${ticket.claim.stock-lease.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.claim.stock-lease.block-size:50}")
+    private int blockSize;
+
+    @Value("${ticket.claim.stock-lease.idle-return-ms:1000}")
+    private long idleReturnMs;
+
+    // heartbeat는 idle-return-ms마다 갱신하므로 그보다 충분히 길어야 한다.
+    @Value("${ticket.claim.stock-lease.node-ttl-ms:10000}")
+    private long nodeTtlMs;
+
+    private final String nodeId = InstanceNames.generate();
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    // eventId -> stock이 바닥나 drain 중인 generation
+    private final Map<String, Long> drainingGenerations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void listenDrain() {
+        if (!enabled) {
+            return;
+        }
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(TicketRedisKeys.stockLeaseDrainChannel()));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // lease-owners hash에서 이 노드를 구분하는 이름
+    public String nodeId() {
+        return nodeId;
+    }
+
+    // 재고 1개를 확보한다. 로컬 lease가 비었으면 Redis에서 block 하나를 가져온다.
+    // Redis 호출은 lease lock 밖에서 하고, 동시에 비어 있음을 본 요청들은 한 번의 grab 결과를 함께 기다린다.
+    public Acquire acquire(String eventId, long generation) {
+        Lease lease = leases.compute(eventId, (key, current) ->
+                current == null || current.generation != generation ? new Lease(generation) : current);
+        while (true) {
+            CompletableFuture<Long> grab;
+            boolean grabber = false;
+            synchronized (lease) {
+                if (lease.available > 0) {
+                    lease.available--;
+                    lease.lastUsedNanos = System.nanoTime();
+                    return Acquire.ACQUIRED;
+                }
+                if (lease.grab == null) {
+                    lease.grab = new CompletableFuture<>();
+                    grabber = true;
+                }
+                grab = lease.grab;
+            }
+
+            if (grabber) {
+                grab(eventId, lease, grab);
+            }
+            long granted = await(grab);
+            if (granted < 0) {
+                leases.remove(eventId, lease);
+                return Acquire.STALE_GENERATION;
+            }
+            if (granted == 0) {
+                if (grabber) {
+                    requestDrain(eventId, generation);
+                }
+                return Acquire.SOLD_OUT;
+            }
+            // 받은 단위는 lease에 들어갔다. 다른 요청이 먼저 다 썼으면 다시 grab 한다.
+        }
+    }
+
+    // 확보했지만 claim에 쓰지 않은 1개(ALREADY 등)를 로컬 lease로 되돌린다.
+    public void release(String eventId, long generation) {
+        Lease lease = leases.get(eventId);
+        if (lease == null) {
+            return;
+        }
+        synchronized (lease) {
+            if (lease.generation == generation) {
+                lease.available++;
+            }
+        }
+    }
+
+    // 이 노드가 들고 있는 미사용 재고 수
+    public long localRemaining(String eventId) {
+        Lease lease = leases.get(eventId);
+        if (lease == null) {
+            return 0L;
+        }
+        synchronized (lease) {
+            return lease.available;
+        }
+    }
+
+    // 모든 노드가 들고 있는 미사용 재고 수 (generation별 leased key)
+    public long outstandingUnits(String eventId, long generation) {
+        String value = stringRedisTemplate.opsForValue().get(TicketRedisKeys.leasedStockKey(eventId, generation));
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.claim.stock-lease.idle-return-ms:1000}")
+    public void returnIdleLeases() {
+        if (!enabled) {
+            return;
+        }
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleReturnMs);
+        long now = System.nanoTime();
+        leases.forEach((eventId, lease) -> {
+            heartbeat(eventId);
+            returnLease(eventId, lease, now - idleNanos);
+        });
+    }
+
+    // heartbeat가 끊긴 노드가 들고 있던 단위를 stock으로 되돌린다. 되돌린 단위 수를 반환한다.
+    public long reclaimDeadNodes(String eventId, long generation) {
+        Long reclaimed = stringRedisTemplate.execute(
+                stockLeaseReclaimScript,
+                List.of(
+                        TicketRedisKeys.stockKey(eventId),
+                        TicketRedisKeys.generationKey(eventId),
+                        TicketRedisKeys.leasedStockKey(eventId, generation),
+                        TicketRedisKeys.leaseOwnersKey(eventId, generation)
+                ),
+                String.valueOf(generation),
+                TicketRedisKeys.leaseHeartbeatPrefix(eventId)
+        );
+        long units = reclaimed == null ? 0L : reclaimed;
+        if (units > 0) {
+            // 회수한 재고를 다른 노드가 팔 수 있도록 매진 표시를 지운다.
+            soldOutShortCircuit.reopenEverywhere(eventId);
+            log.warn("stock lease units of dead nodes reclaimed eventId={} generation={} units={}",
+                    eventId, generation, units);
+        }
+        return units;
+    }
+
+    @PreDestroy
+    public void returnAll() {
+        leases.forEach((eventId, lease) -> returnLease(eventId, lease, Long.MAX_VALUE));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(GENERATION_SEPARATOR);
+        if (separator <= 0) {
+            log.warn("ignored malformed stock lease drain message body={}", body);
+            return;
+        }
+        try {
+            drain(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            log.warn("ignored malformed stock lease drain message body={}", body);
+        }
+    }
+
+    // stock이 바닥났다: 이 generation의 lease를 모두 돌려받아 남은 재고를 아무 노드나 팔 수 있게 한다.
+    private void requestDrain(String eventId, long generation) {
+        Long previous = drainingGenerations.get(eventId);
+        if (previous != null && previous >= generation) {
+            return;
+        }
+        drain(eventId, generation);
+        stringRedisTemplate.convertAndSend(TicketRedisKeys.stockLeaseDrainChannel(),
+                generation + GENERATION_SEPARATOR + eventId);
+        log.info("stock exhausted, draining stock leases eventId={} generation={}", eventId, generation);
+    }
+
+    private void drain(String eventId, long generation) {
+        drainingGenerations.merge(eventId, generation, Math::max);
+        Lease lease = leases.get(eventId);
+        if (lease != null && lease.generation == generation) {
+            returnLease(eventId, lease, Long.MAX_VALUE);
+        }
+    }
+
+    private boolean isDraining(String eventId, long generation) {
+        Long draining = drainingGenerations.get(eventId);
+        return draining != null && draining == generation;
+    }
+
+    private void grab(String eventId, Lease lease, CompletableFuture<Long> grab) {
+        int size = isDraining(eventId, lease.generation) ? DRAINING_BLOCK_SIZE : blockSize;
+        long granted;
+        try {
+            granted = executeGrab(eventId, lease.generation, size);
+            // stock이 바닥났으면 죽은 노드가 들고 있던 단위부터 회수해 본다.
+            if (granted == 0 && reclaimDeadNodes(eventId, lease.generation) > 0) {
+                granted = executeGrab(eventId, lease.generation, size);
+            }
+        } catch (RuntimeException e) {
+            synchronized (lease) {
+                lease.grab = null;
+            }
+            grab.completeExceptionally(e);
+            return;
+        }
+        synchronized (lease) {
+            if (granted > 0) {
+                lease.available += granted;
+                lease.lastUsedNanos = System.nanoTime();
+            }
+            lease.grab = null;
+        }
+        grab.complete(granted);
+    }
+
+    private long executeGrab(String eventId, long generation, int size) {
+        Long granted = stringRedisTemplate.execute(
+                stockLeaseGrabScript,
+                List.of(
+                        TicketRedisKeys.stockKey(eventId),
+                        TicketRedisKeys.generationKey(eventId),
+                        TicketRedisKeys.leasedStockKey(eventId, generation),
+                        TicketRedisKeys.leaseOwnersKey(eventId, generation),
+                        TicketRedisKeys.leaseHeartbeatKey(eventId, nodeId)
+                ),
+                String.valueOf(size),
+                String.valueOf(generation),
+                nodeId,
+                String.valueOf(nodeTtlMs)
+        );
+        if (granted == null) {
+            throw new IllegalStateException("stock lease lua must return granted units");
+        }
+        return granted;
+    }
+
+    private void heartbeat(String eventId) {
+        try {
+            stringRedisTemplate.opsForValue().set(
+                    TicketRedisKeys.leaseHeartbeatKey(eventId, nodeId), "1", Duration.ofMillis(nodeTtlMs));
+        } catch (RuntimeException e) {
+            log.warn("stock lease heartbeat failed eventId={}", eventId, e);
+        }
+    }
+
+    private long await(CompletableFuture<Long> grab) {
+        try {
+            return grab.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    // 반납할 단위는 lock 안에서 떼어 내고 Redis 호출은 밖에서 한다. 실패하면 lease로 되돌려 다음 주기에 다시 시도한다.
+    private void returnLease(String eventId, Lease lease, long idleSinceNanos) {
+        long units;
+        synchronized (lease) {
+            if (lease.available == 0 || lease.lastUsedNanos > idleSinceNanos) {
+                return;
+            }
+            units = lease.available;
+            lease.available = 0;
+        }
+        try {
+            Long returned = stringRedisTemplate.execute(
+                    stockLeaseReturnScript,
+                    List.of(
+                            TicketRedisKeys.stockKey(eventId),
+                            TicketRedisKeys.generationKey(eventId),
+                            TicketRedisKeys.leasedStockKey(eventId, lease.generation),
+                            TicketRedisKeys.leaseOwnersKey(eventId, lease.generation)
+                    ),
+                    String.valueOf(units),
+                    String.valueOf(lease.generation),
+                    nodeId
+            );
+            if (returned != null && returned == 1L) {
+                // 반납한 재고를 다른 노드가 팔 수 있도록 매진 표시를 지운다.
+                soldOutShortCircuit.reopenEverywhere(eventId);
+            }
+            log.debug("stock lease returned eventId={} generation={} units={}", eventId, lease.generation, units);
+        } catch (RuntimeException e) {
+            synchronized (lease) {
+                lease.available += units;
+            }
+            log.warn("stock lease return failed eventId={} units={}", eventId, units, e);
+        }
+    }
+
+    private static final class Lease {
+        private final long generation;
+        private long available;
+        private long lastUsedNanos = System.nanoTime();
+        // 진행 중인 grab (없으면 null). 비어 있음을 본 다른 요청은 이 결과를 기다린다.
+        private CompletableFuture<Long> grab;
+
+        private Lease(long generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// claim은 모든 노드에서 처리되지만 입장 속도는 lease를 가진 노드 한 곳이 정한다.
+// 그래서 각 노드가 자기 claim 지연 EWMA를 ticket:admission:claim-latency hash(field=노드 id)에 주기적으로 쓰고,
+// admission gate는 이를 표본 수로 가중 평균한 클러스터 지연을 입력으로 쓴다.
+// stale-ms 동안 갱신되지 않은 노드(종료/장애)는 읽을 때 지운다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterClaimLatency {
+
+    private static final String FIELD_SEPARATOR = ":";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ClaimOutcomeMetrics claimOutcomeMetrics;
+    private final RedisLeaseManager redisLeaseManager;
+
+    @Value("${ticket.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.admission.latency-stale-ms:3000}")
+    private long staleMs;
+
+    @Scheduled(fixedDelayString = "${ticket.admission.latency-report-ms:500}")
+    public void report() {
+        if (!enabled) {
+            return;
+        }
+        long samples = claimOutcomeMetrics.drainLatencySamples();
+        String value = claimOutcomeMetrics.latencyEwmaNanos() + FIELD_SEPARATOR + samples
+                + FIELD_SEPARATOR + System.currentTimeMillis();
+        try {
+            String key = TicketRedisKeys.admissionClaimLatencyKey();
+            stringRedisTemplate.opsForHash().put(key, redisLeaseManager.ownerId(), value);
+            // 모든 노드가 멈추면 hash 전체가 사라지도록 한다.
+            stringRedisTemplate.expire(key, Duration.ofMillis(staleMs));
+        } catch (RuntimeException e) {
+            log.warn("claim latency report failed", e);
+        }
+    }
+
+    // 최근 표본이 있는 노드들의 가중 평균. 모두 idle이면 (감쇠된) EWMA 중 최댓값을 쓴다.
+    // Redis를 읽지 못하면 이 노드의 EWMA로 대신한다.
+    public long latencyNanos() {
+        Map<Object, Object> entries;
+        try {
+            entries = stringRedisTemplate.opsForHash().entries(TicketRedisKeys.admissionClaimLatencyKey());
+        } catch (RuntimeException e) {
+            log.warn("claim latency read failed, using local latency", e);
+            return claimOutcomeMetrics.latencyEwmaNanos();
+        }
+        if (entries == null || entries.isEmpty()) {
+            return claimOutcomeMetrics.latencyEwmaNanos();
+        }
+
+        long now = System.currentTimeMillis();
+        double weightedSum = 0;
+        long totalSamples = 0;
+        long idleMax = 0;
+        List<Object> staleNodes = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            long[] report = parse(String.valueOf(entry.getValue()));
+            if (report == null || now - report[2] > staleMs) {
+                staleNodes.add(entry.getKey());
+                continue;
+            }
+            weightedSum += (double) report[0] * report[1];
+            totalSamples += report[1];
+            idleMax = Math.max(idleMax, report[0]);
+        }
+        if (!staleNodes.isEmpty()) {
+            stringRedisTemplate.opsForHash().delete(TicketRedisKeys.admissionClaimLatencyKey(), staleNodes.toArray());
+        }
+        if (totalSamples > 0) {
+            return (long) (weightedSum / totalSamples);
+        }
+        return idleMax;
+    }
+
+    // "ewmaNanos:samples:reportedAtMillis"
+    private static long[] parse(String value) {
+        String[] parts = value.split(FIELD_SEPARATOR);
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.repository.EventTicketCount;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 이벤트 목록의 잔여 수량을 한 번에 읽는다 (이벤트마다 COUNT 하던 N+1 제거).
+// Redis에 stock 키가 있는 이벤트는 MGET 한 번으로, 나머지는 GROUP BY 쿼리 한 번으로 계산한다.
+// stock lease 모드에서 노드들이 들고 있는 미사용 단위(generation의 leased 키)도 아직 팔 수 있으므로 같은 MGET으로 읽어 더한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventRemainingReader {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserTicketRepository userTicketRepository;
+    private final TicketGenerationCache ticketGenerationCache;
+
+    // key = FestivalEvent id, value = 0 이상의 잔여 수량
+    public Map<Long, Integer> remainingByEvent(List<FestivalEvent> events) {
+        Map<Long, Integer> remaining = new HashMap<>();
+        if (events.isEmpty()) {
+            return remaining;
+        }
+
+        // [stock(1..n), leased(1..n)]
+        List<String> values = readStocks(events);
+        int size = events.size();
+        List<FestivalEvent> dbBacked = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            FestivalEvent event = events.get(i);
+            Integer stock = parseStock(values.get(i));
+            if (stock == null) {
+                dbBacked.add(event);
+            } else {
+                Integer leased = parseStock(values.get(size + i));
+                remaining.put(event.getId(), Math.max(0, stock) + (leased == null ? 0 : Math.max(0, leased)));
+            }
+        }
+
+        if (!dbBacked.isEmpty()) {
+            remaining.putAll(remainingFromDb(dbBacked));
+        }
+        return remaining;
+    }
+
+    private List<String> readStocks(List<FestivalEvent> events) {
+        List<String> keys = new ArrayList<>(events.size() * 2);
+        for (FestivalEvent event : events) {
+            keys.add(TicketRedisKeys.stockKey(String.valueOf(event.getId())));
+        }
+        try {
+            for (FestivalEvent event : events) {
+                String eventId = String.valueOf(event.getId());
+                keys.add(TicketRedisKeys.leasedStockKey(eventId, ticketGenerationCache.current(eventId)));
+            }
+            List<String> stocks = stringRedisTemplate.opsForValue().multiGet(keys);
+            if (stocks != null && stocks.size() == keys.size()) {
+                return stocks;
+            }
+        } catch (DataAccessException e) {
+            // Redis 장애 시에도 목록 조회는 DB 기준으로 응답한다.
+            log.warn("event stock MGET failed, falling back to db count size={}", events.size(), e);
+        }
+        return Collections.nCopies(events.size() * 2, null);
+    }
+
+    private Map<Long, Integer> remainingFromDb(List<FestivalEvent> events) {
+        List<Long> eventIds = events.stream().map(FestivalEvent::getId).toList();
+        Map<Long, Long> countByEvent = new HashMap<>();
+        for (EventTicketCount count : userTicketRepository.countGroupByEventIdIn(eventIds)) {
+            countByEvent.put(count.getEventId(), count.getTicketCount());
+        }
+
+        Map<Long, Integer> remaining = new HashMap<>();
+        for (FestivalEvent event : events) {
+            long ticketCount = countByEvent.getOrDefault(event.getId(), 0L);
+            remaining.put(event.getId(), Math.max(0, event.getTotalCapacity() - (int) ticketCount));
+        }
+        return remaining;
+    }
+
+    private Integer parseStock(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn("invalid stock value in redis value={}", value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// 노드마다 다른 이름(host-pid-random). claim outbox consumer, stock lease 소유자 구분에 쓴다.
+public final class InstanceNames {
+
+    private InstanceNames() {
+    }
+
+    public static String generate() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isBlank()) {
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                host = "ticketing";
+            }
+        }
+        String random = UUID.randomUUID().toString().substring(0, 8);
+        return host + "-" + ProcessHandle.current().pid() + "-" + random;
+    }
+}
@@ -0,0 +1,163 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Redis 호출의 최근 window-size건 중 실패/지연(slow-call-ms 초과) 비율이 기준을 넘으면 OPEN 한다.
+// OPEN 동안 claim은 DB 예매 경로로 우회하고, open-ms 후 요청 하나만 Redis로 보내(HALF_OPEN) 성공하면 CLOSED로 돌아간다.
+// 이미 시작된 Redis 호출을 끊지는 않으므로 클라이언트 command timeout(spring.data.redis.timeout)을 짧게 두어야 한다.
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Value("${ticket.redis.circuit-breaker.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.redis.circuit-breaker.window-size:100}")
+    private int windowSize;
+
+    @Value("${ticket.redis.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${ticket.redis.circuit-breaker.failure-rate-percent:50}")
+    private int failureRatePercent;
+
+    @Value("${ticket.redis.circuit-breaker.slow-call-ms:200}")
+    private long slowCallMs;
+
+    @Value("${ticket.redis.circuit-breaker.open-ms:5000}")
+    private long openMs;
+
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+    // 아래 상태는 모두 this 잠금 안에서만 읽고 쓴다.
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private long openCount;
+    private boolean[] badCalls;
+    private int nextIndex;
+    private int recordedCalls;
+    private int badCallCount;
+
+    @PostConstruct
+    public void init() {
+        badCalls = new boolean[windowSize];
+    }
+
+    // CLOSED로 돌아온 뒤 별도 스레드에서 실행된다 (우회 기간 동안의 DB 예매를 Redis에 반영하는 용도).
+    public void onClose(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // OPEN으로 바뀔 때마다 1씩 늘어난다. 우회 기간(episode)마다 handoff를 다시 하기 위한 구분값이다.
+    public synchronized long openCount() {
+        return openCount;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    // 호출 상태를 바꾸지 않는 조회. 대기열처럼 probe를 쓰지 않는 경로가 사용한다.
+    public synchronized boolean isOpen() {
+        return enabled && state != State.CLOSED;
+    }
+
+    // true면 Redis를 호출하지 않고 우회한다. OPEN 유지 시간이 지나면 처음 호출한 요청 하나가 probe가 된다.
+    // probe 결과가 보고되지 않아도 open-ms가 다시 지나면 다음 요청이 probe가 된다.
+    public synchronized boolean shouldBypass() {
+        if (!enabled || state == State.CLOSED) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - openedAtNanos >= TimeUnit.MILLISECONDS.toNanos(openMs)) {
+            state = State.HALF_OPEN;
+            openedAtNanos = now;
+            return false;
+        }
+        return true;
+    }
+
+    public void onSuccess(long latencyNanos) {
+        boolean slow = latencyNanos > TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        boolean closed;
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (slow) {
+                    open("slow probe");
+                    return;
+                }
+                closeAndReset();
+                closed = true;
+            } else {
+                record(slow);
+                closed = false;
+            }
+        }
+        if (closed) {
+            closeListeners.forEach(CompletableFuture::runAsync);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open("failed probe");
+            return;
+        }
+        record(true);
+    }
+
+    private void record(boolean bad) {
+        if (!enabled || state != State.CLOSED) {
+            return;
+        }
+        if (recordedCalls == windowSize) {
+            if (badCalls[nextIndex]) {
+                badCallCount--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        badCalls[nextIndex] = bad;
+        if (bad) {
+            badCallCount++;
+        }
+        nextIndex = (nextIndex + 1) % windowSize;
+
+        if (recordedCalls >= minimumCalls && badCallCount * 100L >= (long) failureRatePercent * recordedCalls) {
+            open("failure rate " + badCallCount + "/" + recordedCalls);
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        openCount++;
+        log.warn("redis circuit breaker opened: {}", reason);
+    }
+
+    private void closeAndReset() {
+        state = State.CLOSED;
+        Arrays.fill(badCalls, false);
+        nextIndex = 0;
+        recordedCalls = 0;
+        badCallCount = 0;
+        log.info("redis circuit breaker closed");
+    }
+}
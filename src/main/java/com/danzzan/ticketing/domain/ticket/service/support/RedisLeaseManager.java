@@ -0,0 +1,47 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+// 여러 노드 중 한 곳에서만 돌아야 하는 작업(스케줄러 등)을 위한 Redis lease.
+// 보유 중이면 TTL을 연장하고, 비어 있으면 SET NX PX로 획득한다. 노드가 죽으면 TTL 만료로 다른 노드가 이어받는다.
+@Component
+@RequiredArgsConstructor
+public class RedisLeaseManager {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    @Qualifier("leaseAcquireScript")
+    private final RedisScript<Long> leaseAcquireScript;
+    @Qualifier("leaseReleaseScript")
+    private final RedisScript<Long> leaseReleaseScript;
+
+    @Value("${HOSTNAME:ticketing}")
+    private String hostName;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public boolean tryAcquire(String leaseKey, long ttlMs) {
+        Long acquired = stringRedisTemplate.execute(
+                leaseAcquireScript,
+                List.of(leaseKey),
+                ownerId(),
+                String.valueOf(ttlMs)
+        );
+        return acquired != null && acquired == 1L;
+    }
+
+    public void release(String leaseKey) {
+        stringRedisTemplate.execute(leaseReleaseScript, List.of(leaseKey), ownerId());
+    }
+
+    public String ownerId() {
+        return hostName + ":" + instanceId;
+    }
+}
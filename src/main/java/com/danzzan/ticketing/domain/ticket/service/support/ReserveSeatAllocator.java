@@ -0,0 +1,78 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.model.entity.EventCapacitySlot;
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.repository.EventCapacitySlotRepository;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+
+// DB 예매 경로의 좌석 확보. 호출자의 트랜잭션 안에서 실행되어야 한다 (티켓 insert 실패 시 함께 롤백).
+// capacity-slots가 2 이상이면 잔여 좌석을 K개 slot 행으로 나눠 행 잠금 경합을 분산한다.
+// slot이 아직 없으면 CapacitySlotInitializer가 별도 트랜잭션에서 만들고 커밋된 slot을 돌려준다.
+@Component
+@RequiredArgsConstructor
+public class ReserveSeatAllocator {
+
+    private final FestivalEventRepository festivalEventRepository;
+    private final EventCapacitySlotRepository eventCapacitySlotRepository;
+    private final CapacitySlotInitializer capacitySlotInitializer;
+
+    // 0/1 = festival_events.sold_count 단일 행, K >= 2 = event_capacity_slots K개 행
+    @Value("${ticket.reserve.capacity-slots:0}")
+    private int capacitySlots;
+
+    public boolean usesCapacitySlots() {
+        return capacitySlots > 1;
+    }
+
+    // 확보한 좌석의 순번(1부터), 잔여 좌석이 없으면 empty
+    public OptionalInt claim(FestivalEvent event) {
+        if (capacitySlots <= 1) {
+            return claimFromEventRow(event.getId());
+        }
+        return claimFromSlots(event);
+    }
+
+    private OptionalInt claimFromEventRow(Long eventId) {
+        if (festivalEventRepository.incrementSoldCountIfAvailable(eventId) == 0) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of((int) festivalEventRepository.lastIncrementedSoldCount());
+    }
+
+    private OptionalInt claimFromSlots(FestivalEvent event) {
+        List<EventCapacitySlot> slots = eventCapacitySlotRepository.findAllByEventIdOrderBySlotNo(event.getId());
+        if (slots.isEmpty()) {
+            // 이 트랜잭션의 snapshot에는 이후 커밋된 slot이 보이지 않으므로 다시 조회하지 않고 생성 트랜잭션의 결과를 쓴다.
+            slots = capacitySlotInitializer.ensureSlots(event.getId(), capacitySlots);
+        }
+
+        // 임의의 slot부터 시작해 나머지 slot으로 넘어간다. 취소가 없으므로 이미 찬 slot은 건너뛴다.
+        int slotCount = slots.size();
+        int start = ThreadLocalRandom.current().nextInt(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            EventCapacitySlot slot = slots.get((start + i) % slotCount);
+            if (!slot.hasRemaining()) {
+                continue;
+            }
+            if (eventCapacitySlotRepository.incrementSoldCountIfAvailable(event.getId(), slot.getSlotNo()) == 0) {
+                continue;
+            }
+            int slotSold = (int) eventCapacitySlotRepository.lastIncrementedSoldCount();
+            return OptionalInt.of(orderOf(slot, slotSold, slotCount));
+        }
+        return OptionalInt.empty();
+    }
+
+    // slot i의 n번째 좌석 = offset + (n - 1) * K + i + 1
+    // slot 용량이 CapacitySlotInitializer 방식으로 나뉘어 있으면 전체가 팔렸을 때 순번이 offset+1..total_capacity를 빈틈없이 채운다.
+    static int orderOf(EventCapacitySlot slot, int slotSold, int slotCount) {
+        return slot.getOrderOffset() + (slotSold - 1) * slotCount + slot.getSlotNo() + 1;
+    }
+}
@@ -0,0 +1,250 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 매진 후에는 claim_v2.lua가 모든 요청에 SOLD_OUT status만 쓰고 끝나므로, 노드 메모리의 이벤트별 매진 표시로 Redis 호출을 건너뛴다.
+// 매진을 본 노드가 "{generation}:{eventId}"를 publish 해 모든 노드가 같은 generation을 매진으로 표시한다.
+// 건너뛴 요청의 SOLD_OUT status는 모아 두었다가 flush-ms마다 이벤트별 status_mark_sold_out.lua 한 번으로 쓴다.
+// 표시는 init(statusCacheInvalidationChannel)이나 재고가 stock으로 돌아올 때(reopenEverywhere) 지운다.
+// 이미 이긴 사용자(이 노드에서 SUCCESS/ALREADY를 받았거나 종료 상태 캐시에 있는 사용자)는 건너뛰지 않고 ALREADY로 답한다.
+// 다른 노드에서 이겨 이 노드가 모르는 사용자는 응답이 SOLD_OUT이지만, 나중에 쓰는 status는 ALREADY가 된다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SoldOutShortCircuit implements MessageListener {
+
+    private static final String GENERATION_SEPARATOR = ":";
+    private static final int FIXED_ARG_COUNT = 7;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    @Qualifier("soldOutStatusScript")
+    private final RedisScript<Long> soldOutStatusScript;
+    private final TerminalStatusCache terminalStatusCache;
+
+    @Value("${ticket.claim.sold-out-short-circuit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.claim.sold-out-short-circuit.status-batch-size:500}")
+    private int statusBatchSize;
+
+    @Value("${ticket.claim.sold-out-short-circuit.status-queue-capacity:100000}")
+    private int statusQueueCapacity;
+
+    // eventId -> 매진으로 표시된 generation
+    private final Map<String, Long> soldOutGenerations = new ConcurrentHashMap<>();
+    // eventId -> 이 노드에서 SUCCESS/ALREADY로 끝난 사용자 (가장 최근 generation만 유지)
+    private final Map<String, Winners> winnersByEvent = new ConcurrentHashMap<>();
+    private final Queue<PendingStatus> pendingStatuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder droppedStatuses = new LongAdder();
+
+    @PostConstruct
+    public void listen() {
+        if (!enabled) {
+            return;
+        }
+        redisMessageListenerContainer.addMessageListener(this, List.of(
+                new ChannelTopic(TicketRedisKeys.soldOutChannel()),
+                new ChannelTopic(TicketRedisKeys.statusCacheInvalidationChannel())
+        ));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSoldOut(String eventId, long generation) {
+        if (!enabled) {
+            return false;
+        }
+        Long soldOutGeneration = soldOutGenerations.get(eventId);
+        return soldOutGeneration != null && soldOutGeneration == generation;
+    }
+
+    public void recordWinner(String eventId, long generation, String userId) {
+        if (!enabled) {
+            return;
+        }
+        Winners winners = winnersByEvent.compute(eventId, (key, current) ->
+                current == null || current.generation < generation ? new Winners(generation) : current);
+        if (winners.generation == generation) {
+            winners.userIds.add(userId);
+        }
+    }
+
+    // 매진 표시로 Redis를 건너뛰기 전에 확인한다. true면 SOLD_OUT 대신 ALREADY로 답해야 한다.
+    public boolean isKnownWinner(String eventId, long generation, String userId) {
+        Winners winners = winnersByEvent.get(eventId);
+        if (winners != null && winners.generation == generation && winners.userIds.contains(userId)) {
+            return true;
+        }
+        TicketRequestStatus cached = terminalStatusCache.peek(eventId, userId);
+        return cached == TicketRequestStatus.SUCCESS || cached == TicketRequestStatus.ALREADY;
+    }
+
+    // 이미 같은(또는 더 새) generation으로 표시돼 있으면 다시 publish 하지 않는다.
+    public void markSoldOutEverywhere(String eventId, long generation) {
+        if (!enabled) {
+            return;
+        }
+        Long previous = soldOutGenerations.get(eventId);
+        if (previous != null && previous >= generation) {
+            return;
+        }
+        markSoldOut(eventId, generation);
+        stringRedisTemplate.convertAndSend(TicketRedisKeys.soldOutChannel(), generation + GENERATION_SEPARATOR + eventId);
+        log.info("event sold out, short-circuiting claims eventId={} generation={}", eventId, generation);
+    }
+
+    // stock으로 재고가 돌아오면(lease 반납, reconcile 보정) 모든 노드의 표시를 지운다.
+    // init과 같은 채널을 쓰므로 종료 상태 near-cache/generation cache도 함께 비워진다.
+    public void reopenEverywhere(String eventId) {
+        if (!enabled || !soldOutGenerations.containsKey(eventId)) {
+            return;
+        }
+        clear(eventId);
+        stringRedisTemplate.convertAndSend(TicketRedisKeys.statusCacheInvalidationChannel(), eventId);
+    }
+
+    public void clear(String eventId) {
+        soldOutGenerations.remove(eventId);
+    }
+
+    // Redis를 건너뛴 요청의 SOLD_OUT status를 나중에 쓰도록 넣어 둔다.
+    // 큐가 가득 차면 버린다 (status가 NONE으로 남아 클라이언트가 다시 claim 하면 다시 넣는다).
+    public void recordSoldOut(String eventId, long generation, String userId) {
+        shortCircuited.increment();
+        if (pendingCount.incrementAndGet() > statusQueueCapacity) {
+            pendingCount.decrementAndGet();
+            droppedStatuses.increment();
+            return;
+        }
+        pendingStatuses.add(new PendingStatus(eventId, generation, userId));
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.claim.sold-out-short-circuit.flush-ms:100}")
+    public void flushStatuses() {
+        if (pendingStatuses.isEmpty()) {
+            return;
+        }
+        Map<EventGeneration, List<String>> membersByEvent = new LinkedHashMap<>();
+        PendingStatus pending;
+        while ((pending = pendingStatuses.poll()) != null) {
+            pendingCount.decrementAndGet();
+            membersByEvent.computeIfAbsent(new EventGeneration(pending.eventId(), pending.generation()),
+                    key -> new ArrayList<>()).add(TicketRedisKeys.queueMember(pending.userId()));
+        }
+
+        membersByEvent.forEach((event, members) -> {
+            for (int from = 0; from < members.size(); from += statusBatchSize) {
+                List<String> chunk = members.subList(from, Math.min(from + statusBatchSize, members.size()));
+                try {
+                    writeStatuses(event, chunk);
+                } catch (RuntimeException e) {
+                    droppedStatuses.add(chunk.size());
+                    log.warn("sold-out status flush failed eventId={} size={}", event.eventId(), chunk.size(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!TicketRedisKeys.soldOutChannel().equals(channel)) {
+            clear(body);
+            return;
+        }
+
+        int separator = body.indexOf(GENERATION_SEPARATOR);
+        if (separator <= 0) {
+            log.warn("ignored malformed sold-out message body={}", body);
+            return;
+        }
+        try {
+            markSoldOut(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            log.warn("ignored malformed sold-out message body={}", body);
+        }
+    }
+
+    public long shortCircuitCount() {
+        return shortCircuited.sum();
+    }
+
+    public long droppedStatusCount() {
+        return droppedStatuses.sum();
+    }
+
+    // init 후에 늦게 도착한 이전 generation 메시지가 새 generation 표시를 덮지 않게 큰 값을 남긴다.
+    private void markSoldOut(String eventId, long generation) {
+        soldOutGenerations.merge(eventId, generation, Math::max);
+    }
+
+    private void writeStatuses(EventGeneration event, List<String> members) {
+        String eventId = event.eventId();
+        long generation = event.generation();
+
+        Object[] args = new Object[FIXED_ARG_COUNT + members.size()];
+        args[0] = String.valueOf(generation);
+        args[1] = TicketRequestStatus.SOLD_OUT.name();
+        args[2] = TicketRequestStatus.ALREADY.name();
+        args[3] = TicketRedisKeys.userKeyPrefix(eventId, generation);
+        args[4] = TicketRedisKeys.statusKeyPrefix(eventId, generation);
+        args[5] = TicketRedisKeys.userHashPrefix(eventId, generation);
+        args[6] = TicketRedisKeys.statusHashPrefix(eventId, generation);
+        for (int i = 0; i < members.size(); i++) {
+            args[FIXED_ARG_COUNT + i] = members.get(i);
+        }
+
+        stringRedisTemplate.execute(
+                soldOutStatusScript,
+                List.of(TicketRedisKeys.layoutKey(eventId, generation), TicketRedisKeys.generationKey(eventId)),
+                args
+        );
+    }
+
+    private static final class Winners {
+        private final long generation;
+        private final Set<String> userIds = ConcurrentHashMap.newKeySet();
+
+        private Winners(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private record PendingStatus(String eventId, long generation, String userId) {
+    }
+
+    private record EventGeneration(String eventId, long generation) {
+    }
+}
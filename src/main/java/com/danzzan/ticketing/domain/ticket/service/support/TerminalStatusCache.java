@@ -0,0 +1,146 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// SUCCESS/SOLD_OUT/ALREADY는 재초기화 전까지 바뀌지 않으므로 노드 메모리에 캐시한다 (매진 후 polling 꼬리 구간의 Redis GET 제거).
+// 재초기화 시 이벤트 단위로 pub/sub 무효화하고, 전체 항목 수는 max-entries로 제한한다(초과분은 캐시하지 않음).
+@Component
+@RequiredArgsConstructor
+public class TerminalStatusCache implements MessageListener {
+
+    private static final Set<TicketRequestStatus> TERMINAL_STATUSES = Set.of(
+            TicketRequestStatus.SUCCESS,
+            TicketRequestStatus.SOLD_OUT,
+            TicketRequestStatus.ALREADY
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${ticket.status-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ticket.status-cache.max-entries:200000}")
+    private int maxEntries;
+
+    private final Map<String, EventEntries> entriesByEvent = new ConcurrentHashMap<>();
+    // put/무효화 때마다 갱신해 상한 검사를 O(1)로 한다(이벤트 map을 순회하지 않음).
+    private final AtomicInteger entryCount = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void listenInvalidation() {
+        redisMessageListenerContainer.addMessageListener(
+                this,
+                new ChannelTopic(TicketRedisKeys.statusCacheInvalidationChannel())
+        );
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 조회 전에 받아 두고, Redis 조회 후 같은 handle에 put 한다.
+    // 그 사이 무효화되면 handle이 교체되어 오래된 값이 새 캐시에 들어가지 않는다.
+    public EventEntries entriesOf(String eventId) {
+        return entriesByEvent.computeIfAbsent(eventId, EventEntries::new);
+    }
+
+    public TicketRequestStatus get(EventEntries entries, String userId) {
+        TicketRequestStatus status = entries.statuses.get(userId);
+        if (status == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return status;
+    }
+
+    // hit/miss 집계와 항목 생성 없이 현재 값만 본다 (claim 경로의 매진 short circuit 판정용)
+    public TicketRequestStatus peek(String eventId, String userId) {
+        EventEntries entries = entriesByEvent.get(eventId);
+        return entries == null ? null : entries.statuses.get(userId);
+    }
+
+    public void putIfTerminal(EventEntries entries, String userId, TicketRequestStatus status) {
+        if (!TERMINAL_STATUSES.contains(status) || entryCount.get() >= maxEntries) {
+            return;
+        }
+        if (entriesByEvent.get(entries.eventId) != entries) {
+            return;
+        }
+        if (entries.statuses.putIfAbsent(userId, status) == null && entries.countOne()) {
+            entryCount.incrementAndGet();
+        }
+    }
+
+    public void invalidateEverywhere(String eventId) {
+        invalidate(eventId);
+        stringRedisTemplate.convertAndSend(TicketRedisKeys.statusCacheInvalidationChannel(), eventId);
+    }
+
+    public void invalidate(String eventId) {
+        EventEntries removed = entriesByEvent.remove(eventId);
+        if (removed != null) {
+            entryCount.addAndGet(-removed.seal());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entryCount.get();
+    }
+
+    public static final class EventEntries {
+
+        private static final int SEALED = -1;
+
+        private final String eventId;
+        private final Map<String, TicketRequestStatus> statuses = new ConcurrentHashMap<>();
+        // 무효화되면 SEALED로 봉인해, 그 뒤 늦게 들어온 put이 전체 개수에 다시 더해지지 않게 한다.
+        private final AtomicInteger count = new AtomicInteger();
+
+        private EventEntries(String eventId) {
+            this.eventId = eventId;
+        }
+
+        private boolean countOne() {
+            return count.getAndUpdate(current -> current == SEALED ? current : current + 1) != SEALED;
+        }
+
+        private int seal() {
+            int counted = count.getAndSet(SEALED);
+            return counted == SEALED ? 0 : counted;
+        }
+    }
+}
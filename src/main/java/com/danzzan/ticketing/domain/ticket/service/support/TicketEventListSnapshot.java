@@ -0,0 +1,109 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.service.TicketService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// /tickets/events 응답을 직렬화된 JSON byte[]로 보관하고 refresh-ms 마다 최대 한 번만 다시 만든다.
+// 다시 만든 결과가 이전과 같으면 같은 ETag를 유지하므로 polling client는 대부분 304를 받는다.
+// 재생성은 만료 후 처음 들어온 요청 하나만 수행하고, 그동안 다른 요청은 직전 snapshot을 그대로 받는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketEventListSnapshot {
+
+    private final TicketService ticketService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ticket.event-list.snapshot.refresh-ms:1000}")
+    private long refreshMs;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private volatile boolean invalidated;
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            return current;
+        }
+        try {
+            Snapshot latest = snapshot;
+            if (latest != null && !isExpired(latest)) {
+                return latest;
+            }
+            snapshot = rebuild(latest);
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // 이벤트 상태를 바꾼 노드는 refresh-ms를 기다리지 않고 다음 요청에서 다시 만든다.
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    private Snapshot rebuild(Snapshot previous) {
+        invalidated = false;
+        long now = System.nanoTime();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ticketService.getTicketingEvents());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize event list", e);
+        } catch (RuntimeException e) {
+            if (previous == null) {
+                throw e;
+            }
+            // DB/Redis 장애 중에는 직전 snapshot을 한 주기 더 사용한다.
+            log.warn("event list snapshot rebuild failed, serving previous snapshot", e);
+            return new Snapshot(previous.body(), previous.etag(), now);
+        }
+
+        if (previous != null && Arrays.equals(previous.body(), body)) {
+            return new Snapshot(previous.body(), previous.etag(), now);
+        }
+        return new Snapshot(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", now);
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return invalidated
+                || System.nanoTime() - current.builtAtNanos() >= TimeUnit.MILLISECONDS.toNanos(refreshMs);
+    }
+
+    // etag는 body 내용의 hash라 같은 내용이면 노드가 달라도 같은 값이 나온다 (strong ETag).
+    public record Snapshot(byte[] body, String etag, long builtAtNanos) {
+
+        // If-None-Match는 weak 비교이므로 W/ 접두사를 무시한다.
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
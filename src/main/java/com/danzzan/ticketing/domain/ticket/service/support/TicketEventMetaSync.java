@@ -0,0 +1,155 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.exception.EventMetaSyncPendingException;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// festival_events의 티켓팅 상태/시작 시각을 ticket:{eventId}:meta에 mirror 한다.
+// claim_v2(.lua)가 이 hash로 오픈 전/마감을 판정하므로 대기열 claim 경로는 DB를 읽지 않는다.
+// 기동 시 전체 이벤트, init 시 해당 이벤트, 관리자 상태 변경 시(커밋 후) 다시 쓴다.
+// 커밋 후 쓰기가 재시도 끝에도 실패하면 pending으로 남겨 reconcile-ms마다 DB 값으로 다시 쓴다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketEventMetaSync implements CommandLineRunner {
+
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_OPEN_AT = "openAt";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final FestivalEventRepository festivalEventRepository;
+
+    @Value("${ticket.event-meta.sync-attempts:3}")
+    private int syncAttempts;
+
+    @Value("${ticket.event-meta.retry-backoff-ms:50}")
+    private long retryBackoffMs;
+
+    // 커밋 후 반영에 실패해 다시 써야 하는 eventId
+    private final Set<String> pendingEventIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void run(String... args) {
+        try {
+            festivalEventRepository.findAll().forEach(this::sync);
+        } catch (RuntimeException e) {
+            // 메타가 없는 이벤트는 claim script가 제한하지 않으므로 기동은 계속한다.
+            log.warn("event meta sync on startup failed", e);
+        }
+    }
+
+    // Redis eventId가 festival_events.id가 아니면(테스트/부하 이벤트) 메타를 두지 않는다.
+    public void sync(String eventId) {
+        Long dbEventId = parseId(eventId);
+        if (dbEventId == null) {
+            return;
+        }
+        festivalEventRepository.findById(dbEventId).ifPresent(this::sync);
+    }
+
+    public void sync(FestivalEvent event) {
+        write(String.valueOf(event.getId()), event.getTicketingStatus(), event.getTicketingStartTime());
+    }
+
+    // 트랜잭션 안에서 상태를 바꾼 경우 커밋된 뒤에만 Redis에 반영한다 (롤백되면 쓰지 않는다).
+    // afterSync(이벤트 목록 snapshot 무효화 등)는 같은 시점에, 메타 반영 결과와 무관하게 먼저 실행한다.
+    // 재시도 끝에도 쓰지 못하면 pending으로 남기고 EventMetaSyncPendingException으로 부분 실패를 알린다.
+    public void syncAfterCommit(FestivalEvent event, Runnable afterSync) {
+        String eventId = String.valueOf(event.getId());
+        TicketingStatus status = event.getTicketingStatus();
+        LocalDateTime openAt = event.getTicketingStartTime();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterSync.run();
+            writeOrMarkPending(eventId, status, openAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                afterSync.run();
+                writeOrMarkPending(eventId, status, openAt);
+            }
+        });
+    }
+
+    // pending 이벤트를 DB의 현재 값으로 다시 쓴다 (그 사이 상태가 또 바뀌었어도 최신 값이 반영된다).
+    @Scheduled(fixedDelayString = "${ticket.event-meta.reconcile-ms:5000}")
+    public void syncPending() {
+        for (String eventId : List.copyOf(pendingEventIds)) {
+            pendingEventIds.remove(eventId);
+            try {
+                sync(eventId);
+            } catch (RuntimeException e) {
+                pendingEventIds.add(eventId);
+                log.warn("pending event meta sync failed eventId={}", eventId, e);
+            }
+        }
+    }
+
+    public Set<String> pendingEventIds() {
+        return Set.copyOf(pendingEventIds);
+    }
+
+    private void writeOrMarkPending(String eventId, TicketingStatus status, LocalDateTime openAt) {
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= Math.max(1, syncAttempts); attempt++) {
+            try {
+                write(eventId, status, openAt);
+                return;
+            } catch (RuntimeException e) {
+                failure = e;
+                log.warn("event meta sync failed eventId={} attempt={}", eventId, attempt, e);
+            }
+            if (attempt < syncAttempts && !sleep(retryBackoffMs * attempt)) {
+                break;
+            }
+        }
+        pendingEventIds.add(eventId);
+        log.error("event meta sync gave up, reconciling later eventId={} status={}", eventId, status, failure);
+        throw new EventMetaSyncPendingException(eventId, failure);
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void write(String eventId, TicketingStatus status, LocalDateTime openAt) {
+        stringRedisTemplate.opsForHash().putAll(TicketRedisKeys.eventMetaKey(eventId), Map.of(
+                FIELD_STATUS, status.name(),
+                FIELD_OPEN_AT, String.valueOf(openAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+        ));
+        log.info("event meta synced eventId={} status={} openAt={}", eventId, status, openAt);
+    }
+
+    private Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
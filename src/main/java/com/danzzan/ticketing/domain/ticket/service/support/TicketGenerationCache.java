@@ -0,0 +1,73 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 이벤트별 현재 key generation을 노드 메모리에 캐시한다 (요청마다 generation GET을 하지 않기 위해).
+// init이 publish 하는 eventId로 무효화하고, 그 전에 오래된 generation으로 호출된 script는 STALE을 돌려주므로
+// 호출자는 refresh 후 재시도한다. generation은 증가만 한다.
+@Component
+@RequiredArgsConstructor
+public class TicketGenerationCache implements MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void listenInvalidation() {
+        redisMessageListenerContainer.addMessageListener(
+                this,
+                new ChannelTopic(TicketRedisKeys.statusCacheInvalidationChannel())
+        );
+    }
+
+    public long current(String eventId) {
+        Long cached = generations.get(eventId);
+        if (cached != null) {
+            return cached;
+        }
+        return refresh(eventId);
+    }
+
+    public long refresh(String eventId) {
+        return update(eventId, read(eventId));
+    }
+
+    public long update(String eventId, long generation) {
+        return generations.merge(eventId, generation, Math::max);
+    }
+
+    public void invalidate(String eventId) {
+        generations.remove(eventId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private long read(String eventId) {
+        String generation = stringRedisTemplate.opsForValue().get(TicketRedisKeys.generationKey(eventId));
+        if (generation == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(generation);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("event generation must be numeric: " + eventId, e);
+        }
+    }
+}
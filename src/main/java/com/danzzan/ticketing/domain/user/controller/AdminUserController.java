@@ -0,0 +1,33 @@
+package com.danzzan.ticketing.domain.user.controller;
+
+import com.danzzan.ticketing.domain.user.model.dto.response.ResponsePasswordHashStatsDto;
+import com.danzzan.ticketing.domain.user.service.UserService;
+import com.danzzan.ticketing.global.model.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "관리자 사용자", description = "관리자용 로그인 운영 API")
+public class AdminUserController {
+
+    private final UserService userService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/login/hash-pool")
+    @Operation(
+            summary = "로그인 비밀번호 검증 풀 통계",
+            description = "현재 노드의 BCrypt 검증 스레드/대기열 길이, 평균·최대 검증 시간, 거절(503) 수를 조회합니다."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ApiResponse<ResponsePasswordHashStatsDto> getPasswordHashStats() {
+        return ApiResponse.success(userService.getPasswordHashStats());
+    }
+}
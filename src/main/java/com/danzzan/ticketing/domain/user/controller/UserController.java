@@ -34,7 +34,7 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    @Operation(summary = "로그인", description = "학번과 비밀번호로 로그인")
+    @Operation(summary = "로그인", description = "학번과 비밀번호로 로그인 (검증 대기열이 가득 차면 503 + Retry-After)")
     public ResponseEntity<ResponseLoginDto> login(@Valid @RequestBody RequestLoginDto dto) {
         ResponseLoginDto response = userService.login(dto);
         return ResponseEntity.ok(response);
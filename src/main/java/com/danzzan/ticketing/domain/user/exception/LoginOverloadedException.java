@@ -0,0 +1,13 @@
+package com.danzzan.ticketing.domain.user.exception;
+
+import lombok.Getter;
+
+@Getter
+public class LoginOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public LoginOverloadedException(long retryAfterSeconds) {
+        super("로그인 요청이 많아 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,45 @@
+package com.danzzan.ticketing.domain.user.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "로그인 비밀번호 검증 스레드 풀 통계(현재 노드 기준)")
+public class ResponsePasswordHashStatsDto {
+
+    @Schema(description = "전용 스레드 풀 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "검증 스레드 수", example = "4")
+    private int poolSize;
+
+    @Schema(description = "현재 검증 중인 스레드 수", example = "4")
+    private int active;
+
+    @Schema(description = "현재 대기열 길이", example = "37")
+    private int queueDepth;
+
+    @Schema(description = "대기열 최대 길이", example = "64")
+    private int queueCapacity;
+
+    @Schema(description = "누적 검증 수", example = "18230")
+    private long hashes;
+
+    @Schema(description = "평균 검증 시간(ms)", example = "62.4")
+    private double avgHashMillis;
+
+    @Schema(description = "최대 검증 시간(ms)", example = "141.0")
+    private double maxHashMillis;
+
+    @Schema(description = "평균 대기열 대기 시간(ms)", example = "210.5")
+    private double avgQueueWaitMillis;
+
+    @Schema(description = "대기열 초과로 거절한 로그인 수(503 + Retry-After)", example = "1204")
+    private long rejected;
+}
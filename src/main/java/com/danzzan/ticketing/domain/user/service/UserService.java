@@ -4,13 +4,15 @@ import com.danzzan.ticketing.domain.user.exception.UserNotFoundException;
 import com.danzzan.ticketing.domain.user.exception.WrongPasswordException;
 import com.danzzan.ticketing.domain.user.model.dto.request.RequestLoginDto;
 import com.danzzan.ticketing.domain.user.model.dto.response.ResponseLoginDto;
+import com.danzzan.ticketing.domain.user.model.dto.response.ResponsePasswordHashStatsDto;
 import com.danzzan.ticketing.domain.user.model.dto.response.ResponseRefreshTokenDto;
 import com.danzzan.ticketing.domain.user.model.entity.User;
 import com.danzzan.ticketing.domain.user.repository.UserRepository;
+import com.danzzan.ticketing.domain.user.service.support.PasswordHashExecutor;
 import com.danzzan.ticketing.global.jwt.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -20,16 +22,18 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserInfoService userInfoService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashExecutor passwordHashExecutor;
     private final JwtTokenProvider jwtTokenProvider;
 
     // 로그인 처리
     // 학번으로 사용자 조회 후 비밀번호 검증, JWT 토큰 발급
+    // 비밀번호 검증은 전용 스레드 풀에서 대기할 수 있으므로 트랜잭션(DB 커넥션)을 잡은 채 기다리지 않는다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ResponseLoginDto login(RequestLoginDto dto) {
         User user = userRepository.findByStudentId(dto.getStudentId())
                 .orElseThrow(UserNotFoundException::new);
 
-        if (!passwordEncoder.matches(dto.getPassword(), user.getPassword())) {
+        if (!passwordHashExecutor.matches(dto.getPassword(), user.getPassword())) {
             throw new WrongPasswordException();
         }
 
@@ -68,4 +72,25 @@ public class UserService {
 
         return new ResponseRefreshTokenDto(newAccessToken, newRefreshToken);
     }
+
+    // 로그인 비밀번호 검증 풀 통계 (현재 노드)
+    public ResponsePasswordHashStatsDto getPasswordHashStats() {
+        long hashes = passwordHashExecutor.hashCount();
+        return ResponsePasswordHashStatsDto.builder()
+                .enabled(passwordHashExecutor.isEnabled())
+                .poolSize(passwordHashExecutor.poolSize())
+                .active(passwordHashExecutor.activeCount())
+                .queueDepth(passwordHashExecutor.queueDepth())
+                .queueCapacity(passwordHashExecutor.queueCapacity())
+                .hashes(hashes)
+                .avgHashMillis(hashes == 0 ? 0.0 : toMillis(passwordHashExecutor.hashNanos()) / hashes)
+                .maxHashMillis(toMillis(passwordHashExecutor.maxHashNanos()))
+                .avgQueueWaitMillis(hashes == 0 ? 0.0 : toMillis(passwordHashExecutor.queueWaitNanos()) / hashes)
+                .rejected(passwordHashExecutor.rejectedCount())
+                .build();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
 }
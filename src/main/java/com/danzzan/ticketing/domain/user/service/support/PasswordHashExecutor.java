@@ -0,0 +1,163 @@
+package com.danzzan.ticketing.domain.user.service.support;
+
+import com.danzzan.ticketing.domain.user.exception.LoginOverloadedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 로그인 BCrypt 비교(코어 하나를 수십 ms 점유)를 크기가 정해진 전용 스레드에서만 실행한다.
+// 오픈 직전 로그인이 몰려도 hash에 쓰는 코어 수는 threads로 제한되어 같은 노드의 티켓팅 요청이 CPU를 잃지 않는다.
+// 대기열(queue-capacity)이 가득 차면 기다리게 하지 않고 LoginOverloadedException(Retry-After)으로 바로 거절한다.
+@Component
+@RequiredArgsConstructor
+public class PasswordHashExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${ticket.login.hash-pool.enabled:true}")
+    private boolean enabled;
+
+    // 0이면 코어 수의 절반(최소 1)
+    @Value("${ticket.login.hash-pool.threads:0}")
+    private int threads;
+
+    @Value("${ticket.login.hash-pool.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${ticket.login.hash-pool.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (executor == null) {
+            return timedMatches(rawPassword, encodedPassword);
+        }
+
+        long submittedAt = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                queueWaitNanos.add(System.nanoTime() - submittedAt);
+                return timedMatches(rawPassword, encodedPassword);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new LoginOverloadedException(retryAfterSeconds);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginOverloadedException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("password hash failed", e.getCause());
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    public int poolSize() {
+        return executor == null ? 0 : executor.getCorePoolSize();
+    }
+
+    public int activeCount() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public int queueDepth() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public int queueCapacity() {
+        return executor == null ? 0 : queueCapacity;
+    }
+
+    public long hashCount() {
+        return hashCount.sum();
+    }
+
+    public long hashNanos() {
+        return hashNanos.sum();
+    }
+
+    public long maxHashNanos() {
+        return maxHashNanos.get();
+    }
+
+    public long queueWaitNanos() {
+        return queueWaitNanos.sum();
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private boolean timedMatches(CharSequence rawPassword, String encodedPassword) {
+        long startedAt = System.nanoTime();
+        try {
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            hashCount.increment();
+            hashNanos.add(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
@@ -6,16 +6,128 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+// Redis Cluster: script가 읽고 쓰는 key는 모두 한 이벤트의 key(ticket:{eventId}:...)라 같은 slot에 놓인다.
+// hash layout bucket처럼 script 안에서 prefix로 조립하는 key도 같은 hash tag를 가지므로 CROSSSLOT 없이 실행된다.
+// EVALSHA가 NOSCRIPT로 실패하면 RedisTemplate이 EVAL로 다시 보내므로 노드별 SCRIPT LOAD는 필요 없다.
 @Configuration
 public class RedisLuaScriptConfig {
 
+    // user/status key layout을 다루는 script는 공통 함수(lib)를 앞에 붙여 하나의 script로 로드한다.
+    private static final String TICKET_LAYOUT_LIB = "redis/lib/ticket_layout.lua";
+
     @Bean("claimV2Script")
     public RedisScript<List> claimV2Script() {
-        DefaultRedisScript<List> script = new DefaultRedisScript<>();
-        script.setLocation(new ClassPathResource("redis/claim_v2.lua"));
-        script.setResultType(List.class);
+        return layoutAwareScript("redis/claim_v2.lua", List.class);
+    }
+
+    @Bean("claimV2BatchScript")
+    public RedisScript<List> claimV2BatchScript() {
+        return layoutAwareScript("redis/claim_v2_batch.lua", List.class);
+    }
+
+    @Bean("claimFailoverReplayScript")
+    public RedisScript<List> claimFailoverReplayScript() {
+        return layoutAwareScript("redis/claim_failover_replay.lua", List.class);
+    }
+
+    @Bean("admissionEnterScript")
+    public RedisScript<List> admissionEnterScript() {
+        return layoutAwareScript("redis/admission_enter.lua", List.class);
+    }
+
+    @Bean("admissionPromoteScript")
+    public RedisScript<Long> admissionPromoteScript() {
+        return layoutAwareScript("redis/admission_promote.lua", Long.class);
+    }
+
+    @Bean("admissionSettleSoldOutScript")
+    public RedisScript<Long> admissionSettleSoldOutScript() {
+        return layoutAwareScript("redis/admission_settle_sold_out.lua", Long.class);
+    }
+
+    @Bean("ticketStatusReadScript")
+    public RedisScript<String> ticketStatusReadScript() {
+        return layoutAwareScript("redis/status_read.lua", String.class);
+    }
+
+    @Bean("soldOutStatusScript")
+    public RedisScript<Long> soldOutStatusScript() {
+        return layoutAwareScript("redis/status_mark_sold_out.lua", Long.class);
+    }
+
+    @Bean("eventInitScript")
+    public RedisScript<Long> eventInitScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/event_init.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    @Bean("stockCompareAndSetScript")
+    public RedisScript<Long> stockCompareAndSetScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/stock_compare_and_set.lua"));
+        script.setResultType(Long.class);
         return script;
     }
+
+    @Bean("stockLeaseGrabScript")
+    public RedisScript<Long> stockLeaseGrabScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/stock_lease_grab.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    @Bean("stockLeaseReturnScript")
+    public RedisScript<Long> stockLeaseReturnScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/stock_lease_return.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    @Bean("stockLeaseReclaimScript")
+    public RedisScript<Long> stockLeaseReclaimScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/stock_lease_reclaim.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    @Bean("leaseAcquireScript")
+    public RedisScript<Long> leaseAcquireScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/lease_acquire.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    @Bean("leaseReleaseScript")
+    public RedisScript<Long> leaseReleaseScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("redis/lease_release.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    public static <T> DefaultRedisScript<T> layoutAwareScript(String location, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptText(read(TICKET_LAYOUT_LIB) + read(location));
+        script.setResultType(resultType);
+        return script;
+    }
+
+    private static String read(String location) {
+        try {
+            return new ClassPathResource(location).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to load redis script: " + location, e);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.danzzan.ticketing.global.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// 노드당 Redis 구독 연결 하나를 공유한다. 각 서비스는 여기에 채널/패턴 listener만 등록한다.
+// listener 실행은 기본값(메시지마다 새 스레드를 만드는 SimpleAsyncTaskExecutor) 대신 크기가 정해진 pool에서 한다.
+// listener는 블로킹 I/O를 하지 않아야 하며(SSE 전송 등은 각 서비스가 자기 executor로 넘긴다),
+// 대기열까지 가득 차면 알림을 버리지 않고 구독 스레드에서 직접 실행해 자연스럽게 속도를 늦춘다.
+@Configuration
+public class RedisPubSubConfig implements DisposableBean {
+
+    @Value("${ticket.pubsub.listener-threads:4}")
+    private int listenerThreads;
+
+    @Value("${ticket.pubsub.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Executor를 bean으로 노출하면 Boot의 applicationTaskExecutor 자동 구성이 빠지므로 내부에서만 관리한다.
+    private ThreadPoolTaskExecutor listenerExecutor;
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        listenerExecutor = new ThreadPoolTaskExecutor();
+        listenerExecutor.setCorePoolSize(listenerThreads);
+        listenerExecutor.setMaxPoolSize(listenerThreads);
+        listenerExecutor.setQueueCapacity(queueCapacity);
+        listenerExecutor.setThreadNamePrefix("redis-pubsub-listener-");
+        listenerExecutor.setDaemon(true);
+        listenerExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        listenerExecutor.initialize();
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(listenerExecutor);
+        return container;
+    }
+
+    @Override
+    public void destroy() {
+        if (listenerExecutor != null) {
+            listenerExecutor.shutdown();
+        }
+    }
+}
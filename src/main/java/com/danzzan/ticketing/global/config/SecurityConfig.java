@@ -2,8 +2,12 @@ package com.danzzan.ticketing.global.config;
 
 import com.danzzan.ticketing.global.jwt.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,6 +17,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 @Configuration
@@ -29,7 +34,47 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    // JwtAuthenticationFilter는 security filter chain 안에서만 실행한다.
+    // @Component filter를 서블릿 filter로도 자동 등록하면 요청마다 한 번 더 거쳐 가므로 등록을 끈다.
     @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // 티켓팅 고빈도 GET(이벤트 목록 snapshot, 대기열 상태 polling)만 처리하는 경량 chain.
+    // 세션/요청 캐시/익명 인증/logout/servlet API wrapper 등 이 경로에서 쓰지 않는 filter를 빼고
+    // CORS, 보안 헤더, JWT 인증, 인가만 남긴다. 인가 규칙은 기본 chain과 같다.
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(name = "ticket.security.fast-path.enabled", havingValue = "true", matchIfMissing = true)
+    public SecurityFilterChain ticketingFastPathFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(request -> HttpMethod.GET.matches(request.getMethod())
+                        && TicketingFastPath.matches(request.getRequestURI()))
+                .cors(cors -> cors.configurationSource(corsConfigurationSource))
+                .csrf(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .servletApi(AbstractHttpConfigurer::disable)
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                // 세션을 읽거나 만들지 않고, 인증 정보는 요청 attribute로만 유지한다.
+                .securityContext(context -> context
+                        .securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(request -> TicketingFastPath.isPublic(request.getRequestURI())).permitAll()
+                        .anyRequest().authenticated()
+                );
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
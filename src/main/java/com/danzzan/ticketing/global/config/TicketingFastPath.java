@@ -0,0 +1,34 @@
+package com.danzzan.ticketing.global.config;
+
+// SecurityConfig의 경량 chain이 맡는 GET 경로. 요청마다 호출되므로 정규식/경로 파싱 없이 문자열 비교만 한다.
+//   /tickets/events                     공개 (이벤트 목록 snapshot)
+//   /tickets/status                     공개 (레거시 상태 조회)
+//   /tickets/{eventId}/queue/status     인증 필요 (대기열 상태 polling)
+final class TicketingFastPath {
+
+    private static final String TICKETS_PREFIX = "/tickets/";
+    private static final String EVENTS_PATH = "/tickets/events";
+    private static final String LEGACY_STATUS_PATH = "/tickets/status";
+    private static final String QUEUE_STATUS_SUFFIX = "/queue/status";
+
+    private TicketingFastPath() {
+    }
+
+    static boolean matches(String uri) {
+        return isPublic(uri) || isQueueStatus(uri);
+    }
+
+    static boolean isPublic(String uri) {
+        return EVENTS_PATH.equals(uri) || LEGACY_STATUS_PATH.equals(uri);
+    }
+
+    // eventId segment가 비어 있지 않고 '/'를 포함하지 않을 때만 일치한다.
+    private static boolean isQueueStatus(String uri) {
+        if (uri == null || !uri.startsWith(TICKETS_PREFIX) || !uri.endsWith(QUEUE_STATUS_SUFFIX)) {
+            return false;
+        }
+        int segmentStart = TICKETS_PREFIX.length();
+        int segmentEnd = uri.length() - QUEUE_STATUS_SUFFIX.length();
+        return segmentEnd > segmentStart && uri.indexOf('/', segmentStart) == segmentEnd;
+    }
+}
@@ -5,12 +5,14 @@ import com.danzzan.ticketing.global.exception.AdminForbiddenException;
 import com.danzzan.ticketing.domain.event.exception.EventNotFoundException;
 import com.danzzan.ticketing.domain.ticket.exception.*;
 import com.danzzan.ticketing.domain.user.exception.AlreadyStudentIdException;
+import com.danzzan.ticketing.domain.user.exception.LoginOverloadedException;
 import com.danzzan.ticketing.domain.user.exception.UserNotFoundException;
 import com.danzzan.ticketing.domain.user.exception.WrongPasswordException;
 import com.danzzan.ticketing.global.model.ApiError;
 import com.danzzan.ticketing.global.model.ApiResponse;
 import com.danzzan.ticketing.infra.dku.exception.DkuFailedCrawlingException;
 import com.danzzan.ticketing.infra.dku.exception.DkuFailedLoginException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -40,12 +42,27 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", e.getMessage()));
     }
 
+    // 로그인 폭주: 비밀번호 검증 대기열 초과
+    @ExceptionHandler(LoginOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleLoginOverloaded(LoginOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
     @ExceptionHandler(TicketNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleTicketNotFound(TicketNotFoundException e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ApiResponse.error("TICKET_NOT_FOUND", e.getMessage()));
     }
 
+    // 관리자 상태 변경: DB는 커밋됐고 Redis 메타 반영만 지연 (자동 재반영)
+    @ExceptionHandler(EventMetaSyncPendingException.class)
+    public ResponseEntity<ApiResponse<Void>> handleEventMetaSyncPending(EventMetaSyncPendingException e) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.error("META_SYNC_PENDING", e.getMessage()));
+    }
+
     @ExceptionHandler(EventNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleEventNotFound(EventNotFoundException e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -102,6 +119,14 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", e.getMessage()));
     }
 
+    // 티켓팅: claim batch 대기열 초과/지연
+    @ExceptionHandler(ClaimOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleClaimOverloaded(ClaimOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
     @ExceptionHandler(AdminAuthenticationException.class)
     public ResponseEntity<ApiResponse<Void>> handleAdminAuthentication(AdminAuthenticationException e) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -13,6 +14,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 // 모든 요청에서 Authorization 헤더의 JWT 토큰을 검증하고
 // 유효한 경우 SecurityContext에 인증 정보를 설정하는 필터
@@ -22,6 +25,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
 
+    // role 종류는 몇 개뿐이므로 권한 목록을 요청마다 만들지 않고 재사용한다 (불변 List).
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -29,17 +35,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Long userId = jwtTokenProvider.getUserId(token);
-            String role = jwtTokenProvider.getRole(token);
-
+        // 검증/클레임 추출은 한 번의 파싱으로 끝내고, 같은 토큰의 반복 요청은 검증 캐시에서 처리한다.
+        JwtPrincipal principal = token != null ? jwtTokenProvider.authenticate(token) : null;
+        if (principal != null) {
             // SecurityContext에 인증 정보 설정
             // principal에 userId를 넣어서 컨트롤러/서비스에서 꺼내 쓸 수 있도록 함
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                            userId,
+                            principal.userId(),
                             null,
-                            List.of(new SimpleGrantedAuthority(role))
+                            authoritiesByRole.computeIfAbsent(principal.role(),
+                                    role -> List.of(new SimpleGrantedAuthority(role)))
                     );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
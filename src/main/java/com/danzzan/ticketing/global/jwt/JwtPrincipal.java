@@ -0,0 +1,6 @@
+package com.danzzan.ticketing.global.jwt;
+
+// 서명 검증을 마친 access token에서 인증에 필요한 값만 꺼낸 결과
+// expiresAtMillis는 토큰의 exp로, 검증 캐시가 이 시각 이후에는 다시 검증하게 한다.
+public record JwtPrincipal(Long userId, String role, long expiresAtMillis) {
+}
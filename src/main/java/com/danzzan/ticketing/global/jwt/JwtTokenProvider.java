@@ -22,11 +22,22 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    // 0이면 검증 캐시를 쓰지 않는다.
+    @Value("${jwt.verified-cache.max-entries:100000}")
+    private int verifiedCacheMaxEntries;
+
     private SecretKey key;
+    // JwtParser는 불변이고 thread-safe 하므로 한 번만 만든다.
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheMaxEntries);
     }
 
     // Access Token 생성
@@ -59,6 +70,35 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    // 요청 인증용: 서명 검증과 클레임 추출을 한 번의 파싱으로 끝낸다.
+    // 같은 토큰이 exp 전에 다시 오면 검증 캐시에서 바로 돌려준다.
+    // 유효하지 않거나 role이 없는 토큰(refresh token)이면 null
+    public JwtPrincipal authenticate(String token) {
+        JwtPrincipal cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtPrincipal principal;
+        try {
+            Claims claims = getClaims(token);
+            String role = claims.get("role", String.class);
+            Date expiration = claims.getExpiration();
+            if (role == null || expiration == null) {
+                return null;
+            }
+            principal = new JwtPrincipal(Long.parseLong(claims.getSubject()), role, expiration.getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        verifiedTokenCache.put(token, principal);
+        return principal;
+    }
+
+    public VerifiedTokenCache verifiedTokenCache() {
+        return verifiedTokenCache;
+    }
+
     // 토큰에서 userId 추출
     public Long getUserId(String token) {
         return Long.parseLong(getClaims(token).getSubject());
@@ -94,10 +134,6 @@ public class JwtTokenProvider {
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,98 @@
+package com.danzzan.ticketing.global.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// 서명 검증을 통과한 access token을 SHA-256 digest로 기억해, 같은 토큰으로 반복 polling 할 때 HMAC 검증/JSON 파싱을 건너뛴다.
+// 원문 토큰은 보관하지 않는다. digest가 같으면 토큰이 같으므로 캐시 적중은 검증을 통과한 것과 같다.
+// 항목은 토큰의 exp까지만 유효하고, 전체 항목 수는 max-entries로 제한한다 (가득 차면 만료 항목을 정리하고, 그래도 차 있으면 캐시하지 않음).
+public class VerifiedTokenCache {
+
+    // 가득 찬 상태에서 put마다 전체를 훑지 않도록 만료 정리는 이 간격에 한 번만 한다.
+    private static final long PURGE_INTERVAL_MS = 1_000L;
+
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<ByteBuffer, JwtPrincipal> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurgeAt = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxEntries, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public JwtPrincipal get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        JwtPrincipal principal = entries.get(key);
+        if (principal == null) {
+            misses.increment();
+            return null;
+        }
+        if (clock.getAsLong() >= principal.expiresAtMillis()) {
+            entries.remove(key, principal);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return principal;
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(digest(token), principal);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void purgeExpired() {
+        long now = clock.getAsLong();
+        long last = lastPurgeAt.get();
+        if (now - last < PURGE_INTERVAL_MS || !lastPurgeAt.compareAndSet(last, now)) {
+            return;
+        }
+        entries.values().removeIf(principal -> now >= principal.expiresAtMillis());
+    }
+
+    private ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
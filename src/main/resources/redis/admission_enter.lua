@@ -0,0 +1,79 @@
+-- KEYS[1] = queueKey
+-- KEYS[2] = gateKey
+-- KEYS[3] = queueSeqKey
+-- KEYS[4] = statusKey
+-- KEYS[5] = userKey
+-- KEYS[6] = layoutKey
+-- KEYS[7] = generationKey
+-- KEYS[8] = stockKey
+-- KEYS[9] = leasedKey (outstanding stock lease units of this generation)
+-- ARGV[1] = member (escaped userId)
+-- ARGV[2] = nowMillis
+-- ARGV[3] = statusWaiting
+-- ARGV[4] = codeWaiting
+-- ARGV[5] = codeAdmitted
+-- ARGV[6] = userHashPrefix
+-- ARGV[7] = statusHashPrefix
+-- ARGV[8] = generation (keys above are built for this generation)
+-- ARGV[9] = codeStaleGeneration
+-- ARGV[10] = codeSoldOut
+-- ARGV[11] = statusSoldOut
+-- return = { code, rank } (rank is 1-based, 0 when admitted or sold out)
+
+local queueKey = KEYS[1]
+local gateKey = KEYS[2]
+local queueSeqKey = KEYS[3]
+local statusKey = KEYS[4]
+local userKey = KEYS[5]
+local layoutKey = KEYS[6]
+local generationKey = KEYS[7]
+local stockKey = KEYS[8]
+local leasedKey = KEYS[9]
+
+local member = ARGV[1]
+local now = tonumber(ARGV[2])
+local statusWaiting = ARGV[3]
+local codeWaiting = tonumber(ARGV[4])
+local codeAdmitted = tonumber(ARGV[5])
+local userHashPrefix = ARGV[6]
+local statusHashPrefix = ARGV[7]
+local generation = ARGV[8]
+local codeStaleGeneration = tonumber(ARGV[9])
+local codeSoldOut = tonumber(ARGV[10])
+local statusSoldOut = ARGV[11]
+
+if not ticket_generation_matches(generationKey, generation) then
+    return { codeStaleGeneration, 0 }
+end
+
+local buckets = ticket_hash_buckets(layoutKey)
+
+-- 이미 claim한 사용자는 대기 없이 claim 단계로 보내 ALREADY를 받게 한다.
+if ticket_slot_exists(buckets, userKey, userHashPrefix, member) then
+    return { codeAdmitted, 0 }
+end
+
+local gateDeadline = tonumber(redis.call("ZSCORE", gateKey, member))
+if gateDeadline ~= nil and gateDeadline > now then
+    return { codeAdmitted, 0 }
+end
+
+-- 남은 재고(stock + 노드들의 미사용 lease)가 없으면 대기열에 넣지 않고 매진으로 끝낸다.
+local stock = math.max(tonumber(redis.call("GET", stockKey)) or 0, 0)
+local leased = math.max(tonumber(redis.call("GET", leasedKey)) or 0, 0)
+if stock + leased <= 0 then
+    redis.call("ZREM", queueKey, member)
+    ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusSoldOut)
+    return { codeSoldOut, 0 }
+end
+
+local rank = redis.call("ZRANK", queueKey, member)
+if not rank then
+    -- score는 도착 순번(INCR)이라 같은 ms에 들어온 요청도 순서가 뒤바뀌지 않는다.
+    local seq = redis.call("INCR", queueSeqKey)
+    redis.call("ZADD", queueKey, seq, member)
+    ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusWaiting)
+    rank = redis.call("ZRANK", queueKey, member)
+end
+
+return { codeWaiting, rank + 1 }
@@ -0,0 +1,66 @@
+-- KEYS[1] = queueKey
+-- KEYS[2] = gateKey
+-- KEYS[3] = queueSeqKey
+-- KEYS[4] = layoutKey
+-- KEYS[5] = generationKey
+-- ARGV[1] = maxCount
+-- ARGV[2] = nowMillis
+-- ARGV[3] = gateTtlMillis
+-- ARGV[4] = gateCapacity
+-- ARGV[5] = statusKeyPrefix
+-- ARGV[6] = statusAdmitted
+-- ARGV[7] = queueEventsChannel
+-- ARGV[8] = statusHashPrefix
+-- ARGV[9] = generation (keys above are built for this generation)
+-- return = promoted count, -1 if the generation changed
+
+local queueKey = KEYS[1]
+local gateKey = KEYS[2]
+local queueSeqKey = KEYS[3]
+local layoutKey = KEYS[4]
+local generationKey = KEYS[5]
+
+local maxCount = tonumber(ARGV[1])
+local now = tonumber(ARGV[2])
+local gateTtl = tonumber(ARGV[3])
+local gateCapacity = tonumber(ARGV[4])
+local statusKeyPrefix = ARGV[5]
+local statusAdmitted = ARGV[6]
+local queueEventsChannel = ARGV[7]
+local statusHashPrefix = ARGV[8]
+local generation = ARGV[9]
+
+if not ticket_generation_matches(generationKey, generation) then
+    return -1
+end
+
+-- 입장 후 claim 없이 만료된 사용자는 gate 자리를 반납한다.
+redis.call("ZREMRANGEBYSCORE", gateKey, "-inf", now)
+
+local count = math.min(maxCount, gateCapacity - redis.call("ZCARD", gateKey))
+if count <= 0 then
+    return 0
+end
+
+local popped = redis.call("ZPOPMIN", queueKey, count)
+local buckets = ticket_hash_buckets(layoutKey)
+local deadline = now + gateTtl
+for i = 1, #popped, 2 do
+    local member = popped[i]
+    redis.call("ZADD", gateKey, deadline, member)
+    ticket_slot_set(buckets, statusKeyPrefix .. member, statusHashPrefix, member, statusAdmitted)
+end
+
+-- 대기열 선두 seq를 알린다. 구독자는 (자기 seq - 선두 seq + 1)로 순번을 계산하고, 선두보다 앞이면 입장한 것이다.
+if #popped > 0 then
+    local head = redis.call("ZRANGE", queueKey, 0, 0, "WITHSCORES")
+    local headSeq
+    if #head > 0 then
+        headSeq = head[2]
+    else
+        headSeq = (tonumber(redis.call("GET", queueSeqKey)) or 0) + 1
+    end
+    redis.call("PUBLISH", queueEventsChannel, headSeq)
+end
+
+return #popped / 2
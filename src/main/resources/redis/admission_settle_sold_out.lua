@@ -0,0 +1,53 @@
+-- 매진된 이벤트의 대기열을 정리한다. 대기 중인 사용자를 maxCount명까지 꺼내 status를 확정하고 queue-events로 알린다.
+-- KEYS[1] = queueKey
+-- KEYS[2] = layoutKey
+-- KEYS[3] = generationKey
+-- ARGV[1] = maxCount
+-- ARGV[2] = generation (keys above are built for this generation)
+-- ARGV[3] = statusSoldOut
+-- ARGV[4] = statusAlready
+-- ARGV[5] = userKeyPrefix (STRING layout)
+-- ARGV[6] = statusKeyPrefix (STRING layout)
+-- ARGV[7] = userHashPrefix
+-- ARGV[8] = statusHashPrefix
+-- ARGV[9] = queueEventsChannel
+-- return = settled count, -1 if the generation changed
+
+local queueKey = KEYS[1]
+local layoutKey = KEYS[2]
+local generationKey = KEYS[3]
+
+local maxCount = tonumber(ARGV[1])
+local generation = ARGV[2]
+local statusSoldOut = ARGV[3]
+local statusAlready = ARGV[4]
+local userKeyPrefix = ARGV[5]
+local statusKeyPrefix = ARGV[6]
+local userHashPrefix = ARGV[7]
+local statusHashPrefix = ARGV[8]
+local queueEventsChannel = ARGV[9]
+
+if not ticket_generation_matches(generationKey, generation) then
+    return -1
+end
+
+local popped = redis.call("ZPOPMIN", queueKey, maxCount)
+if #popped == 0 then
+    return 0
+end
+
+-- status_mark_sold_out.lua와 같은 판정: 이미 claim 한 사용자는 ALREADY, 나머지는 SOLD_OUT
+local buckets = ticket_hash_buckets(layoutKey)
+for i = 1, #popped, 2 do
+    local member = popped[i]
+    local status = statusSoldOut
+    if ticket_slot_exists(buckets, userKeyPrefix .. member, userHashPrefix, member) then
+        status = statusAlready
+    end
+    ticket_slot_set(buckets, statusKeyPrefix .. member, statusHashPrefix, member, status)
+end
+
+-- 구독자는 선두 seq 대신 SOLD_OUT을 받으면 남은 대기를 매진으로 끝낸다.
+redis.call("PUBLISH", queueEventsChannel, statusSoldOut)
+
+return #popped / 2
@@ -0,0 +1,57 @@
+-- KEYS[1] = layoutKey
+-- KEYS[2] = generationKey
+-- KEYS[3] = stockKey
+-- KEYS[4] = orderKey
+-- ARGV[1] = generation (keys below are built for this generation)
+-- ARGV[2] = statusSuccess
+-- ARGV[3] = userClaimedValue
+-- ARGV[4] = userKeyPrefix (STRING layout)
+-- ARGV[5] = statusKeyPrefix (STRING layout)
+-- ARGV[6] = userHashPrefix
+-- ARGV[7] = statusHashPrefix
+-- ARGV[8] = highestOrder (largest ticketing_order the DB path assigned to these users)
+-- ARGV[9..] = members (escaped userId) confirmed by the DB path while the circuit was open
+-- return = { marked, shortfall } (marked = -1: generation changed, nothing written)
+--   marked = users newly marked as claimed (stock is decremented and order is advanced by this count)
+--   shortfall = units stock could not cover (stock is clamped to 0; reconcile is needed)
+
+if not ticket_generation_matches(KEYS[2], ARGV[1]) then
+    return { -1, 0 }
+end
+
+local buckets = ticket_hash_buckets(KEYS[1])
+local stockKey = KEYS[3]
+local statusSuccess = ARGV[2]
+local userClaimedValue = ARGV[3]
+local userKeyPrefix = ARGV[4]
+local statusKeyPrefix = ARGV[5]
+local userHashPrefix = ARGV[6]
+local statusHashPrefix = ARGV[7]
+local highestOrder = tonumber(ARGV[8])
+
+-- DB가 이미 저장했으므로 outbox에는 적재하지 않고 사용자 표시와 재고, order만 맞춘다.
+local marked = 0
+for i = 9, #ARGV do
+    local member = ARGV[i]
+    if not ticket_slot_exists(buckets, userKeyPrefix .. member, userHashPrefix, member) then
+        ticket_slot_mark(buckets, userKeyPrefix .. member, userHashPrefix, member, userClaimedValue)
+        ticket_slot_set(buckets, statusKeyPrefix .. member, statusHashPrefix, member, statusSuccess)
+        marked = marked + 1
+    end
+end
+
+local shortfall = 0
+if marked > 0 then
+    local stock = redis.call("DECRBY", stockKey, marked)
+    if stock < 0 then
+        shortfall = -stock
+        redis.call("SET", stockKey, 0)
+    end
+    -- DB가 부여한 order를 claim_v2가 다시 주지 않도록 표시한 수만큼, 적어도 DB의 가장 큰 order까지 올린다.
+    local order = redis.call("INCRBY", KEYS[4], marked)
+    if order < highestOrder then
+        redis.call("SET", KEYS[4], highestOrder)
+    end
+end
+
+return { marked, shortfall }
@@ -1,6 +1,13 @@
 -- KEYS[1] = userKey
 -- KEYS[2] = stockKey
 -- KEYS[3] = statusKey
+-- KEYS[4] = claimStreamKey
+-- KEYS[5] = orderKey
+-- KEYS[6] = layoutKey
+-- KEYS[7] = generationKey
+-- KEYS[8] = eventMetaKey
+-- KEYS[9] = leasedKey (stock lease mode only: outstanding leased units of this generation)
+-- KEYS[10] = leaseOwnersKey (stock lease mode only: HASH nodeId -> units held in this generation)
 -- ARGV[1] = statusAlready
 -- ARGV[2] = statusSoldOut
 -- ARGV[3] = statusSuccess
@@ -8,10 +15,32 @@
 -- ARGV[5] = codeAlready
 -- ARGV[6] = codeSoldOut
 -- ARGV[7] = codeSuccess
+-- ARGV[8] = eventId
+-- ARGV[9] = userId
+-- ARGV[10] = member (escaped userId, hash layout field)
+-- ARGV[11] = userHashPrefix
+-- ARGV[12] = statusHashPrefix
+-- ARGV[13] = generation (keys above are built for this generation)
+-- ARGV[14] = codeStaleGeneration
+-- ARGV[15] = codeEventNotOpen
+-- ARGV[16] = codeEventClosed
+-- ARGV[17] = claimStreamMaxLen (outbox backlog limit, 0 = no limit)
+-- ARGV[18] = codeOutboxBacklog
+-- ARGV[19] = leasedUnit (optional, stock lease mode: "1" = caller holds a leased unit, "0" = no unit left)
+-- ARGV[20] = nodeId (stock lease mode only: owner of the leased unit)
+-- OUTBOX_BACKLOG = claim stream already holds claimStreamMaxLen unpersisted entries; nothing was written
+-- SOLD_OUT in stock lease mode returns remaining = outstanding leased units (> 0 = other nodes may still sell)
 
 local userKey = KEYS[1]
 local stockKey = KEYS[2]
 local statusKey = KEYS[3]
+local claimStreamKey = KEYS[4]
+local orderKey = KEYS[5]
+local layoutKey = KEYS[6]
+local generationKey = KEYS[7]
+local eventMetaKey = KEYS[8]
+local leasedKey = KEYS[9]
+local leaseOwnersKey = KEYS[10]
 
 local statusAlready = ARGV[1]
 local statusSoldOut = ARGV[2]
@@ -22,20 +51,93 @@ local codeAlready = tonumber(ARGV[5])
 local codeSoldOut = tonumber(ARGV[6])
 local codeSuccess = tonumber(ARGV[7])
 
-if redis.call("EXISTS", userKey) == 1 then
-    redis.call("SET", statusKey, statusAlready)
-    return { codeAlready, -1 }
+local eventId = ARGV[8]
+local userId = ARGV[9]
+local member = ARGV[10]
+local userHashPrefix = ARGV[11]
+local statusHashPrefix = ARGV[12]
+local generation = ARGV[13]
+local codeStaleGeneration = tonumber(ARGV[14])
+local codeEventNotOpen = tonumber(ARGV[15])
+local codeEventClosed = tonumber(ARGV[16])
+local claimStreamMaxLen = tonumber(ARGV[17])
+local codeOutboxBacklog = tonumber(ARGV[18])
+local leasedUnit = ARGV[19]
+local nodeId = ARGV[20]
+
+if not ticket_generation_matches(generationKey, generation) then
+    return { codeStaleGeneration, -1, -1 }
+end
+
+-- 오픈 전/마감 이벤트는 user/status/stock 어느 것도 건드리지 않고 거절한다.
+local gate = ticket_event_gate(eventMetaKey)
+if gate == "NOT_OPEN" then
+    return { codeEventNotOpen, -1, -1 }
+elseif gate == "CLOSED" then
+    return { codeEventClosed, -1, -1 }
+end
+
+local buckets = ticket_hash_buckets(layoutKey)
+
+if ticket_slot_exists(buckets, userKey, userHashPrefix, member) then
+    ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusAlready)
+    return { codeAlready, -1, -1 }
+end
+
+-- heartbeat가 끊겨 이 노드의 lease가 회수됐으면 그 단위는 이미 stock으로 돌아갔으므로 lease 없이 처리한다.
+if leasedUnit == "1" and (tonumber(redis.call("HGET", leaseOwnersKey, nodeId)) or 0) <= 0 then
+    leasedUnit = "0"
 end
 
-local stockValue = redis.call("GET", stockKey)
-local stock = tonumber(stockValue)
-if stock == nil or stock <= 0 then
-    redis.call("SET", statusKey, statusSoldOut)
-    return { codeSoldOut, -1 }
+-- 판매가 가능한 경우에만 outbox backlog를 확인한다 (ALREADY/SOLD_OUT 응답은 backlog와 무관하다).
+local remaining
+if leasedUnit == nil then
+    local stockValue = redis.call("GET", stockKey)
+    local stock = tonumber(stockValue)
+    if stock == nil or stock <= 0 then
+        ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusSoldOut)
+        return { codeSoldOut, -1, -1 }
+    end
+    if ticket_claim_backlogged(claimStreamKey, claimStreamMaxLen) then
+        return { codeOutboxBacklog, -1, -1 }
+    end
+    remaining = redis.call("DECR", stockKey)
+elseif leasedUnit == "1" then
+    if ticket_claim_backlogged(claimStreamKey, claimStreamMaxLen) then
+        return { codeOutboxBacklog, -1, -1 }
+    end
+    -- 재고는 호출 노드가 lease로 미리 차감했다. 쓴 단위만큼 leased를 줄이고, remaining은 stock과 미사용 lease를 합친다.
+    local leased = redis.call("DECR", leasedKey)
+    if leased < 0 then
+        redis.call("SET", leasedKey, 0)
+        leased = 0
+    end
+    if redis.call("HINCRBY", leaseOwnersKey, nodeId, -1) <= 0 then
+        redis.call("HDEL", leaseOwnersKey, nodeId)
+    end
+    remaining = math.max(tonumber(redis.call("GET", stockKey)) or 0, 0) + leased
+else
+    -- 호출 노드의 lease가 비었다. 그 사이 반납된 stock이 있으면 직접 1개를 가져간다.
+    local stock = tonumber(redis.call("GET", stockKey)) or 0
+    local leased = math.max(tonumber(redis.call("GET", leasedKey)) or 0, 0)
+    if stock <= 0 then
+        if leased > 0 then
+            -- 다른 노드가 아직 팔 수 있는 lease를 들고 있으므로 SOLD_OUT status를 확정하지 않는다.
+            return { codeSoldOut, leased, -1 }
+        end
+        ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusSoldOut)
+        return { codeSoldOut, -1, -1 }
+    end
+    if ticket_claim_backlogged(claimStreamKey, claimStreamMaxLen) then
+        return { codeOutboxBacklog, -1, -1 }
+    end
+    remaining = redis.call("DECR", stockKey) + leased
 end
 
-local remaining = redis.call("DECR", stockKey)
-redis.call("SET", userKey, userClaimedValue)
-redis.call("SET", statusKey, statusSuccess)
+local order = redis.call("INCR", orderKey)
+ticket_slot_mark(buckets, userKey, userHashPrefix, member, userClaimedValue)
+ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusSuccess)
+-- outbox entry is appended in the same atomic step (entry id carries the claim time)
+ticket_claim_append(claimStreamKey, eventId, userId, remaining, order)
 
-return { codeSuccess, remaining }
+return { codeSuccess, remaining, order }
@@ -0,0 +1,119 @@
+-- claim_v2.lua를 같은 이벤트의 여러 사용자에 대해 한 번에 수행한다.
+-- 사용자 순서(FIFO)대로 claim_v2.lua와 동일한 판정을 반복하고 결과를 이어 붙여 반환한다.
+-- KEYS[1] = stockKey
+-- KEYS[2] = claimStreamKey
+-- KEYS[3] = orderKey
+-- KEYS[4] = layoutKey
+-- KEYS[5] = generationKey
+-- KEYS[6] = eventMetaKey
+-- KEYS[5 + 2i] = userKey(i)
+-- KEYS[6 + 2i] = statusKey(i)
+-- ARGV[1] = statusAlready
+-- ARGV[2] = statusSoldOut
+-- ARGV[3] = statusSuccess
+-- ARGV[4] = userClaimedValue
+-- ARGV[5] = codeAlready
+-- ARGV[6] = codeSoldOut
+-- ARGV[7] = codeSuccess
+-- ARGV[8] = eventId
+-- ARGV[9] = userHashPrefix
+-- ARGV[10] = statusHashPrefix
+-- ARGV[11] = generation (keys above are built for this generation)
+-- ARGV[12] = codeStaleGeneration
+-- ARGV[13] = codeEventNotOpen
+-- ARGV[14] = codeEventClosed
+-- ARGV[15] = claimStreamMaxLen (outbox backlog limit, 0 = no limit)
+-- ARGV[16] = codeOutboxBacklog
+-- ARGV[15 + 2i] = userId(i)
+-- ARGV[16 + 2i] = member(i) (escaped userId, hash layout field)
+-- return = { code(1), remaining(1), order(1), code(2), remaining(2), order(2), ... }
+--          generation이 바뀌었으면 모든 사용자에 대해 { codeStaleGeneration, -1, -1 }
+--          outbox에 claimStreamMaxLen개 이상 쌓여 있으면 판매 가능한 사용자는 { codeOutboxBacklog, -1, -1 } (아무것도 쓰지 않음)
+--          오픈 전/마감 이벤트면 모든 사용자에 대해 { codeEventNotOpen | codeEventClosed, -1, -1 }
+
+local stockKey = KEYS[1]
+local claimStreamKey = KEYS[2]
+local orderKey = KEYS[3]
+local layoutKey = KEYS[4]
+local generationKey = KEYS[5]
+local eventMetaKey = KEYS[6]
+
+local statusAlready = ARGV[1]
+local statusSoldOut = ARGV[2]
+local statusSuccess = ARGV[3]
+local userClaimedValue = ARGV[4]
+
+local codeAlready = tonumber(ARGV[5])
+local codeSoldOut = tonumber(ARGV[6])
+local codeSuccess = tonumber(ARGV[7])
+
+local eventId = ARGV[8]
+local userHashPrefix = ARGV[9]
+local statusHashPrefix = ARGV[10]
+local generation = ARGV[11]
+local codeStaleGeneration = tonumber(ARGV[12])
+local codeEventNotOpen = tonumber(ARGV[13])
+local codeEventClosed = tonumber(ARGV[14])
+local claimStreamMaxLen = tonumber(ARGV[15])
+local codeOutboxBacklog = tonumber(ARGV[16])
+local userCount = (#ARGV - 16) / 2
+
+local function reject_all(code)
+    local rejected = {}
+    for i = 1, userCount do
+        rejected[#rejected + 1] = code
+        rejected[#rejected + 1] = -1
+        rejected[#rejected + 1] = -1
+    end
+    return rejected
+end
+
+if not ticket_generation_matches(generationKey, generation) then
+    return reject_all(codeStaleGeneration)
+end
+
+local gate = ticket_event_gate(eventMetaKey)
+if gate == "NOT_OPEN" then
+    return reject_all(codeEventNotOpen)
+elseif gate == "CLOSED" then
+    return reject_all(codeEventClosed)
+end
+
+local results = {}
+
+local stock = tonumber(redis.call("GET", stockKey))
+local buckets = ticket_hash_buckets(layoutKey)
+
+for i = 1, userCount do
+    local userKey = KEYS[5 + 2 * i]
+    local statusKey = KEYS[6 + 2 * i]
+    local userId = ARGV[15 + 2 * i]
+    local member = ARGV[16 + 2 * i]
+
+    if ticket_slot_exists(buckets, userKey, userHashPrefix, member) then
+        ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusAlready)
+        results[#results + 1] = codeAlready
+        results[#results + 1] = -1
+        results[#results + 1] = -1
+    elseif stock == nil or stock <= 0 then
+        ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusSoldOut)
+        results[#results + 1] = codeSoldOut
+        results[#results + 1] = -1
+        results[#results + 1] = -1
+    elseif ticket_claim_backlogged(claimStreamKey, claimStreamMaxLen) then
+        results[#results + 1] = codeOutboxBacklog
+        results[#results + 1] = -1
+        results[#results + 1] = -1
+    else
+        stock = redis.call("DECR", stockKey)
+        local order = redis.call("INCR", orderKey)
+        ticket_slot_mark(buckets, userKey, userHashPrefix, member, userClaimedValue)
+        ticket_slot_set(buckets, statusKey, statusHashPrefix, member, statusSuccess)
+        ticket_claim_append(claimStreamKey, eventId, userId, stock, order)
+        results[#results + 1] = codeSuccess
+        results[#results + 1] = stock
+        results[#results + 1] = order
+    end
+end
+
+return results
@@ -0,0 +1,32 @@
+-- KEYS[1] = generationKey
+-- KEYS[2] = stockKey
+-- KEYS[3] = retiredGenerationsKey
+-- ARGV[1] = stock
+-- ARGV[2] = nowMillis
+-- ARGV[3] = layoutMarker ("" = STRING layout)
+-- ARGV[4] = generationNamespacePrefix (ticket:{eventId}:g)
+-- return = new generation
+
+local generationKey = KEYS[1]
+local stockKey = KEYS[2]
+local retiredGenerationsKey = KEYS[3]
+
+local stock = ARGV[1]
+local now = tonumber(ARGV[2])
+local layoutMarker = ARGV[3]
+local generationNamespacePrefix = ARGV[4]
+
+-- 새 generation namespace는 비어 있으므로 이전 회차 key를 지울 필요가 없다.
+-- layout/stock을 먼저 쓰고 generation을 마지막에 올려, 새 generation을 본 요청은 항상 완성된 상태를 본다.
+local previous = tonumber(redis.call("GET", generationKey)) or 0
+local generation = previous + 1
+
+if layoutMarker ~= "" then
+    redis.call("SET", generationNamespacePrefix .. generation .. ":layout", layoutMarker)
+end
+redis.call("SET", stockKey, stock)
+redis.call("SET", generationKey, generation)
+-- 이전 generation key는 TicketGenerationSweepService가 유예 시간 후 정리한다.
+redis.call("ZADD", retiredGenerationsKey, now, previous)
+
+return generation
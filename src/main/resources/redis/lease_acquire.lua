@@ -0,0 +1,18 @@
+-- KEYS[1] = leaseKey
+-- ARGV[1] = ownerId
+-- ARGV[2] = ttlMillis
+-- return = 1 if the caller holds the lease after this call, else 0
+
+local leaseKey = KEYS[1]
+local ownerId = ARGV[1]
+local ttl = tonumber(ARGV[2])
+
+if redis.call("GET", leaseKey) == ownerId then
+    redis.call("PEXPIRE", leaseKey, ttl)
+    return 1
+end
+
+if redis.call("SET", leaseKey, ownerId, "NX", "PX", ttl) then
+    return 1
+end
+return 0
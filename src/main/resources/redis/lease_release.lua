@@ -0,0 +1,8 @@
+-- KEYS[1] = leaseKey
+-- ARGV[1] = ownerId
+-- return = 1 if the caller's lease was deleted, else 0
+
+if redis.call("GET", KEYS[1]) == ARGV[1] then
+    return redis.call("DEL", KEYS[1])
+end
+return 0
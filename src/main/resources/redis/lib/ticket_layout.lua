@@ -0,0 +1,146 @@
+-- user/status key layout, generation 검사 공통 함수. RedisLuaScriptConfig가 각 script 앞에 붙여 로드한다.
+-- 이벤트의 layout marker(ticket:{eventId}:layout)가 "HASH:<buckets>"이면 user/status를 이벤트별 hash bucket의 field로,
+-- marker가 없으면 기존처럼 사용자별 string key로 다룬다. marker는 init 때만 바뀌므로 진행 중인 이벤트의 layout은 고정된다.
+-- marker가 "BITMAP"이면 숫자 userId는 claim 여부를 bitmap(hashPrefix .. "bits")의 bit 하나로, status를 3bit 코드로 저장하고
+-- 숫자가 아니거나 범위를 벗어난 userId는 string key를 그대로 쓴다. (TicketKeyLayout과 같은 규칙)
+
+local TICKET_BITMAP_LAYOUT = -1
+local TICKET_BITMAP_MAX_OFFSET = 16777215
+-- TicketRequestStatus ordinal과 같은 코드 (0 = NONE = 값 없음)
+local TICKET_STATUS_CODES = { WAITING = 1, ADMITTED = 2, SUCCESS = 3, SOLD_OUT = 4, ALREADY = 5 }
+local TICKET_STATUS_NAMES = { "WAITING", "ADMITTED", "SUCCESS", "SOLD_OUT", "ALREADY" }
+
+local function ticket_hash_buckets(layoutKey)
+    local marker = redis.call("GET", layoutKey)
+    if not marker then
+        return 0
+    end
+    if marker == "BITMAP" then
+        return TICKET_BITMAP_LAYOUT
+    end
+    return tonumber(string.match(marker, "^HASH:(%d+)$")) or 0
+end
+
+-- TicketKeyLayout.bucketOf와 같은 계산 (31 곱셈 해시, 2^31 - 1 modulo)
+local function ticket_bucket_key(hashPrefix, member, buckets)
+    local h = 0
+    for i = 1, #member do
+        h = (h * 31 + string.byte(member, i)) % 2147483647
+    end
+    return hashPrefix .. (h % buckets)
+end
+
+-- 앞자리 0 없는 10진수이고 최대 offset 이하인 member만 bit offset으로 쓴다 ("012"와 "12"가 같은 bit가 되지 않게).
+local function ticket_bitmap_offset(buckets, member)
+    if buckets ~= TICKET_BITMAP_LAYOUT then
+        return nil
+    end
+    if member ~= "0" and not string.match(member, "^[1-9]%d*$") then
+        return nil
+    end
+    if #member > 8 then
+        return nil
+    end
+    local offset = tonumber(member)
+    if offset > TICKET_BITMAP_MAX_OFFSET then
+        return nil
+    end
+    return offset
+end
+
+-- user slot(claim 여부) 확인
+local function ticket_slot_exists(buckets, stringKey, hashPrefix, member)
+    if buckets > 0 then
+        return redis.call("HEXISTS", ticket_bucket_key(hashPrefix, member, buckets), member) == 1
+    end
+    local offset = ticket_bitmap_offset(buckets, member)
+    if offset then
+        return redis.call("GETBIT", hashPrefix .. "bits", offset) == 1
+    end
+    return redis.call("EXISTS", stringKey) == 1
+end
+
+-- user slot에 claim 표시
+local function ticket_slot_mark(buckets, stringKey, hashPrefix, member, value)
+    local offset = ticket_bitmap_offset(buckets, member)
+    if offset then
+        redis.call("SETBIT", hashPrefix .. "bits", offset, 1)
+    elseif buckets > 0 then
+        redis.call("HSET", ticket_bucket_key(hashPrefix, member, buckets), member, value)
+    else
+        redis.call("SET", stringKey, value)
+    end
+end
+
+-- status slot 읽기 (없으면 false, GET과 같다)
+local function ticket_slot_get(buckets, stringKey, hashPrefix, member)
+    if buckets > 0 then
+        return redis.call("HGET", ticket_bucket_key(hashPrefix, member, buckets), member)
+    end
+    local offset = ticket_bitmap_offset(buckets, member)
+    if offset then
+        local code = redis.call("BITFIELD", hashPrefix .. "bits", "GET", "u3", "#" .. offset)[1]
+        return TICKET_STATUS_NAMES[code] or false
+    end
+    return redis.call("GET", stringKey)
+end
+
+-- status slot 쓰기
+local function ticket_slot_set(buckets, stringKey, hashPrefix, member, value)
+    local offset = ticket_bitmap_offset(buckets, member)
+    if offset then
+        local code = TICKET_STATUS_CODES[value]
+        if not code then
+            error("unknown ticket status for bitmap layout: " .. tostring(value))
+        end
+        redis.call("BITFIELD", hashPrefix .. "bits", "SET", "u3", "#" .. offset, code)
+    elseif buckets > 0 then
+        redis.call("HSET", ticket_bucket_key(hashPrefix, member, buckets), member, value)
+    else
+        redis.call("SET", stringKey, value)
+    end
+end
+
+-- 호출자가 key를 조립할 때 쓴 generation이 현재 generation인지 확인한다.
+-- 다르면(그 사이 init) 아무것도 쓰지 않고 반환해, 호출자가 generation을 다시 읽어 재시도하게 한다.
+local function ticket_generation_matches(generationKey, expectedGeneration)
+    return (redis.call("GET", generationKey) or "0") == expectedGeneration
+end
+
+-- claim outbox(ticket:{eventId}:claims)에 SUCCESS entry를 추가한다.
+-- write-behind가 저장한 entry는 XACK + XDEL로 지워지므로 stream에 남은 entry는 모두 아직 DB에 없는 claim이다.
+-- 그래서 MAXLEN으로 자르지 않는다. 길이 상한은 ticket_claim_backlogged로 판매를 멈추는 데에만 쓴다.
+local function ticket_claim_append(streamKey, eventId, userId, remaining, order)
+    redis.call("XADD", streamKey, "*", "eventId", eventId, "userId", userId, "remaining", remaining, "order", order)
+end
+
+-- outbox에 쌓인 미저장 entry가 maxLen 이상이면 true (maxLen <= 0이면 상한 없음).
+-- write-behind가 따라오지 못하는 동안 새 SUCCESS를 받지 않아(backpressure) 저장되지 않은 claim이 더 늘지 않게 한다.
+local function ticket_claim_backlogged(streamKey, maxLen)
+    return maxLen ~= nil and maxLen > 0 and redis.call("XLEN", streamKey) >= maxLen
+end
+
+-- 이벤트 메타(ticket:{eventId}:meta, HASH status/openAt)로 claim 가능 여부를 판정한다. (TicketEventMetaSync가 DB와 맞춘다)
+-- status가 OPEN이 아니거나 Redis 서버 시각이 openAt(epoch millis) 전이면 "NOT_OPEN", CLOSED이면 "CLOSED"를 반환한다.
+-- 메타가 없는 이벤트(DB에 없는 eventId, 동기화 전)는 제한하지 않는다 (nil).
+local function ticket_event_gate(metaKey)
+    local meta = redis.call("HMGET", metaKey, "status", "openAt")
+    local status = meta[1]
+    if not status then
+        return nil
+    end
+    if status == "CLOSED" then
+        return "CLOSED"
+    end
+    if status ~= "OPEN" then
+        return "NOT_OPEN"
+    end
+    local openAt = tonumber(meta[2])
+    if openAt then
+        local now = redis.call("TIME")
+        if tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000) < openAt then
+            return "NOT_OPEN"
+        end
+    end
+    return nil
+end
@@ -0,0 +1,35 @@
+-- KEYS[1] = layoutKey
+-- KEYS[2] = generationKey
+-- ARGV[1] = generation (keys below are built for this generation)
+-- ARGV[2] = statusSoldOut
+-- ARGV[3] = statusAlready
+-- ARGV[4] = userKeyPrefix (STRING layout)
+-- ARGV[5] = statusKeyPrefix (STRING layout)
+-- ARGV[6] = userHashPrefix
+-- ARGV[7] = statusHashPrefix
+-- ARGV[8..] = members (escaped userId)
+-- return = number of statuses written (0 = generation changed, nothing written)
+
+if not ticket_generation_matches(KEYS[2], ARGV[1]) then
+    return 0
+end
+
+local buckets = ticket_hash_buckets(KEYS[1])
+local statusSoldOut = ARGV[2]
+local statusAlready = ARGV[3]
+local userKeyPrefix = ARGV[4]
+local statusKeyPrefix = ARGV[5]
+local userHashPrefix = ARGV[6]
+local statusHashPrefix = ARGV[7]
+
+-- claim_v2.lua와 같은 판정: 이미 claim 한 사용자는 ALREADY, 나머지는 SOLD_OUT
+for i = 8, #ARGV do
+    local member = ARGV[i]
+    local status = statusSoldOut
+    if ticket_slot_exists(buckets, userKeyPrefix .. member, userHashPrefix, member) then
+        status = statusAlready
+    end
+    ticket_slot_set(buckets, statusKeyPrefix .. member, statusHashPrefix, member, status)
+end
+
+return #ARGV - 7
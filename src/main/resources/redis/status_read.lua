@@ -0,0 +1,8 @@
+-- KEYS[1] = layoutKey
+-- KEYS[2] = statusKey
+-- ARGV[1] = statusHashPrefix
+-- ARGV[2] = member (escaped userId)
+-- return = status value or nil
+
+local buckets = ticket_hash_buckets(KEYS[1])
+return ticket_slot_get(buckets, KEYS[2], ARGV[1], ARGV[2])
@@ -0,0 +1,22 @@
+-- KEYS[1] = stockKey
+-- KEYS[2] = leasedKey (outstanding stock lease units of the current generation)
+-- ARGV[1] = expected current stock ("" = key absent)
+-- ARGV[2] = new stock
+-- ARGV[3] = expected outstanding leased units ("" = key absent)
+-- return = 1 if replaced, 0 if stock or leased units changed since they were read
+
+local stockKey = KEYS[1]
+local leasedKey = KEYS[2]
+local expected = ARGV[1]
+local newStock = ARGV[2]
+local expectedLeased = ARGV[3]
+
+-- 대사(reconcile) 중 claim이나 lease grab/반납이 들어와 stock/leased가 바뀌었으면 덮어쓰지 않는다.
+if (redis.call("GET", stockKey) or "") ~= expected then
+    return 0
+end
+if (redis.call("GET", leasedKey) or "") ~= expectedLeased then
+    return 0
+end
+redis.call("SET", stockKey, newStock)
+return 1
@@ -0,0 +1,29 @@
+-- KEYS[1] = stockKey
+-- KEYS[2] = generationKey
+-- KEYS[3] = leasedKey (outstanding leased units of this generation)
+-- KEYS[4] = leaseOwnersKey (HASH nodeId -> units held in this generation)
+-- KEYS[5] = heartbeat key of the calling node (leaseHeartbeatPrefix + nodeId)
+-- ARGV[1] = block size
+-- ARGV[2] = generation (caller's lease is tagged with it)
+-- ARGV[3] = nodeId
+-- ARGV[4] = heartbeat ttl millis
+-- return = granted units (0 = sold out), -1 = generation changed
+
+if (redis.call("GET", KEYS[2]) or "0") ~= ARGV[2] then
+    return -1
+end
+
+-- lease를 들고 있는 동안 heartbeat가 살아 있어야 다른 노드가 이 노드의 단위를 회수하지 않는다.
+redis.call("SET", KEYS[5], "1", "PX", ARGV[4])
+
+local stock = tonumber(redis.call("GET", KEYS[1])) or 0
+if stock <= 0 then
+    return 0
+end
+
+local granted = math.min(stock, tonumber(ARGV[1]))
+redis.call("DECRBY", KEYS[1], granted)
+-- stock + leased + 판매 수 = 정원이 되도록 노드가 들고 있는 단위를 같이 센다 (합계와 노드별 몫).
+redis.call("INCRBY", KEYS[3], granted)
+redis.call("HINCRBY", KEYS[4], ARGV[3], granted)
+return granted
@@ -0,0 +1,33 @@
+-- KEYS[1] = stockKey
+-- KEYS[2] = generationKey
+-- KEYS[3] = leasedKey (outstanding leased units of this generation)
+-- KEYS[4] = leaseOwnersKey (HASH nodeId -> units held in this generation)
+-- ARGV[1] = generation
+-- ARGV[2] = heartbeat key prefix (prefix + nodeId)
+-- return = units moved back to stock (0 if every owner is alive or the generation changed)
+
+if (redis.call("GET", KEYS[2]) or "0") ~= ARGV[1] then
+    return 0
+end
+
+-- heartbeat가 만료된 노드(비정상 종료)는 lease를 반납하지 못하므로 그 몫을 stock으로 되돌린다.
+local reclaimed = 0
+local owners = redis.call("HGETALL", KEYS[4])
+for i = 1, #owners, 2 do
+    local nodeId = owners[i]
+    if redis.call("EXISTS", ARGV[2] .. nodeId) == 0 then
+        local units = tonumber(owners[i + 1]) or 0
+        redis.call("HDEL", KEYS[4], nodeId)
+        if units > 0 then
+            reclaimed = reclaimed + units
+        end
+    end
+end
+
+if reclaimed > 0 then
+    redis.call("INCRBY", KEYS[1], reclaimed)
+    if redis.call("DECRBY", KEYS[3], reclaimed) < 0 then
+        redis.call("SET", KEYS[3], 0)
+    end
+end
+return reclaimed
@@ -0,0 +1,26 @@
+-- KEYS[1] = stockKey
+-- KEYS[2] = generationKey
+-- KEYS[3] = leasedKey (outstanding leased units of this generation)
+-- KEYS[4] = leaseOwnersKey (HASH nodeId -> units held in this generation)
+-- ARGV[1] = unused units
+-- ARGV[2] = generation the lease was taken in
+-- ARGV[3] = nodeId
+-- return = 1 if returned, 0 if init replaced the stock since or the units were already reclaimed (the lease is simply dropped)
+
+if (redis.call("GET", KEYS[2]) or "0") ~= ARGV[2] then
+    return 0
+end
+
+-- heartbeat가 끊긴 동안 회수된 단위는 이미 stock에 있으므로 이 노드 몫으로 남은 만큼만 돌려준다.
+local units = math.min(tonumber(ARGV[1]), tonumber(redis.call("HGET", KEYS[4], ARGV[3])) or 0)
+if units <= 0 then
+    return 0
+end
+redis.call("INCRBY", KEYS[1], units)
+if redis.call("DECRBY", KEYS[3], units) < 0 then
+    redis.call("SET", KEYS[3], 0)
+end
+if redis.call("HINCRBY", KEYS[4], ARGV[3], -units) <= 0 then
+    redis.call("HDEL", KEYS[4], ARGV[3])
+end
+return 1
@@ -4,11 +4,13 @@ import com.danzzan.ticketing.domain.ticket.dto.TicketRequestRequestDTO;
 import com.danzzan.ticketing.domain.ticket.dto.TicketRequestResponseDTO;
 import com.danzzan.ticketing.domain.ticket.dto.TicketStatusRequestDTO;
 import com.danzzan.ticketing.domain.ticket.dto.TicketStatusResponseDTO;
+import com.danzzan.ticketing.domain.ticket.exception.EventNotOpenException;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 import com.danzzan.ticketing.domain.ticket.service.AdmissionService;
 import com.danzzan.ticketing.domain.ticket.service.ClaimService;
 import com.danzzan.ticketing.domain.ticket.service.TicketService;
 import com.danzzan.ticketing.domain.ticket.service.TicketStatusService;
+import com.danzzan.ticketing.domain.ticket.service.model.AdmissionResult;
 import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -50,7 +53,7 @@ class TicketControllerFlowTest {
                 .build();
 
         when(admissionService.admit("festival-day1", "32221902"))
-                .thenReturn(TicketRequestStatus.WAITING);
+                .thenReturn(AdmissionResult.waiting(1532L));
 
         ResponseEntity<TicketRequestResponseDTO> response = ticketController.requestTicket(request);
 
@@ -58,6 +61,7 @@ class TicketControllerFlowTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getStatus()).isEqualTo(TicketRequestStatus.WAITING);
         assertThat(response.getBody().getRemaining()).isNull();
+        assertThat(response.getBody().getRank()).isEqualTo(1532L);
         assertThat(response.getHeaders().getFirst("Deprecation")).isEqualTo("true");
         assertThat(response.getHeaders().getFirst("Sunset")).isNotBlank();
         verify(claimService, never()).claim("festival-day1", "32221902");
@@ -71,9 +75,9 @@ class TicketControllerFlowTest {
                 .build();
 
         when(admissionService.admit("festival-day1", "32221902"))
-                .thenReturn(TicketRequestStatus.ADMITTED);
+                .thenReturn(AdmissionResult.admitted());
         when(claimService.claim("festival-day1", "32221902"))
-                .thenReturn(ClaimResult.success(10L));
+                .thenReturn(ClaimResult.success(10L, 990L));
 
         ResponseEntity<TicketRequestResponseDTO> response = ticketController.requestTicket(request);
 
@@ -81,7 +85,21 @@ class TicketControllerFlowTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getStatus()).isEqualTo(TicketRequestStatus.SUCCESS);
         assertThat(response.getBody().getRemaining()).isEqualTo(10L);
+        assertThat(response.getBody().getQueueNumber()).isEqualTo(990L);
         verify(claimService).claim("festival-day1", "32221902");
+        verify(admissionService).release("festival-day1", "32221902");
+    }
+
+    @Test
+    void releasesAdmissionWhenClaimRejectsEventNotOpen() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(77L);
+        when(admissionService.admit("5", "77")).thenReturn(AdmissionResult.admitted());
+        when(claimService.claim("5", "77")).thenThrow(new EventNotOpenException());
+
+        assertThatThrownBy(() -> ticketController.enterQueue(5L, authentication))
+                .isInstanceOf(EventNotOpenException.class);
+        verify(admissionService).release("5", "77");
     }
 
     @Test
@@ -106,8 +124,8 @@ class TicketControllerFlowTest {
     void queueEnterUsesAuthenticatedUserId() {
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(77L);
-        when(admissionService.admit("5", "77")).thenReturn(TicketRequestStatus.ADMITTED);
-        when(claimService.claim("5", "77")).thenReturn(ClaimResult.success(99L));
+        when(admissionService.admit("5", "77")).thenReturn(AdmissionResult.admitted());
+        when(claimService.claim("5", "77")).thenReturn(ClaimResult.success(99L, 901L));
 
         ResponseEntity<TicketRequestResponseDTO> response = ticketController.enterQueue(5L, authentication);
 
@@ -125,12 +143,14 @@ class TicketControllerFlowTest {
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(77L);
         when(ticketStatusService.getStatus("5", "77")).thenReturn(TicketRequestStatus.WAITING);
+        when(admissionService.getRank("5", "77")).thenReturn(12L);
 
         ResponseEntity<TicketStatusResponseDTO> response = ticketController.getQueueStatus(5L, authentication);
 
         assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getStatus()).isEqualTo(TicketRequestStatus.WAITING);
+        assertThat(response.getBody().getRank()).isEqualTo(12L);
         assertThat(response.getHeaders().getFirst("Deprecation")).isNull();
         verify(ticketStatusService).getStatus("5", "77");
     }
@@ -3,21 +3,30 @@ package com.danzzan.ticketing.domain.ticket.controller;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 import com.danzzan.ticketing.domain.ticket.service.AdmissionService;
 import com.danzzan.ticketing.domain.ticket.service.ClaimService;
+import com.danzzan.ticketing.domain.ticket.service.QueueStatusStreamService;
+import com.danzzan.ticketing.domain.ticket.service.TicketReserveWriterService;
 import com.danzzan.ticketing.domain.ticket.service.TicketService;
 import com.danzzan.ticketing.domain.ticket.service.TicketStatusService;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventListSnapshot;
 import com.danzzan.ticketing.global.exception.GlobalExceptionHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,6 +45,15 @@ class TicketControllerStatusBindingTest {
     @Mock
     private TicketStatusService ticketStatusService;
 
+    @Mock
+    private QueueStatusStreamService queueStatusStreamService;
+
+    @Mock
+    private TicketEventListSnapshot ticketEventListSnapshot;
+
+    @Mock
+    private TicketReserveWriterService ticketReserveWriterService;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -44,7 +62,10 @@ class TicketControllerStatusBindingTest {
                 ticketService,
                 admissionService,
                 claimService,
-                ticketStatusService
+                ticketStatusService,
+                queueStatusStreamService,
+                ticketEventListSnapshot,
+                ticketReserveWriterService
         );
 
         LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
@@ -69,4 +90,30 @@ class TicketControllerStatusBindingTest {
 
         verify(ticketStatusService).getStatus("festival-day1", "32221902");
     }
+
+    @Test
+    void eventListServesSnapshotBytesWithEtag() throws Exception {
+        when(ticketEventListSnapshot.current()).thenReturn(snapshot("{\"items\":[]}", "\"v1\""));
+
+        mockMvc.perform(get("/tickets/events"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.items").isArray());
+    }
+
+    @Test
+    void eventListReturnsNotModifiedWhenEtagMatches() throws Exception {
+        when(ticketEventListSnapshot.current()).thenReturn(snapshot("{\"items\":[]}", "\"v1\""));
+
+        mockMvc.perform(get("/tickets/events").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    private static TicketEventListSnapshot.Snapshot snapshot(String json, String etag) {
+        return new TicketEventListSnapshot.Snapshot(json.getBytes(StandardCharsets.UTF_8), etag, 1L);
+    }
 }
@@ -0,0 +1,76 @@
+package com.danzzan.ticketing.domain.ticket.redis;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TicketKeyLayoutTest {
+
+    @Test
+    void parsesHashMarkerAndFallsBackToStringLayout() {
+        assertThat(TicketKeyLayout.bucketsOf(TicketKeyLayout.hashMarker(1024))).isEqualTo(1024);
+        assertThat(TicketKeyLayout.bucketsOf(null)).isZero();
+        assertThat(TicketKeyLayout.bucketsOf("STRING")).isZero();
+        assertThat(TicketKeyLayout.bucketsOf("HASH:abc")).isZero();
+    }
+
+    @Test
+    void rejectsNonPositiveBucketCount() {
+        assertThatThrownBy(() -> TicketKeyLayout.hashMarker(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bucketIsStableAndWithinRange() {
+        // ticket_layout.lua와 같은 값이어야 하므로 계산식이 바뀌면 이 기대값도 함께 깨진다.
+        assertThat(TicketKeyLayout.bucketOf("32221902", 1024)).isEqualTo(TicketKeyLayout.bucketOf("32221902", 1024));
+        assertThat(TicketKeyLayout.bucketOf("a", 1024)).isEqualTo(97);
+        assertThat(TicketKeyLayout.bucketOf("ab", 1024)).isEqualTo((97 * 31 + 98) % 1024);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(TicketKeyLayout.bucketOf("u" + i, 7)).isBetween(0, 6);
+        }
+    }
+
+    @Test
+    void resolvesLayoutFromMarker() {
+        assertThat(TicketKeyLayout.of(null)).isEqualTo(TicketKeyLayout.STRING);
+        assertThat(TicketKeyLayout.of(TicketKeyLayout.hashMarker(16))).isEqualTo(TicketKeyLayout.HASH);
+        assertThat(TicketKeyLayout.of(TicketKeyLayout.bitmapMarker())).isEqualTo(TicketKeyLayout.BITMAP);
+        assertThat(TicketKeyLayout.bucketsOf(TicketKeyLayout.bitmapMarker())).isZero();
+    }
+
+    @Test
+    void bitmapOffsetOnlyForCanonicalNumericIdsWithinLimit() {
+        assertThat(TicketKeyLayout.bitmapOffsetOf("0")).isZero();
+        assertThat(TicketKeyLayout.bitmapOffsetOf("100000")).isEqualTo(100_000L);
+        assertThat(TicketKeyLayout.bitmapOffsetOf(String.valueOf(TicketKeyLayout.BITMAP_MAX_OFFSET)))
+                .isEqualTo(TicketKeyLayout.BITMAP_MAX_OFFSET);
+        assertThat(TicketKeyLayout.bitmapOffsetOf(String.valueOf(TicketKeyLayout.BITMAP_MAX_OFFSET + 1))).isEqualTo(-1L);
+        assertThat(TicketKeyLayout.bitmapOffsetOf("012")).isEqualTo(-1L);
+        assertThat(TicketKeyLayout.bitmapOffsetOf("u12")).isEqualTo(-1L);
+        assertThat(TicketKeyLayout.bitmapOffsetOf("")).isEqualTo(-1L);
+        assertThat(TicketKeyLayout.bitmapOffsetOf("-1")).isEqualTo(-1L);
+    }
+
+    @Test
+    void statusCodesMatchLuaTable() throws IOException {
+        // ticket_layout.lua의 TICKET_STATUS_NAMES는 TicketRequestStatus ordinal 순서(NONE 제외)와 같아야 한다.
+        String lib = new ClassPathResource("redis/lib/ticket_layout.lua").getContentAsString(StandardCharsets.UTF_8);
+        StringBuilder names = new StringBuilder();
+        for (TicketRequestStatus status : TicketRequestStatus.values()) {
+            if (status == TicketRequestStatus.NONE) {
+                assertThat(TicketKeyLayout.statusCode(status)).isZero();
+                continue;
+            }
+            names.append(names.isEmpty() ? "" : ", ").append('"').append(status.name()).append('"');
+        }
+        assertThat(lib).contains("local TICKET_STATUS_NAMES = { " + names + " }");
+        assertThat(TicketRequestStatus.values().length).isLessThanOrEqualTo(1 << TicketKeyLayout.STATUS_CODE_BITS);
+        assertThat(lib).contains("local TICKET_BITMAP_MAX_OFFSET = " + TicketKeyLayout.BITMAP_MAX_OFFSET);
+    }
+}
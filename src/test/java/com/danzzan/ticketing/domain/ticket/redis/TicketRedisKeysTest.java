@@ -0,0 +1,49 @@
+package com.danzzan.ticketing.domain.ticket.redis;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketRedisKeysTest {
+
+    @Test
+    void allKeysOfAnEventShareOneClusterSlot() {
+        String eventId = "2";
+        long generation = 3L;
+        String member = TicketRedisKeys.queueMember("32221902");
+        List<String> keys = List.of(
+                TicketRedisKeys.stockKey(eventId),
+                TicketRedisKeys.generationKey(eventId),
+                TicketRedisKeys.retiredGenerationsKey(eventId),
+                TicketRedisKeys.claimStreamKey(eventId),
+                TicketRedisKeys.orderKey(eventId, generation),
+                TicketRedisKeys.layoutKey(eventId, generation),
+                TicketRedisKeys.userKey(eventId, generation, "32221902"),
+                TicketRedisKeys.statusKey(eventId, generation, "32221902"),
+                TicketRedisKeys.queueKey(eventId, generation),
+                TicketRedisKeys.gateKey(eventId, generation),
+                TicketRedisKeys.queueSeqKey(eventId, generation),
+                // Lua가 prefix로 조립하는 key
+                TicketRedisKeys.userHashPrefix(eventId, generation) + 17,
+                TicketRedisKeys.statusHashPrefix(eventId, generation) + 17,
+                TicketRedisKeys.statusKeyPrefix(eventId, generation) + member,
+                TicketRedisKeys.generationNamespacePrefix(eventId) + (generation + 1) + ":layout",
+                TicketRedisKeys.userKey(eventId, 0L, "32221902")
+        );
+
+        int slot = SlotHash.getSlot(TicketRedisKeys.stockKey(eventId));
+        assertThat(keys).allSatisfy(key -> assertThat(SlotHash.getSlot(key)).isEqualTo(slot));
+    }
+
+    @Test
+    void differentEventsUseTheirOwnHashTag() {
+        assertThat(TicketRedisKeys.stockKey("2")).isEqualTo("ticket:{2}:stock");
+        assertThat(TicketRedisKeys.userKey("2", 3L, "32221902")).isEqualTo("ticket:{2}:g3:user:32221902");
+        assertThat(TicketRedisKeys.eventKeyPattern("2")).isEqualTo("ticket:{2}:*");
+        assertThat(SlotHash.getSlot(TicketRedisKeys.stockKey("1")))
+                .isNotEqualTo(SlotHash.getSlot(TicketRedisKeys.stockKey("2")));
+    }
+}
@@ -0,0 +1,154 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.ClusterClaimLatency;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisLeaseManager;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionGateServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisScript<Long> admissionPromoteScript;
+
+    @Mock
+    private RedisScript<Long> admissionSettleSoldOutScript;
+
+    @Mock
+    private RedisLeaseManager redisLeaseManager;
+
+    @Mock
+    private ClusterClaimLatency clusterClaimLatency;
+
+    @Mock
+    private ClaimStockLeases claimStockLeases;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    private AdmissionGateServiceImpl admissionGateService;
+
+    @BeforeEach
+    void setUp() {
+        // 같은 타입의 script mock이 둘이라 직접 생성한다.
+        admissionGateService = new AdmissionGateServiceImpl(stringRedisTemplate, admissionPromoteScript,
+                admissionSettleSoldOutScript, redisLeaseManager, clusterClaimLatency, ticketGenerationCache,
+                claimStockLeases);
+        ReflectionTestUtils.setField(admissionGateService, "enabled", true);
+        ReflectionTestUtils.setField(admissionGateService, "admitPerSecond", 200);
+        ReflectionTestUtils.setField(admissionGateService, "tickMs", 100L);
+        ReflectionTestUtils.setField(admissionGateService, "maxPerTick", 200);
+        ReflectionTestUtils.setField(admissionGateService, "targetClaimLatencyMs", 20L);
+        ReflectionTestUtils.setField(admissionGateService, "settleBatchSize", 1000);
+    }
+
+    @Test
+    void doesNothingWithoutLease() {
+        when(redisLeaseManager.tryAcquire(eq(TicketRedisKeys.admissionLeaseKey()), anyLong())).thenReturn(false);
+
+        admissionGateService.promoteRegisteredEvents();
+
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void settlesQueueAsSoldOutInsteadOfPromotingWhenStockIsExhausted() {
+        when(redisLeaseManager.tryAcquire(eq(TicketRedisKeys.admissionLeaseKey()), anyLong())).thenReturn(true);
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(TicketRedisKeys.eventRegistryKey())).thenReturn(Set.of("5"));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TicketRedisKeys.stockKey("5"))).thenReturn("0");
+        when(stringRedisTemplate.execute(eq(admissionSettleSoldOutScript), anyList(), any(Object[].class)))
+                .thenReturn(3L);
+
+        admissionGateService.promoteRegisteredEvents();
+
+        verify(stringRedisTemplate, never()).execute(eq(admissionPromoteScript), anyList(), any(Object[].class));
+        verify(stringRedisTemplate).execute(
+                eq(admissionSettleSoldOutScript),
+                eq(List.of(
+                        TicketRedisKeys.queueKey("5", 0L),
+                        TicketRedisKeys.layoutKey("5", 0L),
+                        TicketRedisKeys.generationKey("5")
+                )),
+                any(Object[].class)
+        );
+    }
+
+    @Test
+    void promotesAdaptiveBatchCappedByRemainingStock() {
+        when(redisLeaseManager.tryAcquire(eq(TicketRedisKeys.admissionLeaseKey()), anyLong())).thenReturn(true);
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(TicketRedisKeys.eventRegistryKey())).thenReturn(Set.of("5"));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TicketRedisKeys.stockKey("5"))).thenReturn("7");
+        when(stringRedisTemplate.execute(eq(admissionPromoteScript), anyList(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(7L);
+
+        admissionGateService.promoteRegisteredEvents();
+
+        verify(stringRedisTemplate).execute(
+                eq(admissionPromoteScript),
+                eq(List.of(
+                        TicketRedisKeys.queueKey("5", 0L),
+                        TicketRedisKeys.gateKey("5", 0L),
+                        TicketRedisKeys.queueSeqKey("5", 0L),
+                        TicketRedisKeys.layoutKey("5", 0L),
+                        TicketRedisKeys.generationKey("5")
+                )),
+                eq("7"),
+                any(), any(), any(), any(), any(), any(), any(), any()
+        );
+    }
+
+    @Test
+    void keepsPromotingWhileOtherNodesHoldStockLeases() {
+        when(redisLeaseManager.tryAcquire(eq(TicketRedisKeys.admissionLeaseKey()), anyLong())).thenReturn(true);
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(TicketRedisKeys.eventRegistryKey())).thenReturn(Set.of("5"));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TicketRedisKeys.stockKey("5"))).thenReturn("0");
+        when(claimStockLeases.isEnabled()).thenReturn(true);
+        when(claimStockLeases.outstandingUnits("5", 0L)).thenReturn(3L);
+        when(stringRedisTemplate.execute(eq(admissionPromoteScript), anyList(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(3L);
+
+        admissionGateService.promoteRegisteredEvents();
+
+        // stock key는 0이지만 lease로 나가 있는 3개만큼 승격한다.
+        verify(stringRedisTemplate).execute(eq(admissionPromoteScript), anyList(),
+                eq("3"), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,191 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.AdmissionResult;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.ClusterClaimLatency;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisLeaseManager;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class AdmissionRedisIntegrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private AdmissionServiceImpl admissionService;
+    private AdmissionGateServiceImpl admissionGateService;
+    private RedisLeaseManager leaseManager;
+    private RedisLeaseManager otherLeaseManager;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        TicketGenerationCache generationCache =
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+
+        DefaultRedisScript<List> enterScript = RedisLuaScriptConfig.layoutAwareScript("redis/admission_enter.lua", List.class);
+        admissionService = new AdmissionServiceImpl(redisTemplate, enterScript, generationCache, new RedisCircuitBreaker());
+        ReflectionTestUtils.setField(admissionService, "enabled", true);
+
+        DefaultRedisScript<Long> promoteScript = RedisLuaScriptConfig.layoutAwareScript("redis/admission_promote.lua", Long.class);
+        DefaultRedisScript<Long> leaseAcquireScript = new DefaultRedisScript<>();
+        leaseAcquireScript.setLocation(new ClassPathResource("redis/lease_acquire.lua"));
+        leaseAcquireScript.setResultType(Long.class);
+        DefaultRedisScript<Long> leaseReleaseScript = new DefaultRedisScript<>();
+        leaseReleaseScript.setLocation(new ClassPathResource("redis/lease_release.lua"));
+        leaseReleaseScript.setResultType(Long.class);
+        leaseManager = new RedisLeaseManager(redisTemplate, leaseAcquireScript, leaseReleaseScript);
+        otherLeaseManager = new RedisLeaseManager(redisTemplate, leaseAcquireScript, leaseReleaseScript);
+
+        DefaultRedisScript<Long> settleScript =
+                RedisLuaScriptConfig.layoutAwareScript("redis/admission_settle_sold_out.lua", Long.class);
+        admissionGateService = new AdmissionGateServiceImpl(redisTemplate, promoteScript, settleScript, leaseManager,
+                new ClusterClaimLatency(redisTemplate, new ClaimOutcomeMetrics(), leaseManager), generationCache,
+                mock(ClaimStockLeases.class));
+        ReflectionTestUtils.setField(admissionGateService, "gateCapacity", 2);
+        ReflectionTestUtils.setField(admissionGateService, "gateTtlMs", 60_000L);
+        ReflectionTestUtils.setField(admissionGateService, "settleBatchSize", 2);
+
+        eventId = "it-admission-" + UUID.randomUUID();
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "100");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            redisTemplate.delete(TicketRedisKeys.stockKey(eventId));
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void usersWaitInArrivalOrderAndArePromotedUpToGateCapacity() {
+        assertThat(admissionService.admit(eventId, "u1")).isEqualTo(AdmissionResult.waiting(1L));
+        assertThat(admissionService.admit(eventId, "u2")).isEqualTo(AdmissionResult.waiting(2L));
+        assertThat(admissionService.admit(eventId, "u3")).isEqualTo(AdmissionResult.waiting(3L));
+        // 재진입해도 순번은 유지된다.
+        assertThat(admissionService.admit(eventId, "u1")).isEqualTo(AdmissionResult.waiting(1L));
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u3")))
+                .isEqualTo(TicketRequestStatus.WAITING.name());
+
+        assertThat(admissionGateService.promote(eventId, 10)).isEqualTo(2);
+
+        assertThat(admissionService.admit(eventId, "u1")).isEqualTo(AdmissionResult.admitted());
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u2")))
+                .isEqualTo(TicketRequestStatus.ADMITTED.name());
+        assertThat(admissionService.getRank(eventId, "u3")).isEqualTo(1L);
+
+        // gate가 가득 차 있으면 반납 전까지 추가 승격하지 않는다.
+        assertThat(admissionGateService.promote(eventId, 10)).isZero();
+        admissionService.release(eventId, "u1");
+        assertThat(admissionGateService.promote(eventId, 10)).isEqualTo(1);
+        assertThat(admissionService.admit(eventId, "u3")).isEqualTo(AdmissionResult.admitted());
+    }
+
+    @Test
+    void onlyOneNodeHoldsTheLeaseUntilItIsReleased() {
+        String leaseKey = "it-lease-" + UUID.randomUUID();
+
+        assertThat(leaseManager.tryAcquire(leaseKey, 10_000L)).isTrue();
+        assertThat(otherLeaseManager.tryAcquire(leaseKey, 10_000L)).isFalse();
+        // 보유 노드는 재호출로 TTL을 연장한다.
+        assertThat(leaseManager.tryAcquire(leaseKey, 10_000L)).isTrue();
+
+        // 다른 노드의 release는 lease를 지우지 못한다.
+        otherLeaseManager.release(leaseKey);
+        assertThat(otherLeaseManager.tryAcquire(leaseKey, 10_000L)).isFalse();
+
+        leaseManager.release(leaseKey);
+        assertThat(otherLeaseManager.tryAcquire(leaseKey, 10_000L)).isTrue();
+        otherLeaseManager.release(leaseKey);
+    }
+
+    @Test
+    void alreadyClaimedUserSkipsQueue() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.userKey(eventId, 0L, "u1"), "1");
+
+        assertThat(admissionService.admit(eventId, "u1")).isEqualTo(AdmissionResult.admitted());
+        assertThat(redisTemplate.opsForZSet().size(TicketRedisKeys.queueKey(eventId, 0L))).isZero();
+    }
+
+    @Test
+    void soldOutEventRejectsNewEntrantsAndSettlesWaitingUsers() {
+        assertThat(admissionService.admit(eventId, "u1")).isEqualTo(AdmissionResult.waiting(1L));
+        assertThat(admissionService.admit(eventId, "u2")).isEqualTo(AdmissionResult.waiting(2L));
+        assertThat(admissionService.admit(eventId, "u3")).isEqualTo(AdmissionResult.waiting(3L));
+        redisTemplate.opsForValue().set(TicketRedisKeys.userKey(eventId, 0L, "u2"), "1");
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "0");
+
+        assertThat(admissionService.admit(eventId, "u4")).isEqualTo(AdmissionResult.soldOut());
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u4")))
+                .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
+
+        // tick마다 settle-batch-size(2)명씩 정리한다.
+        assertThat(admissionGateService.settleSoldOut(eventId)).isEqualTo(2);
+        assertThat(admissionGateService.settleSoldOut(eventId)).isEqualTo(1);
+        assertThat(admissionGateService.settleSoldOut(eventId)).isZero();
+
+        assertThat(redisTemplate.opsForZSet().size(TicketRedisKeys.queueKey(eventId, 0L))).isZero();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u1")))
+                .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u2")))
+                .isEqualTo(TicketRequestStatus.ALREADY.name());
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u3")))
+                .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
+    }
+
+    @Test
+    void claimLatencyIsAggregatedAcrossNodesAndStaleNodesAreDropped() {
+        String key = TicketRedisKeys.admissionClaimLatencyKey();
+        redisTemplate.delete(key);
+        ClaimOutcomeMetrics busyMetrics = new ClaimOutcomeMetrics();
+        ClaimOutcomeMetrics quietMetrics = new ClaimOutcomeMetrics();
+        ClusterClaimLatency busyNode = new ClusterClaimLatency(redisTemplate, busyMetrics, leaseManager);
+        ClusterClaimLatency quietNode = new ClusterClaimLatency(redisTemplate, quietMetrics, otherLeaseManager);
+        for (ClusterClaimLatency node : List.of(busyNode, quietNode)) {
+            ReflectionTestUtils.setField(node, "enabled", true);
+            ReflectionTestUtils.setField(node, "staleMs", 3_000L);
+        }
+        try {
+            for (int i = 0; i < 3; i++) {
+                busyMetrics.recordLatency(40_000_000L);
+            }
+            quietMetrics.recordLatency(10_000_000L);
+            busyNode.report();
+            quietNode.report();
+            redisTemplate.opsForHash().put(key, "dead-node", "90000000:100:" + (System.currentTimeMillis() - 10_000L));
+
+            // 표본 수로 가중: (40ms * 3 + 10ms * 1) / 4 = 32.5ms 근처, 오래된 노드는 제외된다.
+            long latency = quietNode.latencyNanos();
+            assertThat(latency).isBetween(30_000_000L, 33_000_000L);
+            assertThat(redisTemplate.opsForHash().hasKey(key, "dead-node")).isFalse();
+        } finally {
+            redisTemplate.delete(key);
+        }
+    }
+}
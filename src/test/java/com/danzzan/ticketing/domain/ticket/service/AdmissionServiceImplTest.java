@@ -1,18 +1,105 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.AdmissionResult;
+import com.danzzan.ticketing.domain.ticket.service.support.AdmissionLuaProtocol;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+@ExtendWith(MockitoExtension.class)
 class AdmissionServiceImplTest {
 
-    private final AdmissionService admissionService = new AdmissionServiceImpl();
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisScript<List> admissionEnterScript;
+
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    @Mock
+    private RedisCircuitBreaker redisCircuitBreaker;
+
+    @InjectMocks
+    private AdmissionServiceImpl admissionService;
+
+    @Test
+    void admitReturnsAdmittedWithoutRedisWhenDisabled() {
+        AdmissionResult result = admissionService.admit("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.ADMITTED);
+        assertThat(result.rank()).isNull();
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void admitMapsWaitingRankFromLuaResult() {
+        ReflectionTestUtils.setField(admissionService, "enabled", true);
+        mockLuaResult(List.of(AdmissionLuaProtocol.CODE_WAITING, 1532L));
+
+        AdmissionResult result = admissionService.admit("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.WAITING);
+        assertThat(result.rank()).isEqualTo(1532L);
+    }
 
     @Test
-    void admitAlwaysReturnsAdmitted() {
-        TicketRequestStatus status = admissionService.admit("festival-day1", "32221902");
+    void admitMapsAdmittedFromLuaResult() {
+        ReflectionTestUtils.setField(admissionService, "enabled", true);
+        mockLuaResult(List.of(AdmissionLuaProtocol.CODE_ADMITTED, 0L));
+
+        AdmissionResult result = admissionService.admit("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.ADMITTED);
+        assertThat(result.rank()).isNull();
+    }
+
+    @Test
+    void admitMapsSoldOutFromLuaResult() {
+        ReflectionTestUtils.setField(admissionService, "enabled", true);
+        mockLuaResult(List.of(AdmissionLuaProtocol.CODE_SOLD_OUT, 0L));
+
+        AdmissionResult result = admissionService.admit("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(result.rank()).isNull();
+    }
+
+    @Test
+    void admitSkipsQueueWhileRedisCircuitIsOpen() {
+        ReflectionTestUtils.setField(admissionService, "enabled", true);
+        when(redisCircuitBreaker.isOpen()).thenReturn(true);
+
+        AdmissionResult result = admissionService.admit("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.ADMITTED);
+        verifyNoInteractions(stringRedisTemplate);
+    }
 
-        assertThat(status).isEqualTo(TicketRequestStatus.ADMITTED);
+    @SuppressWarnings("unchecked")
+    private void mockLuaResult(List<?> luaResult) {
+        when(stringRedisTemplate.execute(
+                eq(admissionEnterScript),
+                anyList(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()
+        )).thenReturn((List) luaResult);
     }
 }
@@ -0,0 +1,155 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventMetaSync;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class ClaimBatcherRedisIntegrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ClaimBatcher claimBatcher;
+    private ClaimService claimService;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        TicketGenerationCache generationCache =
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+
+        DefaultRedisScript<List> script = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class);
+
+        DefaultRedisScript<List> batchScript = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2_batch.lua", List.class);
+
+        claimBatcher = new ClaimBatcher(redisTemplate, batchScript, generationCache,
+                RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class));
+        ReflectionTestUtils.setField(claimBatcher, "enabled", true);
+        ReflectionTestUtils.setField(claimBatcher, "windowMicros", 2_000L);
+        ReflectionTestUtils.setField(claimBatcher, "maxBatchSize", 16);
+        ReflectionTestUtils.setField(claimBatcher, "timeoutMs", 5_000L);
+        ReflectionTestUtils.setField(claimBatcher, "dispatchers", 2);
+        ReflectionTestUtils.setField(claimBatcher, "queueCapacity", 1024);
+        claimBatcher.start();
+
+        claimService = new ClaimServiceImpl(redisTemplate, script, new ClaimOutcomeMetrics(), claimBatcher, generationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), mock(ClaimStockLeases.class),
+                mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+        eventId = "it-batch-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (connectionFactory != null) {
+            claimBatcher.stop();
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void concurrentClaimsNeverOversellAndGetDistinctOrders() throws Exception {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "10");
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<ClaimResult> results = new ArrayList<>();
+        try {
+            List<Future<ClaimResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                String userId = "u" + i;
+                futures.add(executor.submit(() -> claimService.claim(eventId, userId)));
+            }
+            for (Future<ClaimResult> future : futures) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> orders = results.stream()
+                .filter(result -> result.status() == TicketRequestStatus.SUCCESS)
+                .map(ClaimResult::order)
+                .sorted()
+                .toList();
+        assertThat(orders).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(results).filteredOn(result -> result.status() == TicketRequestStatus.SOLD_OUT).hasSize(30);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("0");
+        assertThat(redisTemplate.opsForStream().size(TicketRedisKeys.claimStreamKey(eventId))).isEqualTo(10L);
+    }
+
+    @Test
+    void duplicateUserInSameWindowIsAlready() throws Exception {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "5");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ClaimResult> first = executor.submit(() -> claimService.claim(eventId, "u1"));
+            Future<ClaimResult> second = executor.submit(() -> claimService.claim(eventId, "u1"));
+
+            assertThat(List.of(first.get().status(), second.get().status()))
+                    .containsExactlyInAnyOrder(TicketRequestStatus.SUCCESS, TicketRequestStatus.ALREADY);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("4");
+    }
+
+    @Test
+    void closedEventRejectsWholeBatchWithoutDecrementingStock() throws Exception {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "5");
+        redisTemplate.opsForHash().putAll(TicketRedisKeys.eventMetaKey(eventId), Map.of(
+                TicketEventMetaSync.FIELD_STATUS, "CLOSED",
+                TicketEventMetaSync.FIELD_OPEN_AT, "0"
+        ));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ClaimResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String userId = "u" + i;
+                futures.add(executor.submit(() -> claimService.claim(eventId, userId)));
+            }
+            for (Future<ClaimResult> future : futures) {
+                assertThatThrownBy(future::get).hasCauseInstanceOf(EventSoldOutException.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("5");
+    }
+}
@@ -0,0 +1,200 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.dto.ResponseReserveTicketDto;
+import com.danzzan.ticketing.domain.ticket.exception.AlreadyReservedException;
+import com.danzzan.ticketing.domain.ticket.exception.ClaimFailoverRefusedException;
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.model.FailoverClaims;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.ReserveSeatAllocator;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimFailoverServiceImplTest {
+
+    @Mock
+    private TicketService ticketService;
+
+    @Mock
+    private FestivalEventRepository festivalEventRepository;
+
+    @Mock
+    private UserTicketRepository userTicketRepository;
+
+    @Mock
+    private ReserveSeatAllocator reserveSeatAllocator;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    @Mock
+    private RedisCircuitBreaker redisCircuitBreaker;
+
+    @InjectMocks
+    private ClaimFailoverServiceImpl claimFailoverService;
+
+    @Test
+    void raisesSoldCountFromRedisStockAndLeasesWhenReadable() {
+        mockEvent(1000);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TicketRedisKeys.stockKey("1"))).thenReturn("700");
+        when(ticketGenerationCache.current("1")).thenReturn(3L);
+        when(valueOperations.get(TicketRedisKeys.leasedStockKey("1", 3L))).thenReturn("50");
+        when(ticketService.reserveTicket(32221902L, 1L)).thenReturn(reserved(251));
+
+        claimFailoverService.claim("1", "32221902");
+
+        // 이 노드는 Redis claim을 한 번도 보지 못했지만 stock/leased로 250장이 팔린 것을 안다.
+        verify(festivalEventRepository).raiseSoldCount(1L, 250);
+        verifyNoInteractions(userTicketRepository);
+    }
+
+    @Test
+    void refusesFailoverWhenNoSoldCountCanBeRead() {
+        mockEvent(1000);
+        when(stringRedisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(userTicketRepository.countByEventId(1L)).thenThrow(new QueryTimeoutException("db timeout"));
+
+        assertThatThrownBy(() -> claimFailoverService.claim("1", "32221902"))
+                .isInstanceOf(ClaimFailoverRefusedException.class);
+        verify(festivalEventRepository, never()).raiseSoldCount(anyLong(), anyInt());
+        verifyNoInteractions(ticketService);
+    }
+
+    @Test
+    void refusesFailoverInCapacitySlotMode() {
+        when(reserveSeatAllocator.usesCapacitySlots()).thenReturn(true);
+
+        assertThatThrownBy(() -> claimFailoverService.claim("1", "32221902"))
+                .isInstanceOf(ClaimFailoverRefusedException.class);
+        verifyNoInteractions(ticketService, festivalEventRepository);
+    }
+
+    @Test
+    void fallsBackToDbAndLastSeenRemainingWhenRedisIsUnreadable() {
+        mockEvent(1000);
+        when(stringRedisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(userTicketRepository.countByEventId(1L)).thenReturn(150L);
+        when(ticketService.reserveTicket(32221902L, 1L)).thenReturn(reserved(201));
+        when(ticketService.reserveTicket(32221903L, 1L)).thenReturn(reserved(202));
+        claimFailoverService.recordRemaining("1", 800L);
+
+        ClaimResult first = claimFailoverService.claim("1", "32221902");
+        claimFailoverService.claim("1", "32221903");
+
+        assertThat(first.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(first.order()).isEqualTo(201L);
+        assertThat(first.remaining()).isEqualTo(799L);
+        // Redis에서 200장이 나갔으므로 stream 적재분(150)이 아니라 200을 하한으로 쓴다.
+        verify(festivalEventRepository, times(1)).raiseSoldCount(1L, 200);
+    }
+
+    @Test
+    void mapsReserveExceptionsToClaimStatuses() {
+        mockEvent(10);
+        when(ticketService.reserveTicket(32221902L, 1L)).thenThrow(new AlreadyReservedException());
+        when(ticketService.reserveTicket(32221903L, 1L)).thenThrow(new EventSoldOutException());
+
+        assertThat(claimFailoverService.claim("1", "32221902").status()).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(claimFailoverService.claim("1", "32221903").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(claimFailoverService.drainFailoverClaims()).isEmpty();
+    }
+
+    @Test
+    void drainReturnsDbConfirmedClaimsAndResetsHandoff() {
+        mockEvent(10);
+        when(ticketService.reserveTicket(32221902L, 1L)).thenReturn(reserved(1));
+        claimFailoverService.claim("1", "32221902");
+
+        Map<String, FailoverClaims> drained = claimFailoverService.drainFailoverClaims();
+
+        assertThat(drained).containsExactly(Map.entry("1", new FailoverClaims(List.of("32221902"), 1L)));
+        assertThat(claimFailoverService.drainFailoverClaims()).isEmpty();
+
+        when(ticketService.reserveTicket(32221903L, 1L)).thenReturn(reserved(2));
+        claimFailoverService.claim("1", "32221903");
+        verify(festivalEventRepository, times(2)).raiseSoldCount(1L, 0);
+    }
+
+    @Test
+    void drainReportsHighestDbOrderPerEvent() {
+        mockEvent(10);
+        when(ticketService.reserveTicket(32221902L, 1L)).thenReturn(reserved(7));
+        when(ticketService.reserveTicket(32221903L, 1L)).thenReturn(reserved(5));
+        claimFailoverService.claim("1", "32221902");
+        claimFailoverService.claim("1", "32221903");
+
+        assertThat(claimFailoverService.drainFailoverClaims())
+                .containsExactly(Map.entry("1", new FailoverClaims(List.of("32221902", "32221903"), 7L)));
+    }
+
+    @Test
+    void redoesHandoffWhenBreakerOpensAgainBeforeReplay() {
+        mockEvent(1000);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(TicketRedisKeys.stockKey("1"))).thenReturn("700", "400");
+        when(ticketService.reserveTicket(anyLong(), anyLong())).thenReturn(reserved(301), reserved(302), reserved(601));
+        when(redisCircuitBreaker.openCount()).thenReturn(1L, 1L, 2L);
+
+        claimFailoverService.claim("1", "32221902");
+        claimFailoverService.claim("1", "32221903");
+        // 첫 우회가 replay 없이 끝나고 Redis에서 300장이 더 팔린 뒤 breaker가 다시 열렸다.
+        claimFailoverService.claim("1", "32221904");
+
+        verify(festivalEventRepository).raiseSoldCount(1L, 300);
+        verify(festivalEventRepository).raiseSoldCount(1L, 600);
+    }
+
+    @Test
+    void rejectsNonNumericIds() {
+        assertThatThrownBy(() -> claimFailoverService.claim("festival-day1", "32221902"))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(ticketService);
+    }
+
+    private void mockEvent(int capacity) {
+        FestivalEvent event = mock(FestivalEvent.class);
+        when(event.getTotalCapacity()).thenReturn(capacity);
+        when(festivalEventRepository.findById(1L)).thenReturn(Optional.of(event));
+    }
+
+    private ResponseReserveTicketDto reserved(int order) {
+        return new ResponseReserveTicketDto(order, null);
+    }
+}
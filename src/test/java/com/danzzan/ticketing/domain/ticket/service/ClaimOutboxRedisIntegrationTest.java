@@ -0,0 +1,146 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.exception.ClaimOverloadedException;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimOutboxEntry;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class ClaimOutboxRedisIntegrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ClaimService claimService;
+    private ClaimOutboxServiceImpl claimOutboxService;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        TicketGenerationCache generationCache =
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+
+        DefaultRedisScript<List> script = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class);
+        claimService = new ClaimServiceImpl(
+                redisTemplate, script, new ClaimOutcomeMetrics(), new ClaimBatcher(redisTemplate, script, generationCache,
+                        RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class)), generationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), mock(ClaimStockLeases.class),
+                mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+
+        claimOutboxService = new ClaimOutboxServiceImpl(redisTemplate);
+        ReflectionTestUtils.setField(claimOutboxService, "consumerName", "it-consumer");
+        ReflectionTestUtils.setField(claimOutboxService, "registryRefreshMs", 60_000L);
+        ReflectionTestUtils.setField(claimOutboxService, "reclaimIdleMs", 60_000L);
+        ReflectionTestUtils.setField(claimOutboxService, "registryRefreshedAt", System.currentTimeMillis());
+        ReflectionTestUtils.setField(claimOutboxService, "reclaimCheckedAt", System.currentTimeMillis());
+
+        eventId = "it-outbox-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            redisTemplate.opsForSet().remove(TicketRedisKeys.eventRegistryKey(), eventId);
+            redisTemplate.delete(List.of(
+                    TicketRedisKeys.claimStreamKey(eventId),
+                    TicketRedisKeys.orderKey(eventId, 0L),
+                    TicketRedisKeys.stockKey(eventId),
+                    TicketRedisKeys.userKey(eventId, 0L, "u1"),
+                    TicketRedisKeys.statusKey(eventId, 0L, "u1")
+            ));
+            redisTemplate.delete(redisTemplate.keys(TicketRedisKeys.userKeyPrefix(eventId, 0L) + "*"));
+            redisTemplate.delete(redisTemplate.keys(TicketRedisKeys.statusKeyPrefix(eventId, 0L) + "*"));
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void successClaimIsReadOnceAndRemovedAfterAcknowledge() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "1");
+        claimOutboxService.registerEvent(eventId);
+
+        claimService.claim(eventId, "u1");
+
+        List<ClaimOutboxEntry> entries = claimOutboxService.readBatch(10);
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.eventId()).isEqualTo(eventId);
+            assertThat(entry.userId()).isEqualTo("u1");
+            assertThat(entry.remaining()).isEqualTo(0L);
+            assertThat(entry.order()).isEqualTo(1L);
+        });
+
+        // ack 전에는 PEL에 남아 같은 consumer가 다시 읽는다.
+        assertThat(claimOutboxService.readBatch(10)).hasSize(1);
+
+        claimOutboxService.acknowledge(entries);
+
+        assertThat(claimOutboxService.readBatch(10)).isEmpty();
+        assertThat(redisTemplate.opsForStream().size(TicketRedisKeys.claimStreamKey(eventId))).isZero();
+    }
+
+    @Test
+    void claimIsDeferredInsteadOfTrimmingWhenOutboxBacklogReachesMaxLen() {
+        ReflectionTestUtils.setField(claimService, "claimStreamMaxLen", 10L);
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "1000");
+        claimOutboxService.registerEvent(eventId);
+
+        for (int i = 0; i < 10; i++) {
+            claimService.claim(eventId, "cap-" + i);
+        }
+
+        // 미저장 entry는 잘라내지 않고, 새 SUCCESS만 아무것도 쓰지 않은 채 503으로 미룬다.
+        assertThatThrownBy(() -> claimService.claim(eventId, "cap-10"))
+                .isInstanceOf(ClaimOverloadedException.class);
+        assertThat(redisTemplate.opsForStream().size(TicketRedisKeys.claimStreamKey(eventId))).isEqualTo(10L);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("990");
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.orderKey(eventId, 0L))).isEqualTo("10");
+        assertThat(claimService.claim(eventId, "cap-0").status()).isEqualTo(TicketRequestStatus.ALREADY);
+
+        // write-behind가 저장하고 ack 하면 다시 판매한다.
+        claimOutboxService.acknowledge(claimOutboxService.readBatch(10));
+
+        assertThat(claimService.claim(eventId, "cap-10").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.orderKey(eventId, 0L))).isEqualTo("11");
+    }
+
+    @Test
+    void defaultConsumerNameIsUniquePerInstance() {
+        ClaimOutboxServiceImpl other = new ClaimOutboxServiceImpl(redisTemplate);
+        ClaimOutboxServiceImpl another = new ClaimOutboxServiceImpl(redisTemplate);
+        other.resolveConsumerName();
+        another.resolveConsumerName();
+
+        String first = (String) ReflectionTestUtils.getField(other, "consumerName");
+        String second = (String) ReflectionTestUtils.getField(another, "consumerName");
+        assertThat(first).isNotBlank().contains("-" + ProcessHandle.current().pid() + "-");
+        assertThat(first).isNotEqualTo(second);
+    }
+}
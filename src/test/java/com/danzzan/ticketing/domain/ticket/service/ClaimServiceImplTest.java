@@ -1,17 +1,28 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
+import com.danzzan.ticketing.domain.ticket.exception.ClaimBatchTimeoutException;
+import com.danzzan.ticketing.domain.ticket.exception.ClaimOverloadedException;
+import com.danzzan.ticketing.domain.ticket.exception.EventNotOpenException;
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
 import com.danzzan.ticketing.domain.ticket.service.support.ClaimLuaProtocol;
 import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
@@ -20,7 +31,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,15 +50,43 @@ class ClaimServiceImplTest {
     @Mock
     private ClaimOutcomeMetrics claimOutcomeMetrics;
 
-    @InjectMocks
+    @Mock
+    private ClaimBatcher claimBatcher;
+
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    @Mock
+    private RedisCircuitBreaker redisCircuitBreaker;
+
+    @Mock
+    private ClaimFailoverService claimFailoverService;
+
+    @Mock
+    private ClaimStockLeases claimStockLeases;
+
+    @Mock
+    private SoldOutShortCircuit soldOutShortCircuit;
+
+    @Mock
+    private RedisScript<List> claimFailoverReplayScript;
+
     private ClaimServiceImpl claimService;
 
+    // 같은 타입(RedisScript<List>) mock이 둘이라 @InjectMocks 대신 직접 생성한다.
+    @BeforeEach
+    void setUp() {
+        claimService = new ClaimServiceImpl(stringRedisTemplate, claimV2Script, claimOutcomeMetrics, claimBatcher,
+                ticketGenerationCache, redisCircuitBreaker, claimFailoverService, claimStockLeases,
+                soldOutShortCircuit, claimFailoverReplayScript);
+    }
+
     @Test
     void mapsAlreadyFromLuaResult() {
         String eventId = "festival-day1";
         String userId = "32221902";
 
-        mockLuaResult(List.of(ClaimLuaProtocol.CODE_ALREADY, -1L));
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_ALREADY, -1L, -1L));
 
         ClaimResult result = claimService.claim(eventId, userId);
 
@@ -58,7 +100,7 @@ class ClaimServiceImplTest {
         String eventId = "festival-day1";
         String userId = "32221902";
 
-        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SOLD_OUT, -1L));
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SOLD_OUT, -1L, -1L));
 
         ClaimResult result = claimService.claim(eventId, userId);
 
@@ -71,27 +113,43 @@ class ClaimServiceImplTest {
     void mapsSuccessFromLuaResultAndUsesRemaining() {
         String eventId = "festival-day1";
         String userId = "32221902";
-        String userKey = TicketRedisKeys.userKey(eventId, userId);
-        String statusKey = TicketRedisKeys.statusKey(eventId, userId);
+        String userKey = TicketRedisKeys.userKey(eventId, 0L, userId);
+        String statusKey = TicketRedisKeys.statusKey(eventId, 0L, userId);
         String stockKey = TicketRedisKeys.stockKey(eventId);
+        String claimStreamKey = TicketRedisKeys.claimStreamKey(eventId);
+        String orderKey = TicketRedisKeys.orderKey(eventId, 0L);
 
-        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SUCCESS, 42L));
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SUCCESS, 42L, 958L));
 
         ClaimResult result = claimService.claim(eventId, userId);
 
         assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
         assertThat(result.remaining()).isEqualTo(42L);
+        assertThat(result.order()).isEqualTo(958L);
         verify(claimOutcomeMetrics).increment(TicketRequestStatus.SUCCESS);
         verify(stringRedisTemplate).execute(
                 eq(claimV2Script),
-                eq(List.of(userKey, stockKey, statusKey)),
+                eq(List.of(userKey, stockKey, statusKey, claimStreamKey, orderKey,
+                        TicketRedisKeys.layoutKey(eventId, 0L), TicketRedisKeys.generationKey(eventId),
+                        TicketRedisKeys.eventMetaKey(eventId))),
                 eq(TicketRequestStatus.ALREADY.name()),
                 eq(TicketRequestStatus.SOLD_OUT.name()),
                 eq(TicketRequestStatus.SUCCESS.name()),
                 eq(ClaimLuaProtocol.USER_CLAIMED_VALUE),
                 eq(ClaimLuaProtocol.CODE_ALREADY_ARG),
                 eq(ClaimLuaProtocol.CODE_SOLD_OUT_ARG),
-                eq(ClaimLuaProtocol.CODE_SUCCESS_ARG)
+                eq(ClaimLuaProtocol.CODE_SUCCESS_ARG),
+                eq(eventId),
+                eq(userId),
+                eq(TicketRedisKeys.queueMember(userId)),
+                eq(TicketRedisKeys.userHashPrefix(eventId, 0L)),
+                eq(TicketRedisKeys.statusHashPrefix(eventId, 0L)),
+                eq("0"),
+                eq(ClaimLuaProtocol.CODE_STALE_GENERATION_ARG),
+                eq(ClaimLuaProtocol.CODE_EVENT_NOT_OPEN_ARG),
+                eq(ClaimLuaProtocol.CODE_EVENT_CLOSED_ARG),
+                eq("0"),
+                eq(ClaimLuaProtocol.CODE_OUTBOX_BACKLOG_ARG)
         );
     }
 
@@ -101,12 +159,80 @@ class ClaimServiceImplTest {
 
         assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
                 .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("[code, remaining]");
+                .hasMessageContaining("[code, remaining, order]");
+    }
+
+    @Test
+    void delegatesToBatcherWhenBatchModeIsEnabled() {
+        when(claimBatcher.isEnabled()).thenReturn(true);
+        doReturn(List.of(ClaimLuaProtocol.CODE_SUCCESS, 7L, 993L))
+                .when(claimBatcher).claim("festival-day1", "32221902");
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(result.remaining()).isEqualTo(7L);
+        assertThat(result.order()).isEqualTo(993L);
+        verify(stringRedisTemplate, never()).execute(eq(claimV2Script), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void retriesWithRefreshedGenerationWhenLuaReportsStaleGeneration() {
+        when(ticketGenerationCache.current("festival-day1")).thenReturn(1L);
+        when(ticketGenerationCache.refresh("festival-day1")).thenReturn(2L);
+        mockLuaResult(
+                List.of(ClaimLuaProtocol.CODE_STALE_GENERATION, -1L, -1L),
+                List.of(ClaimLuaProtocol.CODE_SUCCESS, 9L, 1L)
+        );
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(result.order()).isEqualTo(1L);
+        verify(ticketGenerationCache).refresh("festival-day1");
+    }
+
+    @Test
+    void throwsWhenGenerationStaysStale() {
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_STALE_GENERATION, -1L, -1L));
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("generation changed");
+    }
+
+    @Test
+    void rejectsLikeDbPathWhenEventIsNotOpen() {
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_EVENT_NOT_OPEN, -1L, -1L));
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(EventNotOpenException.class);
+        verify(claimOutcomeMetrics, never()).increment(any());
+    }
+
+    @Test
+    void rejectsLikeDbPathWhenEventIsClosed() {
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_EVENT_CLOSED, -1L, -1L));
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(EventSoldOutException.class);
+        verify(soldOutShortCircuit, never()).markSoldOutEverywhere(any(), anyLong());
+    }
+
+    @Test
+    void returnsLeasedUnitWhenEventIsNotOpen() {
+        when(claimStockLeases.isEnabled()).thenReturn(true);
+        when(claimStockLeases.acquire("festival-day1", 0L)).thenReturn(ClaimStockLeases.Acquire.ACQUIRED);
+        mockLeasedLuaResult(List.of(ClaimLuaProtocol.CODE_EVENT_NOT_OPEN, -1L, -1L));
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(EventNotOpenException.class);
+        verify(claimStockLeases).release("festival-day1", 0L);
     }
 
     @Test
     void throwsWhenLuaResultContainsUnknownCode() {
-        mockLuaResult(List.of(999L, 10L));
+        mockLuaResult(List.of(999L, 10L, 1L));
 
         assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
                 .isInstanceOf(IllegalStateException.class)
@@ -115,23 +241,232 @@ class ClaimServiceImplTest {
 
     @Test
     void throwsWhenLuaSuccessHasNoRemaining() {
-        mockLuaResult(Arrays.asList(ClaimLuaProtocol.CODE_SUCCESS, null));
+        mockLuaResult(Arrays.asList(ClaimLuaProtocol.CODE_SUCCESS, null, 1L));
 
         assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("requires remaining");
     }
 
+    @Test
+    void throwsWhenLuaSuccessHasNoOrder() {
+        mockLuaResult(Arrays.asList(ClaimLuaProtocol.CODE_SUCCESS, 42L, null));
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("requires order");
+    }
+
     @Test
     void throwsWhenLuaCodeIsNotNumberLike() {
-        mockLuaResult(List.of("unknown", 1L));
+        mockLuaResult(List.of("unknown", 1L, 1L));
 
         assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("parseable as long");
     }
 
-    private void mockLuaResult(List<?> luaResult) {
+    @Test
+    void recordsRemainingForFailoverHandoff() {
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SUCCESS, 42L, 958L));
+
+        claimService.claim("festival-day1", "32221902");
+
+        verify(redisCircuitBreaker).onSuccess(anyLong());
+        verify(claimFailoverService).recordRemaining("festival-day1", 42L);
+    }
+
+    @Test
+    void usesDbPathWithoutCallingRedisWhileCircuitIsOpen() {
+        when(redisCircuitBreaker.shouldBypass()).thenReturn(true);
+        when(claimFailoverService.claim("festival-day1", "32221902")).thenReturn(ClaimResult.success(9L, 991L));
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(result.order()).isEqualTo(991L);
+        verify(stringRedisTemplate, never()).execute(eq(claimV2Script), anyList(), any(Object[].class));
+        verify(claimOutcomeMetrics).increment(TicketRequestStatus.SUCCESS);
+    }
+
+    @Test
+    void fallsBackToDbPathWhenRedisCallFailsAndBreakerIsEnabled() {
+        when(redisCircuitBreaker.isEnabled()).thenReturn(true);
+        when(redisCircuitBreaker.isOpen()).thenReturn(true);
+        mockLuaFailure();
+        when(claimFailoverService.claim("festival-day1", "32221902")).thenReturn(ClaimResult.already());
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.ALREADY);
+        verify(redisCircuitBreaker).onFailure();
+    }
+
+    @Test
+    void fallsBackToDbPathWhenBatchResultTimesOut() {
+        when(redisCircuitBreaker.isEnabled()).thenReturn(true);
+        when(redisCircuitBreaker.isOpen()).thenReturn(true);
+        when(claimBatcher.isEnabled()).thenReturn(true);
+        when(claimBatcher.claim("festival-day1", "32221902")).thenThrow(new ClaimBatchTimeoutException(true, 2L));
+        when(claimFailoverService.claim("festival-day1", "32221902")).thenReturn(ClaimResult.success(9L, 991L));
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        verify(redisCircuitBreaker).onFailure();
+    }
+
+    @Test
+    void rejectsWithoutDbPathWhenRedisCallFailsButBreakerStaysClosed() {
+        when(redisCircuitBreaker.isEnabled()).thenReturn(true);
+        when(redisCircuitBreaker.isOpen()).thenReturn(false);
+        mockLuaFailure();
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(ClaimOverloadedException.class);
+        verify(redisCircuitBreaker).onFailure();
+        verify(claimFailoverService, never()).claim(any(), any());
+    }
+
+    @Test
+    void failsOverOnlyAfterClosedBreakerBlipTurnsIntoOutage() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker();
+        ReflectionTestUtils.setField(breaker, "enabled", true);
+        ReflectionTestUtils.setField(breaker, "windowSize", 10);
+        ReflectionTestUtils.setField(breaker, "minimumCalls", 3);
+        ReflectionTestUtils.setField(breaker, "failureRatePercent", 50);
+        ReflectionTestUtils.setField(breaker, "slowCallMs", 200L);
+        ReflectionTestUtils.setField(breaker, "openMs", 5_000L);
+        breaker.init();
+        ClaimServiceImpl service = new ClaimServiceImpl(stringRedisTemplate, claimV2Script, claimOutcomeMetrics,
+                claimBatcher, ticketGenerationCache, breaker, claimFailoverService, claimStockLeases,
+                soldOutShortCircuit, claimFailoverReplayScript);
+        mockLuaFailure();
+        when(claimFailoverService.claim(any(), any())).thenReturn(ClaimResult.success(9L, 991L));
+
+        // CLOSED 동안의 실패는 DB로 넘기지 않으므로 handoff 없이 DB 예매가 시작되지 않는다.
+        assertThatThrownBy(() -> service.claim("festival-day1", "32221901"))
+                .isInstanceOf(ClaimOverloadedException.class);
+        assertThatThrownBy(() -> service.claim("festival-day1", "32221902"))
+                .isInstanceOf(ClaimOverloadedException.class);
+        verify(claimFailoverService, never()).claim(any(), any());
+
+        // 실제 장애로 OPEN 되는 호출부터 우회한다. 새 OPEN이므로 ClaimFailoverService는 handoff를 다시 한다.
+        assertThat(service.claim("festival-day1", "32221903").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(service.claim("festival-day1", "32221904").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(breaker.openCount()).isEqualTo(1L);
+        verify(claimFailoverService).claim("festival-day1", "32221903");
+        verify(claimFailoverService).claim("festival-day1", "32221904");
+    }
+
+    @Test
+    void rejectsLocalOverloadWithoutCountingBreakerFailure() {
+        when(claimBatcher.isEnabled()).thenReturn(true);
+        when(claimBatcher.claim("festival-day1", "32221902")).thenThrow(new ClaimOverloadedException(2L));
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(ClaimOverloadedException.class);
+        verify(redisCircuitBreaker, never()).onFailure();
+        verify(claimFailoverService, never()).claim(any(), any());
+    }
+
+    @Test
+    void rethrowsRedisFailureWhenBreakerIsDisabled() {
+        mockLuaFailure();
+
+        assertThatThrownBy(() -> claimService.claim("festival-day1", "32221902"))
+                .isInstanceOf(RedisConnectionFailureException.class);
+        verify(claimFailoverService, never()).claim(any(), any());
+    }
+
+    @Test
+    void returnsSoldOutWithoutCallingRedisWhenEventIsFlaggedSoldOut() {
+        when(soldOutShortCircuit.isEnabled()).thenReturn(true);
+        when(ticketGenerationCache.current("festival-day1")).thenReturn(2L);
+        when(soldOutShortCircuit.isSoldOut("festival-day1", 2L)).thenReturn(true);
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        verify(soldOutShortCircuit).recordSoldOut("festival-day1", 2L, "32221902");
+        verify(stringRedisTemplate, never()).execute(eq(claimV2Script), anyList(), any(Object[].class));
+        verify(claimOutcomeMetrics).increment(TicketRequestStatus.SOLD_OUT);
+    }
+
+    @Test
+    void answersAlreadyToKnownWinnerWhenEventIsFlaggedSoldOut() {
+        when(soldOutShortCircuit.isEnabled()).thenReturn(true);
+        when(ticketGenerationCache.current("festival-day1")).thenReturn(2L);
+        when(soldOutShortCircuit.isSoldOut("festival-day1", 2L)).thenReturn(true);
+        when(soldOutShortCircuit.isKnownWinner("festival-day1", 2L, "32221902")).thenReturn(true);
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.ALREADY);
+        verify(soldOutShortCircuit, never()).recordSoldOut(any(), anyLong(), any());
+        verify(stringRedisTemplate, never()).execute(eq(claimV2Script), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void keepsSellingLocalLeaseEvenWhenEventIsFlaggedSoldOut() {
+        when(soldOutShortCircuit.isEnabled()).thenReturn(true);
+        when(soldOutShortCircuit.isSoldOut("festival-day1", 0L)).thenReturn(true);
+        when(claimStockLeases.localRemaining("festival-day1")).thenReturn(3L);
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SUCCESS, 0L, 10L));
+
+        ClaimResult result = claimService.claim("festival-day1", "32221902");
+
+        assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        verify(soldOutShortCircuit, never()).recordSoldOut(any(), anyLong(), any());
+    }
+
+    @Test
+    void flagsEventSoldOutWhenLastTicketIsClaimed() {
+        when(soldOutShortCircuit.isEnabled()).thenReturn(true);
+        when(ticketGenerationCache.current("festival-day1")).thenReturn(1L);
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SUCCESS, 0L, 100L));
+
+        claimService.claim("festival-day1", "32221902");
+
+        verify(soldOutShortCircuit).markSoldOutEverywhere("festival-day1", 1L);
+    }
+
+    @Test
+    void doesNotFlagEventWhileStockRemains() {
+        when(soldOutShortCircuit.isEnabled()).thenReturn(true);
+        mockLuaResult(List.of(ClaimLuaProtocol.CODE_SUCCESS, 1L, 99L));
+
+        claimService.claim("festival-day1", "32221902");
+
+        verify(soldOutShortCircuit, never()).markSoldOutEverywhere(any(), anyLong());
+    }
+
+    private void mockLuaFailure() {
+        when(stringRedisTemplate.execute(
+                eq(claimV2Script),
+                anyList(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any()
+        )).thenThrow(new RedisConnectionFailureException("redis down"));
+    }
+
+    private void mockLuaResult(List<?> luaResult, List<?>... nextResults) {
         when(stringRedisTemplate.execute(
                 eq(claimV2Script),
                 anyList(),
@@ -141,7 +476,28 @@ class ClaimServiceImplTest {
                 any(),
                 any(),
                 any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
                 any()
+        )).thenReturn(luaResult, nextResults);
+    }
+
+    // stock lease 모드는 ARGV[19](leasedUnit)까지 보낸다.
+    private void mockLeasedLuaResult(List<?> luaResult) {
+        when(stringRedisTemplate.execute(
+                eq(claimV2Script),
+                anyList(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any()
         )).thenReturn(luaResult);
     }
 }
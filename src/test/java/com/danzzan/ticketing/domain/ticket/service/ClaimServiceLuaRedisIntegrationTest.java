@@ -1,22 +1,38 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
+import com.danzzan.ticketing.domain.ticket.exception.EventNotOpenException;
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
 import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.model.FailoverClaims;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
 import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventMetaSync;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
-import org.springframework.core.io.ClassPathResource;
+import org.mockito.ArgumentCaptor;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
 class ClaimServiceLuaRedisIntegrationTest {
@@ -32,12 +48,17 @@ class ClaimServiceLuaRedisIntegrationTest {
 
         redisTemplate = new StringRedisTemplate(connectionFactory);
         redisTemplate.afterPropertiesSet();
+        TicketGenerationCache generationCache =
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
 
-        DefaultRedisScript<List> script = new DefaultRedisScript<>();
-        script.setLocation(new ClassPathResource("redis/claim_v2.lua"));
-        script.setResultType(List.class);
+        DefaultRedisScript<List> script = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class);
 
-        claimService = new ClaimServiceImpl(redisTemplate, script, new ClaimOutcomeMetrics());
+        claimService = new ClaimServiceImpl(
+                redisTemplate, script, new ClaimOutcomeMetrics(), new ClaimBatcher(redisTemplate, script, generationCache,
+                        RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class)), generationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), mock(ClaimStockLeases.class),
+                mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
     }
 
     @AfterEach
@@ -58,10 +79,12 @@ class ClaimServiceLuaRedisIntegrationTest {
 
         assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
         assertThat(result.remaining()).isEqualTo(0L);
-        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, userId)))
+        assertThat(result.order()).isEqualTo(1L);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, userId)))
                 .isEqualTo(TicketRequestStatus.SUCCESS.name());
-        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.userKey(eventId, userId)))
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.userKey(eventId, 0L, userId)))
                 .isEqualTo("1");
+        assertThat(redisTemplate.opsForStream().size(TicketRedisKeys.claimStreamKey(eventId))).isEqualTo(1L);
     }
 
     @Test
@@ -75,9 +98,9 @@ class ClaimServiceLuaRedisIntegrationTest {
 
         assertThat(result.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
         assertThat(result.remaining()).isNull();
-        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, userId)))
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, userId)))
                 .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
-        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.userKey(eventId, userId)))
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.userKey(eventId, 0L, userId)))
                 .isNull();
     }
 
@@ -86,7 +109,7 @@ class ClaimServiceLuaRedisIntegrationTest {
         String eventId = "it-already-" + UUID.randomUUID();
         String userId = "u1";
         String stockKey = TicketRedisKeys.stockKey(eventId);
-        String userKey = TicketRedisKeys.userKey(eventId, userId);
+        String userKey = TicketRedisKeys.userKey(eventId, 0L, userId);
 
         redisTemplate.opsForValue().set(stockKey, "5");
         redisTemplate.opsForValue().set(userKey, "1");
@@ -95,8 +118,113 @@ class ClaimServiceLuaRedisIntegrationTest {
 
         assertThat(result.status()).isEqualTo(TicketRequestStatus.ALREADY);
         assertThat(result.remaining()).isNull();
-        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, userId)))
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, userId)))
                 .isEqualTo(TicketRequestStatus.ALREADY.name());
         assertThat(redisTemplate.opsForValue().get(stockKey)).isEqualTo("5");
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.claimStreamKey(eventId))).isFalse();
+    }
+
+    @Test
+    void claimBeforeOpenIsRejectedWithoutTouchingStockOrStatus() {
+        String eventId = "it-not-open-" + UUID.randomUUID();
+        String stockKey = TicketRedisKeys.stockKey(eventId);
+        redisTemplate.opsForValue().set(stockKey, "5");
+
+        writeMeta(eventId, "READY", System.currentTimeMillis() - 60_000L);
+        assertThatThrownBy(() -> claimService.claim(eventId, "u1")).isInstanceOf(EventNotOpenException.class);
+
+        // OPEN이어도 Redis 서버 시각이 openAt 전이면 오픈 전이다.
+        writeMeta(eventId, "OPEN", System.currentTimeMillis() + 60_000L);
+        assertThatThrownBy(() -> claimService.claim(eventId, "u1")).isInstanceOf(EventNotOpenException.class);
+
+        assertThat(redisTemplate.opsForValue().get(stockKey)).isEqualTo("5");
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.statusKey(eventId, 0L, "u1"))).isFalse();
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(eventId, 0L, "u1"))).isFalse();
+
+        writeMeta(eventId, "OPEN", System.currentTimeMillis() - 60_000L);
+        assertThat(claimService.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+    }
+
+    @Test
+    void claimAfterCloseIsRejectedAsSoldOutException() {
+        String eventId = "it-closed-" + UUID.randomUUID();
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "5");
+        writeMeta(eventId, "CLOSED", System.currentTimeMillis() - 60_000L);
+
+        assertThatThrownBy(() -> claimService.claim(eventId, "u1")).isInstanceOf(EventSoldOutException.class);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("5");
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.statusKey(eventId, 0L, "u1"))).isFalse();
+    }
+
+    private void writeMeta(String eventId, String status, long openAt) {
+        redisTemplate.opsForHash().putAll(TicketRedisKeys.eventMetaKey(eventId), Map.of(
+                TicketEventMetaSync.FIELD_STATUS, status,
+                TicketEventMetaSync.FIELD_OPEN_AT, String.valueOf(openAt)
+        ));
+    }
+
+    @Test
+    void failoverReplayMarksDbConfirmedUsersAndAdvancesOrderPastDbOrdersWithoutOutboxEntries() {
+        String eventId = "it-failover-replay-" + UUID.randomUUID();
+        String stockKey = TicketRedisKeys.stockKey(eventId);
+        redisTemplate.opsForValue().set(stockKey, "10");
+        // u1은 타임아웃 뒤 Redis에도 늦게 적용된 claim
+        claimService.claim(eventId, "u1");
+
+        RedisCircuitBreaker breaker = mock(RedisCircuitBreaker.class);
+        ClaimFailoverService failoverService = mock(ClaimFailoverService.class);
+        TicketGenerationCache generationCache =
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+        ClaimServiceImpl replayingService = new ClaimServiceImpl(
+                redisTemplate, RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class),
+                new ClaimOutcomeMetrics(), mock(ClaimBatcher.class), generationCache, breaker, failoverService,
+                mock(ClaimStockLeases.class), mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+        when(failoverService.drainFailoverClaims()).thenReturn(
+                Map.of(eventId, new FailoverClaims(List.of("u1", "u2", "u3"), 6L)));
+        replayingService.registerFailoverReplay();
+        ArgumentCaptor<Runnable> onClose = ArgumentCaptor.forClass(Runnable.class);
+        verify(breaker).onClose(onClose.capture());
+
+        onClose.getValue().run();
+
+        // 새로 표시한 u2, u3만큼만 stock을 줄이고, order는 DB가 준 가장 큰 번호(6)까지 올리며 outbox는 그대로 둔다.
+        assertThat(redisTemplate.opsForValue().get(stockKey)).isEqualTo("7");
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.orderKey(eventId, 0L))).isEqualTo("6");
+        assertThat(redisTemplate.opsForStream().size(TicketRedisKeys.claimStreamKey(eventId))).isEqualTo(1L);
+        for (String userId : List.of("u2", "u3")) {
+            assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.userKey(eventId, 0L, userId))).isEqualTo("1");
+            assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, userId)))
+                    .isEqualTo(TicketRequestStatus.SUCCESS.name());
+        }
+        assertThat(claimService.claim(eventId, "u2").status()).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(claimService.claim(eventId, "u4").order()).isEqualTo(7L);
+    }
+
+    @Test
+    void failoverReplayAdvancesOrderByMarkedUsersWhenDbOrdersAreLower() {
+        String eventId = "it-failover-replay-order-" + UUID.randomUUID();
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "10");
+        claimService.claim(eventId, "u1");
+        claimService.claim(eventId, "u2");
+
+        RedisCircuitBreaker breaker = mock(RedisCircuitBreaker.class);
+        ClaimFailoverService failoverService = mock(ClaimFailoverService.class);
+        ClaimServiceImpl replayingService = new ClaimServiceImpl(
+                redisTemplate, RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class),
+                new ClaimOutcomeMetrics(), mock(ClaimBatcher.class),
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class)), breaker,
+                failoverService, mock(ClaimStockLeases.class), mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+        when(failoverService.drainFailoverClaims()).thenReturn(
+                Map.of(eventId, new FailoverClaims(List.of("u3", "u4"), 2L)));
+        replayingService.registerFailoverReplay();
+        ArgumentCaptor<Runnable> onClose = ArgumentCaptor.forClass(Runnable.class);
+        verify(breaker).onClose(onClose.capture());
+
+        onClose.getValue().run();
+
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.orderKey(eventId, 0L))).isEqualTo("4");
+        assertThat(claimService.claim(eventId, "u5").order()).isEqualTo(5L);
     }
 }
@@ -0,0 +1,228 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class ClaimStockLeaseRedisIntegrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ClaimStockLeases nodeALeases;
+    private ClaimStockLeases nodeBLeases;
+    private ClaimService nodeA;
+    private ClaimService nodeB;
+    private SoldOutShortCircuit nodeBShortCircuit;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        DefaultRedisScript<List> claimScript = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class);
+        RedisLuaScriptConfig scripts = new RedisLuaScriptConfig();
+
+        nodeALeases = leases(scripts);
+        nodeBLeases = leases(scripts);
+        nodeBShortCircuit = mock(SoldOutShortCircuit.class);
+        nodeA = claimService(claimScript, nodeALeases, mock(SoldOutShortCircuit.class));
+        nodeB = claimService(claimScript, nodeBLeases, nodeBShortCircuit);
+        eventId = "it-lease-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            Set<String> keys = redisTemplate.keys(TicketRedisKeys.eventKeyPattern(eventId));
+            if (keys != null && !keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void nodesSellExactlyTheStockInBlocksWithDistinctOrders() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "10");
+
+        List<ClaimResult> results = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            ClaimService node = i % 2 == 0 ? nodeA : nodeB;
+            results.add(node.claim(eventId, "u" + i));
+        }
+
+        List<Long> orders = results.stream()
+                .filter(result -> result.status() == TicketRequestStatus.SUCCESS)
+                .map(ClaimResult::order)
+                .sorted()
+                .toList();
+        assertThat(orders).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(results).filteredOn(result -> result.status() == TicketRequestStatus.SOLD_OUT).hasSize(4);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("0");
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.leasedStockKey(eventId, 0L))).isEqualTo("0");
+        assertThat(redisTemplate.opsForStream().size(TicketRedisKeys.claimStreamKey(eventId))).isEqualTo(10L);
+    }
+
+    @Test
+    void duplicateClaimKeepsTheLeasedUnitAndUnusedLeaseIsReturned() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "10");
+
+        ClaimResult first = nodeA.claim(eventId, "u1");
+        ClaimResult duplicate = nodeA.claim(eventId, "u1");
+
+        // block(4) 하나를 가져와 1개를 팔았다: stock 6 + leased 3
+        assertThat(first.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(first.remaining()).isEqualTo(9L);
+        assertThat(duplicate.status()).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(nodeALeases.localRemaining(eventId)).isEqualTo(3L);
+        assertThat(nodeALeases.outstandingUnits(eventId, 0L)).isEqualTo(3L);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("6");
+
+        nodeALeases.returnAll();
+
+        assertThat(nodeALeases.localRemaining(eventId)).isZero();
+        assertThat(nodeALeases.outstandingUnits(eventId, 0L)).isZero();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("9");
+    }
+
+    @Test
+    void leaseTakenBeforeInitIsDroppedInsteadOfReturned() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "10");
+        nodeA.claim(eventId, "u1");
+
+        // 다른 노드가 init: generation이 올라가고 stock을 새로 쓴다.
+        redisTemplate.opsForValue().set(TicketRedisKeys.generationKey(eventId), "1");
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "5");
+        nodeALeases.returnAll();
+
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("5");
+    }
+
+    @Test
+    void exhaustedStockDrainsOtherNodesLeasesBeforeDeclaringSoldOut() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "10");
+        when(nodeBShortCircuit.isEnabled()).thenReturn(true);
+
+        // A가 block(4)을 가져가 1개를 판다. B는 남은 stock 6을 모두 판다.
+        assertThat(nodeA.claim(eventId, "a0").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        for (int i = 0; i < 6; i++) {
+            assertThat(nodeB.claim(eventId, "b" + i).status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        }
+
+        // stock은 0이지만 A가 3개를 들고 있으므로 매진을 확정하지 않고 status도 남기지 않는다.
+        ClaimResult early = nodeB.claim(eventId, "late");
+        assertThat(early.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.statusKey(eventId, 0L, "late"))).isFalse();
+        verify(nodeBShortCircuit, never()).markSoldOutEverywhere(anyString(), anyLong());
+
+        // B가 publish 한 drain을 A가 받으면 남은 lease를 stock으로 돌려준다.
+        nodeALeases.onMessage(new DefaultMessage(
+                TicketRedisKeys.stockLeaseDrainChannel().getBytes(StandardCharsets.UTF_8),
+                ("0:" + eventId).getBytes(StandardCharsets.UTF_8)), null);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("3");
+        assertThat(nodeALeases.outstandingUnits(eventId, 0L)).isZero();
+
+        // drain 이후 B는 1개씩 가져가므로 마지막 1장에서 매진이 확정된다.
+        for (String userId : List.of("late", "b6", "b7")) {
+            assertThat(nodeB.claim(eventId, userId).status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        }
+        assertThat(nodeBLeases.localRemaining(eventId)).isZero();
+        verify(nodeBShortCircuit).markSoldOutEverywhere(eventId, 0L);
+        assertThat(nodeB.claim(eventId, "b8").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "b8")))
+                .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
+    }
+
+    @Test
+    void leasesOfNodeWhoseHeartbeatExpiredAreReclaimedWhenStockRunsOut() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "10");
+
+        // A가 block(4)을 가져가 1개를 판다. B는 남은 stock 6을 모두 판다.
+        assertThat(nodeA.claim(eventId, "a0").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        for (int i = 0; i < 6; i++) {
+            assertThat(nodeB.claim(eventId, "b" + i).status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        }
+        assertThat(redisTemplate.opsForHash().get(TicketRedisKeys.leaseOwnersKey(eventId, 0L), nodeALeases.nodeId()))
+                .isEqualTo("3");
+        // A의 heartbeat가 살아 있는 동안에는 회수하지 않는다.
+        assertThat(nodeB.claim(eventId, "late").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(nodeBLeases.outstandingUnits(eventId, 0L)).isEqualTo(3L);
+
+        // A가 drain을 받지 못하고 멈춘 채 heartbeat TTL이 지났다.
+        redisTemplate.delete(TicketRedisKeys.leaseHeartbeatKey(eventId, nodeALeases.nodeId()));
+
+        for (String userId : List.of("late", "b6", "b7")) {
+            assertThat(nodeB.claim(eventId, userId).status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        }
+        assertThat(nodeB.claim(eventId, "b8").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(nodeALeases.outstandingUnits(eventId, 0L)).isZero();
+
+        // 다시 살아난 A의 로컬 lease는 이미 회수됐으므로 팔거나 반납해도 정원을 넘지 않는다.
+        assertThat(nodeALeases.localRemaining(eventId)).isEqualTo(3L);
+        assertThat(nodeA.claim(eventId, "a1").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        nodeALeases.returnAll();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("0");
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.leasedStockKey(eventId, 0L))).isEqualTo("0");
+        assertThat(redisTemplate.opsForStream().size(TicketRedisKeys.claimStreamKey(eventId))).isEqualTo(10L);
+    }
+
+    private ClaimStockLeases leases(RedisLuaScriptConfig scripts) {
+        ClaimStockLeases leases = new ClaimStockLeases(
+                redisTemplate, scripts.stockLeaseGrabScript(), scripts.stockLeaseReturnScript(),
+                scripts.stockLeaseReclaimScript(), mock(SoldOutShortCircuit.class),
+                mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(leases, "enabled", true);
+        ReflectionTestUtils.setField(leases, "blockSize", 4);
+        ReflectionTestUtils.setField(leases, "idleReturnMs", 60_000L);
+        ReflectionTestUtils.setField(leases, "nodeTtlMs", 60_000L);
+        return leases;
+    }
+
+    private ClaimService claimService(DefaultRedisScript<List> claimScript, ClaimStockLeases leases,
+                                      SoldOutShortCircuit soldOutShortCircuit) {
+        TicketGenerationCache generationCache =
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+        return new ClaimServiceImpl(
+                redisTemplate, claimScript, new ClaimOutcomeMetrics(),
+                new ClaimBatcher(redisTemplate, claimScript, generationCache,
+                        RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class)), generationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), leases, soldOutShortCircuit,
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+    }
+}
@@ -0,0 +1,140 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueueStatusStreamServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private TicketStatusService ticketStatusService;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    @InjectMocks
+    private QueueStatusStreamServiceImpl queueStatusStreamService;
+
+    @Test
+    void terminalStatusIsSentOnceWithoutSubscribing() {
+        when(ticketStatusService.getStatus("5", "77")).thenReturn(TicketRequestStatus.SUCCESS);
+
+        queueStatusStreamService.subscribe("5", "77");
+
+        assertThat(queueStatusStreamService.subscriberCount()).isZero();
+    }
+
+    @Test
+    void waitingSubscriberIsReleasedOncePromotionPassesItsSeq() {
+        when(ticketStatusService.getStatus("5", "77")).thenReturn(TicketRequestStatus.WAITING);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.score(TicketRedisKeys.queueKey("5", 0L), "77")).thenReturn(120.0);
+        when(zSetOperations.rank(TicketRedisKeys.queueKey("5", 0L), "77")).thenReturn(19L);
+
+        queueStatusStreamService.subscribe("5", "77");
+        assertThat(queueStatusStreamService.subscriberCount()).isEqualTo(1);
+
+        // 선두 seq가 아직 자신 이하이면 계속 대기
+        queueStatusStreamService.onMessage(queueEvent("5", "110"), null);
+        assertThat(queueStatusStreamService.subscriberCount()).isEqualTo(1);
+
+        // 선두 seq가 자신을 넘으면 ADMITTED를 보내고 구독 해제
+        queueStatusStreamService.onMessage(queueEvent("5", "121"), null);
+        assertThat(queueStatusStreamService.subscriberCount()).isZero();
+    }
+
+    @Test
+    void waitingSubscriberIsReleasedWhenQueueIsSettledAsSoldOut() {
+        when(ticketStatusService.getStatus("5", "77")).thenReturn(TicketRequestStatus.WAITING);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.score(TicketRedisKeys.queueKey("5", 0L), "77")).thenReturn(120.0);
+        when(zSetOperations.rank(TicketRedisKeys.queueKey("5", 0L), "77")).thenReturn(19L);
+
+        queueStatusStreamService.subscribe("5", "77");
+        queueStatusStreamService.onMessage(queueEvent("5", TicketRequestStatus.SOLD_OUT.name()), null);
+
+        assertThat(queueStatusStreamService.subscriberCount()).isZero();
+    }
+
+    @Test
+    void throttledRankIsSentAtTheEndOfTheIntervalAndFinalStatusIsNeverDropped() throws Exception {
+        ReflectionTestUtils.setField(queueStatusStreamService, "senderThreads", 1);
+        ReflectionTestUtils.setField(queueStatusStreamService, "rankUpdateIntervalMs", 200L);
+        queueStatusStreamService.listenQueueEvents();
+        try {
+            when(ticketStatusService.getStatus("5", "77")).thenReturn(TicketRequestStatus.WAITING);
+            when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+            when(zSetOperations.score(TicketRedisKeys.queueKey("5", 0L), "77")).thenReturn(120.0);
+            when(zSetOperations.rank(TicketRedisKeys.queueKey("5", 0L), "77")).thenReturn(19L);
+
+            SseEmitter emitter = queueStatusStreamService.subscribe("5", "77");
+            waitUntil(() -> queueStatusStreamService.lastSentRank("5", "77") == 20L);
+
+            // 간격 안의 마지막 변경도 이후 알림이 없어도 전달된다.
+            queueStatusStreamService.onMessage(queueEvent("5", "110"), null);
+            queueStatusStreamService.onMessage(queueEvent("5", "115"), null);
+            assertThat(queueStatusStreamService.lastSentRank("5", "77")).isEqualTo(20L);
+            waitUntil(() -> queueStatusStreamService.lastSentRank("5", "77") == 6L);
+
+            // 순번 갱신이 throttle로 밀려 있어도 ADMITTED는 바로 보내고 스트림을 닫는다.
+            queueStatusStreamService.onMessage(queueEvent("5", "117"), null);
+            queueStatusStreamService.onMessage(queueEvent("5", "121"), null);
+            assertThat(queueStatusStreamService.subscriberCount()).isZero();
+            waitUntil(() -> isCompleted(emitter));
+        } finally {
+            queueStatusStreamService.stop();
+        }
+    }
+
+    private static boolean isCompleted(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("probe"));
+            return false;
+        } catch (Exception e) {
+            return e instanceof IllegalStateException;
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private DefaultMessage queueEvent(String eventId, String headSeq) {
+        return new DefaultMessage(
+                TicketRedisKeys.queueEventsChannel(eventId).getBytes(StandardCharsets.UTF_8),
+                headSeq.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
@@ -0,0 +1,191 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TerminalStatusCache;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class SoldOutShortCircuitRedisIntegrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private TicketGenerationCache generationCache;
+    private SoldOutShortCircuit nodeAShortCircuit;
+    private SoldOutShortCircuit nodeBShortCircuit;
+    private TerminalStatusCache nodeBStatusCache;
+    private ClaimService nodeA;
+    private ClaimService nodeB;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        generationCache = new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+
+        DefaultRedisScript<List> claimScript = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class);
+        DefaultRedisScript<Long> statusScript =
+                RedisLuaScriptConfig.layoutAwareScript("redis/status_mark_sold_out.lua", Long.class);
+
+        nodeAShortCircuit = shortCircuit(statusScript,
+                new TerminalStatusCache(redisTemplate, mock(RedisMessageListenerContainer.class)));
+        nodeBStatusCache = new TerminalStatusCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(nodeBStatusCache, "maxEntries", 100);
+        nodeBShortCircuit = shortCircuit(statusScript, nodeBStatusCache);
+        nodeA = claimService(claimScript, nodeAShortCircuit);
+        nodeB = claimService(claimScript, nodeBShortCircuit);
+        eventId = "it-sold-out-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            Set<String> keys = redisTemplate.keys(TicketRedisKeys.eventKeyPattern(eventId));
+            if (keys != null && !keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void lastTicketFlagsEventAndLaterClaimsSkipRedisUntilStatusFlush() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "1");
+
+        ClaimResult last = nodeA.claim(eventId, "u1");
+        ClaimResult late = nodeA.claim(eventId, "u2");
+        ClaimResult again = nodeA.claim(eventId, "u1");
+
+        assertThat(last.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(last.remaining()).isZero();
+        assertThat(late.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        // 이 노드에서 이긴 사용자는 매진 표시 중에도 ALREADY로 답한다.
+        assertThat(again.status()).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(nodeAShortCircuit.shortCircuitCount()).isEqualTo(1L);
+        // claim_v2.lua를 타지 않았으므로 아직 status가 없고 stock도 그대로다.
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.statusKey(eventId, 0L, "u2"))).isFalse();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("0");
+
+        nodeAShortCircuit.flushStatuses();
+
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u2")))
+                .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
+        // ALREADY로 답한 u1은 건너뛴 요청이 아니므로 SUCCESS status가 그대로 남는다.
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u1")))
+                .isEqualTo(TicketRequestStatus.SUCCESS.name());
+    }
+
+    @Test
+    void soldOutMessageFromAnotherNodeShortCircuitsAndHashLayoutStatusIsWritten() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.layoutKey(eventId, 0L), TicketKeyLayout.hashMarker(8));
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "0");
+
+        assertThat(nodeA.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        nodeBShortCircuit.onMessage(message(TicketRedisKeys.soldOutChannel(), "0:" + eventId), null);
+
+        assertThat(nodeB.claim(eventId, "u2").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(nodeBShortCircuit.shortCircuitCount()).isEqualTo(1L);
+
+        nodeBShortCircuit.flushStatuses();
+
+        int bucket = TicketKeyLayout.bucketOf("u2", 8);
+        assertThat(redisTemplate.opsForHash().get(TicketRedisKeys.statusHashPrefix(eventId, 0L) + bucket, "u2"))
+                .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
+    }
+
+    @Test
+    void winnerSeenInTerminalStatusCacheOfAnotherNodeGetsAlready() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "2");
+        assertThat(nodeA.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(nodeA.claim(eventId, "u0").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        nodeBShortCircuit.onMessage(message(TicketRedisKeys.soldOutChannel(), "0:" + eventId), null);
+        // u1이 node B로 status를 조회해 SUCCESS가 캐시된 상태
+        nodeBStatusCache.putIfTerminal(nodeBStatusCache.entriesOf(eventId), "u1", TicketRequestStatus.SUCCESS);
+
+        assertThat(nodeB.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(nodeB.claim(eventId, "u2").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        // node B가 모르는 승자의 응답은 SOLD_OUT이지만, 나중에 쓰는 status는 claim_v2.lua와 같이 ALREADY다.
+        assertThat(nodeB.claim(eventId, "u0").status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(nodeBShortCircuit.shortCircuitCount()).isEqualTo(2L);
+
+        nodeBShortCircuit.flushStatuses();
+
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u0")))
+                .isEqualTo(TicketRequestStatus.ALREADY.name());
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "u2")))
+                .isEqualTo(TicketRequestStatus.SOLD_OUT.name());
+    }
+
+    @Test
+    void flagIsIgnoredAfterInitAndClearedByInvalidation() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "0");
+        nodeA.claim(eventId, "u1");
+        nodeA.claim(eventId, "u-pending");
+        assertThat(nodeAShortCircuit.isSoldOut(eventId, 0L)).isTrue();
+
+        // 다른 노드가 init: 새 generation에는 이전 매진 표시가 적용되지 않는다.
+        redisTemplate.opsForValue().set(TicketRedisKeys.generationKey(eventId), "1");
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "3");
+        generationCache.refresh(eventId);
+        assertThat(nodeA.claim(eventId, "u2").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+
+        nodeAShortCircuit.onMessage(message(TicketRedisKeys.statusCacheInvalidationChannel(), eventId), null);
+        assertThat(nodeAShortCircuit.isSoldOut(eventId, 0L)).isFalse();
+
+        // 이전 generation으로 모아 둔 status는 generation 검사로 버려진다.
+        nodeAShortCircuit.flushStatuses();
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.statusKey(eventId, 0L, "u-pending"))).isFalse();
+    }
+
+    private SoldOutShortCircuit shortCircuit(DefaultRedisScript<Long> statusScript, TerminalStatusCache statusCache) {
+        SoldOutShortCircuit shortCircuit =
+                new SoldOutShortCircuit(redisTemplate, mock(RedisMessageListenerContainer.class), statusScript, statusCache);
+        ReflectionTestUtils.setField(shortCircuit, "enabled", true);
+        ReflectionTestUtils.setField(shortCircuit, "statusBatchSize", 2);
+        ReflectionTestUtils.setField(shortCircuit, "statusQueueCapacity", 100);
+        return shortCircuit;
+    }
+
+    private ClaimService claimService(DefaultRedisScript<List> claimScript, SoldOutShortCircuit shortCircuit) {
+        return new ClaimServiceImpl(redisTemplate, claimScript, new ClaimOutcomeMetrics(),
+                new ClaimBatcher(redisTemplate, claimScript, generationCache,
+                        RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class)), generationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), mock(ClaimStockLeases.class),
+                shortCircuit,
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+    }
+
+    private DefaultMessage message(String channel, String body) {
+        return new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
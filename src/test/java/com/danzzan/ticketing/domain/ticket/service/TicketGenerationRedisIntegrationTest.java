@@ -0,0 +1,137 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.dto.AdminTicketInitResponseDTO;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisLeaseManager;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TerminalStatusCache;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventListSnapshot;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventMetaSync;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class TicketGenerationRedisIntegrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private TicketGenerationCache generationCache;
+    private TicketGenerationCache otherNodeGenerationCache;
+    private TicketInitService ticketInitService;
+    private TicketGenerationSweepService sweepService;
+    private ClaimService claimService;
+    private ClaimService otherNodeClaimService;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+        generationCache = new TicketGenerationCache(redisTemplate, listenerContainer);
+        otherNodeGenerationCache = new TicketGenerationCache(redisTemplate, listenerContainer);
+
+        DefaultRedisScript<Long> initScript = new DefaultRedisScript<>();
+        initScript.setLocation(new ClassPathResource("redis/event_init.lua"));
+        initScript.setResultType(Long.class);
+        ticketInitService = new TicketInitServiceImpl(
+                redisTemplate,
+                initScript,
+                new ClaimOutboxServiceImpl(redisTemplate),
+                new TerminalStatusCache(redisTemplate, listenerContainer),
+                generationCache,
+                mock(TicketEventListSnapshot.class),
+                mock(SoldOutShortCircuit.class),
+                mock(TicketEventMetaSync.class)
+        );
+
+        sweepService = new TicketGenerationSweepServiceImpl(redisTemplate, mock(RedisLeaseManager.class));
+        ReflectionTestUtils.setField(sweepService, "graceMs", 0L);
+
+        DefaultRedisScript<List> claimScript = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class);
+        claimService = new ClaimServiceImpl(redisTemplate, claimScript, new ClaimOutcomeMetrics(),
+                new ClaimBatcher(redisTemplate, claimScript, generationCache,
+                        RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class)), generationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), mock(ClaimStockLeases.class),
+                mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+        otherNodeClaimService = new ClaimServiceImpl(redisTemplate, claimScript, new ClaimOutcomeMetrics(),
+                new ClaimBatcher(redisTemplate, claimScript, otherNodeGenerationCache,
+                        RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class)), otherNodeGenerationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), mock(ClaimStockLeases.class),
+                mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+
+        eventId = "it-generation-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            redisTemplate.opsForSet().remove(TicketRedisKeys.eventRegistryKey(), eventId);
+            Set<String> keys = redisTemplate.keys(TicketRedisKeys.eventKeyPattern(eventId));
+            if (keys != null && !keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void reinitStartsEmptyGenerationAndSweeperReclaimsPreviousOne() {
+        AdminTicketInitResponseDTO first = ticketInitService.initStock(eventId, 1L);
+        assertThat(claimService.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(claimService.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.ALREADY);
+
+        AdminTicketInitResponseDTO second = ticketInitService.initStock(eventId, 1L);
+
+        assertThat(second.getGeneration()).isEqualTo(first.getGeneration() + 1);
+        assertThat(claimService.claim(eventId, "u1").order()).isEqualTo(1L);
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(eventId, first.getGeneration(), "u1"))).isTrue();
+
+        assertThat(sweepService.sweep(eventId)).isEqualTo(2);
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(eventId, first.getGeneration(), "u1"))).isFalse();
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.orderKey(eventId, first.getGeneration()))).isFalse();
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(eventId, second.getGeneration(), "u1"))).isTrue();
+    }
+
+    @Test
+    void nodeWithStaleGenerationRetriesInNewGeneration() {
+        AdminTicketInitResponseDTO first = ticketInitService.initStock(eventId, 5L);
+        assertThat(otherNodeClaimService.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+
+        // 다른 노드는 아직 무효화 메시지를 받지 못해 이전 generation을 캐시하고 있다.
+        AdminTicketInitResponseDTO second = ticketInitService.initStock(eventId, 5L);
+        assertThat(otherNodeGenerationCache.current(eventId)).isEqualTo(first.getGeneration());
+
+        assertThat(otherNodeClaimService.claim(eventId, "u1").status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(otherNodeGenerationCache.current(eventId)).isEqualTo(second.getGeneration());
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(eventId))).isEqualTo("4");
+    }
+}
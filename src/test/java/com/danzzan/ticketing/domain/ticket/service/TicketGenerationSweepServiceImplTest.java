@@ -0,0 +1,181 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisLeaseManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketGenerationSweepServiceImplTest {
+
+    private static final String EVENT_ID = "festival-day1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisLeaseManager redisLeaseManager;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private Cursor<String> userCursor;
+
+    @Mock
+    private Cursor<String> statusCursor;
+
+    @InjectMocks
+    private TicketGenerationSweepServiceImpl sweepService;
+
+    @Test
+    void sweepsStringLayoutGenerationByScanAndForgetsIt() {
+        mockRetired("1");
+        when(valueOperations.get(TicketRedisKeys.generationKey(EVENT_ID))).thenReturn("2");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(userCursor).thenReturn(statusCursor);
+        when(userCursor.hasNext()).thenReturn(true, false);
+        when(userCursor.next()).thenReturn(TicketRedisKeys.userKey(EVENT_ID, 1L, "u1"));
+        when(statusCursor.hasNext()).thenReturn(false);
+        List<String> unlinked = captureUnlinked();
+
+        int swept = sweepService.sweep(EVENT_ID);
+
+        assertThat(swept).isEqualTo(1);
+        assertThat(unlinked).containsExactly(
+                TicketRedisKeys.userKey(EVENT_ID, 1L, "u1"),
+                TicketRedisKeys.orderKey(EVENT_ID, 1L),
+                TicketRedisKeys.queueKey(EVENT_ID, 1L),
+                TicketRedisKeys.queueSeqKey(EVENT_ID, 1L),
+                TicketRedisKeys.gateKey(EVENT_ID, 1L),
+                TicketRedisKeys.leasedStockKey(EVENT_ID, 1L),
+                TicketRedisKeys.leaseOwnersKey(EVENT_ID, 1L),
+                TicketRedisKeys.layoutKey(EVENT_ID, 1L)
+        );
+        verify(userCursor).close();
+        verify(statusCursor).close();
+        verify(zSetOperations).remove(TicketRedisKeys.retiredGenerationsKey(EVENT_ID), "1");
+    }
+
+    @Test
+    void sweepsHashLayoutGenerationWithoutScan() {
+        mockRetired("1");
+        when(valueOperations.get(TicketRedisKeys.generationKey(EVENT_ID))).thenReturn("2");
+        when(valueOperations.get(TicketRedisKeys.layoutKey(EVENT_ID, 1L))).thenReturn(TicketKeyLayout.hashMarker(2));
+        List<String> unlinked = captureUnlinked();
+
+        sweepService.sweep(EVENT_ID);
+
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+        assertThat(unlinked).startsWith(
+                TicketRedisKeys.userHashPrefix(EVENT_ID, 1L) + 0,
+                TicketRedisKeys.statusHashPrefix(EVENT_ID, 1L) + 0,
+                TicketRedisKeys.userHashPrefix(EVENT_ID, 1L) + 1,
+                TicketRedisKeys.statusHashPrefix(EVENT_ID, 1L) + 1
+        );
+    }
+
+    @Test
+    void sweepsBitmapLayoutKeysAndLegacyStringKeys() {
+        mockRetired("1");
+        when(valueOperations.get(TicketRedisKeys.generationKey(EVENT_ID))).thenReturn("2");
+        when(valueOperations.get(TicketRedisKeys.layoutKey(EVENT_ID, 1L))).thenReturn(TicketKeyLayout.bitmapMarker());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(userCursor).thenReturn(statusCursor);
+        when(userCursor.hasNext()).thenReturn(true, false);
+        when(userCursor.next()).thenReturn(TicketRedisKeys.userKey(EVENT_ID, 1L, "student-a"));
+        when(statusCursor.hasNext()).thenReturn(false);
+        List<String> unlinked = captureUnlinked();
+
+        sweepService.sweep(EVENT_ID);
+
+        assertThat(unlinked).startsWith(
+                TicketRedisKeys.userBitmapKey(EVENT_ID, 1L),
+                TicketRedisKeys.statusBitfieldKey(EVENT_ID, 1L),
+                TicketRedisKeys.userKey(EVENT_ID, 1L, "student-a")
+        );
+    }
+
+    @Test
+    void neverSweepsCurrentGeneration() {
+        mockRetired("2");
+        when(valueOperations.get(TicketRedisKeys.generationKey(EVENT_ID))).thenReturn("2");
+
+        int swept = sweepService.sweep(EVENT_ID);
+
+        assertThat(swept).isZero();
+        verify(redisTemplate, never()).unlink(anyCollection());
+        verify(zSetOperations).remove(TicketRedisKeys.retiredGenerationsKey(EVENT_ID), "2");
+    }
+
+    @Test
+    void skipsSweepWithoutLease() {
+        ReflectionTestUtils.setField(sweepService, "enabled", true);
+        when(redisLeaseManager.tryAcquire(eq(TicketRedisKeys.generationSweepLeaseKey()), anyLong())).thenReturn(false);
+
+        sweepService.sweepRegisteredEvents();
+
+        verify(redisTemplate, never()).opsForSet();
+    }
+
+    @Test
+    void sweepsRegisteredEventsWhenLeaseIsHeld() {
+        ReflectionTestUtils.setField(sweepService, "enabled", true);
+        when(redisLeaseManager.tryAcquire(eq(TicketRedisKeys.generationSweepLeaseKey()), anyLong())).thenReturn(true);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(TicketRedisKeys.eventRegistryKey())).thenReturn(Set.of(EVENT_ID));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScore(eq(TicketRedisKeys.retiredGenerationsKey(EVENT_ID)), anyDouble(), anyDouble()))
+                .thenReturn(Set.of());
+
+        sweepService.sweepRegisteredEvents();
+
+        verify(zSetOperations).rangeByScore(eq(TicketRedisKeys.retiredGenerationsKey(EVENT_ID)), anyDouble(), anyDouble());
+    }
+
+    private void mockRetired(String generation) {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(zSetOperations.rangeByScore(eq(TicketRedisKeys.retiredGenerationsKey(EVENT_ID)), anyDouble(), anyDouble()))
+                .thenReturn(Set.of(generation));
+    }
+
+    private List<String> captureUnlinked() {
+        List<String> unlinked = new ArrayList<>();
+        doAnswer(invocation -> {
+            unlinked.addAll(invocation.getArgument(0));
+            return (long) unlinked.size();
+        }).when(redisTemplate).unlink(anyCollection());
+        return unlinked;
+    }
+}
@@ -1,23 +1,33 @@
 package com.danzzan.ticketing.domain.ticket.service;
 
 import com.danzzan.ticketing.domain.ticket.dto.AdminTicketInitResponseDTO;
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TerminalStatusCache;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventListSnapshot;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketEventMetaSync;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,51 +37,95 @@ class TicketInitServiceImplTest {
     private StringRedisTemplate redisTemplate;
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private RedisScript<Long> eventInitScript;
+
+    @Mock
+    private ClaimOutboxService claimOutboxService;
 
     @Mock
-    private Cursor<String> userCursor;
+    private TerminalStatusCache terminalStatusCache;
 
     @Mock
-    private Cursor<String> statusCursor;
+    private TicketGenerationCache ticketGenerationCache;
+
+    @Mock
+    private TicketEventListSnapshot ticketEventListSnapshot;
+
+    @Mock
+    private SoldOutShortCircuit soldOutShortCircuit;
+
+    @Mock
+    private TicketEventMetaSync ticketEventMetaSync;
 
     @InjectMocks
     private TicketInitServiceImpl ticketInitService;
 
     @Test
-    void initStockWritesStockKeyAndCleansClaimKeys() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(userCursor, statusCursor);
-        when(userCursor.hasNext()).thenReturn(true, true, false);
-        when(userCursor.next()).thenReturn(
-                TicketRedisKeys.userKey("festival-day1", "u1"),
-                TicketRedisKeys.userKey("festival-day1", "u2")
-        );
-        when(statusCursor.hasNext()).thenReturn(true, false);
-        when(statusCursor.next()).thenReturn(TicketRedisKeys.statusKey("festival-day1", "u1"));
+    void initStockBumpsGenerationWithoutScanningOldKeys() {
+        when(redisTemplate.execute(eq(eventInitScript), anyList(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(3L);
 
         AdminTicketInitResponseDTO response = ticketInitService.initStock("festival-day1", 5000L);
 
-        verify(redisTemplate, times(2)).unlink(anyCollection());
-        verify(userCursor).close();
-        verify(statusCursor).close();
-        verify(valueOperations).set(TicketRedisKeys.stockKey("festival-day1"), "5000");
+        verify(redisTemplate).execute(
+                eq(eventInitScript),
+                eq(List.of(
+                        TicketRedisKeys.generationKey("festival-day1"),
+                        TicketRedisKeys.stockKey("festival-day1"),
+                        TicketRedisKeys.retiredGenerationsKey("festival-day1")
+                )),
+                eq("5000"),
+                anyString(),
+                eq(""),
+                eq(TicketRedisKeys.generationNamespacePrefix("festival-day1"))
+        );
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+        verify(redisTemplate, never()).unlink(anyCollection());
+        verify(claimOutboxService).registerEvent("festival-day1");
+        verify(ticketGenerationCache).update("festival-day1", 3L);
+        verify(terminalStatusCache).invalidateEverywhere("festival-day1");
+        verify(ticketEventListSnapshot).invalidate();
+        verify(soldOutShortCircuit).clear("festival-day1");
+        verify(ticketEventMetaSync).sync("festival-day1");
         assertThat(response.getEventId()).isEqualTo("festival-day1");
         assertThat(response.getStock()).isEqualTo(5000L);
+        assertThat(response.getGeneration()).isEqualTo(3L);
     }
 
     @Test
-    void initStockDoesNotCallUnlinkWhenNoClaimKeysExist() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(userCursor, statusCursor);
-        when(userCursor.hasNext()).thenReturn(false);
-        when(statusCursor.hasNext()).thenReturn(false);
+    void initStockWithHashLayoutPassesLayoutMarker() {
+        ReflectionTestUtils.setField(ticketInitService, "keyLayout", TicketKeyLayout.HASH);
+        ReflectionTestUtils.setField(ticketInitService, "hashBuckets", 4);
+        when(redisTemplate.execute(eq(eventInitScript), anyList(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(1L);
 
         ticketInitService.initStock("festival-day1", 5000L);
 
-        verify(redisTemplate, never()).unlink(anyCollection());
-        verify(userCursor).close();
-        verify(statusCursor).close();
-        verify(valueOperations).set(TicketRedisKeys.stockKey("festival-day1"), "5000");
+        verify(redisTemplate).execute(
+                eq(eventInitScript),
+                anyList(),
+                eq("5000"),
+                anyString(),
+                eq("HASH:4"),
+                anyString()
+        );
+    }
+
+    @Test
+    void initStockWithBitmapLayoutPassesBitmapMarker() {
+        ReflectionTestUtils.setField(ticketInitService, "keyLayout", TicketKeyLayout.BITMAP);
+        when(redisTemplate.execute(eq(eventInitScript), anyList(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(1L);
+
+        ticketInitService.initStock("festival-day1", 5000L);
+
+        verify(redisTemplate).execute(
+                eq(eventInitScript),
+                anyList(),
+                eq("5000"),
+                anyString(),
+                eq(TicketKeyLayout.bitmapMarker()),
+                anyString()
+        );
     }
 }
@@ -0,0 +1,211 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimResult;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimBatcher;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimOutcomeMetrics;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.RedisCircuitBreaker;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TerminalStatusCache;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class TicketKeyLayoutRedisIntegrationTest {
+
+    private static final int BUCKETS = 16;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ClaimService claimService;
+    private TicketStatusService ticketStatusService;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        TicketGenerationCache generationCache =
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+
+        DefaultRedisScript<List> claimScript = RedisLuaScriptConfig.layoutAwareScript("redis/claim_v2.lua", List.class);
+        DefaultRedisScript<String> statusReadScript =
+                RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class);
+
+        claimService = new ClaimServiceImpl(
+                redisTemplate, claimScript, new ClaimOutcomeMetrics(), new ClaimBatcher(redisTemplate, claimScript, generationCache,
+                        RedisLuaScriptConfig.layoutAwareScript("redis/status_read.lua", String.class)), generationCache,
+                new RedisCircuitBreaker(), mock(ClaimFailoverService.class), mock(ClaimStockLeases.class),
+                mock(SoldOutShortCircuit.class),
+                RedisLuaScriptConfig.layoutAwareScript("redis/claim_failover_replay.lua", List.class));
+        ticketStatusService = new TicketStatusServiceImpl(
+                redisTemplate,
+                statusReadScript,
+                new TerminalStatusCache(redisTemplate, mock(RedisMessageListenerContainer.class)),
+                generationCache
+        );
+        eventId = "it-layout-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            tearDownEventKeys();
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void hashLayoutStoresClaimInBucketFieldsAndStatusIsReadable() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.layoutKey(eventId, 0L), TicketKeyLayout.hashMarker(BUCKETS));
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "1");
+
+        ClaimResult first = claimService.claim(eventId, "32221902");
+        ClaimResult second = claimService.claim(eventId, "32221902");
+        ClaimResult other = claimService.claim(eventId, "32221903");
+
+        assertThat(first.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(second.status()).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(other.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+
+        // Java와 Lua가 같은 bucket을 계산해야 한다.
+        int bucket = TicketKeyLayout.bucketOf("32221902", BUCKETS);
+        assertThat(redisTemplate.opsForHash().get(TicketRedisKeys.userHashPrefix(eventId, 0L) + bucket, "32221902"))
+                .isEqualTo("1");
+        assertThat(redisTemplate.opsForHash().get(TicketRedisKeys.statusHashPrefix(eventId, 0L) + bucket, "32221902"))
+                .isEqualTo(TicketRequestStatus.ALREADY.name());
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(eventId, 0L, "32221902"))).isFalse();
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.statusKey(eventId, 0L, "32221902"))).isFalse();
+
+        assertThat(ticketStatusService.getStatus(eventId, "32221902")).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(ticketStatusService.getStatus(eventId, "32221903")).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(ticketStatusService.getStatus(eventId, "32221904")).isEqualTo(TicketRequestStatus.NONE);
+    }
+
+    @Test
+    void bitmapLayoutStoresNumericClaimsAsBitsAndLegacyIdsAsStringKeys() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.layoutKey(eventId, 0L), TicketKeyLayout.bitmapMarker());
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "2");
+
+        ClaimResult first = claimService.claim(eventId, "100000");
+        ClaimResult duplicate = claimService.claim(eventId, "100000");
+        ClaimResult legacy = claimService.claim(eventId, "student-a");
+        ClaimResult late = claimService.claim(eventId, "7");
+
+        assertThat(first.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(duplicate.status()).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(legacy.status()).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(late.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
+
+        assertThat(redisTemplate.opsForValue().getBit(TicketRedisKeys.userBitmapKey(eventId, 0L), 100_000L)).isTrue();
+        assertThat(redisTemplate.opsForValue().getBit(TicketRedisKeys.userBitmapKey(eventId, 0L), 7L)).isFalse();
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(eventId, 0L, "100000"))).isFalse();
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(eventId, 0L, "student-a"))).isTrue();
+
+        assertThat(ticketStatusService.getStatus(eventId, "100000")).isEqualTo(TicketRequestStatus.ALREADY);
+        assertThat(ticketStatusService.getStatus(eventId, "student-a")).isEqualTo(TicketRequestStatus.SUCCESS);
+        assertThat(ticketStatusService.getStatus(eventId, "7")).isEqualTo(TicketRequestStatus.SOLD_OUT);
+        assertThat(ticketStatusService.getStatus(eventId, "8")).isEqualTo(TicketRequestStatus.NONE);
+    }
+
+    @Test
+    void bitmapLayoutKeepsHundredThousandClaimsInAboutTwelveKilobytes() {
+        int users = 100_000;
+        String bitmapKey = TicketRedisKeys.userBitmapKey(eventId, 0L);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (int userId = 1; userId <= users; userId++) {
+                stringConnection.setBit(bitmapKey, userId, true);
+            }
+            return null;
+        });
+
+        // 1 bit/user: 100,001 bit = 12,501 byte
+        assertThat(redisTemplate.opsForValue().size(bitmapKey)).isEqualTo(12_501L);
+    }
+
+    @Test
+    void stringLayoutIsUsedWhenMarkerIsAbsent() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(eventId), "1");
+
+        claimService.claim(eventId, "32221902");
+
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.statusKey(eventId, 0L, "32221902")))
+                .isEqualTo(TicketRequestStatus.SUCCESS.name());
+        assertThat(ticketStatusService.getStatus(eventId, "32221902")).isEqualTo(TicketRequestStatus.SUCCESS);
+    }
+
+    @Test
+    void bucketedHashLayoutUsesFarLessMemoryThanStringKeys() {
+        int users = 10_000;
+
+        long stringBytes = measure(connection -> {
+            for (int i = 0; i < users; i++) {
+                String userId = String.valueOf(32_200_000 + i);
+                connection.set(TicketRedisKeys.userKey(eventId, 0L, userId), "1");
+                connection.set(TicketRedisKeys.statusKey(eventId, 0L, userId), TicketRequestStatus.SUCCESS.name());
+            }
+        });
+        long hashBytes = measure(connection -> {
+            for (int i = 0; i < users; i++) {
+                String userId = String.valueOf(32_200_000 + i);
+                int bucket = TicketKeyLayout.bucketOf(userId, 256);
+                connection.hSet(TicketRedisKeys.userHashPrefix(eventId, 0L) + bucket, userId, "1");
+                connection.hSet(TicketRedisKeys.statusHashPrefix(eventId, 0L) + bucket, userId,
+                        TicketRequestStatus.SUCCESS.name());
+            }
+        });
+
+        assertThat(hashBytes).isPositive();
+        assertThat(hashBytes * 3).isLessThan(stringBytes);
+    }
+
+    private long measure(Consumer<StringRedisConnection> writer) {
+        long before = usedMemory();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            writer.accept((StringRedisConnection) connection);
+            return null;
+        });
+        long used = usedMemory() - before;
+        tearDownEventKeys();
+        return used;
+    }
+
+    private void tearDownEventKeys() {
+        Set<String> keys = redisTemplate.keys(TicketRedisKeys.eventKeyPattern(eventId));
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    private long usedMemory() {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("memory"));
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+}
@@ -0,0 +1,251 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.dto.TicketReconcileResponseDTO;
+import com.danzzan.ticketing.domain.ticket.redis.TicketKeyLayout;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketBatchRepository;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimedTicket;
+import com.danzzan.ticketing.domain.ticket.service.support.ClaimStockLeases;
+import com.danzzan.ticketing.domain.ticket.service.support.SoldOutShortCircuit;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
+import com.danzzan.ticketing.global.config.RedisLuaScriptConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@EnabledIfEnvironmentVariable(named = "SPRING_PROFILES_ACTIVE", matches = ".*local-compose.*")
+class TicketReconcileRedisIntegrationTest {
+
+    private static final int BUCKETS = 16;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private UserTicketRepository userTicketRepository;
+    private UserTicketBatchRepository userTicketBatchRepository;
+    private TicketReconcileServiceImpl reconcileService;
+    private Long eventId;
+    private String redisEventId;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        DefaultRedisScript<Long> stockCompareAndSetScript = new DefaultRedisScript<>();
+        stockCompareAndSetScript.setLocation(new ClassPathResource("redis/stock_compare_and_set.lua"));
+        stockCompareAndSetScript.setResultType(Long.class);
+
+        eventId = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+        redisEventId = String.valueOf(eventId);
+
+        FestivalEventRepository festivalEventRepository = mock(FestivalEventRepository.class);
+        FestivalEvent event = mock(FestivalEvent.class);
+        when(event.getTotalCapacity()).thenReturn(10);
+        when(festivalEventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        userTicketRepository = mock(UserTicketRepository.class);
+        userTicketBatchRepository = mock(UserTicketBatchRepository.class);
+
+        reconcileService = new TicketReconcileServiceImpl(
+                redisTemplate,
+                stockCompareAndSetScript,
+                festivalEventRepository,
+                userTicketRepository,
+                userTicketBatchRepository,
+                new TicketGenerationCache(redisTemplate, mock(RedisMessageListenerContainer.class)),
+                mock(SoldOutShortCircuit.class),
+                stockLeases()
+        );
+        ReflectionTestUtils.setField(reconcileService, "parallelism", 4);
+        ReflectionTestUtils.setField(reconcileService, "chunkSize", 2);
+        ReflectionTestUtils.setField(reconcileService, "sampleSize", 100);
+        reconcileService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (connectionFactory != null) {
+            reconcileService.stop();
+            Set<String> keys = redisTemplate.keys(TicketRedisKeys.eventKeyPattern(redisEventId));
+            if (keys != null && !keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void reportsDifferencesWithoutChangingAnythingByDefault() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(redisEventId), "7");
+        for (String userId : List.of("1", "2", "3")) {
+            redisTemplate.opsForValue().set(TicketRedisKeys.userKey(redisEventId, 0L, userId), "1");
+        }
+        when(userTicketRepository.findUserIdsByEventId(eventId)).thenReturn(List.of(2L, 3L, 4L));
+
+        TicketReconcileResponseDTO result = reconcileService.reconcile(eventId, false);
+
+        assertThat(result.getRedisClaimedCount()).isEqualTo(3);
+        assertThat(result.getPersistedCount()).isEqualTo(3);
+        assertThat(result.getMissingInDbSample()).containsExactly(1L);
+        assertThat(result.getMissingInRedisSample()).containsExactly(4L);
+        assertThat(result.getExpectedStock()).isEqualTo(6L);
+        assertThat(result.getStockDrift()).isEqualTo(1L);
+        assertThat(result.getStockRepaired()).isFalse();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(redisEventId))).isEqualTo("7");
+        assertThat(redisTemplate.hasKey(TicketRedisKeys.userKey(redisEventId, 0L, "4"))).isFalse();
+        verify(userTicketBatchRepository, never()).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repairsHashLayoutAndSkipsClaimsStillInOutbox() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.layoutKey(redisEventId, 0L), TicketKeyLayout.hashMarker(BUCKETS));
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(redisEventId), "7");
+        for (String userId : List.of("1", "2", "3", "5")) {
+            redisTemplate.opsForHash().put(
+                    TicketRedisKeys.userHashPrefix(redisEventId, 0L) + TicketKeyLayout.bucketOf(userId, BUCKETS), userId, "1");
+        }
+        // 5번은 아직 write-behind가 적재하지 않은 claim
+        redisTemplate.opsForStream().add(TicketRedisKeys.claimStreamKey(redisEventId),
+                Map.of("eventId", redisEventId, "userId", "5", "remaining", "5", "order", "4"));
+        when(userTicketRepository.findUserIdsByEventId(eventId)).thenReturn(List.of(2L, 3L, 4L));
+        when(userTicketRepository.findMaxTicketingOrderByEventId(eventId)).thenReturn(3);
+
+        TicketReconcileResponseDTO result = reconcileService.reconcile(eventId, true);
+
+        assertThat(result.getPendingOutboxCount()).isEqualTo(1);
+        assertThat(result.getMissingInDbSample()).containsExactly(1L);
+        assertThat(result.getMissingInRedisSample()).containsExactly(4L);
+        assertThat(result.getExpectedStock()).isEqualTo(5L);
+        assertThat(result.getStockRepaired()).isTrue();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(redisEventId))).isEqualTo("5");
+
+        int bucket = TicketKeyLayout.bucketOf("4", BUCKETS);
+        assertThat(redisTemplate.opsForHash().get(TicketRedisKeys.userHashPrefix(redisEventId, 0L) + bucket, "4"))
+                .isEqualTo("1");
+        assertThat(redisTemplate.opsForHash().get(TicketRedisKeys.statusHashPrefix(redisEventId, 0L) + bucket, "4"))
+                .isEqualTo(TicketRequestStatus.SUCCESS.name());
+
+        ArgumentCaptor<List<ClaimedTicket>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(userTicketBatchRepository).insertIgnoringDuplicates(inserted.capture());
+        assertThat(inserted.getValue()).singleElement().satisfies(ticket -> {
+            assertThat(ticket.userId()).isEqualTo(1L);
+            assertThat(ticket.ticketingOrder()).isEqualTo(4);
+        });
+
+        TicketReconcileResponseDTO again = reconcileService.reconcile(eventId, false);
+        assertThat(again.getMissingInRedisCount()).isZero();
+        assertThat(again.getStockDrift()).isZero();
+    }
+
+    @Test
+    void subtractsOutstandingStockLeasesFromExpectedStock() {
+        // 정원 10: 2명 판매, 노드들이 lease로 3개를 들고 있으므로 stock은 5가 맞다.
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(redisEventId), "8");
+        redisTemplate.opsForValue().set(TicketRedisKeys.leasedStockKey(redisEventId, 0L), "3");
+        for (String userId : List.of("1", "2")) {
+            redisTemplate.opsForValue().set(TicketRedisKeys.userKey(redisEventId, 0L, userId), "1");
+        }
+        when(userTicketRepository.findUserIdsByEventId(eventId)).thenReturn(List.of(1L, 2L));
+
+        TicketReconcileResponseDTO result = reconcileService.reconcile(eventId, true);
+
+        assertThat(result.getLeasedStock()).isEqualTo(3L);
+        assertThat(result.getExpectedStock()).isEqualTo(5L);
+        assertThat(result.getStockRepaired()).isTrue();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(redisEventId))).isEqualTo("5");
+
+        // lease 반납(INCRBY stock, DECRBY leased) 뒤에도 정원을 넘지 않고 drift가 없다.
+        redisTemplate.opsForValue().increment(TicketRedisKeys.stockKey(redisEventId), 3L);
+        redisTemplate.opsForValue().decrement(TicketRedisKeys.leasedStockKey(redisEventId, 0L), 3L);
+        TicketReconcileResponseDTO again = reconcileService.reconcile(eventId, false);
+        assertThat(again.getExpectedStock()).isEqualTo(8L);
+        assertThat(again.getStockDrift()).isZero();
+    }
+
+    @Test
+    void repairReclaimsLeasesOfDeadNodesBeforeComputingExpectedStock() {
+        // 정원 10: 2명 판매, 비정상 종료한 노드가 lease 3개를 반납하지 못했다 (heartbeat 없음).
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(redisEventId), "5");
+        redisTemplate.opsForValue().set(TicketRedisKeys.leasedStockKey(redisEventId, 0L), "3");
+        redisTemplate.opsForHash().put(TicketRedisKeys.leaseOwnersKey(redisEventId, 0L), "dead-node", "3");
+        for (String userId : List.of("1", "2")) {
+            redisTemplate.opsForValue().set(TicketRedisKeys.userKey(redisEventId, 0L, userId), "1");
+        }
+        when(userTicketRepository.findUserIdsByEventId(eventId)).thenReturn(List.of(1L, 2L));
+
+        TicketReconcileResponseDTO result = reconcileService.reconcile(eventId, true);
+
+        assertThat(result.getLeasedStock()).isZero();
+        assertThat(result.getExpectedStock()).isEqualTo(8L);
+        assertThat(result.getStockDrift()).isZero();
+        assertThat(redisTemplate.opsForValue().get(TicketRedisKeys.stockKey(redisEventId))).isEqualTo("8");
+        assertThat(redisTemplate.opsForHash().size(TicketRedisKeys.leaseOwnersKey(redisEventId, 0L))).isZero();
+    }
+
+    @Test
+    void readsAndRepairsBitmapLayout() {
+        redisTemplate.opsForValue().set(TicketRedisKeys.layoutKey(redisEventId, 0L), TicketKeyLayout.bitmapMarker());
+        redisTemplate.opsForValue().set(TicketRedisKeys.stockKey(redisEventId), "8");
+        for (long userId : List.of(2L, 3L, 9L)) {
+            redisTemplate.opsForValue().setBit(TicketRedisKeys.userBitmapKey(redisEventId, 0L), userId, true);
+        }
+        when(userTicketRepository.findUserIdsByEventId(eventId)).thenReturn(List.of(2L, 3L, 9L, 12L));
+
+        TicketReconcileResponseDTO result = reconcileService.reconcile(eventId, true);
+
+        assertThat(result.getRedisClaimedCount()).isEqualTo(3);
+        assertThat(result.getMissingInDbCount()).isZero();
+        assertThat(result.getMissingInRedisSample()).containsExactly(12L);
+        assertThat(result.getExpectedStock()).isEqualTo(6L);
+        assertThat(redisTemplate.opsForValue().getBit(TicketRedisKeys.userBitmapKey(redisEventId, 0L), 12L)).isTrue();
+        List<Long> statusCode = redisTemplate.opsForValue().bitField(
+                TicketRedisKeys.statusBitfieldKey(redisEventId, 0L),
+                BitFieldSubCommands.create()
+                        .get(BitFieldSubCommands.BitFieldType.unsigned(TicketKeyLayout.STATUS_CODE_BITS))
+                        .valueAt(BitFieldSubCommands.Offset.offset(12L).multipliedByTypeLength()));
+        assertThat(statusCode).containsExactly((long) TicketKeyLayout.statusCode(TicketRequestStatus.SUCCESS));
+
+        TicketReconcileResponseDTO again = reconcileService.reconcile(eventId, false);
+        assertThat(again.getMissingInRedisCount()).isZero();
+        assertThat(again.getStockDrift()).isZero();
+    }
+
+    private ClaimStockLeases stockLeases() {
+        RedisLuaScriptConfig scripts = new RedisLuaScriptConfig();
+        ClaimStockLeases leases = new ClaimStockLeases(
+                redisTemplate, scripts.stockLeaseGrabScript(), scripts.stockLeaseReturnScript(),
+                scripts.stockLeaseReclaimScript(), mock(SoldOutShortCircuit.class),
+                mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(leases, "enabled", true);
+        return leases;
+    }
+}
@@ -0,0 +1,216 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.dto.ResponseReserveTicketDto;
+import com.danzzan.ticketing.domain.ticket.exception.AlreadyReservedException;
+import com.danzzan.ticketing.domain.ticket.exception.EventNotOpenException;
+import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.support.ReserveSeatAllocator;
+import com.danzzan.ticketing.domain.user.model.entity.AcademicStatus;
+import com.danzzan.ticketing.domain.user.model.entity.User;
+import com.danzzan.ticketing.domain.user.model.entity.UserRole;
+import com.danzzan.ticketing.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TicketReserveWriterServiceImplTest {
+
+    @Mock
+    private FestivalEventRepository festivalEventRepository;
+
+    @Mock
+    private UserTicketRepository userTicketRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReserveSeatAllocator reserveSeatAllocator;
+
+    private TicketReserveWriterServiceImpl writerService;
+
+    @BeforeEach
+    void setUp() {
+        writerService = new TicketReserveWriterServiceImpl(
+                festivalEventRepository,
+                userTicketRepository,
+                userRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                reserveSeatAllocator
+        );
+        ReflectionTestUtils.setField(writerService, "enabled", true);
+        ReflectionTestUtils.setField(writerService, "queueCapacity", 16);
+        ReflectionTestUtils.setField(writerService, "batchSize", 8);
+        ReflectionTestUtils.setField(writerService, "timeoutMs", 5_000L);
+        writerService.start();
+
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user(10L), user(11L)));
+        when(userTicketRepository.findUserIdsByEventId(1L)).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writerService.stop();
+    }
+
+    @Test
+    void assignsSequentialOrdersAndRejectsDuplicateUser() {
+        FestivalEvent event = event(TicketingStatus.OPEN, 3, 0);
+        when(festivalEventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        doAnswer(invocation -> {
+            ReflectionTestUtils.setField(event, "soldCount", invocation.getArgument(1));
+            return 1;
+        }).when(festivalEventRepository).updateSoldCount(eq(1L), anyInt());
+
+        ResponseReserveTicketDto first = writerService.reserve(10L, 1L);
+
+        assertThat(first.getQueueNumber()).isEqualTo(1);
+        assertThat(first.getTicket()).isNotNull();
+        assertThatThrownBy(() -> writerService.reserve(10L, 1L)).isInstanceOf(AlreadyReservedException.class);
+        assertThat(writerService.reserve(11L, 1L).getQueueNumber()).isEqualTo(2);
+        verify(festivalEventRepository).updateSoldCount(1L, 2);
+    }
+
+    @Test
+    void rejectsWhenCapacityIsReached() {
+        when(festivalEventRepository.findByIdForUpdate(1L))
+                .thenReturn(Optional.of(event(TicketingStatus.OPEN, 1, 1)));
+
+        assertThatThrownBy(() -> writerService.reserve(10L, 1L)).isInstanceOf(EventSoldOutException.class);
+        verify(userTicketRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    void rejectsWhenEventIsNotOpen() {
+        when(festivalEventRepository.findByIdForUpdate(1L))
+                .thenReturn(Optional.of(event(TicketingStatus.READY, 10, 0)));
+
+        assertThatThrownBy(() -> writerService.reserve(10L, 1L)).isInstanceOf(EventNotOpenException.class);
+    }
+
+    @Test
+    void mapsUniqueViolationFromOtherPathToAlreadyReserved() {
+        when(festivalEventRepository.findByIdForUpdate(1L))
+                .thenReturn(Optional.of(event(TicketingStatus.OPEN, 10, 0)));
+        when(userTicketRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("uk_user_event"));
+
+        assertThatThrownBy(() -> writerService.reserve(10L, 1L)).isInstanceOf(AlreadyReservedException.class);
+        verify(festivalEventRepository, never()).updateSoldCount(eq(1L), anyInt());
+    }
+
+    @Test
+    void otherIntegrityViolationIsNotReportedAsAlreadyReserved() {
+        when(festivalEventRepository.findByIdForUpdate(1L))
+                .thenReturn(Optional.of(event(TicketingStatus.OPEN, 10, 0)));
+        when(userTicketRepository.saveAll(any()))
+                .thenThrow(new DataIntegrityViolationException("fk_user_tickets_user"));
+
+        assertThatThrownBy(() -> writerService.reserve(10L, 1L))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("fk_user_tickets_user");
+    }
+
+    @Test
+    void reloadsReservedUsersWhenSoldCountChangedOutsideTheWriter() {
+        FestivalEvent event = event(TicketingStatus.OPEN, 3, 0);
+        when(festivalEventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        doAnswer(invocation -> {
+            ReflectionTestUtils.setField(event, "soldCount", invocation.getArgument(1));
+            return 1;
+        }).when(festivalEventRepository).updateSoldCount(eq(1L), anyInt());
+
+        assertThat(writerService.reserve(10L, 1L).getQueueNumber()).isEqualTo(1);
+        assertThatThrownBy(() -> writerService.reserve(10L, 1L)).isInstanceOf(AlreadyReservedException.class);
+        verify(userTicketRepository, times(1)).findUserIdsByEventId(1L);
+
+        // 운영자가 티켓과 sold_count를 초기화했다: 메모리 set을 믿지 않고 다시 적재한다.
+        ReflectionTestUtils.setField(event, "soldCount", 0);
+
+        assertThat(writerService.reserve(10L, 1L).getQueueNumber()).isEqualTo(1);
+        verify(userTicketRepository, times(2)).findUserIdsByEventId(1L);
+    }
+
+    @Test
+    void laneKilledByErrorIsReplacedOnNextReserve() {
+        when(festivalEventRepository.findByIdForUpdate(1L))
+                .thenReturn(Optional.of(event(TicketingStatus.OPEN, 10, 0)));
+        when(userTicketRepository.saveAll(any()))
+                .thenThrow(new OutOfMemoryError("simulated"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThatThrownBy(() -> writerService.reserve(10L, 1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(writerService.reserve(10L, 1L).getQueueNumber()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesToStartTogetherWithCapacitySlots() throws InterruptedException {
+        writerService.stop();
+        when(reserveSeatAllocator.usesCapacitySlots()).thenReturn(true);
+
+        assertThatThrownBy(() -> writerService.start())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("capacity-slots");
+    }
+
+    private static FestivalEvent event(TicketingStatus status, int capacity, int soldCount) {
+        FestivalEvent event = FestivalEvent.builder()
+                .title("loadtest-event")
+                .eventDate(LocalDate.of(2026, 5, 13))
+                .ticketingStartTime(LocalDateTime.of(2026, 5, 13, 12, 0))
+                .ticketingStatus(status)
+                .totalCapacity(capacity)
+                .build();
+        ReflectionTestUtils.setField(event, "id", 1L);
+        ReflectionTestUtils.setField(event, "soldCount", soldCount);
+        return event;
+    }
+
+    private static User user(Long id) {
+        User user = User.builder()
+                .studentId("loadtest-" + id)
+                .password("encoded")
+                .name("Loadtest User " + id)
+                .college("SW융합대학")
+                .major("소프트웨어학과")
+                .academicStatus(AcademicStatus.ENROLLED)
+                .role(UserRole.ROLE_USER)
+                .build();
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+}
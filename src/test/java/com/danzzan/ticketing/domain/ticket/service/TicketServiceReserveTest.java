@@ -8,6 +8,7 @@ import com.danzzan.ticketing.domain.ticket.exception.AlreadyReservedException;
 import com.danzzan.ticketing.domain.ticket.exception.EventSoldOutException;
 import com.danzzan.ticketing.domain.ticket.model.entity.UserTicket;
 import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import com.danzzan.ticketing.domain.ticket.service.support.ReserveSeatAllocator;
 import com.danzzan.ticketing.domain.user.model.entity.AcademicStatus;
 import com.danzzan.ticketing.domain.user.model.entity.User;
 import com.danzzan.ticketing.domain.user.model.entity.UserRole;
@@ -18,10 +19,12 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -31,7 +34,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
-class TicketServiceReserveLockingTest {
+class TicketServiceReserveTest {
 
     @Mock
     private FestivalEventRepository eventRepository;
@@ -42,57 +45,74 @@ class TicketServiceReserveLockingTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ReserveSeatAllocator reserveSeatAllocator;
+
     @InjectMocks
     private TicketService ticketService;
 
     @Test
-    void reserveUsesPessimisticEventLockAndReturnsTicket() {
+    void reserveUsesOrderFromSeatAllocator() {
         FestivalEvent event = openEvent(2);
         User user = sampleUser();
 
-        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
         when(ticketRepository.existsByUserIdAndEventId(10L, 1L)).thenReturn(false);
-        when(ticketRepository.countByEventId(1L)).thenReturn(1L);
         when(userRepository.findById(10L)).thenReturn(Optional.of(user));
+        when(reserveSeatAllocator.claim(event)).thenReturn(OptionalInt.of(2));
         when(ticketRepository.save(any(UserTicket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ResponseReserveTicketDto response = ticketService.reserveTicket(10L, 1L);
 
         assertThat(response.getQueueNumber()).isEqualTo(2);
         assertThat(response.getTicket()).isNotNull();
-        verify(eventRepository).findByIdForUpdate(1L);
-        verify(eventRepository, never()).findById(any(Long.class));
+        verify(ticketRepository, never()).countByEventId(any(Long.class));
     }
 
     @Test
-    void reserveThrowsSoldOutWhenCapacityReachedInsideLockedSection() {
+    void reserveThrowsSoldOutWhenNoSeatIsLeft() {
         FestivalEvent event = openEvent(1);
 
-        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
         when(ticketRepository.existsByUserIdAndEventId(10L, 1L)).thenReturn(false);
-        when(ticketRepository.countByEventId(1L)).thenReturn(1L);
+        when(userRepository.findById(10L)).thenReturn(Optional.of(sampleUser()));
+        when(reserveSeatAllocator.claim(event)).thenReturn(OptionalInt.empty());
 
         assertThatThrownBy(() -> ticketService.reserveTicket(10L, 1L))
                 .isInstanceOf(EventSoldOutException.class);
 
-        verify(userRepository, never()).findById(ArgumentMatchers.anyLong());
         verify(ticketRepository, never()).save(any(UserTicket.class));
     }
 
     @Test
-    void reserveThrowsAlreadyReservedBeforeInsert() {
+    void reserveThrowsAlreadyReservedBeforeClaimingSeat() {
         FestivalEvent event = openEvent(3);
 
-        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
         when(ticketRepository.existsByUserIdAndEventId(10L, 1L)).thenReturn(true);
 
         assertThatThrownBy(() -> ticketService.reserveTicket(10L, 1L))
                 .isInstanceOf(AlreadyReservedException.class);
 
-        verify(ticketRepository, never()).countByEventId(1L);
+        verify(reserveSeatAllocator, never()).claim(any(FestivalEvent.class));
         verify(ticketRepository, never()).save(any(UserTicket.class));
     }
 
+    @Test
+    void reserveMapsUniqueViolationToAlreadyReserved() {
+        FestivalEvent event = openEvent(3);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(ticketRepository.existsByUserIdAndEventId(10L, 1L)).thenReturn(false);
+        when(userRepository.findById(10L)).thenReturn(Optional.of(sampleUser()));
+        when(reserveSeatAllocator.claim(event)).thenReturn(OptionalInt.of(1));
+        when(ticketRepository.save(any(UserTicket.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_user_event"));
+
+        assertThatThrownBy(() -> ticketService.reserveTicket(10L, 1L))
+                .isInstanceOf(AlreadyReservedException.class);
+    }
+
     private FestivalEvent openEvent(int capacity) {
         return FestivalEvent.builder()
                 .title("loadtest-event")
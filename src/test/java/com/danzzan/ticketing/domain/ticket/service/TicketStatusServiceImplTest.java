@@ -2,16 +2,25 @@ package com.danzzan.ticketing.domain.ticket.service;
 
 import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
 import com.danzzan.ticketing.domain.ticket.redis.TicketRequestStatus;
+import com.danzzan.ticketing.domain.ticket.service.support.TerminalStatusCache;
+import com.danzzan.ticketing.domain.ticket.service.support.TicketGenerationCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,20 +30,27 @@ class TicketStatusServiceImplTest {
     private StringRedisTemplate redisTemplate;
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private RedisScript<String> ticketStatusReadScript;
+
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    private TerminalStatusCache terminalStatusCache;
 
-    @InjectMocks
     private TicketStatusServiceImpl ticketStatusService;
 
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        terminalStatusCache = new TerminalStatusCache(redisTemplate, mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(terminalStatusCache, "enabled", true);
+        ReflectionTestUtils.setField(terminalStatusCache, "maxEntries", 10);
+        ticketStatusService = new TicketStatusServiceImpl(
+                redisTemplate, ticketStatusReadScript, terminalStatusCache, ticketGenerationCache);
     }
 
     @Test
     void returnsNoneWhenStatusKeyDoesNotExist() {
-        String statusKey = TicketRedisKeys.statusKey("festival-day1", "32221902");
-        when(valueOperations.get(statusKey)).thenReturn(null);
+        mockStoredStatus(null);
 
         TicketRequestStatus status = ticketStatusService.getStatus("festival-day1", "32221902");
 
@@ -43,8 +59,7 @@ class TicketStatusServiceImplTest {
 
     @Test
     void returnsEnumStatusWhenStoredValueIsValid() {
-        String statusKey = TicketRedisKeys.statusKey("festival-day1", "32221902");
-        when(valueOperations.get(statusKey)).thenReturn("SUCCESS");
+        mockStoredStatus("SUCCESS");
 
         TicketRequestStatus status = ticketStatusService.getStatus("festival-day1", "32221902");
 
@@ -53,11 +68,83 @@ class TicketStatusServiceImplTest {
 
     @Test
     void returnsNoneWhenStoredValueIsInvalid() {
-        String statusKey = TicketRedisKeys.statusKey("festival-day1", "32221902");
-        when(valueOperations.get(statusKey)).thenReturn("INVALID_STATUS");
+        mockStoredStatus("INVALID_STATUS");
 
         TicketRequestStatus status = ticketStatusService.getStatus("festival-day1", "32221902");
 
         assertThat(status).isEqualTo(TicketRequestStatus.NONE);
     }
+
+    @Test
+    void terminalStatusIsServedFromCacheUntilEventIsInvalidated() {
+        mockStoredStatus("SUCCESS");
+
+        ticketStatusService.getStatus("festival-day1", "32221902");
+        TicketRequestStatus cached = ticketStatusService.getStatus("festival-day1", "32221902");
+
+        assertThat(cached).isEqualTo(TicketRequestStatus.SUCCESS);
+        verifyStatusReads(1);
+        assertThat(terminalStatusCache.hitCount()).isEqualTo(1L);
+        assertThat(terminalStatusCache.missCount()).isEqualTo(1L);
+
+        terminalStatusCache.invalidate("festival-day1");
+        mockStoredStatus(null);
+
+        assertThat(ticketStatusService.getStatus("festival-day1", "32221902")).isEqualTo(TicketRequestStatus.NONE);
+        assertThat(ticketStatusService.getCacheStats().getSize()).isZero();
+    }
+
+    @Test
+    void nonTerminalStatusIsNotCached() {
+        mockStoredStatus("WAITING");
+
+        ticketStatusService.getStatus("festival-day1", "32221902");
+        ticketStatusService.getStatus("festival-day1", "32221902");
+
+        verifyStatusReads(2);
+        assertThat(terminalStatusCache.size()).isZero();
+    }
+
+    @Test
+    void entryCountStaysWithinMaxEntriesAndIsReleasedOnInvalidation() {
+        TerminalStatusCache.EventEntries day1 = terminalStatusCache.entriesOf("festival-day1");
+        for (int i = 0; i < 12; i++) {
+            terminalStatusCache.putIfTerminal(day1, "user-" + i, TicketRequestStatus.SOLD_OUT);
+        }
+        terminalStatusCache.putIfTerminal(day1, "user-0", TicketRequestStatus.SOLD_OUT);
+        assertThat(terminalStatusCache.size()).isEqualTo(10);
+
+        terminalStatusCache.invalidate("festival-day1");
+        assertThat(terminalStatusCache.size()).isZero();
+
+        // 무효화 전에 받아 둔 handle로 늦게 들어온 put은 개수에 반영되지 않는다.
+        terminalStatusCache.putIfTerminal(day1, "late", TicketRequestStatus.SUCCESS);
+        terminalStatusCache.putIfTerminal(terminalStatusCache.entriesOf("festival-day2"), "user-0",
+                TicketRequestStatus.SUCCESS);
+        assertThat(terminalStatusCache.size()).isEqualTo(1);
+    }
+
+    private void mockStoredStatus(String value) {
+        when(redisTemplate.execute(
+                eq(ticketStatusReadScript),
+                eq(List.of(
+                        TicketRedisKeys.layoutKey("festival-day1", 0L),
+                        TicketRedisKeys.statusKey("festival-day1", 0L, "32221902")
+                )),
+                eq(TicketRedisKeys.statusHashPrefix("festival-day1", 0L)),
+                eq(TicketRedisKeys.queueMember("32221902"))
+        )).thenReturn(value);
+    }
+
+    private void verifyStatusReads(int count) {
+        verify(redisTemplate, times(count)).execute(
+                eq(ticketStatusReadScript),
+                eq(List.of(
+                        TicketRedisKeys.layoutKey("festival-day1", 0L),
+                        TicketRedisKeys.statusKey("festival-day1", 0L, "32221902")
+                )),
+                eq(TicketRedisKeys.statusHashPrefix("festival-day1", 0L)),
+                eq(TicketRedisKeys.queueMember("32221902"))
+        );
+    }
 }
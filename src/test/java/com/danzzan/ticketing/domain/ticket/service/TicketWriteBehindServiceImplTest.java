@@ -0,0 +1,96 @@
+package com.danzzan.ticketing.domain.ticket.service;
+
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketBatchRepository;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimOutboxEntry;
+import com.danzzan.ticketing.domain.ticket.service.model.ClaimedTicket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketWriteBehindServiceImplTest {
+
+    @Mock
+    private ClaimOutboxService claimOutboxService;
+
+    @Mock
+    private UserTicketBatchRepository userTicketBatchRepository;
+
+    private TicketWriteBehindServiceImpl writeBehindService;
+
+    @BeforeEach
+    void setUp() {
+        writeBehindService = new TicketWriteBehindServiceImpl(claimOutboxService, userTicketBatchRepository);
+        ReflectionTestUtils.setField(writeBehindService, "batchSize", 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void persistsNumericEntriesAndAcknowledgesAfterInsert() {
+        ClaimOutboxEntry entry = entry("5", "77", 959L);
+        when(claimOutboxService.readBatch(anyInt())).thenReturn(List.of(entry));
+
+        int flushed = writeBehindService.flushOutbox();
+
+        ArgumentCaptor<List<ClaimedTicket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userTicketBatchRepository).insertIgnoringDuplicates(captor.capture());
+        verify(claimOutboxService).acknowledge(List.of(entry));
+        assertThat(flushed).isEqualTo(1);
+        assertThat(captor.getValue()).singleElement().satisfies(ticket -> {
+            assertThat(ticket.eventId()).isEqualTo(5L);
+            assertThat(ticket.userId()).isEqualTo(77L);
+            assertThat(ticket.ticketingOrder()).isEqualTo(959);
+        });
+    }
+
+    @Test
+    void acknowledgesLegacyStringIdsWithoutInsert() {
+        ClaimOutboxEntry entry = entry("festival-day1", "32221902", 959L);
+        when(claimOutboxService.readBatch(anyInt())).thenReturn(List.of(entry));
+
+        writeBehindService.flushOutbox();
+
+        verify(userTicketBatchRepository, never()).insertIgnoringDuplicates(anyList());
+        verify(claimOutboxService).acknowledge(List.of(entry));
+    }
+
+    @Test
+    void doesNotAcknowledgeWhenInsertFails() {
+        when(claimOutboxService.readBatch(anyInt())).thenReturn(List.of(entry("5", "77", 959L)));
+        when(userTicketBatchRepository.insertIgnoringDuplicates(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> writeBehindService.flushOutbox())
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(claimOutboxService, never()).acknowledge(anyList());
+    }
+
+    private ClaimOutboxEntry entry(String eventId, String userId, long order) {
+        return new ClaimOutboxEntry(
+                TicketRedisKeys.claimStreamKey(eventId),
+                "1700000000000-0",
+                eventId,
+                userId,
+                1000L - order,
+                order,
+                1_700_000_000_000L
+        );
+    }
+}
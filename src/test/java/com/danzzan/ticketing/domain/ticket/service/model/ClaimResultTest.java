@@ -9,11 +9,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class ClaimResultTest {
 
     @Test
-    void successUsesRemaining() {
-        ClaimResult result = ClaimResult.success(42L);
+    void successUsesRemainingAndOrder() {
+        ClaimResult result = ClaimResult.success(42L, 958L);
 
         assertThat(result.status()).isEqualTo(TicketRequestStatus.SUCCESS);
         assertThat(result.remaining()).isEqualTo(42L);
+        assertThat(result.order()).isEqualTo(958L);
     }
 
     @Test
@@ -23,19 +24,24 @@ class ClaimResultTest {
 
         assertThat(soldOut.status()).isEqualTo(TicketRequestStatus.SOLD_OUT);
         assertThat(soldOut.remaining()).isNull();
+        assertThat(soldOut.order()).isNull();
         assertThat(already.status()).isEqualTo(TicketRequestStatus.ALREADY);
         assertThat(already.remaining()).isNull();
+        assertThat(already.order()).isNull();
     }
 
     @Test
     void constructorRejectsInvalidRemainingForStatus() {
-        assertThatThrownBy(() -> new ClaimResult(TicketRequestStatus.SUCCESS, null))
+        assertThatThrownBy(() -> new ClaimResult(TicketRequestStatus.SUCCESS, null, 1L))
                 .isInstanceOf(IllegalArgumentException.class);
 
-        assertThatThrownBy(() -> new ClaimResult(TicketRequestStatus.SOLD_OUT, 1L))
+        assertThatThrownBy(() -> new ClaimResult(TicketRequestStatus.SUCCESS, 1L, null))
                 .isInstanceOf(IllegalArgumentException.class);
 
-        assertThatThrownBy(() -> new ClaimResult(TicketRequestStatus.ALREADY, 1L))
+        assertThatThrownBy(() -> new ClaimResult(TicketRequestStatus.SOLD_OUT, 1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new ClaimResult(TicketRequestStatus.ALREADY, null, 1L))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 }
@@ -0,0 +1,39 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionRateControllerTest {
+
+    private static final long TARGET_NANOS = 20_000_000L;
+
+    @Test
+    void increasesAdditivelyWhileLatencyIsUnderTarget() {
+        AdmissionRateController controller = new AdmissionRateController(20, 1, 25, TARGET_NANOS);
+
+        assertThat(controller.next(5_000_000L, 1_000L)).isEqualTo(22);
+        assertThat(controller.next(5_000_000L, 1_000L)).isEqualTo(24);
+        assertThat(controller.next(5_000_000L, 1_000L)).isEqualTo(25);
+        assertThat(controller.next(5_000_000L, 1_000L)).isEqualTo(25);
+    }
+
+    @Test
+    void halvesWhenLatencyExceedsTarget() {
+        AdmissionRateController controller = new AdmissionRateController(20, 1, 200, TARGET_NANOS);
+
+        assertThat(controller.next(50_000_000L, 1_000L)).isEqualTo(10);
+        assertThat(controller.next(50_000_000L, 1_000L)).isEqualTo(5);
+        assertThat(controller.next(50_000_000L, 1_000L)).isEqualTo(2);
+        assertThat(controller.next(50_000_000L, 1_000L)).isEqualTo(1);
+        assertThat(controller.next(50_000_000L, 1_000L)).isEqualTo(1);
+    }
+
+    @Test
+    void neverAdmitsMoreThanRemainingStock() {
+        AdmissionRateController controller = new AdmissionRateController(20, 1, 200, TARGET_NANOS);
+
+        assertThat(controller.next(0L, 3L)).isEqualTo(3);
+        assertThat(controller.next(0L, 0L)).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.model.entity.EventCapacitySlot;
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import com.danzzan.ticketing.domain.event.repository.EventCapacitySlotRepository;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CapacitySlotInitializerTest {
+
+    @Mock
+    private FestivalEventRepository festivalEventRepository;
+
+    @Mock
+    private EventCapacitySlotRepository eventCapacitySlotRepository;
+
+    @InjectMocks
+    private CapacitySlotInitializer capacitySlotInitializer;
+
+    @Test
+    void createsSlotsFromRemainingCapacityAfterLockingTheEvent() {
+        FestivalEvent event = event(10);
+        ReflectionTestUtils.setField(event, "soldCount", 2);
+        List<EventCapacitySlot> created = List.of(slot(event, 0, 3), slot(event, 1, 3), slot(event, 2, 2));
+        when(festivalEventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        when(eventCapacitySlotRepository.findAllByEventIdOrderBySlotNo(1L)).thenReturn(List.of()).thenReturn(created);
+
+        assertThat(capacitySlotInitializer.ensureSlots(1L, 3)).isEqualTo(created);
+
+        // 이벤트 행 잠금(locking read) 뒤에 slot을 읽어야 먼저 커밋된 slot이 보인다.
+        InOrder order = inOrder(festivalEventRepository, eventCapacitySlotRepository);
+        order.verify(festivalEventRepository).findByIdForUpdate(1L);
+        order.verify(eventCapacitySlotRepository).findAllByEventIdOrderBySlotNo(1L);
+        verify(eventCapacitySlotRepository).insertIfAbsent(1L, 0, 3, 2);
+        verify(eventCapacitySlotRepository).insertIfAbsent(1L, 1, 3, 2);
+        verify(eventCapacitySlotRepository).insertIfAbsent(1L, 2, 2, 2);
+    }
+
+    @Test
+    void returnsSlotsCommittedByAnotherTransactionWithoutInserting() {
+        FestivalEvent event = event(10);
+        List<EventCapacitySlot> existing = List.of(slot(event, 0, 5), slot(event, 1, 5));
+        when(festivalEventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        when(eventCapacitySlotRepository.findAllByEventIdOrderBySlotNo(1L)).thenReturn(existing);
+
+        assertThat(capacitySlotInitializer.ensureSlots(1L, 2)).isEqualTo(existing);
+        verify(eventCapacitySlotRepository, never()).insertIfAbsent(anyLong(), anyInt(), anyInt(), anyInt());
+    }
+
+    private static FestivalEvent event(int capacity) {
+        FestivalEvent event = FestivalEvent.builder()
+                .title("loadtest-event")
+                .eventDate(LocalDate.of(2026, 5, 13))
+                .ticketingStartTime(LocalDateTime.of(2026, 5, 13, 12, 0))
+                .ticketingStatus(TicketingStatus.OPEN)
+                .totalCapacity(capacity)
+                .build();
+        ReflectionTestUtils.setField(event, "id", 1L);
+        return event;
+    }
+
+    private static EventCapacitySlot slot(FestivalEvent event, int slotNo, int capacity) {
+        return EventCapacitySlot.builder()
+                .event(event)
+                .slotNo(slotNo)
+                .capacity(capacity)
+                .build();
+    }
+}
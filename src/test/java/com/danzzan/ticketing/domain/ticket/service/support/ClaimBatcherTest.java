@@ -0,0 +1,140 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.exception.ClaimBatchTimeoutException;
+import com.danzzan.ticketing.domain.ticket.exception.ClaimOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimBatcherTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private RedisScript<List> claimV2BatchScript;
+    @Mock
+    private RedisScript<String> ticketStatusReadScript;
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    private final CountDownLatch dispatched = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ClaimBatcher claimBatcher;
+
+    @BeforeEach
+    void setUp() {
+        claimBatcher = new ClaimBatcher(stringRedisTemplate, claimV2BatchScript, ticketGenerationCache,
+                ticketStatusReadScript);
+        ReflectionTestUtils.setField(claimBatcher, "enabled", true);
+        ReflectionTestUtils.setField(claimBatcher, "windowMicros", 0L);
+        ReflectionTestUtils.setField(claimBatcher, "maxBatchSize", 1);
+        ReflectionTestUtils.setField(claimBatcher, "dispatchers", 1);
+        ReflectionTestUtils.setField(claimBatcher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(claimBatcher, "retryAfterSeconds", 2L);
+
+        // 첫 batch는 release 전까지 Redis 응답이 멈춘 것처럼 붙잡아 둔다.
+        when(stringRedisTemplate.execute(eq(claimV2BatchScript), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            dispatched.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(ClaimLuaProtocol.CODE_SUCCESS, 9L, 1L);
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        claimBatcher.stop();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenLaneQueueIsFull() throws Exception {
+        ReflectionTestUtils.setField(claimBatcher, "timeoutMs", 5_000L);
+        claimBatcher.start();
+
+        CompletableFuture<List<?>> inFlight = CompletableFuture.supplyAsync(() -> claimBatcher.claim("1", "u1"));
+        assertThat(dispatched.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<List<?>> queued = CompletableFuture.supplyAsync(() -> claimBatcher.claim("1", "u2"));
+        waitUntil(() -> claimBatcher.queuedClaims() == 1);
+
+        assertThatThrownBy(() -> claimBatcher.claim("1", "u3"))
+                .isInstanceOf(ClaimOverloadedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(2L);
+
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).hasSize(ClaimLuaProtocol.RESULT_SIZE);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).hasSize(ClaimLuaProtocol.RESULT_SIZE);
+    }
+
+    @Test
+    void queuedClaimThatTimesOutIsCancelledAndNeverSent() throws Exception {
+        ReflectionTestUtils.setField(claimBatcher, "timeoutMs", 200L);
+        when(stringRedisTemplate.execute(eq(ticketStatusReadScript), anyList(), any(Object[].class))).thenReturn(null);
+        claimBatcher.start();
+
+        CompletableFuture<List<?>> inFlight = CompletableFuture.supplyAsync(() -> claimBatcher.claim("1", "u1"));
+        assertThat(dispatched.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> claimBatcher.claim("1", "u2"))
+                .isInstanceOf(ClaimBatchTimeoutException.class)
+                .extracting("dispatched")
+                .isEqualTo(false);
+        assertThat(claimBatcher.queuedClaims()).isZero();
+
+        // 이미 보낸 claim은 status로도 결과를 알 수 없으면 dispatched=true로 끝난다.
+        assertThatThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(ClaimBatchTimeoutException.class)
+                .extracting("dispatched")
+                .isEqualTo(true);
+
+        release.countDown();
+        Thread.sleep(100);
+        verify(stringRedisTemplate, times(1)).execute(eq(claimV2BatchScript), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void dispatchedClaimThatTimesOutAnswersFromStoredStatus() throws Exception {
+        ReflectionTestUtils.setField(claimBatcher, "timeoutMs", 100L);
+        when(stringRedisTemplate.execute(eq(ticketStatusReadScript), anyList(), any(Object[].class)))
+                .thenReturn("SUCCESS");
+        claimBatcher.start();
+
+        // 적용된 SUCCESS는 order를 알 수 없으므로 ALREADY로 답한다.
+        List<?> applied = claimBatcher.claim("1", "u1");
+        assertThat(applied).isEqualTo(Arrays.asList(ClaimLuaProtocol.CODE_ALREADY, null, null));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClaimOutcomeMetricsTest {
+
+    @Test
+    void latencyEwmaDecaysWhileIdle() {
+        ClaimOutcomeMetrics metrics = new ClaimOutcomeMetrics();
+        long start = System.nanoTime();
+        metrics.recordLatency(80_000_000L, start);
+
+        assertThat(metrics.latencyEwmaNanos(start)).isEqualTo(80_000_000L);
+        // 1초 idle마다 절반
+        assertThat(metrics.latencyEwmaNanos(start + TimeUnit.SECONDS.toNanos(2))).isEqualTo(20_000_000L);
+
+        // idle 뒤 첫 표본은 감쇠된 값에서 이어진다.
+        metrics.recordLatency(20_000_000L, start + TimeUnit.SECONDS.toNanos(2));
+        assertThat(metrics.latencyEwmaNanos(start + TimeUnit.SECONDS.toNanos(2))).isEqualTo(20_000_000L);
+        assertThat(metrics.drainLatencySamples()).isEqualTo(2L);
+        assertThat(metrics.drainLatencySamples()).isZero();
+    }
+}
@@ -0,0 +1,131 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import com.danzzan.ticketing.domain.ticket.repository.EventTicketCount;
+import com.danzzan.ticketing.domain.ticket.repository.UserTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventRemainingReaderTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private UserTicketRepository userTicketRepository;
+
+    @Mock
+    private TicketGenerationCache ticketGenerationCache;
+
+    @InjectMocks
+    private EventRemainingReader eventRemainingReader;
+
+    private final FestivalEvent day1 = event(1L, 100);
+    private final FestivalEvent day2 = event(2L, 50);
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void readsAllRemainingFromSingleMgetWithoutDbQuery() {
+        when(valueOperations.multiGet(List.of(
+                TicketRedisKeys.stockKey("1"), TicketRedisKeys.stockKey("2"),
+                TicketRedisKeys.leasedStockKey("1", 0L), TicketRedisKeys.leasedStockKey("2", 0L))))
+                .thenReturn(Arrays.asList("7", "-3", null, null));
+
+        Map<Long, Integer> remaining = eventRemainingReader.remainingByEvent(List.of(day1, day2));
+
+        assertThat(remaining).containsEntry(1L, 7).containsEntry(2L, 0);
+        verify(userTicketRepository, never()).countGroupByEventIdIn(anyCollection());
+    }
+
+    @Test
+    void countsOnlyEventsWithoutStockKeyInOneGroupedQuery() {
+        when(valueOperations.multiGet(any())).thenReturn(Arrays.asList("7", null, null, null));
+        when(userTicketRepository.countGroupByEventIdIn(List.of(2L))).thenReturn(List.of(count(2L, 20L)));
+
+        Map<Long, Integer> remaining = eventRemainingReader.remainingByEvent(List.of(day1, day2));
+
+        assertThat(remaining).containsEntry(1L, 7).containsEntry(2L, 30);
+    }
+
+    @Test
+    void addsUnitsLeasedByNodesOfTheCurrentGeneration() {
+        when(ticketGenerationCache.current("1")).thenReturn(3L);
+        when(valueOperations.multiGet(List.of(
+                TicketRedisKeys.stockKey("1"), TicketRedisKeys.stockKey("2"),
+                TicketRedisKeys.leasedStockKey("1", 3L), TicketRedisKeys.leasedStockKey("2", 0L))))
+                .thenReturn(List.of("0", "4", "5", "0"));
+
+        Map<Long, Integer> remaining = eventRemainingReader.remainingByEvent(List.of(day1, day2));
+
+        // stock key가 0이어도 노드들이 lease로 들고 있는 5개는 아직 남아 있다.
+        assertThat(remaining).containsEntry(1L, 5).containsEntry(2L, 4);
+        verify(userTicketRepository, never()).countGroupByEventIdIn(anyCollection());
+    }
+
+    @Test
+    void fallsBackToDbCountWhenRedisIsUnavailable() {
+        when(valueOperations.multiGet(any())).thenThrow(new RedisConnectionFailureException("down"));
+        when(userTicketRepository.countGroupByEventIdIn(List.of(1L, 2L))).thenReturn(List.of(count(1L, 100L)));
+
+        Map<Long, Integer> remaining = eventRemainingReader.remainingByEvent(List.of(day1, day2));
+
+        assertThat(remaining).containsEntry(1L, 0).containsEntry(2L, 50);
+    }
+
+    private static FestivalEvent event(Long id, int capacity) {
+        FestivalEvent event = FestivalEvent.builder()
+                .title("event-" + id)
+                .eventDate(LocalDate.of(2026, 5, 13))
+                .ticketingStartTime(LocalDateTime.of(2026, 5, 13, 12, 0))
+                .ticketingStatus(TicketingStatus.OPEN)
+                .totalCapacity(capacity)
+                .build();
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    private static EventTicketCount count(Long eventId, long ticketCount) {
+        return new EventTicketCount() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public long getTicketCount() {
+                return ticketCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new RedisCircuitBreaker();
+        ReflectionTestUtils.setField(breaker, "enabled", true);
+        ReflectionTestUtils.setField(breaker, "windowSize", 10);
+        ReflectionTestUtils.setField(breaker, "minimumCalls", 4);
+        ReflectionTestUtils.setField(breaker, "failureRatePercent", 50);
+        ReflectionTestUtils.setField(breaker, "slowCallMs", 200L);
+        ReflectionTestUtils.setField(breaker, "openMs", 5_000L);
+        breaker.init();
+    }
+
+    @Test
+    void opensWhenFailureAndSlowCallRateReachesThreshold() {
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(SLOW);
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+
+        breaker.onSuccess(FAST);
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(breaker.shouldBypass()).isTrue();
+        assertThat(breaker.isOpen()).isTrue();
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(breaker.shouldBypass()).isFalse();
+    }
+
+    @Test
+    void successfulProbeClosesAndRunsCloseListeners() throws InterruptedException {
+        CountDownLatch replayed = new CountDownLatch(1);
+        breaker.onClose(replayed::countDown);
+        openBreaker();
+        ReflectionTestUtils.setField(breaker, "openMs", 0L);
+
+        assertThat(breaker.shouldBypass()).isFalse();
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess(FAST);
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(replayed.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void failedOrSlowProbeReopens() {
+        openBreaker();
+        ReflectionTestUtils.setField(breaker, "openMs", 0L);
+
+        breaker.shouldBypass();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        breaker.shouldBypass();
+        breaker.onSuccess(SLOW);
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void countsEveryOpenTransitionSoEachFailoverEpisodeIsDistinct() {
+        assertThat(breaker.openCount()).isZero();
+        openBreaker();
+        assertThat(breaker.openCount()).isEqualTo(1L);
+
+        ReflectionTestUtils.setField(breaker, "openMs", 0L);
+        breaker.shouldBypass();
+        breaker.onSuccess(FAST);
+        openBreaker();
+
+        assertThat(breaker.openCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void neverBypassesWhenDisabled() {
+        ReflectionTestUtils.setField(breaker, "enabled", false);
+
+        openBreaker();
+
+        assertThat(breaker.shouldBypass()).isFalse();
+        assertThat(breaker.isOpen()).isFalse();
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+    }
+}
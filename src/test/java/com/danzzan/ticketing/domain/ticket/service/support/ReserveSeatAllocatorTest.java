@@ -0,0 +1,149 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.model.entity.EventCapacitySlot;
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import com.danzzan.ticketing.domain.event.repository.EventCapacitySlotRepository;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReserveSeatAllocatorTest {
+
+    @Mock
+    private FestivalEventRepository festivalEventRepository;
+
+    @Mock
+    private EventCapacitySlotRepository eventCapacitySlotRepository;
+
+    @Mock
+    private CapacitySlotInitializer capacitySlotInitializer;
+
+    @InjectMocks
+    private ReserveSeatAllocator allocator;
+
+    @Test
+    void usesSingleEventRowWhenSlotsAreDisabled() {
+        FestivalEvent event = event(10);
+        when(festivalEventRepository.incrementSoldCountIfAvailable(1L)).thenReturn(1);
+        when(festivalEventRepository.lastIncrementedSoldCount()).thenReturn(4L);
+
+        assertThat(allocator.claim(event)).hasValue(4);
+        verify(eventCapacitySlotRepository, never()).findAllByEventIdOrderBySlotNo(anyLong());
+    }
+
+    @Test
+    void singleEventRowReturnsEmptyWhenSoldOut() {
+        when(festivalEventRepository.incrementSoldCountIfAvailable(1L)).thenReturn(0);
+
+        assertThat(allocator.claim(event(10))).isEmpty();
+    }
+
+    @Test
+    void usesSlotsFromInitializerWhenSnapshotHasNone() {
+        ReflectionTestUtils.setField(allocator, "capacitySlots", 3);
+        FestivalEvent event = event(10);
+        when(eventCapacitySlotRepository.findAllByEventIdOrderBySlotNo(1L)).thenReturn(List.of());
+        when(capacitySlotInitializer.ensureSlots(1L, 3)).thenReturn(List.of(
+                slot(event, 0, 3, 0),
+                slot(event, 1, 3, 0),
+                slot(event, 2, 2, 0)
+        ));
+        when(eventCapacitySlotRepository.incrementSoldCountIfAvailable(eq(1L), anyInt())).thenReturn(1);
+        when(eventCapacitySlotRepository.lastIncrementedSoldCount()).thenReturn(1L);
+
+        assertThat(allocator.claim(event)).isPresent();
+
+        // 예매 트랜잭션의 snapshot으로는 다시 조회하지 않는다.
+        verify(eventCapacitySlotRepository).findAllByEventIdOrderBySlotNo(1L);
+        verify(eventCapacitySlotRepository, never()).insertIfAbsent(anyLong(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void skipsFullSlotsAndFallsBackWhenConditionalUpdateMisses() {
+        ReflectionTestUtils.setField(allocator, "capacitySlots", 3);
+        FestivalEvent event = event(9);
+        when(eventCapacitySlotRepository.findAllByEventIdOrderBySlotNo(1L)).thenReturn(List.of(
+                slot(event, 0, 3, 3),
+                slot(event, 1, 3, 2),
+                slot(event, 2, 3, 1)
+        ));
+        // slot 1은 조회 이후 다른 요청이 마지막 좌석을 가져간 상태 (시작 slot이 무작위라 시도되지 않을 수도 있다)
+        lenient().when(eventCapacitySlotRepository.incrementSoldCountIfAvailable(1L, 1)).thenReturn(0);
+        when(eventCapacitySlotRepository.incrementSoldCountIfAvailable(1L, 2)).thenReturn(1);
+        when(eventCapacitySlotRepository.lastIncrementedSoldCount()).thenReturn(2L);
+
+        OptionalInt order = allocator.claim(event);
+
+        // slot 2의 2번째 좌석 = (2 - 1) * 3 + 2 + 1
+        assertThat(order).hasValue(6);
+        verify(eventCapacitySlotRepository, never()).incrementSoldCountIfAvailable(eq(1L), eq(0));
+        verify(capacitySlotInitializer, never()).ensureSlots(anyLong(), anyInt());
+    }
+
+    @Test
+    void slotOrdersCoverAllSeatsWithoutGaps() {
+        FestivalEvent event = event(11);
+        int slotCount = 4;
+        int offset = 1;
+        int remaining = 10;
+        Set<Integer> orders = new HashSet<>();
+        List<Integer> all = new ArrayList<>();
+        for (int slotNo = 0; slotNo < slotCount; slotNo++) {
+            int capacity = remaining / slotCount + (slotNo < remaining % slotCount ? 1 : 0);
+            EventCapacitySlot slot = slot(event, slotNo, capacity, 0);
+            ReflectionTestUtils.setField(slot, "orderOffset", offset);
+            for (int sold = 1; sold <= capacity; sold++) {
+                int order = ReserveSeatAllocator.orderOf(slot, sold, slotCount);
+                orders.add(order);
+                all.add(order);
+            }
+        }
+
+        assertThat(all).hasSize(remaining);
+        assertThat(orders).containsExactlyInAnyOrder(2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    }
+
+    private static FestivalEvent event(int capacity) {
+        FestivalEvent event = FestivalEvent.builder()
+                .title("loadtest-event")
+                .eventDate(LocalDate.of(2026, 5, 13))
+                .ticketingStartTime(LocalDateTime.of(2026, 5, 13, 12, 0))
+                .ticketingStatus(TicketingStatus.OPEN)
+                .totalCapacity(capacity)
+                .build();
+        ReflectionTestUtils.setField(event, "id", 1L);
+        return event;
+    }
+
+    private static EventCapacitySlot slot(FestivalEvent event, int slotNo, int capacity, int soldCount) {
+        return EventCapacitySlot.builder()
+                .event(event)
+                .slotNo(slotNo)
+                .capacity(capacity)
+                .soldCount(soldCount)
+                .build();
+    }
+}
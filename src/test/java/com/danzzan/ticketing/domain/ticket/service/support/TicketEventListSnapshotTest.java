@@ -0,0 +1,91 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.ticket.dto.ResponseTicketEventDto;
+import com.danzzan.ticketing.domain.ticket.dto.ResponseTicketEventListDto;
+import com.danzzan.ticketing.domain.ticket.service.TicketService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TicketEventListSnapshotTest {
+
+    private TicketService ticketService;
+    private TicketEventListSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        ticketService = mock(TicketService.class);
+        snapshot = new TicketEventListSnapshot(ticketService, new ObjectMapper());
+        ReflectionTestUtils.setField(snapshot, "refreshMs", 60_000L);
+    }
+
+    @Test
+    void servesSameSerializedSnapshotWithinRefreshInterval() {
+        when(ticketService.getTicketingEvents()).thenReturn(events(10));
+
+        TicketEventListSnapshot.Snapshot first = snapshot.current();
+        TicketEventListSnapshot.Snapshot second = snapshot.current();
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).contains("\"remainingCount\":10");
+        assertThat(first.etag()).startsWith("\"").endsWith("\"");
+        verify(ticketService, times(1)).getTicketingEvents();
+    }
+
+    @Test
+    void keepsEtagWhenRebuiltContentIsUnchanged() {
+        when(ticketService.getTicketingEvents()).thenReturn(events(10), events(10), events(9));
+
+        String initial = snapshot.current().etag();
+        snapshot.invalidate();
+        String unchanged = snapshot.current().etag();
+        snapshot.invalidate();
+        String changed = snapshot.current().etag();
+
+        assertThat(unchanged).isEqualTo(initial);
+        assertThat(changed).isNotEqualTo(initial);
+    }
+
+    @Test
+    void servesPreviousSnapshotWhenRebuildFails() {
+        when(ticketService.getTicketingEvents())
+                .thenReturn(events(10))
+                .thenThrow(new IllegalStateException("db down"));
+
+        TicketEventListSnapshot.Snapshot first = snapshot.current();
+        snapshot.invalidate();
+
+        assertThat(snapshot.current().etag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void matchesIfNoneMatchListAndWeakPrefix() {
+        TicketEventListSnapshot.Snapshot current = new TicketEventListSnapshot.Snapshot(new byte[0], "\"abc\"", 1L);
+
+        assertThat(current.matches("\"abc\"")).isTrue();
+        assertThat(current.matches("\"x\", W/\"abc\"")).isTrue();
+        assertThat(current.matches("*")).isTrue();
+        assertThat(current.matches("\"x\"")).isFalse();
+        assertThat(current.matches(null)).isFalse();
+    }
+
+    private static ResponseTicketEventListDto events(int remaining) {
+        return new ResponseTicketEventListDto(List.of(ResponseTicketEventDto.builder()
+                .id("1")
+                .title("DAY 1")
+                .status("open")
+                .remainingCount(remaining)
+                .totalCount(100)
+                .build()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.danzzan.ticketing.domain.ticket.service.support;
+
+import com.danzzan.ticketing.domain.event.model.entity.FestivalEvent;
+import com.danzzan.ticketing.domain.event.model.entity.TicketingStatus;
+import com.danzzan.ticketing.domain.event.repository.FestivalEventRepository;
+import com.danzzan.ticketing.domain.ticket.exception.EventMetaSyncPendingException;
+import com.danzzan.ticketing.domain.ticket.redis.TicketRedisKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketEventMetaSyncTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private FestivalEventRepository festivalEventRepository;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private TicketEventMetaSync ticketEventMetaSync;
+    private FestivalEvent event;
+
+    @BeforeEach
+    void setUp() {
+        ticketEventMetaSync = new TicketEventMetaSync(stringRedisTemplate, festivalEventRepository);
+        ReflectionTestUtils.setField(ticketEventMetaSync, "syncAttempts", 2);
+        ReflectionTestUtils.setField(ticketEventMetaSync, "retryBackoffMs", 1L);
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+
+        event = mock(FestivalEvent.class);
+        when(event.getId()).thenReturn(5L);
+        when(event.getTicketingStatus()).thenReturn(TicketingStatus.OPEN);
+        when(event.getTicketingStartTime()).thenReturn(LocalDateTime.of(2026, 5, 20, 12, 0));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void writesMetaAndRunsAfterSyncOnlyAfterCommit() {
+        AtomicBoolean invalidated = new AtomicBoolean();
+
+        ticketEventMetaSync.syncAfterCommit(event, () -> invalidated.set(true));
+
+        assertThat(invalidated).isFalse();
+        verify(hashOperations, never()).putAll(eq(TicketRedisKeys.eventMetaKey("5")), anyMap());
+
+        afterCommit();
+
+        assertThat(invalidated).isTrue();
+        verify(hashOperations).putAll(eq(TicketRedisKeys.eventMetaKey("5")), anyMap());
+        assertThat(ticketEventMetaSync.pendingEventIds()).isEmpty();
+    }
+
+    @Test
+    void reportsPartialFailureAndReconcilesMetaLater() {
+        AtomicBoolean invalidated = new AtomicBoolean();
+        doThrow(new RedisConnectionFailureException("redis down"))
+                .when(hashOperations).putAll(eq(TicketRedisKeys.eventMetaKey("5")), anyMap());
+        ticketEventMetaSync.syncAfterCommit(event, () -> invalidated.set(true));
+
+        assertThatThrownBy(this::afterCommit)
+                .isInstanceOf(EventMetaSyncPendingException.class)
+                .extracting("eventId")
+                .isEqualTo("5");
+        // 메타 반영이 실패해도 snapshot 무효화는 실행된다.
+        assertThat(invalidated).isTrue();
+        verify(hashOperations, times(2)).putAll(eq(TicketRedisKeys.eventMetaKey("5")), anyMap());
+        assertThat(ticketEventMetaSync.pendingEventIds()).containsExactly("5");
+
+        doNothing().when(hashOperations).putAll(eq(TicketRedisKeys.eventMetaKey("5")), anyMap());
+        when(festivalEventRepository.findById(5L)).thenReturn(Optional.of(event));
+        ticketEventMetaSync.syncPending();
+
+        verify(hashOperations, times(3)).putAll(eq(TicketRedisKeys.eventMetaKey("5")), anyMap());
+        assertThat(ticketEventMetaSync.pendingEventIds()).isEmpty();
+    }
+
+    private void afterCommit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,96 @@
+package com.danzzan.ticketing.domain.user.service.support;
+
+import com.danzzan.ticketing.domain.user.exception.LoginOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashExecutorTest {
+
+    private PasswordHashExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.stop();
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor = executor(new BlockingEncoder(release), true);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.matches("pw", "pw"));
+        waitUntil(() -> executor.activeCount() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.matches("pw", "other"));
+        waitUntil(() -> executor.queueDepth() == 1);
+
+        assertThatThrownBy(() -> executor.matches("pw", "pw"))
+                .isInstanceOf(LoginOverloadedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(3L);
+        assertThat(executor.rejectedCount()).isEqualTo(1L);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(executor.hashCount()).isEqualTo(2L);
+        assertThat(executor.maxHashNanos()).isPositive();
+        assertThat(executor.queueWaitNanos()).isPositive();
+    }
+
+    @Test
+    void runsInlineWhenPoolIsDisabled() {
+        CountDownLatch released = new CountDownLatch(0);
+        executor = executor(new BlockingEncoder(released), false);
+
+        assertThat(executor.matches("pw", "pw")).isTrue();
+        assertThat(executor.isEnabled()).isFalse();
+        assertThat(executor.hashCount()).isEqualTo(1L);
+        assertThat(executor.queueCapacity()).isZero();
+    }
+
+    private PasswordHashExecutor executor(PasswordEncoder encoder, boolean enabled) {
+        PasswordHashExecutor hashExecutor = new PasswordHashExecutor(encoder);
+        ReflectionTestUtils.setField(hashExecutor, "enabled", enabled);
+        ReflectionTestUtils.setField(hashExecutor, "threads", 1);
+        ReflectionTestUtils.setField(hashExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(hashExecutor, "retryAfterSeconds", 3L);
+        hashExecutor.start();
+        return hashExecutor;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
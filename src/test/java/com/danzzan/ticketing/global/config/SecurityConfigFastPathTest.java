@@ -0,0 +1,143 @@
+package com.danzzan.ticketing.global.config;
+
+import com.danzzan.ticketing.global.jwt.JwtAuthenticationFilter;
+import com.danzzan.ticketing.global.jwt.JwtTokenProvider;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.session.SessionManagementFilter;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityConfigFastPathTest {
+
+    private AnnotationConfigWebApplicationContext context;
+    private FilterChainProxy filterChainProxy;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "jwt.secret", "test-secret-key-test-secret-key-0123456789abcdef",
+                "jwt.access-token-expiration", "60000",
+                "jwt.refresh-token-expiration", "60000"
+        )));
+        context.register(WebMvc.class, CorsConfig.class, JwtTokenProvider.class, JwtAuthenticationFilter.class,
+                SecurityConfig.class);
+        context.refresh();
+
+        filterChainProxy = context.getBean(FilterChainProxy.class);
+        jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Test
+    void hotEndpointsUseTheLightweightChain() {
+        List<Filter> eventList = filtersFor("/tickets/events");
+        List<Filter> queueStatus = filtersFor("/tickets/5/queue/status");
+        List<Filter> queueEnter = filtersFor("/tickets/5/queue/stream");
+
+        assertThat(eventList).hasSizeLessThan(queueEnter.size());
+        assertThat(eventList).hasAtLeastOneElementOfType(JwtAuthenticationFilter.class)
+                .hasAtLeastOneElementOfType(SecurityContextHolderFilter.class)
+                .noneMatch(SessionManagementFilter.class::isInstance);
+        assertThat(queueStatus).isEqualTo(eventList);
+        assertThat(filtersFor("/tickets/5/6/queue/status")).hasSameSizeAs(queueEnter);
+        assertThat(filtersFor("/tickets//queue/status")).hasSameSizeAs(queueEnter);
+    }
+
+    @Test
+    void publicEventListPassesWithoutToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filterChainProxy.doFilter(get("/tickets/events", null), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void queueStatusRequiresTokenAndExposesUserIdPrincipal() throws Exception {
+        MockHttpServletResponse anonymous = new MockHttpServletResponse();
+        MockFilterChain anonymousChain = new MockFilterChain();
+        filterChainProxy.doFilter(get("/tickets/5/queue/status", null), anonymous, anonymousChain);
+
+        assertThat(anonymousChain.getRequest()).isNull();
+        assertThat(anonymous.getStatus()).isEqualTo(403);
+
+        String token = jwtTokenProvider.createAccessToken(77L, "32221902", "ROLE_USER");
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) {
+                seen.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        });
+        MockHttpServletRequest request = get("/tickets/5/queue/status", token);
+        filterChainProxy.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(seen.get()).isNotNull();
+        assertThat(seen.get().getPrincipal()).isEqualTo(77L);
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    @Test
+    void adminRulesStayOnTheDefaultChain() throws Exception {
+        String token = jwtTokenProvider.createAccessToken(77L, "32221902", "ROLE_USER");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filterChainProxy.doFilter(get("/api/admin/events", token), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    private List<Filter> filtersFor(String uri) {
+        MockHttpServletRequest request = get(uri, null);
+        return filterChainProxy.getFilterChains().stream()
+                .filter(chain -> chain.matches(request))
+                .findFirst()
+                .map(SecurityFilterChain::getFilters)
+                .orElseThrow();
+    }
+
+    private MockHttpServletRequest get(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServletPath(uri);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    @EnableWebMvc
+    static class WebMvc {
+    }
+}
@@ -0,0 +1,84 @@
+package com.danzzan.ticketing.global.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-test-secret-key-0123456789abcdef";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = provider(SECRET, 60_000L, 100);
+    }
+
+    @Test
+    void authenticateExtractsUserIdAndRoleAndCachesVerifiedToken() {
+        String token = jwtTokenProvider.createAccessToken(7L, "32221902", "ROLE_USER");
+
+        JwtPrincipal first = jwtTokenProvider.authenticate(token);
+        JwtPrincipal second = jwtTokenProvider.authenticate(token);
+
+        assertThat(first.userId()).isEqualTo(7L);
+        assertThat(first.role()).isEqualTo("ROLE_USER");
+        assertThat(second).isSameAs(first);
+        assertThat(jwtTokenProvider.verifiedTokenCache().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void authenticateRejectsTamperedExpiredAndRefreshTokens() {
+        String token = jwtTokenProvider.createAccessToken(7L, "32221902", "ROLE_USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String otherKey = provider("other-secret-key-other-secret-key-0123456789ab", 60_000L, 0)
+                .createAccessToken(7L, "32221902", "ROLE_ADMIN");
+        String expired = provider(SECRET, -1_000L, 0).createAccessToken(7L, "32221902", "ROLE_USER");
+
+        assertThat(jwtTokenProvider.authenticate(tampered)).isNull();
+        assertThat(jwtTokenProvider.authenticate(otherKey)).isNull();
+        assertThat(jwtTokenProvider.authenticate(expired)).isNull();
+        assertThat(jwtTokenProvider.authenticate(jwtTokenProvider.createRefreshToken(7L))).isNull();
+        assertThat(jwtTokenProvider.authenticate("not-a-jwt")).isNull();
+        assertThat(jwtTokenProvider.verifiedTokenCache().size()).isZero();
+    }
+
+    @Test
+    void cacheDropsEntryAtExpiryAndStopsGrowingWhenFull() {
+        AtomicLong now = new AtomicLong(1_000L);
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, now::get);
+        cache.put("a", new JwtPrincipal(1L, "ROLE_USER", 2_000L));
+        cache.put("b", new JwtPrincipal(2L, "ROLE_USER", 5_000L));
+        cache.put("c", new JwtPrincipal(3L, "ROLE_USER", 5_000L));
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNull();
+
+        now.set(2_000L);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNotNull();
+
+        // 가득 찬 상태에서는 만료 항목(b)을 정리해 자리가 생기면 다시 캐시한다.
+        now.set(5_000L);
+        cache.put("c", new JwtPrincipal(3L, "ROLE_USER", 9_000L));
+        cache.put("d", new JwtPrincipal(4L, "ROLE_USER", 9_000L));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.get("d")).isNotNull();
+    }
+
+    private JwtTokenProvider provider(String secret, long accessTokenExpiration, int cacheEntries) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", secret);
+        ReflectionTestUtils.setField(provider, "accessTokenExpiration", accessTokenExpiration);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpiration", 60_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxEntries", cacheEntries);
+        provider.init();
+        return provider;
+    }
+}